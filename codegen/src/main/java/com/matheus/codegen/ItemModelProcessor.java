@@ -0,0 +1,255 @@
+package com.matheus.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+public class ItemModelProcessor extends AbstractProcessor {
+
+  private static final String JSON_GENERATOR = "com.fasterxml.jackson.core.JsonGenerator";
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Set.of(ItemModel.class.getCanonicalName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations,
+      final RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(ItemModel.class)) {
+      if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+        error(element, "@ItemModel must be placed on a class or record");
+        continue;
+      }
+      model((TypeElement) element).ifPresent(this::write);
+    }
+    return true;
+  }
+
+  private Optional<Model> model(final TypeElement type) {
+    List<Attribute> attributes = new ArrayList<>();
+    List<Index> indexes = new ArrayList<>();
+    for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      if (field.getModifiers().contains(Modifier.STATIC)) {
+        continue;
+      }
+      String name = field.getSimpleName().toString();
+      Optional<Kind> kind = Kind.of(field.asType().toString());
+      Optional<String> accessor = accessor(type, name);
+      if (kind.isEmpty()) {
+        error(field, "unsupported attribute type " + field.asType());
+        return Optional.empty();
+      }
+      if (accessor.isEmpty()) {
+        error(field, "no accessor found for attribute " + name);
+        return Optional.empty();
+      }
+      boolean partitionKey = field.getAnnotation(PartitionKey.class) != null;
+      boolean sortKey = field.getAnnotation(SortKey.class) != null;
+      attributes.add(new Attribute(name, kind.get(), accessor.get(), partitionKey, sortKey));
+      IndexPartitionKey index = field.getAnnotation(IndexPartitionKey.class);
+      if (index != null) {
+        indexes.add(new Index(index.value(), name));
+      }
+    }
+    if (attributes.stream().noneMatch(Attribute::partitionKey)) {
+      error(type, "@ItemModel needs one @PartitionKey attribute");
+      return Optional.empty();
+    }
+    Optional<String> factory = factory(type, attributes);
+    if (factory.isEmpty()) {
+      error(type, "no constructor or static factory takes the attributes in declaration order");
+      return Optional.empty();
+    }
+    PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+    String packageName = packageElement.isUnnamed()
+        ? ""
+        : packageElement.getQualifiedName().toString();
+    return Optional.of(new Model(packageName, type.getSimpleName().toString(),
+        type.getAnnotation(ItemModel.class).table(), attributes, indexes, factory.get(),
+        processingEnv.getElementUtils().getTypeElement(JSON_GENERATOR) != null));
+  }
+
+  private Optional<String> accessor(final TypeElement type, final String field) {
+    String capitalized = Character.toUpperCase(field.charAt(0)) + field.substring(1);
+    Set<String> candidates = Set.of("get" + capitalized, "is" + capitalized, field);
+    return ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+        .filter(method -> !method.getModifiers().contains(Modifier.PRIVATE)
+            && !method.getModifiers().contains(Modifier.STATIC)
+            && method.getParameters().isEmpty()
+            && candidates.contains(method.getSimpleName().toString()))
+        .map(method -> method.getSimpleName().toString())
+        .findFirst();
+  }
+
+  private Optional<String> factory(final TypeElement type, final List<Attribute> attributes) {
+    String simpleName = type.getSimpleName().toString();
+    Optional<String> staticFactory = ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+        .filter(method -> method.getModifiers().contains(Modifier.STATIC)
+            && processingEnv.getTypeUtils().isSameType(method.getReturnType(), type.asType())
+            && takesAttributes(method, attributes))
+        .map(method -> simpleName + "." + method.getSimpleName())
+        .findFirst();
+    if (staticFactory.isPresent()) {
+      return staticFactory;
+    }
+    return ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+        .filter(constructor -> takesAttributes(constructor, attributes))
+        .map(constructor -> "new " + simpleName)
+        .findFirst();
+  }
+
+  private static boolean takesAttributes(final ExecutableElement executable,
+      final List<Attribute> attributes) {
+    if (executable.getModifiers().contains(Modifier.PRIVATE)
+        || executable.getParameters().size() != attributes.size()) {
+      return false;
+    }
+    for (int index = 0; index < attributes.size(); index++) {
+      VariableElement parameter = executable.getParameters().get(index);
+      Attribute attribute = attributes.get(index);
+      if (!parameter.getSimpleName().contentEquals(attribute.name())
+          || Kind.of(parameter.asType().toString()).orElse(null) != attribute.kind()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void write(final Model model) {
+    String qualifiedName = model.packageName().isEmpty()
+        ? model.itemName()
+        : model.packageName() + "." + model.itemName();
+    try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName).openWriter()) {
+      writer.write(new ItemSource(model).render());
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "could not write " + qualifiedName + ": " + e.getMessage());
+    }
+  }
+
+  private void error(final Element element, final String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  enum Kind {
+    STRING("String", "%s.s()", "AttributeValue.fromS(%s)", "writeStringField"),
+    INTEGER("Integer", "Integer.valueOf(%s.n())", "AttributeValue.fromN(String.valueOf(%s))",
+        "writeNumberField"),
+    LONG("Long", "Long.valueOf(%s.n())", "AttributeValue.fromN(String.valueOf(%s))",
+        "writeNumberField"),
+    BOOLEAN("Boolean", "%s.bool()", "AttributeValue.fromBool(%s)", "writeBooleanField");
+
+    final String javaType;
+    final String read;
+    final String write;
+    final String jsonWrite;
+
+    Kind(final String javaType, final String read, final String write, final String jsonWrite) {
+      this.javaType = javaType;
+      this.read = read;
+      this.write = write;
+      this.jsonWrite = jsonWrite;
+    }
+
+    static Optional<Kind> of(final String typeName) {
+      for (Kind kind : values()) {
+        if (typeName.equals("java.lang." + kind.javaType)) {
+          return Optional.of(kind);
+        }
+      }
+      return Optional.empty();
+    }
+  }
+
+  record Attribute(String name, Kind kind, String accessor, boolean partitionKey,
+      boolean sortKey) {
+
+    String constant() {
+      return ItemModelProcessor.constant(name);
+    }
+
+    boolean key() {
+      return partitionKey || sortKey;
+    }
+  }
+
+  record Index(String name, String attribute) {
+
+    String constant() {
+      return ItemModelProcessor.constant(name);
+    }
+
+    String keyMethod() {
+      String[] words = name.split("[^A-Za-z0-9]+");
+      StringBuilder method = new StringBuilder(words[0].toLowerCase(Locale.ROOT));
+      for (int index = 1; index < words.length; index++) {
+        method.append(Character.toUpperCase(words[index].charAt(0)))
+            .append(words[index].substring(1).toLowerCase(Locale.ROOT));
+      }
+      return method.append("Key").toString();
+    }
+  }
+
+  record Model(String packageName, String typeName, String table, List<Attribute> attributes,
+      List<Index> indexes, String factory, boolean json) {
+
+    String itemName() {
+      return typeName + "Item";
+    }
+
+    List<Attribute> keys() {
+      return attributes.stream()
+          .filter(Attribute::key)
+          .sorted((left, right) -> Boolean.compare(right.partitionKey(), left.partitionKey()))
+          .toList();
+    }
+
+    String constants(final List<Attribute> attributes) {
+      return attributes.stream().map(Attribute::constant).collect(Collectors.joining(", "));
+    }
+  }
+
+  static String constant(final String name) {
+    StringJoiner joiner = new StringJoiner("_");
+    StringBuilder word = new StringBuilder();
+    for (char character : name.toCharArray()) {
+      if (!Character.isLetterOrDigit(character) || Character.isUpperCase(character)) {
+        if (word.length() > 0) {
+          joiner.add(word);
+          word = new StringBuilder();
+        }
+      }
+      if (Character.isLetterOrDigit(character)) {
+        word.append(Character.toUpperCase(character));
+      }
+    }
+    if (word.length() > 0) {
+      joiner.add(word);
+    }
+    return joiner.toString();
+  }
+}
@@ -0,0 +1,200 @@
+package com.matheus.codegen;
+
+import com.matheus.codegen.ItemModelProcessor.Attribute;
+import com.matheus.codegen.ItemModelProcessor.Index;
+import com.matheus.codegen.ItemModelProcessor.Model;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+final class ItemSource {
+
+  private final Model model;
+  private final StringBuilder source = new StringBuilder();
+
+  ItemSource(final Model model) {
+    this.model = model;
+  }
+
+  String render() {
+    header();
+    metadata();
+    read();
+    write();
+    keys();
+    if (model.json()) {
+      json();
+    }
+    helpers();
+    line("}");
+    return source.toString();
+  }
+
+  private void header() {
+    if (!model.packageName().isEmpty()) {
+      line("package " + model.packageName() + ";");
+      line("");
+    }
+    List<String> imports = new ArrayList<>(List.of(
+        "java.util.HashMap",
+        "java.util.List",
+        "java.util.Map",
+        "javax.annotation.processing.Generated",
+        "software.amazon.awssdk.services.dynamodb.model.AttributeValue"));
+    if (model.json()) {
+      imports.addAll(List.of(
+          "com.fasterxml.jackson.core.JsonGenerator",
+          "com.fasterxml.jackson.databind.SerializerProvider",
+          "com.fasterxml.jackson.databind.ser.std.StdSerializer",
+          "java.io.IOException"));
+    }
+    imports.stream().sorted().forEach(type -> line("import " + type + ";"));
+    line("");
+    line("@Generated(\"" + ItemModelProcessor.class.getName() + "\")");
+    line("public final class " + model.itemName() + " {");
+    line("");
+  }
+
+  private void metadata() {
+    line("  public static final String TABLE_NAME = \"" + model.table() + "\";");
+    for (Attribute attribute : model.attributes()) {
+      line("  public static final String " + attribute.constant() + " = \"" + attribute.name()
+          + "\";");
+    }
+    for (Index index : model.indexes()) {
+      line("  public static final String " + index.constant() + " = \"" + index.name() + "\";");
+    }
+    line("  public static final List<String> KEY_ATTRIBUTES = List.of("
+        + model.constants(model.keys()) + ");");
+    line("  public static final List<String> ATTRIBUTES = List.of("
+        + model.constants(model.attributes()) + ");");
+    line("");
+    line("  private " + model.itemName() + "() {");
+    line("  }");
+    line("");
+  }
+
+  private void read() {
+    line("  public static " + model.typeName() + " read(final Map<String, AttributeValue> item) {");
+    line("    if (item == null || item.isEmpty()) {");
+    line("      throw new IllegalArgumentException(\"Item is null or empty\");");
+    line("    }");
+    for (Attribute attribute : model.attributes()) {
+      if (!attribute.key()) {
+        line("    AttributeValue " + attribute.name() + "Value = item.get("
+            + attribute.constant() + ");");
+      }
+    }
+    line("    return " + model.factory() + "(");
+    line(model.attributes().stream()
+        .map(attribute -> "        " + (attribute.key()
+            ? attribute.kind().read.formatted("required(item, " + attribute.constant() + ")")
+            : attribute.name() + "Value == null ? null : "
+                + attribute.kind().read.formatted(attribute.name() + "Value")))
+        .collect(Collectors.joining(",\n")) + ");");
+    line("  }");
+    line("");
+  }
+
+  private void write() {
+    line("  public static Map<String, AttributeValue> write(final " + model.typeName()
+        + " value) {");
+    line("    Map<String, AttributeValue> item = new HashMap<>("
+        + (int) Math.ceil(model.attributes().size() / 0.75) + ");");
+    for (Attribute attribute : model.attributes()) {
+      String getter = "value." + attribute.accessor() + "()";
+      String put = "item.put(" + attribute.constant() + ", "
+          + attribute.kind().write.formatted(getter) + ");";
+      if (attribute.key()) {
+        line("    " + put);
+      } else {
+        line("    if (" + getter + " != null) {");
+        line("      " + put);
+        line("    }");
+      }
+    }
+    line("    return item;");
+    line("  }");
+    line("");
+  }
+
+  private void keys() {
+    keyMethod("key", model.keys());
+    for (Index index : model.indexes()) {
+      List<Attribute> attributes = new ArrayList<>(model.keys());
+      model.attributes().stream()
+          .filter(attribute -> attribute.name().equals(index.attribute())
+              && !attribute.key())
+          .forEach(attributes::add);
+      keyMethod(index.keyMethod(), attributes);
+    }
+  }
+
+  private void keyMethod(final String name, final List<Attribute> attributes) {
+    line("  public static Map<String, AttributeValue> " + name + "(final " + model.typeName()
+        + " value) {");
+    line("    return Map.of(");
+    line(attributes.stream()
+        .map(attribute -> "        " + attribute.constant() + ", "
+            + attribute.kind().write.formatted("value." + attribute.accessor() + "()"))
+        .collect(Collectors.joining(",\n")) + ");");
+    line("  }");
+    line("");
+  }
+
+  private void json() {
+    line("  public static void writeJson(final " + model.typeName()
+        + " value, final JsonGenerator generator)");
+    line("      throws IOException {");
+    line("    generator.writeStartObject();");
+    for (Attribute attribute : model.attributes()) {
+      String getter = "value." + attribute.accessor() + "()";
+      String write = "generator." + attribute.kind().jsonWrite + "(" + attribute.constant() + ", "
+          + getter + ");";
+      if (attribute.kind() == ItemModelProcessor.Kind.STRING) {
+        line("    " + write);
+      } else {
+        line("    if (" + getter + " == null) {");
+        line("      generator.writeNullField(" + attribute.constant() + ");");
+        line("    } else {");
+        line("      " + write);
+        line("    }");
+      }
+    }
+    line("    generator.writeEndObject();");
+    line("  }");
+    line("");
+    line("  public static final class Serializer extends StdSerializer<" + model.typeName()
+        + "> {");
+    line("");
+    line("    private static final long serialVersionUID = 1L;");
+    line("");
+    line("    public Serializer() {");
+    line("      super(" + model.typeName() + ".class);");
+    line("    }");
+    line("");
+    line("    @Override");
+    line("    public void serialize(final " + model.typeName()
+        + " value, final JsonGenerator generator,");
+    line("        final SerializerProvider provider) throws IOException {");
+    line("      writeJson(value, generator);");
+    line("    }");
+    line("  }");
+    line("");
+  }
+
+  private void helpers() {
+    line("  private static AttributeValue required(final Map<String, AttributeValue> item,");
+    line("      final String attribute) {");
+    line("    AttributeValue value = item.get(attribute);");
+    line("    if (value == null) {");
+    line("      throw new IllegalArgumentException(\"Item is missing \" + attribute);");
+    line("    }");
+    line("    return value;");
+    line("  }");
+  }
+
+  private void line(final String text) {
+    source.append(text).append('\n');
+  }
+}
@@ -0,0 +1,153 @@
+package com.matheus.cache;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+public final class BoundedTtlCache<K, V> {
+
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final BiConsumer<K, V> evictionListener;
+  private final LongSupplier nanoClock;
+  private final Predicate<V> pinned;
+  private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+  public BoundedTtlCache(final int maxEntries, final Duration ttl,
+      final BiConsumer<K, V> evictionListener) {
+    this(maxEntries, ttl, evictionListener, value -> false);
+  }
+
+  public BoundedTtlCache(final int maxEntries, final Duration ttl,
+      final BiConsumer<K, V> evictionListener, final Predicate<V> pinned) {
+    this(maxEntries, ttl, evictionListener, pinned, System::nanoTime);
+  }
+
+  public BoundedTtlCache(final int maxEntries, final Duration ttl,
+      final BiConsumer<K, V> evictionListener, final LongSupplier nanoClock) {
+    this(maxEntries, ttl, evictionListener, value -> false, nanoClock);
+  }
+
+  public BoundedTtlCache(final int maxEntries, final Duration ttl,
+      final BiConsumer<K, V> evictionListener, final Predicate<V> pinned,
+      final LongSupplier nanoClock) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive");
+    }
+    this.maxEntries = maxEntries;
+    this.ttlNanos = ttl.toNanos();
+    this.evictionListener = evictionListener;
+    this.nanoClock = nanoClock;
+    this.pinned = pinned;
+  }
+
+  public Optional<V> get(final K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (isStale(entry, nanoClock.getAsLong())) {
+      evict(key, entry);
+      return Optional.empty();
+    }
+    return Optional.of(entry.value());
+  }
+
+  public Optional<V> remove(final K key) {
+    Entry<V> entry = entries.remove(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (isStale(entry, nanoClock.getAsLong())) {
+      evictionListener.accept(key, entry.value());
+      return Optional.empty();
+    }
+    return Optional.of(entry.value());
+  }
+
+  public void put(final K key, final V value) {
+    if (!entries.containsKey(key)) {
+      makeRoom();
+    }
+    entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+  }
+
+  public V computeIfAbsent(final K key, final Function<? super K, ? extends V> loader) {
+    Optional<V> current = get(key);
+    if (current.isPresent()) {
+      return current.get();
+    }
+    makeRoom();
+    return entries.computeIfAbsent(key,
+            k -> new Entry<>(loader.apply(k), nanoClock.getAsLong() + ttlNanos))
+        .value();
+  }
+
+  public void evictIf(final Predicate<? super K> condition) {
+    entries.forEach((key, entry) -> {
+      if (condition.test(key)) {
+        evict(key, entry);
+      }
+    });
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public Map<K, V> snapshot() {
+    long now = nanoClock.getAsLong();
+    Map<K, V> snapshot = new HashMap<>();
+    entries.forEach((key, entry) -> {
+      if (!isStale(entry, now)) {
+        snapshot.put(key, entry.value());
+      }
+    });
+    return snapshot;
+  }
+
+  private void makeRoom() {
+    if (entries.size() < maxEntries) {
+      return;
+    }
+    long now = nanoClock.getAsLong();
+    entries.forEach((key, entry) -> {
+      if (isStale(entry, now)) {
+        evict(key, entry);
+      }
+    });
+    while (entries.size() >= maxEntries) {
+      Optional<Map.Entry<K, Entry<V>>> oldest = entries.entrySet().stream()
+          .filter(candidate -> !pinned.test(candidate.getValue().value()))
+          .min(Comparator.comparingLong(candidate -> candidate.getValue().deadline()));
+      if (oldest.isEmpty()) {
+        throw new IllegalStateException("cache is full of pinned entries");
+      }
+      evict(oldest.get().getKey(), oldest.get().getValue());
+    }
+  }
+
+  private boolean isStale(final Entry<V> entry, final long now) {
+    return entry.isExpired(now) && !pinned.test(entry.value());
+  }
+
+  private void evict(final K key, final Entry<V> entry) {
+    if (entries.remove(key, entry)) {
+      evictionListener.accept(key, entry.value());
+    }
+  }
+
+  private record Entry<V>(V value, long deadline) {
+
+    boolean isExpired(final long now) {
+      return now - deadline >= 0;
+    }
+  }
+}
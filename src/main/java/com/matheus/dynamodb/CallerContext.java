@@ -0,0 +1,35 @@
+package com.matheus.dynamodb;
+
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import javax.enterprise.context.RequestScoped;
+
+@RequestScoped
+public class CallerContext {
+
+  private final CallerQuotas callerQuotas;
+  private volatile String caller;
+  private volatile String endpoint;
+
+  public CallerContext(CallerQuotas callerQuotas) {
+    this.callerQuotas = callerQuotas;
+  }
+
+  public void identify(final String caller, final String endpoint) {
+    this.caller = caller;
+    this.endpoint = endpoint;
+  }
+
+  public String caller() {
+    return caller;
+  }
+
+  public String endpoint() {
+    return endpoint;
+  }
+
+  void consumed(final Access access, final double units) {
+    if (caller != null) {
+      callerQuotas.record(caller, endpoint, access, units);
+    }
+  }
+}
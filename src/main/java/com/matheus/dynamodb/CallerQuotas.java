@@ -0,0 +1,209 @@
+package com.matheus.dynamodb;
+
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import com.matheus.vo.response.CallerUsageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class CallerQuotas {
+
+  public static final String ANONYMOUS = "anonymous";
+  public static final String OTHER = "other";
+
+  private final boolean throttle;
+  private final Quota defaultQuota;
+  private final Map<String, Quota> overrides;
+  private final long burstNanos;
+  private final long maxWaitNanos;
+  private final int maxCallers;
+  private final Counter rejections;
+  private final Timer throttles;
+  private final ConcurrentHashMap<String, CallerBuckets> callers = new ConcurrentHashMap<>();
+  private final AtomicInteger registeredCallers = new AtomicInteger();
+  private final ConcurrentHashMap<UsageKey, Usage> usage = new ConcurrentHashMap<>();
+
+  public CallerQuotas(
+      @ConfigProperty(name = "person.quota.throttle", defaultValue = "false") boolean throttle,
+      @ConfigProperty(name = "person.quota.read-units-per-second", defaultValue = "100")
+      double readUnitsPerSecond,
+      @ConfigProperty(name = "person.quota.write-units-per-second", defaultValue = "50")
+      double writeUnitsPerSecond,
+      @ConfigProperty(name = "person.quota.overrides") Optional<List<String>> overrides,
+      @ConfigProperty(name = "person.quota.burst", defaultValue = "PT1S") Duration burst,
+      @ConfigProperty(name = "person.quota.max-wait", defaultValue = "PT1S") Duration maxWait,
+      @ConfigProperty(name = "person.quota.max-callers", defaultValue = "1000") int maxCallers,
+      MeterRegistry meterRegistry) {
+    this.throttle = throttle;
+    this.defaultQuota = new Quota(readUnitsPerSecond, writeUnitsPerSecond);
+    this.overrides = parseOverrides(overrides.orElse(List.of()));
+    this.burstNanos = burst.toNanos();
+    this.maxWaitNanos = maxWait.toNanos();
+    this.maxCallers = maxCallers;
+    this.rejections = meterRegistry.counter("dynamodb.quota.rejected");
+    this.throttles = meterRegistry.timer("dynamodb.quota.throttled");
+  }
+
+  public String callerOf(final String header) {
+    if (header == null || header.isBlank()) {
+      return ANONYMOUS;
+    }
+    String caller = header.strip();
+    return callers.containsKey(caller) || reserve(caller) ? caller : OTHER;
+  }
+
+  public Admission admit(final String caller, final String endpoint, final Access access) {
+    Usage callerUsage = usage(caller, endpoint);
+    long waitNanos = buckets(caller).of(access).waitNanos(System.nanoTime(), burstNanos);
+    if (waitNanos == 0) {
+      callerUsage.requests.increment();
+      return Admission.NOW;
+    }
+    if (throttle && waitNanos <= maxWaitNanos) {
+      callerUsage.requests.increment();
+      callerUsage.throttled.increment();
+      throttles.record(Duration.ofNanos(waitNanos));
+      return new Admission(true, waitNanos);
+    }
+    callerUsage.rejected.increment();
+    rejections.increment();
+    return new Admission(false, waitNanos);
+  }
+
+  public void record(final String caller, final String endpoint, final Access access,
+      final double units) {
+    if (units <= 0) {
+      return;
+    }
+    Usage callerUsage = usage(caller, endpoint);
+    (access == Access.READ ? callerUsage.readUnits : callerUsage.writeUnits).add(units);
+    buckets(caller).of(access).consume(System.nanoTime(), units);
+  }
+
+  public List<CallerUsageResponse> snapshot() {
+    return usage.entrySet().stream()
+        .map(entry -> {
+          Quota quota = quotaOf(entry.getKey().caller());
+          Usage each = entry.getValue();
+          return new CallerUsageResponse(entry.getKey().caller(), entry.getKey().endpoint(),
+              quota.readUnitsPerSecond(), quota.writeUnitsPerSecond(), each.readUnits.sum(),
+              each.writeUnits.sum(), each.requests.sum(), each.throttled.sum(),
+              each.rejected.sum());
+        })
+        .sorted(Comparator.comparing(CallerUsageResponse::caller)
+            .thenComparing(CallerUsageResponse::endpoint))
+        .toList();
+  }
+
+  private Usage usage(final String caller, final String endpoint) {
+    return usage.computeIfAbsent(new UsageKey(caller, endpoint), key -> new Usage());
+  }
+
+  private boolean reserve(final String caller) {
+    return callers.computeIfAbsent(caller, key -> registeredCallers
+        .getAndUpdate(count -> count < maxCallers ? count + 1 : count) < maxCallers
+        ? newBuckets(key)
+        : null) != null;
+  }
+
+  private CallerBuckets buckets(final String caller) {
+    return callers.computeIfAbsent(caller, this::newBuckets);
+  }
+
+  private CallerBuckets newBuckets(final String caller) {
+    Quota quota = quotaOf(caller);
+    long now = System.nanoTime();
+    return new CallerBuckets(new DebtBucket(quota.readUnitsPerSecond(), now),
+        new DebtBucket(quota.writeUnitsPerSecond(), now));
+  }
+
+  private Quota quotaOf(final String caller) {
+    return overrides.getOrDefault(caller, defaultQuota);
+  }
+
+  private static Map<String, Quota> parseOverrides(final List<String> overrides) {
+    Map<String, Quota> quotas = new HashMap<>();
+    for (String override : overrides) {
+      String[] callerAndUnits = override.split("=", 2);
+      String[] units = callerAndUnits.length == 2 ? callerAndUnits[1].split("/", 2) : new String[0];
+      if (units.length != 2) {
+        throw new IllegalArgumentException(
+            "person.quota.overrides entries must be caller=readUnits/writeUnits: " + override);
+      }
+      quotas.put(callerAndUnits[0].strip(), new Quota(Double.parseDouble(units[0].strip()),
+          Double.parseDouble(units[1].strip())));
+    }
+    return Map.copyOf(quotas);
+  }
+
+  public record Admission(boolean admitted, long waitNanos) {
+
+    static final Admission NOW = new Admission(true, 0);
+  }
+
+  private record Quota(double readUnitsPerSecond, double writeUnitsPerSecond) {
+
+    private Quota {
+      if (!(readUnitsPerSecond > 0) || !(writeUnitsPerSecond > 0)
+          || Double.isInfinite(readUnitsPerSecond) || Double.isInfinite(writeUnitsPerSecond)) {
+        throw new IllegalArgumentException(
+            "person.quota units per second must be positive and finite: " + readUnitsPerSecond
+                + "/" + writeUnitsPerSecond);
+      }
+    }
+  }
+
+  private record UsageKey(String caller, String endpoint) {
+
+  }
+
+  private record CallerBuckets(DebtBucket read, DebtBucket write) {
+
+    DebtBucket of(final Access access) {
+      return access == Access.READ ? read : write;
+    }
+  }
+
+  private static final class Usage {
+
+    private final DoubleAdder readUnits = new DoubleAdder();
+    private final DoubleAdder writeUnits = new DoubleAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+  }
+
+  private static final class DebtBucket {
+
+    private final double nanosPerUnit;
+    private final AtomicLong paidUntil;
+
+    private DebtBucket(final double unitsPerSecond, final long now) {
+      this.nanosPerUnit = 1_000_000_000d / unitsPerSecond;
+      this.paidUntil = new AtomicLong(now);
+    }
+
+    private void consume(final long now, final double units) {
+      long cost = (long) (units * nanosPerUnit);
+      paidUntil.accumulateAndGet(now, (current, at) -> Math.max(current, at) + cost);
+    }
+
+    private long waitNanos(final long now, final long burstNanos) {
+      return Math.max(0, paidUntil.get() - now - burstNanos);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.matheus.dynamodb;
+
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import com.matheus.dynamodb.TokenBucket.Reservation;
+import com.matheus.vo.response.CapacityBucketResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class CapacityRateLimiter {
+
+  private final boolean enabled;
+  private final double readUnitsPerSecond;
+  private final double writeUnitsPerSecond;
+  private final double burstSeconds;
+  private final long maxWaitNanos;
+  private final MeterRegistry meterRegistry;
+  private final Timer waits;
+  private final ConcurrentHashMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+  public CapacityRateLimiter(
+      @ConfigProperty(name = "person.capacity.enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "person.capacity.read-units-per-second", defaultValue = "1")
+      double readUnitsPerSecond,
+      @ConfigProperty(name = "person.capacity.write-units-per-second", defaultValue = "1")
+      double writeUnitsPerSecond,
+      @ConfigProperty(name = "person.capacity.utilization", defaultValue = "0.9")
+      double utilization,
+      @ConfigProperty(name = "person.capacity.burst", defaultValue = "PT5S") Duration burst,
+      @ConfigProperty(name = "person.capacity.max-wait", defaultValue = "PT5S") Duration maxWait,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.readUnitsPerSecond = readUnitsPerSecond * utilization;
+    this.writeUnitsPerSecond = writeUnitsPerSecond * utilization;
+    this.burstSeconds = burst.toMillis() / 1000d;
+    this.maxWaitNanos = maxWait.toNanos();
+    this.meterRegistry = meterRegistry;
+    this.waits = meterRegistry.timer("dynamodb.capacity.wait");
+  }
+
+  public Permit acquire(final DynamoDbOperation operation) {
+    if (!enabled || operation.table() == null) {
+      return Permit.NONE;
+    }
+    List<TokenBucket> limiting = new ArrayList<>();
+    limiting.add(bucket(operation.table(), operation.index(), operation.access()));
+    if (operation.access() == Access.WRITE) {
+      buckets.forEach((key, bucket) -> {
+        if (key.index() != null && key.access() == Access.WRITE
+            && key.table().equals(operation.table())) {
+          limiting.add(bucket);
+        }
+      });
+    }
+    List<Reservation> reservations = limiting.stream().map(TokenBucket::reserve).toList();
+    long waitNanos = Math.min(maxWaitNanos,
+        reservations.stream().mapToLong(Reservation::waitNanos).max().orElse(0));
+    waits.record(Duration.ofNanos(waitNanos));
+    return new Permit(limiting, reservations, waitNanos);
+  }
+
+  public void record(final String table, final String index, final Access access,
+      final double units) {
+    if (table != null && units > 0) {
+      bucket(table, index, access).consume(units);
+    }
+  }
+
+  public List<CapacityBucketResponse> snapshot() {
+    return buckets.values().stream()
+        .map(TokenBucket::snapshot)
+        .sorted(Comparator.comparing(CapacityBucketResponse::table)
+            .thenComparing(bucket -> Objects.toString(bucket.index(), ""))
+            .thenComparing(CapacityBucketResponse::access))
+        .toList();
+  }
+
+  private TokenBucket bucket(final String table, final String index, final Access access) {
+    return buckets.computeIfAbsent(new BucketKey(table, index, access), key -> {
+      double unitsPerSecond = access == Access.READ ? readUnitsPerSecond : writeUnitsPerSecond;
+      TokenBucket bucket = new TokenBucket(table, index, access, unitsPerSecond,
+          Math.max(1, unitsPerSecond * burstSeconds), System::nanoTime);
+      Tags tags = Tags.of("table", table, "index", Objects.toString(index, ""),
+          "access", access.name());
+      Gauge.builder("dynamodb.capacity.available", bucket, TokenBucket::available)
+          .tags(tags)
+          .register(meterRegistry);
+      Gauge.builder("dynamodb.capacity.queued", bucket, TokenBucket::queued)
+          .tags(tags)
+          .register(meterRegistry);
+      return bucket;
+    });
+  }
+
+  private record BucketKey(String table, String index, Access access) {
+
+  }
+
+  public static final class Permit {
+
+    static final Permit NONE = new Permit(List.of(), List.of(), 0);
+
+    private final List<TokenBucket> buckets;
+    private final List<Reservation> reservations;
+    private final long waitNanos;
+
+    private Permit(final List<TokenBucket> buckets, final List<Reservation> reservations,
+        final long waitNanos) {
+      this.buckets = buckets;
+      this.reservations = reservations;
+      this.waitNanos = waitNanos;
+    }
+
+    public long waitNanos() {
+      return waitNanos;
+    }
+
+    public void admit() {
+      for (int i = 0; i < buckets.size(); i++) {
+        if (reservations.get(i).waitNanos() > 0) {
+          buckets.get(i).dequeue();
+        }
+      }
+    }
+
+    public void release() {
+      for (int i = 0; i < buckets.size(); i++) {
+        buckets.get(i).refund(reservations.get(i).units());
+      }
+    }
+  }
+}
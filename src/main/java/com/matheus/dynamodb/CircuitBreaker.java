@@ -0,0 +1,110 @@
+package com.matheus.dynamodb;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+public final class CircuitBreaker {
+
+  private final String operation;
+  private final ResilienceSettings settings;
+  private final LongSupplier nanoClock;
+  private final boolean[] failures;
+  private final boolean[] slowCalls;
+  private State state = State.CLOSED;
+  private int recorded;
+  private int next;
+  private int failureCount;
+  private int slowCount;
+  private long openedAt;
+  private int halfOpenPermits;
+  private int halfOpenSuccesses;
+
+  public CircuitBreaker(final String operation, final ResilienceSettings settings,
+      final LongSupplier nanoClock) {
+    this.operation = operation;
+    this.settings = settings;
+    this.nanoClock = nanoClock;
+    this.failures = new boolean[settings.windowSize()];
+    this.slowCalls = new boolean[settings.windowSize()];
+  }
+
+  public synchronized void acquire() {
+    if (state == State.OPEN) {
+      long openFor = nanoClock.getAsLong() - openedAt;
+      long openDuration = settings.openDuration().toNanos();
+      if (openFor < openDuration) {
+        throw new CircuitOpenException(operation, Duration.ofNanos(openDuration - openFor));
+      }
+      state = State.HALF_OPEN;
+      halfOpenPermits = settings.halfOpenCalls();
+      halfOpenSuccesses = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (halfOpenPermits == 0) {
+        throw new CircuitOpenException(operation, settings.openDuration());
+      }
+      halfOpenPermits--;
+    }
+  }
+
+  public synchronized void release() {
+    if (state == State.HALF_OPEN) {
+      halfOpenPermits = Math.min(halfOpenPermits + 1,
+          settings.halfOpenCalls() - halfOpenSuccesses);
+    }
+  }
+
+  public synchronized void onResult(final boolean failure, final long durationNanos) {
+    boolean slow = durationNanos >= settings.slowCallDuration().toNanos();
+    if (state == State.HALF_OPEN) {
+      if (failure || slow) {
+        open();
+      } else if (++halfOpenSuccesses >= settings.halfOpenCalls()) {
+        close();
+      }
+      return;
+    }
+    if (state == State.OPEN) {
+      return;
+    }
+    if (recorded == failures.length) {
+      failureCount -= failures[next] ? 1 : 0;
+      slowCount -= slowCalls[next] ? 1 : 0;
+    } else {
+      recorded++;
+    }
+    failures[next] = failure;
+    slowCalls[next] = slow;
+    failureCount += failure ? 1 : 0;
+    slowCount += slow ? 1 : 0;
+    next = (next + 1) % failures.length;
+    if (recorded >= settings.minimumCalls()
+        && (failureCount >= settings.failureRateThreshold() * recorded
+        || slowCount >= settings.slowCallRateThreshold() * recorded)) {
+      open();
+    }
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = nanoClock.getAsLong();
+  }
+
+  private void close() {
+    state = State.CLOSED;
+    recorded = 0;
+    next = 0;
+    failureCount = 0;
+    slowCount = 0;
+  }
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+}
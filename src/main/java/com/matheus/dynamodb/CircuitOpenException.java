@@ -0,0 +1,25 @@
+package com.matheus.dynamodb;
+
+import java.time.Duration;
+
+public class CircuitOpenException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String operation;
+  private final Duration retryAfter;
+
+  public CircuitOpenException(final String operation, final Duration retryAfter) {
+    super("Circuit breaker for " + operation + " is open");
+    this.operation = operation;
+    this.retryAfter = retryAfter;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
@@ -0,0 +1,219 @@
+package com.matheus.dynamodb;
+
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.ClientProxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.config.ConfigProvider;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+public class ConsumedCapacityInterceptor implements ExecutionInterceptor {
+
+  private static final ReturnConsumedCapacity INDEXES = ReturnConsumedCapacity.INDEXES;
+  private static final ExecutionAttribute<CallerContext> CALLER =
+      new ExecutionAttribute<>("PersonCaller");
+
+  private final Supplier<CapacityRateLimiter> capacityRateLimiter;
+  private final Supplier<CallerContext> callerContext;
+
+  public ConsumedCapacityInterceptor() {
+    this(enabled("person.capacity.enabled")
+            ? resolvedOnce(ConsumedCapacityInterceptor::lookupRateLimiter)
+            : () -> null,
+        enabled("person.quota.enabled")
+            ? ConsumedCapacityInterceptor::lookupCallerContext
+            : () -> null);
+  }
+
+  public ConsumedCapacityInterceptor(final Supplier<CapacityRateLimiter> capacityRateLimiter) {
+    this(capacityRateLimiter, () -> null);
+  }
+
+  public ConsumedCapacityInterceptor(final Supplier<CapacityRateLimiter> capacityRateLimiter,
+      final Supplier<CallerContext> callerContext) {
+    this.capacityRateLimiter = capacityRateLimiter;
+    this.callerContext = callerContext;
+  }
+
+  @Override
+  public void beforeExecution(final Context.BeforeExecution context,
+      final ExecutionAttributes executionAttributes) {
+    CallerContext caller = callerContext.get();
+    if (caller != null && caller.caller() != null) {
+      executionAttributes.putAttribute(CALLER, caller);
+    }
+  }
+
+  @Override
+  public SdkRequest modifyRequest(final Context.ModifyRequest context,
+      final ExecutionAttributes executionAttributes) {
+    SdkRequest request = context.request();
+    if (request instanceof GetItemRequest getItem
+        && !reportsIndexes(getItem.returnConsumedCapacity())) {
+      return getItem.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    if (request instanceof QueryRequest query && !reportsIndexes(query.returnConsumedCapacity())) {
+      return query.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    if (request instanceof ScanRequest scan && !reportsIndexes(scan.returnConsumedCapacity())) {
+      return scan.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    if (request instanceof PutItemRequest put && !reportsIndexes(put.returnConsumedCapacity())) {
+      return put.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    if (request instanceof UpdateItemRequest update
+        && !reportsIndexes(update.returnConsumedCapacity())) {
+      return update.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    if (request instanceof DeleteItemRequest delete
+        && !reportsIndexes(delete.returnConsumedCapacity())) {
+      return delete.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    if (request instanceof BatchGetItemRequest batchGet
+        && !reportsIndexes(batchGet.returnConsumedCapacity())) {
+      return batchGet.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    if (request instanceof BatchWriteItemRequest batchWrite
+        && !reportsIndexes(batchWrite.returnConsumedCapacity())) {
+      return batchWrite.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    if (request instanceof TransactGetItemsRequest transactGet
+        && !reportsIndexes(transactGet.returnConsumedCapacity())) {
+      return transactGet.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    if (request instanceof TransactWriteItemsRequest transactWrite
+        && !reportsIndexes(transactWrite.returnConsumedCapacity())) {
+      return transactWrite.toBuilder().returnConsumedCapacity(INDEXES).build();
+    }
+    return request;
+  }
+
+  @Override
+  public void afterExecution(final Context.AfterExecution context,
+      final ExecutionAttributes executionAttributes) {
+    CapacityRateLimiter limiter = ShadowTraffic.active() ? null : capacityRateLimiter.get();
+    CallerContext caller = executionAttributes.getAttribute(CALLER);
+    if (limiter == null && caller == null) {
+      return;
+    }
+    Access access = accessOf(context.request());
+    context.response()
+        .getValueForField("ConsumedCapacity", Object.class)
+        .ifPresent(consumed -> {
+          if (consumed instanceof ConsumedCapacity single) {
+            record(limiter, caller, access, single);
+          } else if (consumed instanceof List<?> list) {
+            list.forEach(each -> record(limiter, caller, access, (ConsumedCapacity) each));
+          }
+        });
+  }
+
+  private static void record(final CapacityRateLimiter limiter, final CallerContext caller,
+      final Access access, final ConsumedCapacity consumed) {
+    if (limiter != null) {
+      record(limiter, access, consumed);
+    }
+    if (caller != null) {
+      caller.consumed(access, consumed.capacityUnits() != null
+          ? consumed.capacityUnits()
+          : consumed.table() == null ? 0 : units(consumed.table(), access));
+    }
+  }
+
+  private static void record(final CapacityRateLimiter limiter, final Access access,
+      final ConsumedCapacity consumed) {
+    String table = consumed.tableName();
+    if (consumed.table() != null) {
+      limiter.record(table, null, access, units(consumed.table(), access));
+    } else if (consumed.capacityUnits() != null) {
+      limiter.record(table, null, access, consumed.capacityUnits());
+    }
+    recordIndexes(limiter, table, access, consumed.globalSecondaryIndexes());
+    recordIndexes(limiter, table, access, consumed.localSecondaryIndexes());
+  }
+
+  private static void recordIndexes(final CapacityRateLimiter limiter, final String table,
+      final Access access, final Map<String, Capacity> indexes) {
+    if (indexes != null) {
+      indexes.forEach((index, capacity) ->
+          limiter.record(table, index, access, units(capacity, access)));
+    }
+  }
+
+  private static double units(final Capacity capacity, final Access access) {
+    Double units = access == Access.READ
+        ? capacity.readCapacityUnits()
+        : capacity.writeCapacityUnits();
+    if (units == null) {
+      units = capacity.capacityUnits();
+    }
+    return units == null ? 0 : units;
+  }
+
+  private static Access accessOf(final SdkRequest request) {
+    return request instanceof GetItemRequest
+        || request instanceof QueryRequest
+        || request instanceof ScanRequest
+        || request instanceof BatchGetItemRequest
+        || request instanceof TransactGetItemsRequest
+        ? Access.READ
+        : Access.WRITE;
+  }
+
+  private static boolean reportsIndexes(final ReturnConsumedCapacity returnConsumedCapacity) {
+    return returnConsumedCapacity == INDEXES;
+  }
+
+  private static boolean enabled(final String property) {
+    return ConfigProvider.getConfig().getOptionalValue(property, Boolean.class).orElse(false);
+  }
+
+  private static Supplier<CapacityRateLimiter> resolvedOnce(
+      final Supplier<CapacityRateLimiter> lookup) {
+    AtomicReference<CapacityRateLimiter> resolved = new AtomicReference<>();
+    return () -> {
+      CapacityRateLimiter limiter = resolved.get();
+      if (limiter == null) {
+        limiter = lookup.get();
+        resolved.set(limiter);
+      }
+      return limiter;
+    };
+  }
+
+  private static CapacityRateLimiter lookupRateLimiter() {
+    ArcContainer container = Arc.container();
+    return container == null || !container.isRunning()
+        ? null
+        : container.instance(CapacityRateLimiter.class).get();
+  }
+
+  private static CallerContext lookupCallerContext() {
+    ArcContainer container = Arc.container();
+    if (container == null || !container.isRunning() || !container.requestContext().isActive()) {
+      return null;
+    }
+    return ClientProxy.unwrap(container.instance(CallerContext.class).get());
+  }
+}
@@ -0,0 +1,46 @@
+package com.matheus.dynamodb;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class CountMinSketch {
+
+  private final int depth;
+  private final int mask;
+  private final AtomicLongArray counters;
+
+  CountMinSketch(final int depth, final int width) {
+    int buckets = Integer.highestOneBit(Math.max(2, width - 1) << 1);
+    this.depth = depth;
+    this.mask = buckets - 1;
+    this.counters = new AtomicLongArray(depth * buckets);
+  }
+
+  long add(final Object key) {
+    int first = mix(key.hashCode());
+    int second = mix(first ^ 0x9e3779b9) | 1;
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      int column = (first + row * second) & mask;
+      estimate = Math.min(estimate, counters.incrementAndGet(row * (mask + 1) + column));
+    }
+    return estimate;
+  }
+
+  long estimate(final Object key) {
+    int first = mix(key.hashCode());
+    int second = mix(first ^ 0x9e3779b9) | 1;
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      int column = (first + row * second) & mask;
+      estimate = Math.min(estimate, counters.get(row * (mask + 1) + column));
+    }
+    return estimate;
+  }
+
+  private static int mix(final int hash) {
+    int mixed = hash * 0x85ebca6b;
+    mixed ^= mixed >>> 13;
+    mixed *= 0xc2b2ae35;
+    return mixed ^ (mixed >>> 16);
+  }
+}
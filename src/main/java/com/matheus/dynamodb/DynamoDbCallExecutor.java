@@ -0,0 +1,135 @@
+package com.matheus.dynamodb;
+
+import com.matheus.dynamodb.CapacityRateLimiter.Permit;
+import com.matheus.dynamodb.DynamoDbResilience.Guard;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class DynamoDbCallExecutor {
+
+  private final CapacityRateLimiter capacityRateLimiter;
+  private final DynamoDbResilience dynamoDbResilience;
+  private final HotPartitionTracker hotPartitionTracker;
+  private final boolean completeOnCallerContext;
+
+  public DynamoDbCallExecutor(CapacityRateLimiter capacityRateLimiter,
+      DynamoDbResilience dynamoDbResilience, HotPartitionTracker hotPartitionTracker,
+      @ConfigProperty(name = "person.async.complete-on-caller-context", defaultValue = "false")
+      boolean completeOnCallerContext) {
+    this.capacityRateLimiter = capacityRateLimiter;
+    this.dynamoDbResilience = dynamoDbResilience;
+    this.hotPartitionTracker = hotPartitionTracker;
+    this.completeOnCallerContext = completeOnCallerContext;
+  }
+
+  public <T> T execute(final DynamoDbOperation operation, final Supplier<T> call) {
+    boolean shadow = ShadowTraffic.active();
+    Guard guard = dynamoDbResilience.guard(shadow ? operation.asShadow() : operation);
+    long delay = 0;
+    for (int attempt = 1; ; attempt++) {
+      guard.acquire(attempt);
+      Permit permit = Permit.NONE;
+      if (!shadow) {
+        hotPartitionTracker.record(operation);
+        permit = capacityRateLimiter.acquire(operation);
+      }
+      long startedAt = 0;
+      try {
+        pause(permit.waitNanos());
+        permit.admit();
+        startedAt = System.nanoTime();
+        T result = call.get();
+        guard.onSuccess(System.nanoTime() - startedAt);
+        return result;
+      } catch (Throwable e) {
+        delay = guard.onFailure(e, attempt, delay, System.nanoTime() - startedAt);
+        if (delay < 0) {
+          throw e;
+        }
+      } finally {
+        permit.release();
+      }
+      pause(delay);
+    }
+  }
+
+  public <T> Uni<T> executeAsync(final DynamoDbOperation operation,
+      final Supplier<Uni<T>> call) {
+    Uni<T> result = Uni.createFrom().deferred(() -> {
+      Executor traced = io.opentelemetry.context.Context.current().wrap((Executor) Runnable::run);
+      return attempt(operation, dynamoDbResilience.guard(operation), call, 1, 0, traced)
+          .emitOn(traced);
+    });
+    return completeOnCallerContext ? onCallerContext(result) : result;
+  }
+
+  private static <T> Uni<T> onCallerContext(final Uni<T> result) {
+    return Uni.createFrom().deferred(() -> {
+      Context caller = Vertx.currentContext();
+      if (caller == null) {
+        return result;
+      }
+      return result.emitOn(command -> caller.runOnContext(ignored -> command.run()));
+    });
+  }
+
+  private <T> Uni<T> attempt(final DynamoDbOperation operation, final Guard guard,
+      final Supplier<Uni<T>> call, final int attempt, final long previousDelay,
+      final Executor traced) {
+    guard.acquire(attempt);
+    hotPartitionTracker.record(operation);
+    Permit permit = capacityRateLimiter.acquire(operation);
+    long[] startedAt = new long[1];
+    return delayed(permit.waitNanos())
+        .invoke(permit::admit)
+        .chain(() -> {
+          startedAt[0] = System.nanoTime();
+          return Uni.createFrom().deferred(call::get).runSubscriptionOn(traced);
+        })
+        .onTermination()
+        .invoke((item, failure, cancelled) -> {
+          permit.release();
+          if (cancelled) {
+            guard.onCancellation();
+          }
+        })
+        .onItemOrFailure()
+        .transformToUni((item, failure) -> {
+          long duration = System.nanoTime() - startedAt[0];
+          if (failure == null) {
+            guard.onSuccess(duration);
+            return Uni.createFrom().item(item);
+          }
+          long delay = guard.onFailure(failure, attempt, previousDelay, duration);
+          if (delay < 0) {
+            return Uni.createFrom().failure(failure);
+          }
+          return delayed(delay)
+              .chain(() -> attempt(operation, guard, call, attempt + 1, delay, traced));
+        });
+  }
+
+  private static Uni<Void> delayed(final long nanos) {
+    Uni<Void> now = Uni.createFrom().voidItem();
+    return nanos <= 0 ? now : now.onItem().delayIt().by(Duration.ofNanos(nanos));
+  }
+
+  private static void pause(final long nanos) {
+    if (nanos <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
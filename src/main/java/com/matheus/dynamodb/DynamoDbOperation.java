@@ -0,0 +1,38 @@
+package com.matheus.dynamodb;
+
+import java.util.List;
+
+public record DynamoDbOperation(String name, String table, String index, Access access,
+                                List<String> partitionKeys) {
+
+  public static DynamoDbOperation read(final String name, final String table) {
+    return new DynamoDbOperation(name, table, null, Access.READ, List.of());
+  }
+
+  public static DynamoDbOperation read(final String name, final String table,
+      final String index) {
+    return new DynamoDbOperation(name, table, index, Access.READ, List.of());
+  }
+
+  public static DynamoDbOperation write(final String name, final String table) {
+    return new DynamoDbOperation(name, table, null, Access.WRITE, List.of());
+  }
+
+  public DynamoDbOperation withPartitionKey(final String partitionKey) {
+    return withPartitionKeys(List.of(partitionKey));
+  }
+
+  public DynamoDbOperation withPartitionKeys(final List<String> partitionKeys) {
+    return new DynamoDbOperation(name, table, index, access, List.copyOf(partitionKeys));
+  }
+
+  public DynamoDbOperation asShadow() {
+    return new DynamoDbOperation(ShadowTraffic.OPERATION_PREFIX + name, table, index, access,
+        partitionKeys);
+  }
+
+  public enum Access {
+    READ,
+    WRITE
+  }
+}
@@ -0,0 +1,126 @@
+package com.matheus.dynamodb;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.enterprise.context.ApplicationScoped;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+
+@ApplicationScoped
+public class DynamoDbResilience {
+
+  private final ResilienceSettings settings;
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentHashMap<String, Guard> guards = new ConcurrentHashMap<>();
+
+  public DynamoDbResilience(ResilienceSettings settings, MeterRegistry meterRegistry) {
+    this.settings = settings;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public Guard guard(final DynamoDbOperation operation) {
+    return guards.computeIfAbsent(operation.name(), this::newGuard);
+  }
+
+  public CircuitBreaker.State state(final String operation) {
+    Guard guard = guards.get(operation);
+    return guard == null ? CircuitBreaker.State.CLOSED : guard.circuitBreaker.state();
+  }
+
+  private Guard newGuard(final String operation) {
+    Guard guard = new Guard(new CircuitBreaker(operation, settings, System::nanoTime),
+        new RetryBudget(settings.retryBudgetRatio(), settings.retryBudgetBurst()),
+        meterRegistry.counter("dynamodb.retry.attempts", "operation", operation),
+        meterRegistry.counter("dynamodb.retry.budget.exhausted", "operation", operation),
+        meterRegistry.counter("dynamodb.circuit.rejected", "operation", operation));
+    Gauge.builder("dynamodb.circuit.state", guard.circuitBreaker,
+            circuitBreaker -> circuitBreaker.state().ordinal())
+        .tag("operation", operation)
+        .description("0 closed, 1 open, 2 half-open")
+        .register(meterRegistry);
+    return guard;
+  }
+
+  public final class Guard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final Counter retries;
+    private final Counter budgetExhausted;
+    private final Counter rejected;
+
+    private Guard(final CircuitBreaker circuitBreaker, final RetryBudget retryBudget,
+        final Counter retries, final Counter budgetExhausted, final Counter rejected) {
+      this.circuitBreaker = circuitBreaker;
+      this.retryBudget = retryBudget;
+      this.retries = retries;
+      this.budgetExhausted = budgetExhausted;
+      this.rejected = rejected;
+    }
+
+    public void acquire(final int attempt) {
+      try {
+        circuitBreaker.acquire();
+      } catch (CircuitOpenException e) {
+        rejected.increment();
+        throw e;
+      }
+      if (attempt == 1) {
+        retryBudget.deposit();
+      }
+    }
+
+    public void onCancellation() {
+      circuitBreaker.release();
+    }
+
+    public void onSuccess(final long durationNanos) {
+      circuitBreaker.onResult(false, durationNanos);
+    }
+
+    public long onFailure(final Throwable failure, final int attempt, final long previousDelay,
+        final long durationNanos) {
+      Throwable cause = unwrap(failure);
+      boolean retryable = isRetryable(cause);
+      circuitBreaker.onResult(retryable, durationNanos);
+      if (!retryable || attempt >= settings.maxAttempts()) {
+        return -1;
+      }
+      if (!retryBudget.withdraw()) {
+        budgetExhausted.increment();
+        return -1;
+      }
+      retries.increment();
+      return nextDelay(previousDelay);
+    }
+  }
+
+  private long nextDelay(final long previousDelay) {
+    long base = settings.baseDelay().toNanos();
+    long upper = Math.max(base + 1, previousDelay * 3);
+    return Math.min(settings.maxDelay().toNanos(),
+        ThreadLocalRandom.current().nextLong(base, upper));
+  }
+
+  private static boolean isRetryable(final Throwable failure) {
+    if (failure instanceof AwsServiceException serviceException) {
+      return serviceException.isThrottlingException()
+          || serviceException.statusCode() >= 500;
+    }
+    return failure instanceof SdkClientException
+        || (failure instanceof SdkException sdkException && sdkException.retryable());
+  }
+
+  private static Throwable unwrap(final Throwable failure) {
+    Throwable cause = failure;
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+}
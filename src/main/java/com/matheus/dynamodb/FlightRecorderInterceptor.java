@@ -0,0 +1,92 @@
+package com.matheus.dynamodb;
+
+import com.matheus.jfr.DynamoDbCallEvent;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpHeaders;
+
+public class FlightRecorderInterceptor implements ExecutionInterceptor {
+
+  private static final ExecutionAttribute<DynamoDbCallEvent> EVENT =
+      new ExecutionAttribute<>("PersonFlightRecorder");
+  private static final String CONTENT_LENGTH = "Content-Length";
+
+  @Override
+  public void beforeExecution(final Context.BeforeExecution context,
+      final ExecutionAttributes executionAttributes) {
+    DynamoDbCallEvent event = new DynamoDbCallEvent();
+    if (!event.isEnabled()) {
+      return;
+    }
+    event.begin();
+    event.operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+    event.callerThread = Thread.currentThread();
+    executionAttributes.putAttribute(EVENT, event);
+  }
+
+  @Override
+  public void beforeTransmission(final Context.BeforeTransmission context,
+      final ExecutionAttributes executionAttributes) {
+    DynamoDbCallEvent event = executionAttributes.getAttribute(EVENT);
+    if (event != null) {
+      event.attempts++;
+      event.requestBytes += contentLength(context.httpRequest());
+    }
+  }
+
+  @Override
+  public void afterTransmission(final Context.AfterTransmission context,
+      final ExecutionAttributes executionAttributes) {
+    DynamoDbCallEvent event = executionAttributes.getAttribute(EVENT);
+    if (event != null) {
+      event.responseBytes += contentLength(context.httpResponse());
+    }
+  }
+
+  @Override
+  public void afterExecution(final Context.AfterExecution context,
+      final ExecutionAttributes executionAttributes) {
+    DynamoDbCallEvent event = executionAttributes.getAttribute(EVENT);
+    if (event != null) {
+      commit(event, context.request(), context.response(), false);
+    }
+  }
+
+  @Override
+  public void onExecutionFailure(final Context.FailedExecution context,
+      final ExecutionAttributes executionAttributes) {
+    DynamoDbCallEvent event = executionAttributes.getAttribute(EVENT);
+    if (event != null) {
+      commit(event, context.request(), context.response().orElse(null), true);
+    }
+  }
+
+  private static void commit(final DynamoDbCallEvent event, final SdkRequest request,
+      final SdkResponse response, final boolean failed) {
+    event.end();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    OperationShape shape = OperationShape.of(request);
+    Integer itemCount = response == null ? null : OperationShape.itemCount(response);
+    Double consumed = response == null ? null : OperationShape.consumedCapacity(response);
+    event.table = shape.table();
+    event.index = shape.index();
+    event.limit = shape.limit() == null ? 0 : shape.limit();
+    event.itemCount = itemCount != null ? itemCount : shape.items() == null ? 0 : shape.items();
+    event.consumedCapacity = consumed == null ? 0 : consumed;
+    event.failed = failed;
+    event.commit();
+  }
+
+  private static long contentLength(final SdkHttpHeaders headers) {
+    return headers.firstMatchingHeader(CONTENT_LENGTH)
+        .map(Long::parseLong)
+        .orElse(0L);
+  }
+}
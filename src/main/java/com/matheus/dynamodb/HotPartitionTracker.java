@@ -0,0 +1,192 @@
+package com.matheus.dynamodb;
+
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import com.matheus.vo.response.HotPartitionResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class HotPartitionTracker {
+
+  private static final long RANKING_TTL_NANOS = Duration.ofSeconds(1).toNanos();
+
+  private final int topK;
+  private final int sketchDepth;
+  private final int sketchWidth;
+  private final long windowNanos;
+  private final AtomicReference<Windows> windows;
+  private volatile Ranking ranking;
+
+  public HotPartitionTracker(
+      @ConfigProperty(name = "person.hot-partitions.top-k", defaultValue = "10") int topK,
+      @ConfigProperty(name = "person.hot-partitions.window", defaultValue = "PT1M")
+      Duration window,
+      @ConfigProperty(name = "person.hot-partitions.sketch-depth", defaultValue = "4")
+      int sketchDepth,
+      @ConfigProperty(name = "person.hot-partitions.sketch-width", defaultValue = "2048")
+      int sketchWidth,
+      MeterRegistry meterRegistry) {
+    if (topK <= 0 || sketchDepth <= 0 || sketchWidth <= 0 || window.isNegative()
+        || window.isZero()) {
+      throw new IllegalArgumentException("person.hot-partitions top-k, window, sketch-depth and"
+          + " sketch-width must be positive");
+    }
+    this.topK = topK;
+    this.sketchDepth = sketchDepth;
+    this.sketchWidth = sketchWidth;
+    this.windowNanos = window.toNanos();
+    Window first = newWindow(System.nanoTime());
+    this.windows = new AtomicReference<>(new Windows(first, null));
+    for (Access access : Access.values()) {
+      for (int rank = 1; rank <= topK; rank++) {
+        int position = rank - 1;
+        Gauge.builder("dynamodb.partition.hot.requests", this,
+                tracker -> tracker.rankedEstimate(access, position))
+            .tags("access", access.name(), "rank", String.valueOf(rank))
+            .register(meterRegistry);
+      }
+    }
+  }
+
+  public void record(final DynamoDbOperation operation) {
+    if (operation.partitionKeys().isEmpty()) {
+      return;
+    }
+    Window window = current();
+    for (String partitionKey : operation.partitionKeys()) {
+      window.add(new HotKey(operation.table(), operation.index(), partitionKey,
+          operation.access()));
+    }
+  }
+
+  public List<HotPartitionResponse> top(final Access access, final int limit) {
+    long now = System.nanoTime();
+    Windows current = rotate(now);
+    double previousWeight = current.previousWeight(now, windowNanos);
+    double total = current.current.total.sum()
+        + (current.previous == null ? 0 : current.previous.total.sum() * previousWeight);
+    Set<HotKey> candidates = new HashSet<>(current.current.candidates.keySet());
+    if (current.previous != null) {
+      candidates.addAll(current.previous.candidates.keySet());
+    }
+    return candidates.stream()
+        .filter(key -> access == null || key.access() == access)
+        .map(key -> {
+          double estimate = current.current.sketch.estimate(key)
+              + (current.previous == null
+              ? 0 : current.previous.sketch.estimate(key) * previousWeight);
+          return new HotPartitionResponse(key.table(), key.index(), key.partitionKey(),
+              key.access().name(), Math.round(estimate), total == 0 ? 0 : estimate / total);
+        })
+        .sorted(Comparator.comparingLong(HotPartitionResponse::estimatedRequests).reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  private double rankedEstimate(final Access access, final int position) {
+    long now = System.nanoTime();
+    Ranking current = ranking;
+    if (current == null || now - current.computedAt() >= RANKING_TTL_NANOS) {
+      Map<Access, List<HotPartitionResponse>> top = new EnumMap<>(Access.class);
+      for (Access each : Access.values()) {
+        top.put(each, top(each, topK));
+      }
+      current = new Ranking(now, top);
+      ranking = current;
+    }
+    List<HotPartitionResponse> top = current.top().get(access);
+    return top.size() > position ? top.get(position).estimatedRequests() : 0;
+  }
+
+  private Window current() {
+    return rotate(System.nanoTime()).current;
+  }
+
+  private Windows rotate(final long now) {
+    Windows current = windows.get();
+    while (now - current.current.startedAt >= windowNanos) {
+      Window previous = now - current.current.startedAt >= 2 * windowNanos
+          ? null : current.current;
+      Windows next = new Windows(newWindow(now), previous);
+      if (windows.compareAndSet(current, next)) {
+        return next;
+      }
+      current = windows.get();
+    }
+    return current;
+  }
+
+  private Window newWindow(final long startedAt) {
+    return new Window(startedAt, new CountMinSketch(sketchDepth, sketchWidth), topK * 4);
+  }
+
+  private record HotKey(String table, String index, String partitionKey, Access access) {
+
+  }
+
+  private record Ranking(long computedAt, Map<Access, List<HotPartitionResponse>> top) {
+
+  }
+
+  private record Windows(Window current, Window previous) {
+
+    double previousWeight(final long now, final long windowNanos) {
+      double elapsed = (double) (now - current.startedAt) / windowNanos;
+      return Math.max(0, 1 - elapsed);
+    }
+  }
+
+  private static final class Window {
+
+    private final long startedAt;
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final LongAdder total = new LongAdder();
+    private final Map<HotKey, Long> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private volatile long admissionThreshold;
+
+    private Window(final long startedAt, final CountMinSketch sketch, final int capacity) {
+      this.startedAt = startedAt;
+      this.sketch = sketch;
+      this.capacity = capacity;
+    }
+
+    private void add(final HotKey key) {
+      total.increment();
+      long estimate = sketch.add(key);
+      if (estimate > admissionThreshold || candidates.containsKey(key)) {
+        candidates.put(key, estimate);
+      }
+      if (candidates.size() > capacity * 2 && pruning.compareAndSet(false, true)) {
+        try {
+          prune();
+        } finally {
+          pruning.set(false);
+        }
+      }
+    }
+
+    private void prune() {
+      List<Map.Entry<HotKey, Long>> ranked = candidates.entrySet().stream()
+          .sorted(Map.Entry.<HotKey, Long>comparingByValue().reversed())
+          .toList();
+      admissionThreshold = ranked.get(capacity - 1).getValue();
+      ranked.subList(capacity, ranked.size())
+          .forEach(entry -> candidates.remove(entry.getKey(), entry.getValue()));
+    }
+  }
+}
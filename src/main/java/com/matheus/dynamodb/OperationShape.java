@@ -0,0 +1,98 @@
+package com.matheus.dynamodb;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+record OperationShape(String table, String index, String keyCondition, Integer limit,
+                      Integer items) {
+
+  static OperationShape of(final SdkRequest request) {
+    if (request instanceof QueryRequest query) {
+      return new OperationShape(query.tableName(), query.indexName(),
+          query.keyConditionExpression(), query.limit(), null);
+    }
+    if (request instanceof ScanRequest scan) {
+      return new OperationShape(scan.tableName(), scan.indexName(), null, scan.limit(), null);
+    }
+    if (request instanceof GetItemRequest getItem) {
+      return new OperationShape(getItem.tableName(), null, keyCondition(getItem.key()), null,
+          null);
+    }
+    if (request instanceof PutItemRequest put) {
+      return new OperationShape(put.tableName(), null, null, null, 1);
+    }
+    if (request instanceof UpdateItemRequest update) {
+      return new OperationShape(update.tableName(), null, keyCondition(update.key()), null, 1);
+    }
+    if (request instanceof DeleteItemRequest delete) {
+      return new OperationShape(delete.tableName(), null, keyCondition(delete.key()), null, 1);
+    }
+    if (request instanceof BatchGetItemRequest batchGet) {
+      return new OperationShape(String.join(",", batchGet.requestItems().keySet()), null, null,
+          null, null);
+    }
+    if (request instanceof BatchWriteItemRequest batchWrite) {
+      return new OperationShape(String.join(",", batchWrite.requestItems().keySet()), null, null,
+          null, batchWrite.requestItems().values().stream().mapToInt(List::size).sum());
+    }
+    return new OperationShape(null, null, null, null, null);
+  }
+
+  static Integer itemCount(final SdkResponse response) {
+    if (response instanceof QueryResponse query) {
+      return query.count();
+    }
+    if (response instanceof ScanResponse scan) {
+      return scan.count();
+    }
+    if (response instanceof GetItemResponse getItem) {
+      return getItem.hasItem() ? 1 : 0;
+    }
+    if (response instanceof BatchGetItemResponse batchGet) {
+      return batchGet.responses().values().stream().mapToInt(List::size).sum();
+    }
+    return null;
+  }
+
+  static Double consumedCapacity(final SdkResponse response) {
+    return response.getValueForField("ConsumedCapacity", Object.class)
+        .map(consumed -> {
+          if (consumed instanceof ConsumedCapacity single) {
+            return single.capacityUnits();
+          }
+          if (consumed instanceof List<?> list) {
+            return list.stream()
+                .map(each -> ((ConsumedCapacity) each).capacityUnits())
+                .filter(units -> units != null)
+                .mapToDouble(Double::doubleValue)
+                .sum();
+          }
+          return null;
+        })
+        .orElse(null);
+  }
+
+  private static String keyCondition(final Map<String, AttributeValue> key) {
+    return key == null || key.isEmpty()
+        ? null
+        : key.keySet().stream().sorted().map(name -> name + " = ?")
+            .collect(Collectors.joining(" AND "));
+  }
+}
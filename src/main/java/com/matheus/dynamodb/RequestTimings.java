@@ -0,0 +1,74 @@
+package com.matheus.dynamodb;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import javax.enterprise.context.RequestScoped;
+
+@RequestScoped
+public class RequestTimings {
+
+  private long startedAt = System.nanoTime();
+  private int calls;
+  private int retries;
+  private int failures;
+  private long callNanos;
+  private long marshalNanos;
+  private long wireNanos;
+  private long unmarshalNanos;
+  private long retryNanos;
+  private long failureNanos;
+  private final Map<String, Double> consumedCapacity = new TreeMap<>();
+
+  public synchronized void start() {
+    startedAt = System.nanoTime();
+  }
+
+  synchronized void record(final long call, final long marshal, final long wire,
+      final long unmarshal, final int retriedAttempts, final long retried, final boolean failed) {
+    calls++;
+    callNanos += call;
+    marshalNanos += marshal;
+    wireNanos += wire;
+    unmarshalNanos += unmarshal;
+    retries += retriedAttempts;
+    retryNanos += retried;
+    if (failed) {
+      failures++;
+      failureNanos += call;
+    }
+  }
+
+  synchronized void consumed(final String resource, final double units) {
+    consumedCapacity.merge(resource, units, Double::sum);
+  }
+
+  public synchronized String serverTiming() {
+    StringJoiner joiner = new StringJoiner(", ");
+    joiner.add(entry("ddb", callNanos) + ";desc=\"" + calls + " calls\"");
+    if (calls > 0) {
+      joiner.add(entry("ddb-marshal", marshalNanos))
+          .add(entry("ddb-wire", wireNanos))
+          .add(entry("ddb-unmarshal", unmarshalNanos));
+    }
+    if (retries > 0) {
+      joiner.add(entry("ddb-retry", retryNanos) + ";desc=\"" + retries + "\"");
+    }
+    if (failures > 0) {
+      joiner.add(entry("ddb-error", failureNanos) + ";desc=\"" + failures + "\"");
+    }
+    return joiner.add(entry("app", System.nanoTime() - startedAt)).toString();
+  }
+
+  public synchronized String consumedCapacity() {
+    StringJoiner joiner = new StringJoiner(", ");
+    consumedCapacity.forEach((resource, units) ->
+        joiner.add(resource + "=" + String.format(Locale.ROOT, "%.1f", units)));
+    return joiner.toString();
+  }
+
+  private static String entry(final String name, final long nanos) {
+    return name + ";dur=" + String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+  }
+}
@@ -0,0 +1,12 @@
+package com.matheus.dynamodb;
+
+import java.time.Duration;
+
+public record ResilienceSettings(int maxAttempts, Duration baseDelay, Duration maxDelay,
+                                 double retryBudgetRatio, int retryBudgetBurst,
+                                 int windowSize, int minimumCalls,
+                                 double failureRateThreshold, Duration slowCallDuration,
+                                 double slowCallRateThreshold, Duration openDuration,
+                                 int halfOpenCalls) {
+
+}
@@ -0,0 +1,43 @@
+package com.matheus.dynamodb;
+
+import java.time.Duration;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class ResilienceSettingsProducer {
+
+  @Produces
+  @Singleton
+  ResilienceSettings resilienceSettings(
+      @ConfigProperty(name = "person.resilience.max-attempts", defaultValue = "3")
+      int maxAttempts,
+      @ConfigProperty(name = "person.resilience.base-delay", defaultValue = "PT0.025S")
+      Duration baseDelay,
+      @ConfigProperty(name = "person.resilience.max-delay", defaultValue = "PT1S")
+      Duration maxDelay,
+      @ConfigProperty(name = "person.resilience.retry-budget.ratio", defaultValue = "0.2")
+      double retryBudgetRatio,
+      @ConfigProperty(name = "person.resilience.retry-budget.burst", defaultValue = "10")
+      int retryBudgetBurst,
+      @ConfigProperty(name = "person.resilience.breaker.window-size", defaultValue = "20")
+      int windowSize,
+      @ConfigProperty(name = "person.resilience.breaker.minimum-calls", defaultValue = "10")
+      int minimumCalls,
+      @ConfigProperty(name = "person.resilience.breaker.failure-rate-threshold",
+          defaultValue = "0.5") double failureRateThreshold,
+      @ConfigProperty(name = "person.resilience.breaker.slow-call-duration",
+          defaultValue = "PT2S") Duration slowCallDuration,
+      @ConfigProperty(name = "person.resilience.breaker.slow-call-rate-threshold",
+          defaultValue = "0.8") double slowCallRateThreshold,
+      @ConfigProperty(name = "person.resilience.breaker.open-duration", defaultValue = "PT10S")
+      Duration openDuration,
+      @ConfigProperty(name = "person.resilience.breaker.half-open-calls", defaultValue = "3")
+      int halfOpenCalls) {
+    return new ResilienceSettings(maxAttempts, baseDelay, maxDelay, retryBudgetRatio,
+        retryBudgetBurst, windowSize, minimumCalls, failureRateThreshold, slowCallDuration,
+        slowCallRateThreshold, openDuration, halfOpenCalls);
+  }
+}
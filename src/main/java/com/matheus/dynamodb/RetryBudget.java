@@ -0,0 +1,26 @@
+package com.matheus.dynamodb;
+
+final class RetryBudget {
+
+  private final double ratio;
+  private final double burst;
+  private double tokens;
+
+  RetryBudget(final double ratio, final int burst) {
+    this.ratio = ratio;
+    this.burst = burst;
+    this.tokens = burst;
+  }
+
+  synchronized void deposit() {
+    tokens = Math.min(burst, tokens + ratio);
+  }
+
+  synchronized boolean withdraw() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens--;
+    return true;
+  }
+}
@@ -0,0 +1,59 @@
+package com.matheus.dynamodb;
+
+import io.quarkus.arc.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Alternative;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.Produces;
+import software.amazon.awssdk.core.client.builder.SdkClientBuilder;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+
+@ApplicationScoped
+public class RetryFreeClientProducer {
+
+  @Produces
+  @Alternative
+  @Priority(0)
+  @ApplicationScoped
+  DynamoDbClient dynamoDbClient(Instance<DynamoDbClientBuilder> builder) {
+    if (!builder.isResolvable()) {
+      throw new IllegalStateException("The DynamoDbClient is required but has not been detected");
+    }
+    return withoutRetries(builder.get()).build();
+  }
+
+  @Produces
+  @Alternative
+  @Priority(0)
+  @ApplicationScoped
+  DynamoDbAsyncClient dynamoDbAsyncClient(Instance<DynamoDbAsyncClientBuilder> builder) {
+    if (!builder.isResolvable()) {
+      throw new IllegalStateException(
+          "The DynamoDbAsyncClient is required but has not been detected");
+    }
+    return withoutRetries(builder.get()).build();
+  }
+
+  void close(@Disposes final DynamoDbClient dynamoDbClient) {
+    dynamoDbClient.close();
+  }
+
+  void close(@Disposes final DynamoDbAsyncClient dynamoDbAsyncClient) {
+    dynamoDbAsyncClient.close();
+  }
+
+  private static <B extends SdkClientBuilder<B, ?>> B withoutRetries(final B builder) {
+    ClientOverrideConfiguration current = builder.overrideConfiguration();
+    return builder.overrideConfiguration((current == null
+        ? ClientOverrideConfiguration.builder()
+        : current.toBuilder())
+        .retryPolicy(RetryPolicy.none())
+        .build());
+  }
+}
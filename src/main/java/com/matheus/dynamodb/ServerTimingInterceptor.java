@@ -0,0 +1,190 @@
+package com.matheus.dynamodb;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.ClientProxy;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.config.ConfigProvider;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+
+public class ServerTimingInterceptor implements ExecutionInterceptor {
+
+  private static final ExecutionAttribute<CallTimer> TIMER =
+      new ExecutionAttribute<>("PersonServerTiming");
+
+  private final boolean enabled;
+  private final Supplier<RequestTimings> requestTimings;
+
+  public ServerTimingInterceptor() {
+    this(ConfigProvider.getConfig()
+            .getOptionalValue("person.server-timing.enabled", Boolean.class)
+            .orElse(false),
+        ServerTimingInterceptor::lookupRequestTimings);
+  }
+
+  public ServerTimingInterceptor(final boolean enabled,
+      final Supplier<RequestTimings> requestTimings) {
+    this.enabled = enabled;
+    this.requestTimings = requestTimings;
+  }
+
+  @Override
+  public void beforeExecution(final Context.BeforeExecution context,
+      final ExecutionAttributes executionAttributes) {
+    if (!enabled) {
+      return;
+    }
+    RequestTimings timings = requestTimings.get();
+    if (timings != null) {
+      executionAttributes.putAttribute(TIMER, new CallTimer(timings));
+    }
+  }
+
+  @Override
+  public void beforeMarshalling(final Context.BeforeMarshalling context,
+      final ExecutionAttributes executionAttributes) {
+    CallTimer timer = timer(executionAttributes);
+    if (timer != null) {
+      timer.marshalStartedAt = System.nanoTime();
+    }
+  }
+
+  @Override
+  public void afterMarshalling(final Context.AfterMarshalling context,
+      final ExecutionAttributes executionAttributes) {
+    CallTimer timer = timer(executionAttributes);
+    if (timer != null) {
+      timer.marshal = System.nanoTime() - timer.marshalStartedAt;
+    }
+  }
+
+  @Override
+  public void beforeTransmission(final Context.BeforeTransmission context,
+      final ExecutionAttributes executionAttributes) {
+    CallTimer timer = timer(executionAttributes);
+    if (timer != null) {
+      long now = System.nanoTime();
+      if (timer.attempts == 0) {
+        timer.firstAttemptAt = now;
+      }
+      timer.attemptStartedAt = now;
+      timer.attempts++;
+    }
+  }
+
+  @Override
+  public void afterTransmission(final Context.AfterTransmission context,
+      final ExecutionAttributes executionAttributes) {
+    CallTimer timer = timer(executionAttributes);
+    if (timer != null) {
+      timer.wire = System.nanoTime() - timer.attemptStartedAt;
+    }
+  }
+
+  @Override
+  public void beforeUnmarshalling(final Context.BeforeUnmarshalling context,
+      final ExecutionAttributes executionAttributes) {
+    CallTimer timer = timer(executionAttributes);
+    if (timer != null) {
+      timer.unmarshalStartedAt = System.nanoTime();
+    }
+  }
+
+  @Override
+  public void afterUnmarshalling(final Context.AfterUnmarshalling context,
+      final ExecutionAttributes executionAttributes) {
+    CallTimer timer = timer(executionAttributes);
+    if (timer != null) {
+      timer.unmarshal = System.nanoTime() - timer.unmarshalStartedAt;
+    }
+  }
+
+  @Override
+  public void afterExecution(final Context.AfterExecution context,
+      final ExecutionAttributes executionAttributes) {
+    CallTimer timer = timer(executionAttributes);
+    if (timer == null) {
+      return;
+    }
+    timer.finish(false);
+    context.response()
+        .getValueForField("ConsumedCapacity", Object.class)
+        .ifPresent(consumed -> {
+          if (consumed instanceof ConsumedCapacity single) {
+            consumed(timer.timings, single);
+          } else if (consumed instanceof List<?> list) {
+            list.forEach(each -> consumed(timer.timings, (ConsumedCapacity) each));
+          }
+        });
+  }
+
+  @Override
+  public void onExecutionFailure(final Context.FailedExecution context,
+      final ExecutionAttributes executionAttributes) {
+    CallTimer timer = timer(executionAttributes);
+    if (timer != null) {
+      timer.finish(true);
+    }
+  }
+
+  private CallTimer timer(final ExecutionAttributes executionAttributes) {
+    return enabled ? executionAttributes.getAttribute(TIMER) : null;
+  }
+
+  private static void consumed(final RequestTimings timings, final ConsumedCapacity consumed) {
+    if (consumed.capacityUnits() != null) {
+      timings.consumed(consumed.tableName(), consumed.capacityUnits());
+    }
+    consumedIndexes(timings, consumed.tableName(), consumed.globalSecondaryIndexes());
+    consumedIndexes(timings, consumed.tableName(), consumed.localSecondaryIndexes());
+  }
+
+  private static void consumedIndexes(final RequestTimings timings, final String table,
+      final Map<String, Capacity> indexes) {
+    if (indexes != null) {
+      indexes.forEach((index, capacity) -> {
+        if (capacity.capacityUnits() != null) {
+          timings.consumed(table + "/" + index, capacity.capacityUnits());
+        }
+      });
+    }
+  }
+
+  private static RequestTimings lookupRequestTimings() {
+    ArcContainer container = Arc.container();
+    if (container == null || !container.isRunning() || !container.requestContext().isActive()) {
+      return null;
+    }
+    return ClientProxy.unwrap(container.instance(RequestTimings.class).get());
+  }
+
+  private static final class CallTimer {
+
+    private final RequestTimings timings;
+    private final long startedAt = System.nanoTime();
+    private long marshalStartedAt;
+    private long marshal;
+    private long firstAttemptAt;
+    private long attemptStartedAt;
+    private int attempts;
+    private long wire;
+    private long unmarshalStartedAt;
+    private long unmarshal;
+
+    private CallTimer(final RequestTimings timings) {
+      this.timings = timings;
+    }
+
+    private void finish(final boolean failed) {
+      timings.record(System.nanoTime() - startedAt, marshal, wire, unmarshal,
+          Math.max(0, attempts - 1), attemptStartedAt - firstAttemptAt, failed);
+    }
+  }
+}
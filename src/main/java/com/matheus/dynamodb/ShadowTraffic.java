@@ -0,0 +1,33 @@
+package com.matheus.dynamodb;
+
+import java.util.function.Supplier;
+
+public final class ShadowTraffic {
+
+  public static final String OPERATION_PREFIX = "shadow.";
+
+  private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+  private ShadowTraffic() {
+  }
+
+  public static <T> T run(final Supplier<T> call) {
+    if (active()) {
+      return call.get();
+    }
+    ACTIVE.set(Boolean.TRUE);
+    try {
+      return call.get();
+    } finally {
+      ACTIVE.remove();
+    }
+  }
+
+  public static <T> Supplier<T> propagate(final Supplier<T> call) {
+    return active() ? () -> run(call) : call;
+  }
+
+  public static boolean active() {
+    return ACTIVE.get() != null;
+  }
+}
@@ -0,0 +1,74 @@
+package com.matheus.dynamodb;
+
+import io.quarkus.arc.Priority;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.vertx.core.Vertx;
+import java.net.URI;
+import java.util.Optional;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Alternative;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
+
+@ApplicationScoped
+@IfBuildProperty(name = "person.async.shared-event-loop", stringValue = "true")
+public class SharedEventLoopClientProducer {
+
+  @Produces
+  @Alternative
+  @Priority(1)
+  @ApplicationScoped
+  DynamoDbAsyncClient dynamoDbAsyncClient(Vertx vertx,
+      @ConfigProperty(name = "quarkus.dynamodb.endpoint-override") Optional<URI> endpointOverride,
+      @ConfigProperty(name = "quarkus.dynamodb.aws.region") Optional<String> region,
+      @ConfigProperty(name = "quarkus.dynamodb.aws.credentials.static-provider.access-key-id")
+      Optional<String> accessKeyId,
+      @ConfigProperty(name = "quarkus.dynamodb.aws.credentials.static-provider.secret-access-key")
+      Optional<String> secretAccessKey) {
+    DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+        .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+            .eventLoopGroup(SdkEventLoopGroup.create(vertx.nettyEventLoopGroup())))
+        .asyncConfiguration(ClientAsyncConfiguration.builder()
+            .advancedOption(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, Runnable::run)
+            .build())
+        .overrideConfiguration(ClientOverrideConfiguration.builder()
+            .retryPolicy(RetryPolicy.none())
+            .addExecutionInterceptor(new ConsumedCapacityInterceptor())
+            .addExecutionInterceptor(new ServerTimingInterceptor())
+            .addExecutionInterceptor(new SlowOperationInterceptor())
+            .addExecutionInterceptor(new TracingInterceptor())
+            .addExecutionInterceptor(new FlightRecorderInterceptor())
+            .build())
+        .credentialsProvider(credentials(accessKeyId, secretAccessKey));
+    endpointOverride.ifPresent(builder::endpointOverride);
+    region.map(Region::of).ifPresent(builder::region);
+    return builder.build();
+  }
+
+  void close(@Disposes final DynamoDbAsyncClient dynamoDbAsyncClient) {
+    dynamoDbAsyncClient.close();
+  }
+
+  private static AwsCredentialsProvider credentials(final Optional<String> accessKeyId,
+      final Optional<String> secretAccessKey) {
+    if (accessKeyId.isPresent() && secretAccessKey.isPresent()) {
+      return StaticCredentialsProvider.create(
+          AwsBasicCredentials.create(accessKeyId.get(), secretAccessKey.get()));
+    }
+    return DefaultCredentialsProvider.create();
+  }
+}
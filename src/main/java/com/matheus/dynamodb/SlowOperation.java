@@ -0,0 +1,10 @@
+package com.matheus.dynamodb;
+
+import java.util.List;
+
+public record SlowOperation(String operation, String table, String index, String keyCondition,
+                            Integer limit, Integer itemCount, Double consumedCapacity,
+                            int retries, List<Double> attemptMillis, double durationMillis,
+                            String error, boolean sampled) {
+
+}
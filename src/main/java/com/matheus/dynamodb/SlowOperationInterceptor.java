@@ -0,0 +1,128 @@
+package com.matheus.dynamodb;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+public class SlowOperationInterceptor implements ExecutionInterceptor {
+
+  private static final ExecutionAttribute<OperationTimer> TIMER =
+      new ExecutionAttribute<>("PersonSlowOperation");
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  private final boolean enabled;
+  private final long thresholdNanos;
+  private final double sampleRate;
+  private final Consumer<SlowOperation> sink;
+
+  public SlowOperationInterceptor() {
+    this(ConfigProvider.getConfig(), SlowOperationInterceptor::submit);
+  }
+
+  private SlowOperationInterceptor(final Config config, final Consumer<SlowOperation> sink) {
+    this(config.getOptionalValue("person.slow-operations.enabled", Boolean.class).orElse(false),
+        config.getOptionalValue("person.slow-operations.threshold", Duration.class)
+            .orElse(Duration.ofMillis(100)),
+        config.getOptionalValue("person.slow-operations.sample-rate", Double.class)
+            .orElse(0.001),
+        sink);
+  }
+
+  public SlowOperationInterceptor(final boolean enabled, final Duration threshold,
+      final double sampleRate, final Consumer<SlowOperation> sink) {
+    this.enabled = enabled;
+    this.thresholdNanos = threshold.toNanos();
+    this.sampleRate = sampleRate;
+    this.sink = sink;
+  }
+
+  @Override
+  public void beforeExecution(final Context.BeforeExecution context,
+      final ExecutionAttributes executionAttributes) {
+    if (enabled) {
+      executionAttributes.putAttribute(TIMER, new OperationTimer());
+    }
+  }
+
+  @Override
+  public void beforeTransmission(final Context.BeforeTransmission context,
+      final ExecutionAttributes executionAttributes) {
+    OperationTimer timer = executionAttributes.getAttribute(TIMER);
+    if (timer != null) {
+      timer.attemptStartedAt = System.nanoTime();
+    }
+  }
+
+  @Override
+  public void afterTransmission(final Context.AfterTransmission context,
+      final ExecutionAttributes executionAttributes) {
+    OperationTimer timer = executionAttributes.getAttribute(TIMER);
+    if (timer != null) {
+      timer.attempts.add(System.nanoTime() - timer.attemptStartedAt);
+    }
+  }
+
+  @Override
+  public void afterExecution(final Context.AfterExecution context,
+      final ExecutionAttributes executionAttributes) {
+    finish(context.request(), Optional.of(context.response()), null, executionAttributes);
+  }
+
+  @Override
+  public void onExecutionFailure(final Context.FailedExecution context,
+      final ExecutionAttributes executionAttributes) {
+    finish(context.request(), context.response(), context.exception(), executionAttributes);
+  }
+
+  private void finish(final SdkRequest request, final Optional<SdkResponse> response,
+      final Throwable failure, final ExecutionAttributes executionAttributes) {
+    OperationTimer timer = executionAttributes.getAttribute(TIMER);
+    if (timer == null) {
+      return;
+    }
+    long duration = System.nanoTime() - timer.startedAt;
+    boolean slow = duration >= thresholdNanos;
+    if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+      return;
+    }
+    OperationShape shape = OperationShape.of(request);
+    sink.accept(new SlowOperation(
+        executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME),
+        shape.table(), shape.index(), shape.keyCondition(), shape.limit(),
+        response.map(OperationShape::itemCount).orElse(shape.items()),
+        response.map(OperationShape::consumedCapacity).orElse(null),
+        Math.max(0, timer.attempts.size() - 1),
+        timer.attempts.stream().map(nanos -> nanos / NANOS_PER_MILLI).toList(),
+        duration / NANOS_PER_MILLI,
+        failure == null ? null : failure.getClass().getSimpleName(),
+        !slow));
+  }
+
+  private static void submit(final SlowOperation operation) {
+    ArcContainer container = Arc.container();
+    if (container != null && container.isRunning()) {
+      container.instance(SlowOperationLog.class).get().submit(operation);
+    }
+  }
+
+  private static final class OperationTimer {
+
+    private final long startedAt = System.nanoTime();
+    private final List<Long> attempts = new ArrayList<>(1);
+    private long attemptStartedAt;
+  }
+}
@@ -0,0 +1,60 @@
+package com.matheus.dynamodb;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class SlowOperationLog {
+
+  private static final Logger LOG = Logger.getLogger(SlowOperationLog.class);
+
+  private final ObjectMapper objectMapper;
+  private final ThreadPoolExecutor writer;
+  private final Counter dropped;
+
+  public SlowOperationLog(ObjectMapper objectMapper,
+      @ConfigProperty(name = "person.slow-operations.queue-capacity", defaultValue = "1024")
+      int queueCapacity,
+      MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.writer = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+          Thread thread = new Thread(runnable, "person-slow-operations");
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    this.writer.allowCoreThreadTimeOut(true);
+    this.dropped = meterRegistry.counter("dynamodb.slow-operations.dropped");
+  }
+
+  public void submit(final SlowOperation operation) {
+    try {
+      writer.execute(() -> write(operation));
+    } catch (RejectedExecutionException e) {
+      dropped.increment();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    writer.shutdown();
+  }
+
+  private void write(final SlowOperation operation) {
+    try {
+      LOG.info(objectMapper.writeValueAsString(operation));
+    } catch (JsonProcessingException e) {
+      LOG.warnf(e, "Could not log slow %s on %s", operation.operation(), operation.table());
+    }
+  }
+}
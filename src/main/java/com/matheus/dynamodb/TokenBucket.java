@@ -0,0 +1,90 @@
+package com.matheus.dynamodb;
+
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import com.matheus.vo.response.CapacityBucketResponse;
+import java.util.function.LongSupplier;
+
+final class TokenBucket {
+
+  private static final double ESTIMATE_WEIGHT = 0.2;
+
+  private final String table;
+  private final String index;
+  private final Access access;
+  private final double unitsPerSecond;
+  private final double capacity;
+  private final LongSupplier nanoClock;
+  private double tokens;
+  private long refilledAt;
+  private double estimatedUnits = 1;
+  private double consumedUnits;
+  private long requests;
+  private int queued;
+  private long waitedNanos;
+
+  TokenBucket(final String table, final String index, final Access access,
+      final double unitsPerSecond, final double capacity, final LongSupplier nanoClock) {
+    this.table = table;
+    this.index = index;
+    this.access = access;
+    this.unitsPerSecond = unitsPerSecond;
+    this.capacity = capacity;
+    this.nanoClock = nanoClock;
+    this.tokens = capacity;
+    this.refilledAt = nanoClock.getAsLong();
+  }
+
+  synchronized Reservation reserve() {
+    refill();
+    double units = estimatedUnits;
+    long waitNanos = tokens >= units ? 0 : (long) ((units - tokens) / unitsPerSecond * 1e9);
+    tokens -= units;
+    requests++;
+    if (waitNanos > 0) {
+      queued++;
+      waitedNanos += waitNanos;
+    }
+    return new Reservation(units, waitNanos);
+  }
+
+  synchronized void dequeue() {
+    queued--;
+  }
+
+  synchronized void refund(final double units) {
+    refill();
+    tokens = Math.min(capacity, tokens + units);
+  }
+
+  synchronized void consume(final double units) {
+    refill();
+    tokens -= units;
+    consumedUnits += units;
+    estimatedUnits += ESTIMATE_WEIGHT * (units - estimatedUnits);
+  }
+
+  synchronized CapacityBucketResponse snapshot() {
+    refill();
+    return new CapacityBucketResponse(table, index, access.name(), unitsPerSecond, tokens,
+        estimatedUnits, consumedUnits, requests, queued, waitedNanos / 1_000_000);
+  }
+
+  synchronized double available() {
+    refill();
+    return tokens;
+  }
+
+  synchronized int queued() {
+    return queued;
+  }
+
+  private void refill() {
+    long now = nanoClock.getAsLong();
+    tokens = Math.min(capacity, tokens + (now - refilledAt) / 1e9 * unitsPerSecond);
+    refilledAt = now;
+  }
+
+  record Reservation(double units, long waitNanos) {
+
+  }
+}
@@ -0,0 +1,173 @@
+package com.matheus.dynamodb;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.InstanceHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+public class TracingInterceptor implements ExecutionInterceptor {
+
+  public static final AttributeKey<String> DB_SYSTEM = AttributeKey.stringKey("db.system");
+  public static final AttributeKey<String> DB_OPERATION = AttributeKey.stringKey("db.operation");
+  public static final AttributeKey<List<String>> TABLE_NAMES =
+      AttributeKey.stringArrayKey("aws.dynamodb.table_names");
+  public static final AttributeKey<String> INDEX_NAME =
+      AttributeKey.stringKey("aws.dynamodb.index_name");
+  public static final AttributeKey<Long> LIMIT = AttributeKey.longKey("aws.dynamodb.limit");
+  public static final AttributeKey<Long> ITEM_COUNT = AttributeKey.longKey("aws.dynamodb.count");
+  public static final AttributeKey<Double> CONSUMED_CAPACITY =
+      AttributeKey.doubleKey("aws.dynamodb.consumed_capacity_units");
+  public static final AttributeKey<Long> ATTEMPT = AttributeKey.longKey("aws.attempt");
+  public static final AttributeKey<Long> STATUS_CODE = AttributeKey.longKey("http.status_code");
+
+  private static final ExecutionAttribute<CallSpans> SPANS =
+      new ExecutionAttribute<>("PersonTracing");
+
+  private final Supplier<Tracer> tracer;
+
+  public TracingInterceptor() {
+    this(TracingInterceptor::lookupTracer);
+  }
+
+  public TracingInterceptor(final Supplier<Tracer> tracer) {
+    this.tracer = tracer;
+  }
+
+  @Override
+  public void beforeExecution(final Context.BeforeExecution context,
+      final ExecutionAttributes executionAttributes) {
+    Tracer current = tracer.get();
+    if (current == null) {
+      return;
+    }
+    String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+    Span call = current.spanBuilder("DynamoDB." + operation)
+        .setSpanKind(SpanKind.CLIENT)
+        .setAttribute(DB_SYSTEM, "dynamodb")
+        .setAttribute(DB_OPERATION, operation)
+        .startSpan();
+    executionAttributes.putAttribute(SPANS, new CallSpans(current, call, operation));
+  }
+
+  @Override
+  public void beforeTransmission(final Context.BeforeTransmission context,
+      final ExecutionAttributes executionAttributes) {
+    CallSpans spans = executionAttributes.getAttribute(SPANS);
+    if (spans == null) {
+      return;
+    }
+    if (spans.attempt != null) {
+      spans.attempt.setStatus(StatusCode.ERROR).end();
+    }
+    spans.attempts++;
+    spans.attempt = spans.tracer.spanBuilder("DynamoDB." + spans.operation + " attempt")
+        .setParent(io.opentelemetry.context.Context.root().with(spans.call))
+        .setSpanKind(SpanKind.CLIENT)
+        .setAttribute(ATTEMPT, (long) spans.attempts)
+        .startSpan();
+  }
+
+  @Override
+  public void afterTransmission(final Context.AfterTransmission context,
+      final ExecutionAttributes executionAttributes) {
+    CallSpans spans = executionAttributes.getAttribute(SPANS);
+    if (spans == null || spans.attempt == null) {
+      return;
+    }
+    int statusCode = context.httpResponse().statusCode();
+    spans.attempt.setAttribute(STATUS_CODE, (long) statusCode);
+    if (statusCode >= 400) {
+      spans.attempt.setStatus(StatusCode.ERROR);
+    }
+    spans.attempt.end();
+    spans.attempt = null;
+  }
+
+  @Override
+  public void afterExecution(final Context.AfterExecution context,
+      final ExecutionAttributes executionAttributes) {
+    CallSpans spans = executionAttributes.getAttribute(SPANS);
+    if (spans != null) {
+      spans.finish(context.request(), context.response(), null);
+    }
+  }
+
+  @Override
+  public void onExecutionFailure(final Context.FailedExecution context,
+      final ExecutionAttributes executionAttributes) {
+    CallSpans spans = executionAttributes.getAttribute(SPANS);
+    if (spans != null) {
+      spans.finish(context.request(), context.response().orElse(null), context.exception());
+    }
+  }
+
+  private static Tracer lookupTracer() {
+    ArcContainer container = Arc.container();
+    if (container == null || !container.isRunning()) {
+      return null;
+    }
+    InstanceHandle<Tracer> handle = container.instance(Tracer.class);
+    return handle.isAvailable() ? handle.get() : null;
+  }
+
+  private static final class CallSpans {
+
+    private final Tracer tracer;
+    private final Span call;
+    private final String operation;
+    private Span attempt;
+    private int attempts;
+
+    private CallSpans(final Tracer tracer, final Span call, final String operation) {
+      this.tracer = tracer;
+      this.call = call;
+      this.operation = operation;
+    }
+
+    private void finish(final SdkRequest request, final SdkResponse response,
+        final Throwable failure) {
+      OperationShape shape = OperationShape.of(request);
+      if (shape.table() != null) {
+        call.setAttribute(TABLE_NAMES, Arrays.asList(shape.table().split(",")));
+      }
+      if (shape.index() != null) {
+        call.setAttribute(INDEX_NAME, shape.index());
+      }
+      if (shape.limit() != null) {
+        call.setAttribute(LIMIT, shape.limit().longValue());
+      }
+      Integer itemCount = response == null ? null : OperationShape.itemCount(response);
+      if (itemCount == null) {
+        itemCount = shape.items();
+      }
+      if (itemCount != null) {
+        call.setAttribute(ITEM_COUNT, itemCount.longValue());
+      }
+      Double consumed = response == null ? null : OperationShape.consumedCapacity(response);
+      if (consumed != null) {
+        call.setAttribute(CONSUMED_CAPACITY, consumed);
+      }
+      if (attempt != null) {
+        attempt.setStatus(StatusCode.ERROR).end();
+      }
+      if (failure != null) {
+        call.recordException(failure).setStatus(StatusCode.ERROR);
+      }
+      call.end();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.matheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.matheus.DynamoDbCall")
+@Label("DynamoDB Call")
+@Description("One DynamoDB API call, from the first marshalling step to the unmarshalled response")
+@Category({"Person", "DynamoDB"})
+@StackTrace(false)
+public class DynamoDbCallEvent extends Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Table")
+  public String table;
+
+  @Label("Index")
+  public String index;
+
+  @Label("Limit")
+  public int limit;
+
+  @Label("Item Count")
+  public int itemCount;
+
+  @Label("Request Bytes")
+  @DataAmount
+  public long requestBytes;
+
+  @Label("Response Bytes")
+  @DataAmount
+  public long responseBytes;
+
+  @Label("Attempts")
+  public int attempts;
+
+  @Label("Consumed Capacity")
+  public double consumedCapacity;
+
+  @Label("Failed")
+  public boolean failed;
+
+  @Label("Caller Thread")
+  @Description("Thread that issued the call; async calls complete on an SDK thread")
+  public Thread callerThread;
+}
@@ -0,0 +1,22 @@
+package com.matheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.matheus.PaginationSerialization")
+@Label("Pagination Serialization")
+@Description("JSON serialization of a PaginationResponse")
+@Category({"Person", "Serialization"})
+@StackTrace(false)
+public class PaginationSerializationEvent extends Event {
+
+  @Label("Item Type")
+  public String itemType;
+
+  @Label("Items")
+  public int items;
+}
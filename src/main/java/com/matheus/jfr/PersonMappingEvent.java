@@ -0,0 +1,22 @@
+package com.matheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.matheus.PersonMapping")
+@Label("Person Mapping")
+@Description("Mapping of a page of DynamoDB items into Person instances")
+@Category({"Person", "Mapping"})
+@StackTrace(false)
+public class PersonMappingEvent extends Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Items")
+  public int items;
+}
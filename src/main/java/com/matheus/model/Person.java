@@ -1,18 +1,19 @@
 package com.matheus.model;
 
-import java.util.Map;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import com.matheus.codegen.IndexPartitionKey;
+import com.matheus.codegen.ItemModel;
+import com.matheus.codegen.PartitionKey;
+import com.matheus.codegen.SortKey;
+import java.util.Objects;
 
+@ItemModel(table = "person")
 public final class Person {
 
-  public static final String TABLE_NAME = "person";
-  public static final String FIRST_NAME_COLUMN = "firstName";
-  public static final String LAST_NAME_COLUMN = "lastName";
-  public static final String CPF_COLUMN = "cpf";
-  public static final String CPF_INDEX = "cpf_index";
-
+  @PartitionKey
   private final String firstName;
+  @SortKey
   private final String lastName;
+  @IndexPartitionKey("cpf_index")
   private final String cpf;
 
   private Person(String firstName, String lastName, String cpf) {
@@ -25,21 +26,6 @@ public final class Person {
     return new Person(firstName, lastName, cpf);
   }
 
-  public static Person from(Map<String, AttributeValue> item) {
-    if (item == null || item.isEmpty()) {
-      throw new IllegalArgumentException("Item is null or empty");
-    }
-    return new Person(item.get(FIRST_NAME_COLUMN).s(), item.get(LAST_NAME_COLUMN).s(),
-        item.get(CPF_COLUMN).s());
-  }
-
-  public Map<String, AttributeValue> toDynamodbAttributes() {
-    return Map.of(
-        Person.FIRST_NAME_COLUMN, AttributeValue.builder().s(this.firstName).build(),
-        Person.LAST_NAME_COLUMN, AttributeValue.builder().s(this.lastName).build(),
-        Person.CPF_COLUMN, AttributeValue.builder().s(this.cpf).build());
-  }
-
   public String getFirstName() {
     return firstName;
   }
@@ -51,4 +37,22 @@ public final class Person {
   public String getCpf() {
     return cpf;
   }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof Person person)) {
+      return false;
+    }
+    return Objects.equals(firstName, person.firstName)
+        && Objects.equals(lastName, person.lastName)
+        && Objects.equals(cpf, person.cpf);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(firstName, lastName, cpf);
+  }
 }
@@ -1,10 +1,13 @@
 package com.matheus.model;
 
+import java.util.Map;
+import java.util.Objects;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 @DynamoDbBean
 public final class PersonEnhanced {
@@ -57,4 +60,35 @@ public final class PersonEnhanced {
   public void setCpf(String cpf) {
     this.cpf = cpf;
   }
+
+  public Map<String, AttributeValue> toKey() {
+    return Map.of(
+        "firstName", AttributeValue.builder().s(firstName).build(),
+        "lastName", AttributeValue.builder().s(lastName).build());
+  }
+
+  public Map<String, AttributeValue> toCpfIndexKey() {
+    return Map.of(
+        "firstName", AttributeValue.builder().s(firstName).build(),
+        "lastName", AttributeValue.builder().s(lastName).build(),
+        "cpf", AttributeValue.builder().s(cpf).build());
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof PersonEnhanced person)) {
+      return false;
+    }
+    return Objects.equals(firstName, person.firstName)
+        && Objects.equals(lastName, person.lastName)
+        && Objects.equals(cpf, person.cpf);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(firstName, lastName, cpf);
+  }
 }
@@ -0,0 +1,62 @@
+package com.matheus.resource;
+
+import com.matheus.service.BackfillJobs;
+import com.matheus.service.BackfillTransformation;
+import com.matheus.vo.response.BackfillJobResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import javax.enterprise.inject.Instance;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+@Path("/admin/backfill")
+@IfBuildProperty(name = "person.deployment.sync", stringValue = "true",
+    enableIfMissing = true)
+public class BackfillResource {
+
+  private final BackfillJobs backfillJobs;
+  private final Instance<BackfillTransformation> transformations;
+
+  public BackfillResource(BackfillJobs backfillJobs,
+      Instance<BackfillTransformation> transformations) {
+    this.backfillJobs = backfillJobs;
+    this.transformations = transformations;
+  }
+
+  @POST
+  @Path("/{name}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response start(
+      @PathParam("name") final String name,
+      @QueryParam("segments") @DefaultValue("4") final int segments) {
+    BackfillTransformation transformation = transformations.stream()
+        .filter(candidate -> candidate.name().equals(name))
+        .findFirst()
+        .orElseThrow(() -> new NotFoundException("backfill " + name + " not found"));
+    return Response.accepted(backfillJobs.start(transformation, segments)).build();
+  }
+
+  @GET
+  @Path("/{name}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public BackfillJobResponse status(@PathParam("name") final String name) {
+    return backfillJobs.status(name)
+        .orElseThrow(() -> new NotFoundException("backfill " + name + " not found"));
+  }
+
+  @DELETE
+  @Path("/{name}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public BackfillJobResponse stop(@PathParam("name") final String name) {
+    return backfillJobs.stop(name)
+        .orElseThrow(() -> new NotFoundException("backfill " + name + " not found"));
+  }
+}
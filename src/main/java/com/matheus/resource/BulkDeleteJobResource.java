@@ -0,0 +1,56 @@
+package com.matheus.resource;
+
+import com.matheus.service.BulkDeleteJobs;
+import com.matheus.vo.request.DeletePeopleBatch;
+import com.matheus.vo.response.BulkDeleteJobResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import java.net.URI;
+import java.util.List;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+@Path("/jobs/person/delete")
+@IfBuildProperty(name = "person.deployment.sync", stringValue = "true",
+    enableIfMissing = true)
+public class BulkDeleteJobResource {
+
+  private final BulkDeleteJobs bulkDeleteJobs;
+
+  public BulkDeleteJobResource(BulkDeleteJobs bulkDeleteJobs) {
+    this.bulkDeleteJobs = bulkDeleteJobs;
+  }
+
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response submit(final List<DeletePeopleBatch> deletePeopleBatches) {
+    BulkDeleteJobResponse job = bulkDeleteJobs.submit(deletePeopleBatches);
+    return Response.accepted(job)
+        .location(URI.create("/jobs/person/delete/" + job.id()))
+        .build();
+  }
+
+  @GET
+  @Path("/{id}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public BulkDeleteJobResponse status(@PathParam("id") final String id) {
+    return bulkDeleteJobs.status(id)
+        .orElseThrow(() -> new NotFoundException("bulk delete job " + id + " not found"));
+  }
+
+  @DELETE
+  @Path("/{id}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public BulkDeleteJobResponse cancel(@PathParam("id") final String id) {
+    return bulkDeleteJobs.cancel(id)
+        .orElseThrow(() -> new NotFoundException("bulk delete job " + id + " not found"));
+  }
+}
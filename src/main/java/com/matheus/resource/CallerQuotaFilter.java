@@ -0,0 +1,65 @@
+package com.matheus.resource;
+
+import com.matheus.dynamodb.CallerContext;
+import com.matheus.dynamodb.CallerQuotas;
+import com.matheus.dynamodb.CallerQuotas.Admission;
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.SimpleResourceInfo;
+
+public class CallerQuotaFilter {
+
+  private final boolean enabled;
+  private final String callerHeader;
+  private final CallerQuotas callerQuotas;
+  private final CallerContext callerContext;
+
+  public CallerQuotaFilter(
+      @ConfigProperty(name = "person.quota.enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "person.quota.caller-header", defaultValue = "X-Caller-Id")
+      String callerHeader,
+      CallerQuotas callerQuotas,
+      CallerContext callerContext) {
+    this.enabled = enabled;
+    this.callerHeader = callerHeader;
+    this.callerQuotas = callerQuotas;
+    this.callerContext = callerContext;
+  }
+
+  @ServerRequestFilter
+  public Uni<Response> admit(final ContainerRequestContext requestContext,
+      final SimpleResourceInfo resourceInfo) {
+    if (!enabled) {
+      return Uni.createFrom().nullItem();
+    }
+    String caller = callerQuotas.callerOf(requestContext.getHeaderString(callerHeader));
+    String endpoint = resourceInfo.getResourceClass().getSimpleName() + "."
+        + resourceInfo.getMethodName();
+    callerContext.identify(caller, endpoint);
+    String method = requestContext.getMethod();
+    Access access = HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)
+        ? Access.READ
+        : Access.WRITE;
+    Admission admission = callerQuotas.admit(caller, endpoint, access);
+    if (!admission.admitted()) {
+      return Uni.createFrom().item(Response.status(Response.Status.TOO_MANY_REQUESTS)
+          .header("Retry-After", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+              admission.waitNanos() + TimeUnit.SECONDS.toNanos(1) - 1)))
+          .entity("Caller " + caller + " exceeded its " + access.name().toLowerCase()
+              + " capacity quota")
+          .build());
+    }
+    if (admission.waitNanos() > 0) {
+      return Uni.createFrom().<Response>nullItem()
+          .onItem().delayIt().by(Duration.ofNanos(admission.waitNanos()));
+    }
+    return Uni.createFrom().nullItem();
+  }
+}
@@ -0,0 +1,36 @@
+package com.matheus.resource;
+
+import com.matheus.dynamodb.CallerQuotas;
+import com.matheus.dynamodb.CapacityRateLimiter;
+import com.matheus.vo.response.CallerUsageResponse;
+import com.matheus.vo.response.CapacityBucketResponse;
+import java.util.List;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+@Path("/admin/capacity")
+public class CapacityResource {
+
+  private final CapacityRateLimiter capacityRateLimiter;
+  private final CallerQuotas callerQuotas;
+
+  public CapacityResource(CapacityRateLimiter capacityRateLimiter, CallerQuotas callerQuotas) {
+    this.capacityRateLimiter = capacityRateLimiter;
+    this.callerQuotas = callerQuotas;
+  }
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<CapacityBucketResponse> getAll() {
+    return capacityRateLimiter.snapshot();
+  }
+
+  @GET
+  @Path("/callers")
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<CallerUsageResponse> getCallers() {
+    return callerQuotas.snapshot();
+  }
+}
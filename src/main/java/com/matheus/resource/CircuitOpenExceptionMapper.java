@@ -0,0 +1,18 @@
+package com.matheus.resource;
+
+import com.matheus.dynamodb.CircuitOpenException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+@Provider
+public class CircuitOpenExceptionMapper implements ExceptionMapper<CircuitOpenException> {
+
+  @Override
+  public Response toResponse(final CircuitOpenException exception) {
+    return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+        .header("Retry-After", Math.max(1, exception.getRetryAfter().toSeconds()))
+        .entity(exception.getMessage())
+        .build();
+  }
+}
@@ -0,0 +1,34 @@
+package com.matheus.resource;
+
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import com.matheus.dynamodb.HotPartitionTracker;
+import com.matheus.vo.response.HotPartitionResponse;
+import java.util.List;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+
+@Path("/admin/partitions/hot")
+public class HotPartitionResource {
+
+  private final HotPartitionTracker hotPartitionTracker;
+
+  public HotPartitionResource(HotPartitionTracker hotPartitionTracker) {
+    this.hotPartitionTracker = hotPartitionTracker;
+  }
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<HotPartitionResponse> getTop(
+      @QueryParam("access") final Access access,
+      @QueryParam("limit") @DefaultValue("10") final int limit) {
+    if (limit < 0) {
+      throw new BadRequestException("limit must not be negative");
+    }
+    return hotPartitionTracker.top(access, limit);
+  }
+}
@@ -0,0 +1,18 @@
+package com.matheus.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+import javax.inject.Singleton;
+
+@Singleton
+public class ItemModelJsonCustomizer implements ObjectMapperCustomizer {
+
+  @Override
+  public void customize(final ObjectMapper objectMapper) {
+    objectMapper.registerModule(new SimpleModule()
+        .addSerializer(Person.class, new PersonItem.Serializer()));
+  }
+}
@@ -0,0 +1,17 @@
+package com.matheus.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+import javax.inject.Singleton;
+
+@Singleton
+public class PaginationJsonCustomizer implements ObjectMapperCustomizer {
+
+  @Override
+  public void customize(final ObjectMapper objectMapper) {
+    objectMapper.registerModule(new SimpleModule()
+        .addSerializer(PaginationResponse.class, new PaginationResponseSerializer()));
+  }
+}
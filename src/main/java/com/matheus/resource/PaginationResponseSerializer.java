@@ -0,0 +1,47 @@
+package com.matheus.resource;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.matheus.jfr.PaginationSerializationEvent;
+import com.matheus.vo.response.PaginationResponse;
+import java.io.IOException;
+
+@SuppressWarnings("rawtypes")
+public class PaginationResponseSerializer extends StdSerializer<PaginationResponse> {
+
+  private static final long serialVersionUID = 1L;
+
+  public PaginationResponseSerializer() {
+    super(PaginationResponse.class);
+  }
+
+  @Override
+  public void serialize(final PaginationResponse value, final JsonGenerator generator,
+      final SerializerProvider provider) throws IOException {
+    PaginationSerializationEvent event = new PaginationSerializationEvent();
+    if (!event.isEnabled()) {
+      write(value, generator, provider);
+      return;
+    }
+    event.begin();
+    write(value, generator, provider);
+    event.end();
+    if (event.shouldCommit()) {
+      event.items = value.getSize();
+      event.itemType = value.getItems().isEmpty()
+          ? null
+          : value.getItems().get(0).getClass().getSimpleName();
+      event.commit();
+    }
+  }
+
+  private static void write(final PaginationResponse value, final JsonGenerator generator,
+      final SerializerProvider provider) throws IOException {
+    generator.writeStartObject();
+    provider.defaultSerializeField("items", value.getItems(), generator);
+    generator.writeNumberField("size", value.getSize());
+    provider.defaultSerializeField("lastEvaluatedKey", value.getLastEvaluatedKey(), generator);
+    generator.writeEndObject();
+  }
+}
@@ -0,0 +1,37 @@
+package com.matheus.resource;
+
+import com.matheus.service.PersonAggregationService;
+import com.matheus.vo.response.FirstNameCountResponse;
+import com.matheus.vo.response.PersonCountResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+@Path("/aggregation/person")
+@IfBuildProperty(name = "person.deployment.async", stringValue = "true",
+    enableIfMissing = true)
+public class PersonAggregationResource {
+
+  private final PersonAggregationService personAggregationService;
+
+  public PersonAggregationResource(PersonAggregationService personAggregationService) {
+    this.personAggregationService = personAggregationService;
+  }
+
+  @GET
+  @Path("/count")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Uni<PersonCountResponse> count() {
+    return personAggregationService.count();
+  }
+
+  @GET
+  @Path("/count/firstname")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Uni<FirstNameCountResponse> countByFirstName() {
+    return personAggregationService.countByFirstName();
+  }
+}
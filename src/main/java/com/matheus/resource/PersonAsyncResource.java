@@ -1,15 +1,20 @@
 package com.matheus.resource;
 
 import com.matheus.model.Person;
+import com.matheus.service.BatchStreams;
+import com.matheus.service.IdempotentWrites;
 import com.matheus.service.PersonAsyncService;
-import com.matheus.vo.request.DeletePeopleBatch;
+import com.matheus.service.StreamedBatch;
 import com.matheus.vo.request.PaginationRequest;
 import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.Blocking;
 import io.smallrye.mutiny.Uni;
-import java.util.List;
+import java.io.InputStream;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -18,12 +23,19 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 
 @Path("/async/person")
+@IfBuildProperty(name = "person.deployment.async", stringValue = "true",
+    enableIfMissing = true)
 public class PersonAsyncResource {
 
   private final PersonAsyncService personAsyncService;
+  private final IdempotentWrites idempotentWrites;
+  private final BatchStreams batchStreams;
 
-  public PersonAsyncResource(PersonAsyncService personAsyncService) {
+  public PersonAsyncResource(PersonAsyncService personAsyncService,
+      IdempotentWrites idempotentWrites, BatchStreams batchStreams) {
     this.personAsyncService = personAsyncService;
+    this.idempotentWrites = idempotentWrites;
+    this.batchStreams = batchStreams;
   }
 
   @GET
@@ -62,8 +74,11 @@ public class PersonAsyncResource {
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Uni<Person> add(final Person person) {
-    return personAsyncService.add(person);
+  public Uni<Person> add(
+      @HeaderParam(IdempotentWrites.HEADER) final String idempotencyKey,
+      final Person person) {
+    return idempotentWrites.executeAsync(idempotencyKey, "async.add", person,
+        () -> personAsyncService.add(person));
   }
 
   @DELETE
@@ -82,19 +97,37 @@ public class PersonAsyncResource {
     return personAsyncService.update(person);
   }
 
+  @PUT
+  @Path("/firstname/{firstName}/lastname/{lastName}/rename")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Uni<Person> rename(
+      @PathParam("firstName") final String firstName,
+      @PathParam("lastName") final String lastName,
+      final Person person) {
+    return personAsyncService.rename(firstName, lastName, person);
+  }
+
   @PUT
   @Path("/batch")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Uni<Void> putBatch(final List<Person> people) {
-    return personAsyncService.putPeople(people);
+  @Blocking
+  public Uni<Void> putBatch(
+      @HeaderParam(IdempotentWrites.HEADER) final String idempotencyKey,
+      final InputStream body) {
+    StreamedBatch<Person> people = batchStreams.open(body, Person.class);
+    return idempotentWrites.runStreamedAsync(idempotencyKey, "async.putBatch", people::fingerprint,
+        () -> people.writeAsync(personAsyncService::putPeople));
   }
 
   @DELETE
   @Path("/batch")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Uni<Void> deletePeople(final List<DeletePeopleBatch> deletePeopleBatches) {
-    return personAsyncService.deletePeople(deletePeopleBatches);
+  @Blocking
+  public Uni<Void> deletePeople(final InputStream body) {
+    return batchStreams.openDeletes(body)
+        .writeAsync(personAsyncService::deletePeople);
   }
 }
@@ -1,15 +1,20 @@
 package com.matheus.resource;
 
 import com.matheus.model.PersonEnhanced;
+import com.matheus.service.BatchStreams;
+import com.matheus.service.IdempotentWrites;
 import com.matheus.service.PersonEnhancedAsyncService;
-import com.matheus.vo.request.DeletePeopleBatch;
+import com.matheus.service.StreamedBatch;
 import com.matheus.vo.request.PaginationRequest;
 import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.Blocking;
 import io.smallrye.mutiny.Uni;
-import java.util.List;
+import java.io.InputStream;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -18,12 +23,19 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 
 @Path("/async/enhanced/person")
+@IfBuildProperty(name = "person.deployment.enhanced-async", stringValue = "true",
+    enableIfMissing = true)
 public class PersonEnhancedAsyncResource {
 
   private final PersonEnhancedAsyncService personEnhancedAsyncService;
+  private final IdempotentWrites idempotentWrites;
+  private final BatchStreams batchStreams;
 
-  public PersonEnhancedAsyncResource(PersonEnhancedAsyncService personEnhancedAsyncService) {
+  public PersonEnhancedAsyncResource(PersonEnhancedAsyncService personEnhancedAsyncService,
+      IdempotentWrites idempotentWrites, BatchStreams batchStreams) {
     this.personEnhancedAsyncService = personEnhancedAsyncService;
+    this.idempotentWrites = idempotentWrites;
+    this.batchStreams = batchStreams;
   }
 
   @GET
@@ -62,8 +74,11 @@ public class PersonEnhancedAsyncResource {
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Uni<PersonEnhanced> add(final PersonEnhanced book) {
-    return personEnhancedAsyncService.add(book);
+  public Uni<PersonEnhanced> add(
+      @HeaderParam(IdempotentWrites.HEADER) final String idempotencyKey,
+      final PersonEnhanced book) {
+    return idempotentWrites.executeAsync(idempotencyKey, "enhanced-async.add", book,
+        () -> personEnhancedAsyncService.add(book));
   }
 
   @DELETE
@@ -85,15 +100,22 @@ public class PersonEnhancedAsyncResource {
   @Path("/batch")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Uni<Void> putBatch(final List<PersonEnhanced> people) {
-    return personEnhancedAsyncService.putPeople(people);
+  @Blocking
+  public Uni<Void> putBatch(
+      @HeaderParam(IdempotentWrites.HEADER) final String idempotencyKey,
+      final InputStream body) {
+    StreamedBatch<PersonEnhanced> people = batchStreams.open(body, PersonEnhanced.class);
+    return idempotentWrites.runStreamedAsync(idempotencyKey, "enhanced-async.putBatch",
+        people::fingerprint, () -> people.writeAsync(personEnhancedAsyncService::putPeople));
   }
 
   @DELETE
   @Path("/batch")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Uni<Void> deletePeople(final List<DeletePeopleBatch> deletePeopleBatches) {
-    return personEnhancedAsyncService.deletePeople(deletePeopleBatches);
+  @Blocking
+  public Uni<Void> deletePeople(final InputStream body) {
+    return batchStreams.openDeletes(body)
+        .writeAsync(personEnhancedAsyncService::deletePeople);
   }
 }
@@ -1,14 +1,19 @@
 package com.matheus.resource;
 
 import com.matheus.model.PersonEnhanced;
+import com.matheus.service.BatchStreams;
+import com.matheus.service.IdempotentWrites;
 import com.matheus.service.PersonEnhancedService;
-import com.matheus.vo.request.DeletePeopleBatch;
+import com.matheus.service.ShadowReads;
+import com.matheus.service.StreamedBatch;
 import com.matheus.vo.request.PaginationRequest;
 import com.matheus.vo.response.PaginationResponse;
-import java.util.List;
+import io.quarkus.arc.properties.IfBuildProperty;
+import java.io.InputStream;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -17,18 +22,29 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 
 @Path("/sync/enhanced/person")
+@IfBuildProperty(name = "person.deployment.enhanced", stringValue = "true",
+    enableIfMissing = true)
 public class PersonEnhancedResource {
 
   private final PersonEnhancedService personEnhancedService;
+  private final IdempotentWrites idempotentWrites;
+  private final BatchStreams batchStreams;
+  private final ShadowReads shadowReads;
 
-  public PersonEnhancedResource(PersonEnhancedService personEnhancedService) {
+  public PersonEnhancedResource(PersonEnhancedService personEnhancedService,
+      IdempotentWrites idempotentWrites, BatchStreams batchStreams, ShadowReads shadowReads) {
     this.personEnhancedService = personEnhancedService;
+    this.idempotentWrites = idempotentWrites;
+    this.batchStreams = batchStreams;
+    this.shadowReads = shadowReads;
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   public PaginationResponse<PersonEnhanced> findAll(final PaginationRequest paginationRequest) {
-    return personEnhancedService.findAll(paginationRequest);
+    return shadowReads.fromEnhanced("findAll",
+        () -> personEnhancedService.findAll(paginationRequest),
+        lowLevel -> lowLevel.findAll(paginationRequest));
   }
 
   @GET
@@ -37,7 +53,9 @@ public class PersonEnhancedResource {
   public PaginationResponse<PersonEnhanced> findByFirstName(
       @PathParam("firstName") final String firstName,
       final PaginationRequest paginationRequest) {
-    return personEnhancedService.findByFirstName(firstName, paginationRequest);
+    return shadowReads.fromEnhanced("findByFirstName",
+        () -> personEnhancedService.findByFirstName(firstName, paginationRequest),
+        lowLevel -> lowLevel.findByFirstName(firstName, paginationRequest));
   }
 
   @GET
@@ -46,7 +64,9 @@ public class PersonEnhancedResource {
   public PersonEnhanced findByFirstNameAndLastName(
       @PathParam("firstName") final String firstName,
       @PathParam("lastName") final String lastName) {
-    return personEnhancedService.findByFirstNameAndLastName(firstName, lastName);
+    return shadowReads.fromEnhanced("findByFirstNameAndLastName",
+        () -> personEnhancedService.findByFirstNameAndLastName(firstName, lastName),
+        lowLevel -> lowLevel.findByFirstNameAndLastName(firstName, lastName));
   }
 
   @GET
@@ -55,14 +75,19 @@ public class PersonEnhancedResource {
   public PaginationResponse<PersonEnhanced> findByCpf(
       @PathParam("cpf") final String cpf,
       final PaginationRequest paginationRequest) {
-    return personEnhancedService.findByCpf(cpf, paginationRequest);
+    return shadowReads.fromEnhanced("findByCpf",
+        () -> personEnhancedService.findByCpf(cpf, paginationRequest),
+        lowLevel -> lowLevel.findByCpf(cpf, paginationRequest));
   }
 
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public PersonEnhanced add(final PersonEnhanced person) {
-    return personEnhancedService.add(person);
+  public PersonEnhanced add(
+      @HeaderParam(IdempotentWrites.HEADER) final String idempotencyKey,
+      final PersonEnhanced person) {
+    return idempotentWrites.execute(idempotencyKey, "enhanced.add", person,
+        () -> personEnhancedService.add(person));
   }
 
   @DELETE
@@ -85,15 +110,19 @@ public class PersonEnhancedResource {
   @Path("/batch")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public void putBatch(final List<PersonEnhanced> people) {
-    personEnhancedService.putPeople(people);
+  public void putBatch(
+      @HeaderParam(IdempotentWrites.HEADER) final String idempotencyKey,
+      final InputStream body) {
+    StreamedBatch<PersonEnhanced> people = batchStreams.open(body, PersonEnhanced.class);
+    idempotentWrites.runStreamed(idempotencyKey, "enhanced.putBatch", people::fingerprint,
+        () -> people.write(personEnhancedService::putPeople));
   }
 
   @DELETE
   @Path("/batch")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public void deletePeople(final List<DeletePeopleBatch> deletePeopleBatches) {
-    personEnhancedService.deletePeople(deletePeopleBatches);
+  public void deletePeople(final InputStream body) {
+    batchStreams.openDeletes(body).write(personEnhancedService::deletePeople);
   }
 }
@@ -0,0 +1,41 @@
+package com.matheus.resource;
+
+import com.matheus.service.PersonPurgeService;
+import com.matheus.vo.response.PurgeResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+@Path("/async/person/purge")
+@IfBuildProperty(name = "person.deployment.async", stringValue = "true",
+    enableIfMissing = true)
+public class PersonPurgeResource {
+
+  private final PersonPurgeService personPurgeService;
+
+  public PersonPurgeResource(PersonPurgeService personPurgeService) {
+    this.personPurgeService = personPurgeService;
+  }
+
+  @DELETE
+  @Path("/firstname/{firstName}")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Uni<PurgeResponse> purgeByFirstName(@PathParam("firstName") final String firstName) {
+    return personPurgeService.purgeByFirstName(firstName);
+  }
+
+  @POST
+  @Path("/cpf")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Uni<PurgeResponse> purgeByCpf(final List<String> cpfs) {
+    return personPurgeService.purgeByCpf(cpfs);
+  }
+}
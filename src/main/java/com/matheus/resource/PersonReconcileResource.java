@@ -0,0 +1,34 @@
+package com.matheus.resource;
+
+import com.matheus.model.Person;
+import com.matheus.service.PersonReconcileService;
+import com.matheus.vo.response.ReconcileResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+
+@Path("/async/person/reconcile")
+@IfBuildProperty(name = "person.deployment.async", stringValue = "true",
+    enableIfMissing = true)
+public class PersonReconcileResource {
+
+  private final PersonReconcileService personReconcileService;
+
+  public PersonReconcileResource(PersonReconcileService personReconcileService) {
+    this.personReconcileService = personReconcileService;
+  }
+
+  @PUT
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Uni<ReconcileResponse> reconcile(final List<Person> people,
+      @QueryParam("deleteMissing") final boolean deleteMissing) {
+    return personReconcileService.reconcile(people, deleteMissing);
+  }
+}
@@ -1,14 +1,19 @@
 package com.matheus.resource;
 
 import com.matheus.model.Person;
+import com.matheus.service.BatchStreams;
+import com.matheus.service.IdempotentWrites;
 import com.matheus.service.PersonService;
-import com.matheus.vo.request.DeletePeopleBatch;
+import com.matheus.service.ShadowReads;
+import com.matheus.service.StreamedBatch;
 import com.matheus.vo.request.PaginationRequest;
 import com.matheus.vo.response.PaginationResponse;
-import java.util.List;
+import io.quarkus.arc.properties.IfBuildProperty;
+import java.io.InputStream;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -17,18 +22,29 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 
 @Path("/sync/person")
+@IfBuildProperty(name = "person.deployment.sync", stringValue = "true",
+    enableIfMissing = true)
 public class PersonResource {
 
   private final PersonService personService;
+  private final IdempotentWrites idempotentWrites;
+  private final BatchStreams batchStreams;
+  private final ShadowReads shadowReads;
 
-  public PersonResource(PersonService personService) {
+  public PersonResource(PersonService personService,
+      IdempotentWrites idempotentWrites, BatchStreams batchStreams, ShadowReads shadowReads) {
     this.personService = personService;
+    this.idempotentWrites = idempotentWrites;
+    this.batchStreams = batchStreams;
+    this.shadowReads = shadowReads;
   }
 
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   public PaginationResponse<Person> findAll(final PaginationRequest paginationRequest) {
-    return personService.findAll(paginationRequest);
+    return shadowReads.fromLowLevel("findAll",
+        () -> personService.findAll(paginationRequest),
+        enhanced -> enhanced.findAll(paginationRequest));
   }
 
   @GET
@@ -37,7 +53,9 @@ public class PersonResource {
   public PaginationResponse<Person> findByFirstName(
       @PathParam("firstName") final String firstName,
       final PaginationRequest paginationRequest) {
-    return personService.findByFirstName(firstName, paginationRequest);
+    return shadowReads.fromLowLevel("findByFirstName",
+        () -> personService.findByFirstName(firstName, paginationRequest),
+        enhanced -> enhanced.findByFirstName(firstName, paginationRequest));
   }
 
   @GET
@@ -46,7 +64,9 @@ public class PersonResource {
   public Person findByFirstNameAndLastName(
       @PathParam("firstName") final String firstName,
       @PathParam("lastName") final String lastName) {
-    return personService.findByFirstNameAndLastName(firstName, lastName);
+    return shadowReads.fromLowLevel("findByFirstNameAndLastName",
+        () -> personService.findByFirstNameAndLastName(firstName, lastName),
+        enhanced -> enhanced.findByFirstNameAndLastName(firstName, lastName));
   }
 
   @GET
@@ -55,14 +75,19 @@ public class PersonResource {
   public PaginationResponse<Person> findByCpf(
       @PathParam("cpf") final String cpf,
       final PaginationRequest paginationRequest) {
-    return personService.findByCpf(cpf, paginationRequest);
+    return shadowReads.fromLowLevel("findByCpf",
+        () -> personService.findByCpf(cpf, paginationRequest),
+        enhanced -> enhanced.findByCpf(cpf, paginationRequest));
   }
 
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Person add(final Person person) {
-    return personService.add(person);
+  public Person add(
+      @HeaderParam(IdempotentWrites.HEADER) final String idempotencyKey,
+      final Person person) {
+    return idempotentWrites.execute(idempotencyKey, "sync.add", person,
+        () -> personService.add(person));
   }
 
   @DELETE
@@ -81,19 +106,34 @@ public class PersonResource {
     return personService.update(person);
   }
 
+  @PUT
+  @Path("/firstname/{firstName}/lastname/{lastName}/rename")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Person rename(
+      @PathParam("firstName") final String firstName,
+      @PathParam("lastName") final String lastName,
+      final Person person) {
+    return personService.rename(firstName, lastName, person);
+  }
+
   @PUT
   @Path("/batch")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public void putPeople(final List<Person> people) {
-    personService.putBatch(people);
+  public void putPeople(
+      @HeaderParam(IdempotentWrites.HEADER) final String idempotencyKey,
+      final InputStream body) {
+    StreamedBatch<Person> people = batchStreams.open(body, Person.class);
+    idempotentWrites.runStreamed(idempotencyKey, "sync.putBatch", people::fingerprint,
+        () -> people.write(personService::putBatch));
   }
 
   @DELETE
   @Path("/batch")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public void deletePeople(final List<DeletePeopleBatch> deletePeopleBatches) {
-    personService.deletePeople(deletePeopleBatches);
+  public void deletePeople(final InputStream body) {
+    batchStreams.openDeletes(body).write(personService::deletePeople);
   }
 }
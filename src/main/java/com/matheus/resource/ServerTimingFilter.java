@@ -0,0 +1,47 @@
+package com.matheus.resource;
+
+import com.matheus.dynamodb.RequestTimings;
+import javax.ws.rs.container.ContainerResponseContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+public class ServerTimingFilter {
+
+  public static final String SERVER_TIMING = "Server-Timing";
+  public static final String CONSUMED_CAPACITY = "X-Consumed-Capacity";
+
+  private final boolean enabled;
+  private final boolean consumedCapacity;
+  private final RequestTimings requestTimings;
+
+  public ServerTimingFilter(
+      @ConfigProperty(name = "person.server-timing.enabled", defaultValue = "false")
+      boolean enabled,
+      @ConfigProperty(name = "person.server-timing.consumed-capacity", defaultValue = "false")
+      boolean consumedCapacity,
+      RequestTimings requestTimings) {
+    this.enabled = enabled;
+    this.consumedCapacity = consumedCapacity;
+    this.requestTimings = requestTimings;
+  }
+
+  @ServerRequestFilter
+  public void start() {
+    if (enabled) {
+      requestTimings.start();
+    }
+  }
+
+  @ServerResponseFilter
+  public void report(final ContainerResponseContext responseContext) {
+    if (!enabled) {
+      return;
+    }
+    responseContext.getHeaders().add(SERVER_TIMING, requestTimings.serverTiming());
+    String consumed = requestTimings.consumedCapacity();
+    if (consumedCapacity && !consumed.isEmpty()) {
+      responseContext.getHeaders().add(CONSUMED_CAPACITY, consumed);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.matheus.resource;
+
+import com.matheus.service.ShardMigrationService;
+import com.matheus.vo.response.ShardMigrationResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+@Path("/admin/sharding")
+@IfBuildProperty(name = "person.deployment.sync", stringValue = "true",
+    enableIfMissing = true)
+public class ShardingResource {
+
+  private final ShardMigrationService shardMigrationService;
+
+  public ShardingResource(ShardMigrationService shardMigrationService) {
+    this.shardMigrationService = shardMigrationService;
+  }
+
+  @POST
+  @Path("/{firstName}/migrate")
+  @Produces(MediaType.APPLICATION_JSON)
+  public ShardMigrationResponse migrate(@PathParam("firstName") final String firstName) {
+    return shardMigrationService.migrate(firstName);
+  }
+}
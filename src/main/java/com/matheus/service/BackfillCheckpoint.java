@@ -0,0 +1,92 @@
+package com.matheus.service;
+
+import com.matheus.model.PersonItem;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+final class BackfillCheckpoint {
+
+  private static final String SEGMENTS = "segments";
+  private static final String DONE = "done";
+
+  private final Path file;
+  private final Properties cursors;
+
+  private BackfillCheckpoint(final Path file, final Properties cursors) {
+    this.file = file;
+    this.cursors = cursors;
+  }
+
+  static BackfillCheckpoint load(final Path directory, final String name, final int segments) {
+    Path file = directory.resolve(name + ".properties");
+    Properties cursors = new Properties();
+    if (Files.exists(file)) {
+      try (InputStream input = Files.newInputStream(file)) {
+        cursors.load(input);
+      } catch (IOException e) {
+        throw new UncheckedIOException("could not read backfill checkpoint " + file, e);
+      }
+    } else {
+      cursors.setProperty(SEGMENTS, String.valueOf(segments));
+    }
+    return new BackfillCheckpoint(file, cursors);
+  }
+
+  int segments() {
+    return Integer.parseInt(cursors.getProperty(SEGMENTS));
+  }
+
+  synchronized boolean isDone(final int segment) {
+    return cursors.containsKey(segment + "." + DONE);
+  }
+
+  synchronized Map<String, AttributeValue> cursor(final int segment) {
+    String firstName = cursors.getProperty(segment + "." + PersonItem.FIRST_NAME);
+    String lastName = cursors.getProperty(segment + "." + PersonItem.LAST_NAME);
+    if (firstName == null || lastName == null) {
+      return null;
+    }
+    return Map.of(PersonItem.FIRST_NAME, AttributeValue.builder().s(firstName).build(),
+        PersonItem.LAST_NAME, AttributeValue.builder().s(lastName).build());
+  }
+
+  synchronized void save(final int segment, final Map<String, AttributeValue> cursor) {
+    if (cursor == null) {
+      cursors.remove(segment + "." + PersonItem.FIRST_NAME);
+      cursors.remove(segment + "." + PersonItem.LAST_NAME);
+      cursors.setProperty(segment + "." + DONE, "true");
+    } else {
+      cursors.setProperty(segment + "." + PersonItem.FIRST_NAME,
+          cursor.get(PersonItem.FIRST_NAME).s());
+      cursors.setProperty(segment + "." + PersonItem.LAST_NAME,
+          cursor.get(PersonItem.LAST_NAME).s());
+    }
+    try {
+      Files.createDirectories(file.getParent());
+      Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+      try (OutputStream output = Files.newOutputStream(temporary)) {
+        cursors.store(output, null);
+      }
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("could not write backfill checkpoint " + file, e);
+    }
+  }
+
+  synchronized void clear() {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException("could not delete backfill checkpoint " + file, e);
+    }
+  }
+}
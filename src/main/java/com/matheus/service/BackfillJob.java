@@ -0,0 +1,127 @@
+package com.matheus.service;
+
+import com.matheus.vo.response.BackfillJobResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class BackfillJob {
+
+  private final String name;
+  private final BackfillCheckpoint checkpoint;
+  private final CapacityPacer readPacer;
+  private final CapacityPacer writePacer;
+  private final ExecutorService workers;
+  private final Instant startedAt = Instant.now();
+  private final AtomicInteger completedSegments = new AtomicInteger();
+  private final AtomicInteger pendingSegments = new AtomicInteger();
+  private final AtomicLong scanned = new AtomicLong();
+  private final AtomicLong updated = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicReference<Status> status = new AtomicReference<>(Status.RUNNING);
+  private final AtomicReference<Instant> finishedAt = new AtomicReference<>();
+
+  BackfillJob(final String name, final BackfillCheckpoint checkpoint,
+      final CapacityPacer readPacer, final CapacityPacer writePacer,
+      final ExecutorService workers) {
+    this.name = name;
+    this.checkpoint = checkpoint;
+    this.readPacer = readPacer;
+    this.writePacer = writePacer;
+    this.workers = workers;
+  }
+
+  String name() {
+    return name;
+  }
+
+  BackfillCheckpoint checkpoint() {
+    return checkpoint;
+  }
+
+  CapacityPacer readPacer() {
+    return readPacer;
+  }
+
+  CapacityPacer writePacer() {
+    return writePacer;
+  }
+
+  ExecutorService workers() {
+    return workers;
+  }
+
+  boolean isRunning() {
+    return status.get() == Status.RUNNING;
+  }
+
+  void onScanned() {
+    scanned.incrementAndGet();
+  }
+
+  void onUpdated() {
+    updated.incrementAndGet();
+  }
+
+  void onFailed() {
+    failed.incrementAndGet();
+  }
+
+  void onSegmentStarted() {
+    pendingSegments.incrementAndGet();
+  }
+
+  void onSegmentSkipped() {
+    completedSegments.incrementAndGet();
+  }
+
+  void onSegmentCompleted() {
+    completedSegments.incrementAndGet();
+    pendingSegments.decrementAndGet();
+    completeIfIdle();
+  }
+
+  void completeIfIdle() {
+    if (pendingSegments.get() == 0 && finish(Status.COMPLETED)) {
+      checkpoint.clear();
+    }
+  }
+
+  void onSegmentFailed() {
+    pendingSegments.decrementAndGet();
+    finish(Status.FAILED);
+  }
+
+  boolean isDrained() {
+    return workers.isTerminated();
+  }
+
+  boolean stop() {
+    return finish(Status.STOPPED);
+  }
+
+  BackfillJobResponse snapshot() {
+    return new BackfillJobResponse(name, status.get().name(), checkpoint.segments(),
+        completedSegments.get(), scanned.get(), updated.get(), failed.get(),
+        readPacer.unitsPerSecond(), writePacer.unitsPerSecond(), startedAt, finishedAt.get());
+  }
+
+  private boolean finish(final Status finalStatus) {
+    if (!status.compareAndSet(Status.RUNNING, finalStatus)) {
+      return false;
+    }
+    finishedAt.set(Instant.now());
+    workers.shutdown();
+    return true;
+  }
+
+  enum Status {
+    RUNNING,
+    COMPLETED,
+    STOPPED,
+    FAILED
+  }
+}
@@ -0,0 +1,233 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.model.PersonItem;
+import com.matheus.vo.response.BackfillJobResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputDescription;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+@ApplicationScoped
+@IfBuildProperty(name = "person.deployment.sync", stringValue = "true",
+    enableIfMissing = true)
+public class BackfillJobs {
+
+  private static final Logger LOG = Logger.getLogger(BackfillJobs.class);
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final double capacityShare;
+  private final double onDemandUnitsPerSecond;
+  private final int pageSize;
+  private final Path checkpointDirectory;
+  private final Map<String, BackfillJob> jobs = new ConcurrentHashMap<>();
+
+  public BackfillJobs(DynamoDbClient dynamoDbClient, DynamoDbCallExecutor dynamoDbCallExecutor,
+      @ConfigProperty(name = "person.backfill.capacity-share", defaultValue = "0.25")
+      double capacityShare,
+      @ConfigProperty(name = "person.backfill.on-demand-units-per-second", defaultValue = "25")
+      double onDemandUnitsPerSecond,
+      @ConfigProperty(name = "person.backfill.page-size", defaultValue = "100") int pageSize,
+      @ConfigProperty(name = "person.backfill.checkpoint-directory",
+          defaultValue = "backfill-checkpoints") String checkpointDirectory) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.capacityShare = capacityShare;
+    this.onDemandUnitsPerSecond = onDemandUnitsPerSecond;
+    this.pageSize = pageSize;
+    this.checkpointDirectory = Path.of(checkpointDirectory);
+  }
+
+  public synchronized BackfillJobResponse start(final BackfillTransformation transformation,
+      final int segments) {
+    if (segments <= 0) {
+      throw new BadRequestException("segments must be positive");
+    }
+    BackfillJob current = jobs.get(transformation.name());
+    if (current != null && current.isRunning()) {
+      throw new ClientErrorException("backfill " + transformation.name() + " is still running",
+          Response.Status.CONFLICT);
+    }
+    if (current != null && !current.isDrained()) {
+      throw new ClientErrorException("backfill " + transformation.name()
+          + " is still draining its previous run, retry later", Response.Status.CONFLICT);
+    }
+    BackfillCheckpoint checkpoint = BackfillCheckpoint.load(checkpointDirectory,
+        transformation.name(), segments);
+    ProvisionedThroughputDescription throughput = dynamoDbCallExecutor.execute(
+            DynamoDbOperation.read("backfill." + transformation.name(), PersonItem.TABLE_NAME),
+            () -> dynamoDbClient.describeTable(DescribeTableRequest.builder()
+                .tableName(PersonItem.TABLE_NAME)
+                .build()))
+        .table()
+        .provisionedThroughput();
+    BackfillJob job = new BackfillJob(transformation.name(), checkpoint,
+        new CapacityPacer(budget(throughput == null ? null : throughput.readCapacityUnits())),
+        new CapacityPacer(budget(throughput == null ? null : throughput.writeCapacityUnits())),
+        Executors.newFixedThreadPool(checkpoint.segments(),
+            daemonThreads(transformation.name())));
+    jobs.put(job.name(), job);
+    for (int segment = 0; segment < checkpoint.segments(); segment++) {
+      if (checkpoint.isDone(segment)) {
+        job.onSegmentSkipped();
+        continue;
+      }
+      int scheduled = segment;
+      job.onSegmentStarted();
+      job.workers().execute(() -> runSegment(job, transformation, scheduled));
+    }
+    job.completeIfIdle();
+    return job.snapshot();
+  }
+
+  public Optional<BackfillJobResponse> status(final String name) {
+    return Optional.ofNullable(jobs.get(name)).map(BackfillJob::snapshot);
+  }
+
+  public Optional<BackfillJobResponse> stop(final String name) {
+    return Optional.ofNullable(jobs.get(name)).map(job -> {
+      job.stop();
+      return job.snapshot();
+    });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    jobs.values().forEach(BackfillJob::stop);
+  }
+
+  private void runSegment(final BackfillJob job, final BackfillTransformation transformation,
+      final int segment) {
+    int totalSegments = job.checkpoint().segments();
+    Map<String, AttributeValue> cursor = job.checkpoint().cursor(segment);
+    try {
+      do {
+        if (!job.isRunning()) {
+          return;
+        }
+        job.readPacer().awaitTurn();
+        ScanRequest scanRequest = ScanRequest.builder()
+            .tableName(PersonItem.TABLE_NAME)
+            .segment(segment)
+            .totalSegments(totalSegments)
+            .limit(pageSize)
+            .exclusiveStartKey(cursor)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .build();
+        ScanResponse page = dynamoDbCallExecutor.execute(
+            DynamoDbOperation.read("backfill." + job.name(), PersonItem.TABLE_NAME),
+            () -> dynamoDbClient.scan(scanRequest));
+        job.readPacer().record(units(page.consumedCapacity()));
+        for (Map<String, AttributeValue> item : page.items()) {
+          job.onScanned();
+          Map<String, AttributeValue> changes = transformation.apply(item);
+          if (!changes.isEmpty()) {
+            update(job, item, changes);
+          }
+        }
+        cursor = page.hasLastEvaluatedKey() && !page.lastEvaluatedKey().isEmpty()
+            ? page.lastEvaluatedKey()
+            : null;
+        job.checkpoint().save(segment, cursor);
+      } while (cursor != null);
+      job.onSegmentCompleted();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      job.stop();
+    } catch (RuntimeException e) {
+      LOG.errorf(e, "Backfill %s failed on segment %d, resume it to continue from its checkpoint",
+          job.name(), segment);
+      job.onSegmentFailed();
+    }
+  }
+
+  private void update(final BackfillJob job, final Map<String, AttributeValue> item,
+      final Map<String, AttributeValue> changes) throws InterruptedException {
+    StringJoiner assignments = new StringJoiner(", ", "SET ", "");
+    Map<String, String> names = new HashMap<>(Map.of("#keyFirstName", PersonItem.FIRST_NAME));
+    Map<String, AttributeValue> values = new HashMap<>();
+    changes.forEach((attribute, value) -> {
+      int position = names.size();
+      names.put("#attribute" + position, attribute);
+      values.put(":value" + position, value);
+      assignments.add("#attribute" + position + " = :value" + position);
+    });
+    UpdateItemRequest updateItemRequest = UpdateItemRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .key(Map.of(
+            PersonItem.FIRST_NAME, item.get(PersonItem.FIRST_NAME),
+            PersonItem.LAST_NAME, item.get(PersonItem.LAST_NAME)))
+        .updateExpression(assignments.toString())
+        .conditionExpression("attribute_exists(#keyFirstName)")
+        .expressionAttributeNames(names)
+        .expressionAttributeValues(values)
+        .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+        .build();
+
+    job.writePacer().awaitTurn();
+    try {
+      UpdateItemResponse response = dynamoDbCallExecutor.execute(
+          DynamoDbOperation.write("backfill." + job.name(), PersonItem.TABLE_NAME)
+              .withPartitionKey(item.get(PersonItem.FIRST_NAME).s()),
+          () -> dynamoDbClient.updateItem(updateItemRequest));
+      job.writePacer().record(units(response.consumedCapacity()));
+      job.onUpdated();
+    } catch (ConditionalCheckFailedException e) {
+      job.writePacer().record(1);
+    } catch (RuntimeException e) {
+      LOG.warnf(e, "Backfill %s could not update %s", job.name(), updateItemRequest.key());
+      job.onFailed();
+    }
+  }
+
+  private double budget(final Long provisionedUnits) {
+    if (provisionedUnits == null || provisionedUnits == 0) {
+      return onDemandUnitsPerSecond;
+    }
+    return Math.max(provisionedUnits * capacityShare, 1);
+  }
+
+  private static double units(final ConsumedCapacity consumedCapacity) {
+    if (consumedCapacity == null || consumedCapacity.capacityUnits() == null) {
+      return 1;
+    }
+    return consumedCapacity.capacityUnits();
+  }
+
+  private static ThreadFactory daemonThreads(final String name) {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable,
+          "person-backfill-" + name + "-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
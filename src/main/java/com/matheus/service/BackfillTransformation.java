@@ -0,0 +1,11 @@
+package com.matheus.service;
+
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+public interface BackfillTransformation {
+
+  String name();
+
+  Map<String, AttributeValue> apply(Map<String, AttributeValue> item);
+}
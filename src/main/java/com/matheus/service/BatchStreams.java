@@ -0,0 +1,35 @@
+package com.matheus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matheus.vo.request.DeletePeopleBatch;
+import java.io.InputStream;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class BatchStreams {
+
+  private final ObjectMapper objectMapper;
+  private final ShardedKeys shardedKeys;
+  private final int writeConcurrency;
+
+  public BatchStreams(ObjectMapper objectMapper, ShardedKeys shardedKeys,
+      @ConfigProperty(name = "person.batch.write-concurrency", defaultValue = "4")
+      int writeConcurrency) {
+    this.objectMapper = objectMapper;
+    this.shardedKeys = shardedKeys;
+    this.writeConcurrency = writeConcurrency;
+  }
+
+  public <T> StreamedBatch<T> open(final InputStream body, final Class<T> type) {
+    return new StreamedBatch<>(objectMapper, body, type, BatchWriter.MAX_BATCH_SIZE,
+        item -> 1, writeConcurrency);
+  }
+
+  public StreamedBatch<DeletePeopleBatch> openDeletes(final InputStream body) {
+    return new StreamedBatch<>(objectMapper, body, DeletePeopleBatch.class,
+        BatchWriter.MAX_BATCH_SIZE, person -> shardedKeys
+            .candidatesFor(person.firstName(), person.lastName()).size(),
+        writeConcurrency);
+  }
+}
@@ -0,0 +1,71 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.model.PersonItem;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import javax.enterprise.context.ApplicationScoped;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+@ApplicationScoped
+@IfBuildProperty(name = "person.deployment.async", stringValue = "true",
+    enableIfMissing = true)
+public class BatchWriter {
+
+  public static final int MAX_BATCH_SIZE = 25;
+
+  private static final int UNPROCESSED_ATTEMPTS = 3;
+  private static final Duration UNPROCESSED_BACKOFF = Duration.ofMillis(50);
+
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+
+  public BatchWriter(DynamoDbAsyncClient dynamoDbAsyncClient,
+      DynamoDbCallExecutor dynamoDbCallExecutor) {
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+  }
+
+  public Uni<List<WriteRequest>> write(final String operation, final List<WriteRequest> writes) {
+    return write(operation, writes, 1);
+  }
+
+  private Uni<List<WriteRequest>> write(final String operation, final List<WriteRequest> writes,
+      final int attempt) {
+    BatchWriteItemRequest batchWriteItemRequest = BatchWriteItemRequest.builder()
+        .requestItems(Map.of(PersonItem.TABLE_NAME, writes))
+        .build();
+    return dynamoDbCallExecutor.executeAsync(
+            DynamoDbOperation.write(operation, PersonItem.TABLE_NAME)
+                .withPartitionKeys(writes.stream().map(BatchWriter::partitionKey).toList()),
+            () -> Uni.createFrom()
+                .completionStage(() -> dynamoDbAsyncClient.batchWriteItem(batchWriteItemRequest)))
+        .chain(response -> {
+          List<WriteRequest> unprocessed = response.unprocessedItems()
+              .getOrDefault(PersonItem.TABLE_NAME, List.of());
+          if (unprocessed.isEmpty() || attempt >= UNPROCESSED_ATTEMPTS) {
+            return Uni.createFrom().item(unprocessed);
+          }
+          return Uni.createFrom()
+              .voidItem()
+              .onItem()
+              .delayIt()
+              .by(UNPROCESSED_BACKOFF.multipliedBy(attempt))
+              .chain(() -> write(operation, unprocessed, attempt + 1));
+        });
+  }
+
+  private static String partitionKey(final WriteRequest writeRequest) {
+    Map<String, AttributeValue> key = writeRequest.putRequest() != null
+        ? writeRequest.putRequest().item()
+        : writeRequest.deleteRequest().key();
+    return key.get(PersonItem.FIRST_NAME).s();
+  }
+}
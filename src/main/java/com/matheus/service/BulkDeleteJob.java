@@ -0,0 +1,93 @@
+package com.matheus.service;
+
+import com.matheus.vo.response.BulkDeleteJobResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+final class BulkDeleteJob {
+
+  private final String id;
+  private final long total;
+  private final Instant startedAt = Instant.now();
+  private final AtomicLong processed = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicInteger pendingChunks;
+  private final AtomicReference<Status> status = new AtomicReference<>(Status.RUNNING);
+  private final AtomicReference<Instant> finishedAt = new AtomicReference<>();
+  private final List<Future<?>> chunks = new CopyOnWriteArrayList<>();
+  private final Consumer<BulkDeleteJob> onFinish;
+
+  BulkDeleteJob(final String id, final long total, final int chunks,
+      final Consumer<BulkDeleteJob> onFinish) {
+    this.id = id;
+    this.total = total;
+    this.onFinish = onFinish;
+    this.pendingChunks = new AtomicInteger(chunks);
+    if (chunks == 0) {
+      finish(Status.COMPLETED);
+    }
+  }
+
+  String id() {
+    return id;
+  }
+
+  boolean isFinished() {
+    return status.get() != Status.RUNNING;
+  }
+
+  boolean isCancelled() {
+    return status.get() == Status.CANCELLED;
+  }
+
+  void track(final Future<?> chunk) {
+    chunks.add(chunk);
+  }
+
+  void onChunk(final long processedPeople, final long failedPeople) {
+    processed.addAndGet(processedPeople);
+    failed.addAndGet(failedPeople);
+    if (pendingChunks.decrementAndGet() == 0) {
+      finish(Status.COMPLETED);
+    }
+  }
+
+  boolean cancel() {
+    if (!finish(Status.CANCELLED)) {
+      return false;
+    }
+    chunks.forEach(chunk -> chunk.cancel(false));
+    return true;
+  }
+
+  BulkDeleteJobResponse snapshot() {
+    long done = processed.get();
+    Instant end = finishedAt.get();
+    Duration elapsed = Duration.between(startedAt, end == null ? Instant.now() : end);
+    double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000d;
+    return new BulkDeleteJobResponse(id, status.get().name(), total, done, failed.get(),
+        Math.max(total - done - failed.get(), 0), done / seconds, startedAt, end);
+  }
+
+  private boolean finish(final Status finalStatus) {
+    if (!status.compareAndSet(Status.RUNNING, finalStatus)) {
+      return false;
+    }
+    finishedAt.set(Instant.now());
+    onFinish.accept(this);
+    return true;
+  }
+
+  enum Status {
+    RUNNING,
+    COMPLETED,
+    CANCELLED
+  }
+}
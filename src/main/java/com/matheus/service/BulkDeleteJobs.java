@@ -0,0 +1,204 @@
+package com.matheus.service;
+
+import com.matheus.cache.BoundedTtlCache;
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.vo.request.DeletePeopleBatch;
+import com.matheus.vo.response.BulkDeleteJobResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.properties.IfBuildProperty;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.ServiceUnavailableException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+@ApplicationScoped
+@IfBuildProperty(name = "person.deployment.sync", stringValue = "true",
+    enableIfMissing = true)
+public class BulkDeleteJobs {
+
+  private static final Logger LOG = Logger.getLogger(BulkDeleteJobs.class);
+  private static final int MAX_BATCH_SIZE = 25;
+  private static final int UNPROCESSED_ATTEMPTS = 3;
+  private static final long UNPROCESSED_BACKOFF_MILLIS = 50;
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final ShardedKeys shardedKeys;
+  private final ThreadPoolExecutor workers;
+  private final BoundedTtlCache<String, BulkDeleteJob> jobs;
+
+  public BulkDeleteJobs(DynamoDbClient dynamoDbClient, DynamoDbCallExecutor dynamoDbCallExecutor,
+      ShardedKeys shardedKeys,
+      @ConfigProperty(name = "person.jobs.threads", defaultValue = "4") int threads,
+      @ConfigProperty(name = "person.jobs.queue-capacity", defaultValue = "4096")
+      int queueCapacity,
+      @ConfigProperty(name = "person.jobs.max-jobs", defaultValue = "1000") int maxJobs,
+      @ConfigProperty(name = "person.jobs.retention", defaultValue = "PT1H") Duration retention,
+      MeterRegistry meterRegistry) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.shardedKeys = shardedKeys;
+    this.workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), daemonThreads(),
+        new ThreadPoolExecutor.AbortPolicy());
+    this.workers.allowCoreThreadTimeOut(true);
+    this.jobs = new BoundedTtlCache<>(maxJobs, retention, (id, job) -> { },
+        job -> !job.isFinished());
+    meterRegistry.gauge("person.jobs.queued.chunks", workers, pool -> pool.getQueue().size());
+  }
+
+  public BulkDeleteJobResponse submit(final List<DeletePeopleBatch> people) {
+    List<List<DeletePeopleBatch>> chunks = chunk(people);
+    if (workers.getQueue().remainingCapacity() < chunks.size()) {
+      throw new ServiceUnavailableException("bulk delete queue is full, retry later");
+    }
+    BulkDeleteJob job = new BulkDeleteJob(UUID.randomUUID().toString(), people.size(),
+        chunks.size(), this::retain);
+    try {
+      jobs.put(job.id(), job);
+    } catch (IllegalStateException e) {
+      throw new ServiceUnavailableException("too many bulk delete jobs running, retry later");
+    }
+    for (List<DeletePeopleBatch> chunk : chunks) {
+      try {
+        job.track(workers.submit(() -> run(job, chunk)));
+      } catch (RejectedExecutionException e) {
+        job.onChunk(0, chunk.size());
+      }
+    }
+    return job.snapshot();
+  }
+
+  public Optional<BulkDeleteJobResponse> status(final String id) {
+    return jobs.get(id).map(BulkDeleteJob::snapshot);
+  }
+
+  public Optional<BulkDeleteJobResponse> cancel(final String id) {
+    return jobs.get(id).map(job -> {
+      job.cancel();
+      return job.snapshot();
+    });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    workers.shutdownNow();
+  }
+
+  private void retain(final BulkDeleteJob job) {
+    jobs.put(job.id(), job);
+  }
+
+  private void run(final BulkDeleteJob job, final List<DeletePeopleBatch> chunk) {
+    if (job.isCancelled()) {
+      return;
+    }
+    long failed;
+    try {
+      failed = delete(chunk);
+    } catch (RuntimeException e) {
+      LOG.warnf(e, "Bulk delete job %s failed a chunk of %d people", job.id(), chunk.size());
+      failed = chunk.size();
+    }
+    job.onChunk(chunk.size() - failed, failed);
+  }
+
+  private long delete(final List<DeletePeopleBatch> chunk) {
+    List<WriteRequest> pending = chunk.stream()
+        .flatMap(person -> shardedKeys.candidatesFor(person.firstName(), person.lastName())
+            .stream()
+            .map(partition -> WriteRequest.builder()
+                .deleteRequest(DeleteRequest.builder()
+                    .key(Map.of(
+                        PersonItem.FIRST_NAME, AttributeValue.builder().s(partition).build(),
+                        PersonItem.LAST_NAME,
+                        AttributeValue.builder().s(person.lastName()).build()))
+                    .build())
+                .build()))
+        .toList();
+    for (int attempt = 0; attempt < UNPROCESSED_ATTEMPTS && !pending.isEmpty(); attempt++) {
+      if (attempt > 0 && !backOff(attempt)) {
+        break;
+      }
+      BatchWriteItemRequest batchWriteItemRequest = BatchWriteItemRequest.builder()
+          .requestItems(Map.of(PersonItem.TABLE_NAME, pending))
+          .build();
+      pending = dynamoDbCallExecutor.execute(
+              DynamoDbOperation.write("jobs.bulkDelete", PersonItem.TABLE_NAME)
+                  .withPartitionKeys(pending.stream()
+                      .map(writeRequest -> writeRequest.deleteRequest().key()
+                          .get(PersonItem.FIRST_NAME).s())
+                      .toList()),
+              () -> dynamoDbClient.batchWriteItem(batchWriteItemRequest))
+          .unprocessedItems()
+          .getOrDefault(PersonItem.TABLE_NAME, List.of());
+    }
+    return pending.stream()
+        .map(writeRequest -> writeRequest.deleteRequest().key())
+        .map(key -> shardedKeys.unshard(Person.of(key.get(PersonItem.FIRST_NAME).s(),
+            key.get(PersonItem.LAST_NAME).s(), null)))
+        .map(person -> person.getFirstName() + "|" + person.getLastName())
+        .distinct()
+        .count();
+  }
+
+  private List<List<DeletePeopleBatch>> chunk(final List<DeletePeopleBatch> people) {
+    List<List<DeletePeopleBatch>> chunks = new ArrayList<>();
+    List<DeletePeopleBatch> current = new ArrayList<>();
+    int keys = 0;
+    for (DeletePeopleBatch person : people) {
+      int personKeys = shardedKeys.candidatesFor(person.firstName(), person.lastName()).size();
+      if (keys + personKeys > MAX_BATCH_SIZE) {
+        chunks.add(current);
+        current = new ArrayList<>();
+        keys = 0;
+      }
+      current.add(person);
+      keys += personKeys;
+    }
+    if (!current.isEmpty()) {
+      chunks.add(current);
+    }
+    return chunks;
+  }
+
+  private static boolean backOff(final int attempt) {
+    try {
+      Thread.sleep(UNPROCESSED_BACKOFF_MILLIS << attempt);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "person-bulk-delete-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
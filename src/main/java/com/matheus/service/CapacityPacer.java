@@ -0,0 +1,37 @@
+package com.matheus.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class CapacityPacer {
+
+  private final double unitsPerSecond;
+  private final double nanosPerUnit;
+  private final AtomicLong nextFreeNanos = new AtomicLong(System.nanoTime());
+
+  CapacityPacer(final double unitsPerSecond) {
+    if (unitsPerSecond <= 0) {
+      throw new IllegalArgumentException("unitsPerSecond must be positive");
+    }
+    this.unitsPerSecond = unitsPerSecond;
+    this.nanosPerUnit = TimeUnit.SECONDS.toNanos(1) / unitsPerSecond;
+  }
+
+  double unitsPerSecond() {
+    return unitsPerSecond;
+  }
+
+  void awaitTurn() throws InterruptedException {
+    long now = System.nanoTime();
+    long slot = nextFreeNanos.getAndAccumulate(now,
+        (nextFree, at) -> Math.max(nextFree, at) + (long) nanosPerUnit);
+    long waitNanos = slot - now;
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  void record(final double units) {
+    nextFreeNanos.addAndGet((long) ((units - 1) * nanosPerUnit));
+  }
+}
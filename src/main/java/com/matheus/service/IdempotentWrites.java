@@ -0,0 +1,174 @@
+package com.matheus.service;
+
+import com.matheus.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.ServiceUnavailableException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class IdempotentWrites {
+
+  public static final String HEADER = "Idempotency-Key";
+
+  private static final int MAX_KEY_LENGTH = 255;
+  private static final int UNPROCESSABLE_ENTITY = 422;
+
+  private final BoundedTtlCache<String, Execution> executions;
+  private final Counter replays;
+
+  public IdempotentWrites(
+      @ConfigProperty(name = "person.idempotency.max-entries", defaultValue = "10000")
+      int maxEntries,
+      @ConfigProperty(name = "person.idempotency.ttl", defaultValue = "PT10M") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.executions = new BoundedTtlCache<>(maxEntries, ttl, (key, execution) -> { },
+        execution -> !execution.result().isDone());
+    this.replays = meterRegistry.counter("person.idempotency.replays");
+    meterRegistry.gauge("person.idempotency.entries", executions, BoundedTtlCache::size);
+  }
+
+  public <T> T execute(final String idempotencyKey, final String operation,
+      final Object request, final Supplier<T> write) {
+    return execute(idempotencyKey, operation, CompletableFuture.completedFuture(request),
+        () -> request, write);
+  }
+
+  public void run(final String idempotencyKey, final String operation, final Object request,
+      final Runnable write) {
+    execute(idempotencyKey, operation, request, () -> {
+      write.run();
+      return null;
+    });
+  }
+
+  public void runStreamed(final String idempotencyKey, final String operation,
+      final Supplier<Object> fingerprint, final Runnable write) {
+    CompletableFuture<Object> request = new CompletableFuture<>();
+    execute(idempotencyKey, operation, request, fingerprint, () -> {
+      write.run();
+      request.complete(fingerprint.get());
+      return null;
+    });
+  }
+
+  public <T> Uni<T> executeAsync(final String idempotencyKey, final String operation,
+      final Object request, final Supplier<Uni<T>> write) {
+    return executeAsync(idempotencyKey, operation, CompletableFuture.completedFuture(request),
+        () -> request, write);
+  }
+
+  public Uni<Void> runStreamedAsync(final String idempotencyKey, final String operation,
+      final Supplier<Object> fingerprint, final Supplier<Uni<Void>> write) {
+    CompletableFuture<Object> request = new CompletableFuture<>();
+    return executeAsync(idempotencyKey, operation, request, fingerprint,
+        () -> write.get().invoke(() -> request.complete(fingerprint.get())));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T execute(final String idempotencyKey, final String operation,
+      final CompletableFuture<Object> request, final Supplier<Object> current,
+      final Supplier<T> write) {
+    if (idempotencyKey == null) {
+      return write.get();
+    }
+    String key = key(idempotencyKey, operation);
+    CompletableFuture<Object> pending = new CompletableFuture<>();
+    Execution execution = register(key, request, pending);
+    if (execution.result() != pending) {
+      try {
+        return (T) replay(execution, current.get()).join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException cause ? cause : e;
+      }
+    }
+    try {
+      T result = write.get();
+      pending.complete(result);
+      return result;
+    } catch (RuntimeException e) {
+      executions.remove(key);
+      request.completeExceptionally(e);
+      pending.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Uni<T> executeAsync(final String idempotencyKey, final String operation,
+      final CompletableFuture<Object> request, final Supplier<Object> current,
+      final Supplier<Uni<T>> write) {
+    if (idempotencyKey == null) {
+      return write.get();
+    }
+    String key = key(idempotencyKey, operation);
+    return Uni.createFrom().deferred(() -> {
+      CompletableFuture<Object> pending = new CompletableFuture<>();
+      Execution execution = register(key, request, pending);
+      if (execution.result() != pending) {
+        Object replayed = current.get();
+        return Uni.createFrom().completionStage(() -> (CompletableFuture<T>) replay(execution,
+            replayed));
+      }
+      return write.get()
+          .invoke(pending::complete)
+          .onFailure()
+          .invoke(failure -> {
+            executions.remove(key);
+            request.completeExceptionally(failure);
+            pending.completeExceptionally(failure);
+          })
+          .onCancellation()
+          .invoke(() -> {
+            executions.remove(key);
+            RuntimeException cancelled = new ServiceUnavailableException(
+                "the request holding this " + HEADER + " was cancelled, retry it");
+            request.completeExceptionally(cancelled);
+            pending.completeExceptionally(cancelled);
+          });
+    });
+  }
+
+  private Execution register(final String key, final CompletableFuture<Object> request,
+      final CompletableFuture<Object> pending) {
+    try {
+      return executions.computeIfAbsent(key, ignored -> new Execution(request, pending));
+    } catch (IllegalStateException e) {
+      throw new ServiceUnavailableException("too many writes in flight for " + HEADER
+          + ", retry later");
+    }
+  }
+
+  private CompletableFuture<?> replay(final Execution execution, final Object request) {
+    return execution.request().thenCompose(original -> {
+      if (!Objects.equals(original, request)) {
+        throw new ClientErrorException(HEADER + " was already used with a different request",
+            UNPROCESSABLE_ENTITY);
+      }
+      replays.increment();
+      return execution.result();
+    });
+  }
+
+  private static String key(final String idempotencyKey, final String operation) {
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new BadRequestException(HEADER + " must have between 1 and " + MAX_KEY_LENGTH
+          + " characters");
+    }
+    return operation + "|" + idempotencyKey;
+  }
+
+  private record Execution(CompletableFuture<Object> request,
+      CompletableFuture<Object> result) {
+
+  }
+}
@@ -0,0 +1,30 @@
+package com.matheus.service;
+
+import com.matheus.model.PersonItem;
+import java.util.Map;
+import javax.enterprise.context.ApplicationScoped;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@ApplicationScoped
+public class NormalizedCpfBackfill implements BackfillTransformation {
+
+  public static final String CPF_DIGITS_COLUMN = "cpfDigits";
+
+  @Override
+  public String name() {
+    return "normalized-cpf";
+  }
+
+  @Override
+  public Map<String, AttributeValue> apply(final Map<String, AttributeValue> item) {
+    AttributeValue cpf = item.get(PersonItem.CPF);
+    if (cpf == null || cpf.s() == null) {
+      return Map.of();
+    }
+    AttributeValue digits = AttributeValue.builder().s(cpf.s().replaceAll("\\D", "")).build();
+    if (digits.equals(item.get(CPF_DIGITS_COLUMN))) {
+      return Map.of();
+    }
+    return Map.of(CPF_DIGITS_COLUMN, digits);
+  }
+}
@@ -0,0 +1,93 @@
+package com.matheus.service;
+
+import com.matheus.vo.response.PaginationResponse;
+import io.smallrye.mutiny.Uni;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@ApplicationScoped
+public class PageFiller {
+
+  private final int maxRequests;
+  private final double maxReadCapacity;
+
+  public PageFiller(
+      @ConfigProperty(name = "person.filter.max-requests", defaultValue = "10") int maxRequests,
+      @ConfigProperty(name = "person.filter.max-read-capacity", defaultValue = "25")
+      double maxReadCapacity) {
+    this.maxRequests = maxRequests;
+    this.maxReadCapacity = maxReadCapacity;
+  }
+
+  public <T> PaginationResponse<T> fill(final int limit,
+      final Map<String, AttributeValue> startKey,
+      final Function<T, Map<String, AttributeValue>> keyOf,
+      final Function<Map<String, AttributeValue>, SourcePage<T>> source) {
+    Fill<T> fill = new Fill<>(limit, startKey, keyOf);
+    boolean complete;
+    do {
+      complete = fill.accept(source.apply(fill.cursor));
+    } while (!complete);
+    return fill.toResponse();
+  }
+
+  public <T> Uni<PaginationResponse<T>> fillAsync(final int limit,
+      final Map<String, AttributeValue> startKey,
+      final Function<T, Map<String, AttributeValue>> keyOf,
+      final Function<Map<String, AttributeValue>, Uni<SourcePage<T>>> source) {
+    return Uni.createFrom()
+        .deferred(() -> next(new Fill<>(limit, startKey, keyOf), source));
+  }
+
+  private <T> Uni<PaginationResponse<T>> next(final Fill<T> fill,
+      final Function<Map<String, AttributeValue>, Uni<SourcePage<T>>> source) {
+    return source.apply(fill.cursor)
+        .flatMap(page -> fill.accept(page)
+            ? Uni.createFrom().item(fill.toResponse())
+            : next(fill, source));
+  }
+
+  private final class Fill<T> {
+
+    private final int limit;
+    private final Function<T, Map<String, AttributeValue>> keyOf;
+    private final List<T> items = new ArrayList<>();
+    private Map<String, AttributeValue> cursor;
+    private int requests;
+    private double readCapacity;
+
+    private Fill(final int limit, final Map<String, AttributeValue> startKey,
+        final Function<T, Map<String, AttributeValue>> keyOf) {
+      this.limit = limit;
+      this.cursor = startKey;
+      this.keyOf = keyOf;
+    }
+
+    private boolean accept(final SourcePage<T> page) {
+      requests++;
+      readCapacity += page.consumedCapacity();
+      int remaining = limit - items.size();
+      if (remaining > 0 && page.items().size() > remaining) {
+        items.addAll(page.items().subList(0, remaining));
+        cursor = keyOf.apply(items.get(items.size() - 1));
+        return true;
+      }
+      items.addAll(page.items());
+      cursor = page.lastEvaluatedKey();
+      return items.size() >= limit
+          || cursor == null
+          || cursor.isEmpty()
+          || requests >= maxRequests
+          || readCapacity >= maxReadCapacity;
+    }
+
+    private PaginationResponse<T> toResponse() {
+      return PaginationResponse.of(List.copyOf(items), cursor);
+    }
+  }
+}
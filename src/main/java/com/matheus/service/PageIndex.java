@@ -0,0 +1,154 @@
+package com.matheus.service;
+
+import com.matheus.cache.BoundedTtlCache;
+import com.matheus.vo.response.PaginationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.BadRequestException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@ApplicationScoped
+public class PageIndex {
+
+  private static final int FIRST_PAGE = 1;
+
+  private final boolean enabled;
+  private final int maxPages;
+  private final BoundedTtlCache<String, NavigableMap<Integer, Map<String, AttributeValue>>> index;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter skippedPages;
+
+  public PageIndex(
+      @ConfigProperty(name = "person.page-index.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "person.page-index.max-queries", defaultValue = "1024")
+      int maxQueries,
+      @ConfigProperty(name = "person.page-index.max-pages", defaultValue = "1000") int maxPages,
+      @ConfigProperty(name = "person.page-index.ttl", defaultValue = "PT5M") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.maxPages = maxPages;
+    this.index = new BoundedTtlCache<>(maxQueries, ttl, (query, cursors) -> { });
+    this.hits = meterRegistry.counter("person.page-index.hits");
+    this.misses = meterRegistry.counter("person.page-index.misses");
+    this.skippedPages = meterRegistry.counter("person.page-index.skipped-pages");
+    meterRegistry.gauge("person.page-index.queries", index, BoundedTtlCache::size);
+  }
+
+  public <T> PaginationResponse<T> fetch(final String query, final Integer page,
+      final Map<String, AttributeValue> startKey,
+      final Function<Map<String, AttributeValue>, PaginationResponse<T>> loader,
+      final Function<Map<String, AttributeValue>, PaginationResponse<T>> skipper) {
+    if (page == null) {
+      return loader.apply(startKey);
+    }
+    NavigableMap<Integer, Map<String, AttributeValue>> cursors = cursorsOf(query, page);
+    Map.Entry<Integer, Map<String, AttributeValue>> known = nearest(cursors, page);
+    Map<String, AttributeValue> cursor = known.getValue();
+    for (int current = known.getKey(); current < page; current++) {
+      skippedPages.increment();
+      Optional<Map<String, AttributeValue>> next = next(skipper.apply(startKeyOf(cursor)));
+      if (next.isEmpty()) {
+        return PaginationResponse.of(List.of(), Map.of());
+      }
+      cursor = next.get();
+      remember(cursors, current + 1, cursor);
+    }
+    PaginationResponse<T> response = loader.apply(startKeyOf(cursor));
+    next(response).ifPresent(following -> remember(cursors, page + 1, following));
+    return response;
+  }
+
+  public <T> Uni<PaginationResponse<T>> fetchAsync(final String query, final Integer page,
+      final Map<String, AttributeValue> startKey,
+      final Function<Map<String, AttributeValue>, Uni<PaginationResponse<T>>> loader,
+      final Function<Map<String, AttributeValue>, Uni<PaginationResponse<T>>> skipper) {
+    if (page == null) {
+      return loader.apply(startKey);
+    }
+    return Uni.createFrom().deferred(() -> {
+      NavigableMap<Integer, Map<String, AttributeValue>> cursors = cursorsOf(query, page);
+      Map.Entry<Integer, Map<String, AttributeValue>> known = nearest(cursors, page);
+      return skip(cursors, known.getKey(), known.getValue(), page, skipper)
+          .chain(cursor -> cursor.isEmpty()
+              ? Uni.createFrom().item(PaginationResponse.<T>of(List.of(), Map.of()))
+              : loader.apply(startKeyOf(cursor.get()))
+                  .invoke(response -> next(response)
+                      .ifPresent(following -> remember(cursors, page + 1, following))));
+    });
+  }
+
+  private <T> Uni<Optional<Map<String, AttributeValue>>> skip(
+      final NavigableMap<Integer, Map<String, AttributeValue>> cursors, final int current,
+      final Map<String, AttributeValue> cursor, final int page,
+      final Function<Map<String, AttributeValue>, Uni<PaginationResponse<T>>> skipper) {
+    if (current >= page) {
+      return Uni.createFrom().item(Optional.of(cursor));
+    }
+    skippedPages.increment();
+    return skipper.apply(startKeyOf(cursor))
+        .chain(response -> {
+          Optional<Map<String, AttributeValue>> next = next(response);
+          if (next.isEmpty()) {
+            return Uni.createFrom().item(next);
+          }
+          remember(cursors, current + 1, next.get());
+          return skip(cursors, current + 1, next.get(), page, skipper);
+        });
+  }
+
+  private NavigableMap<Integer, Map<String, AttributeValue>> cursorsOf(final String query,
+      final int page) {
+    if (page < FIRST_PAGE || page > maxPages) {
+      throw new BadRequestException("page must be between " + FIRST_PAGE + " and " + maxPages);
+    }
+    NavigableMap<Integer, Map<String, AttributeValue>> cursors = enabled
+        ? index.computeIfAbsent(query, key -> new ConcurrentSkipListMap<>())
+        : new ConcurrentSkipListMap<>();
+    cursors.putIfAbsent(FIRST_PAGE, Map.of());
+    return cursors;
+  }
+
+  private Map.Entry<Integer, Map<String, AttributeValue>> nearest(
+      final NavigableMap<Integer, Map<String, AttributeValue>> cursors, final int page) {
+    Map.Entry<Integer, Map<String, AttributeValue>> known = cursors.floorEntry(page);
+    if (known.getKey() == page) {
+      hits.increment();
+    } else {
+      misses.increment();
+    }
+    return known;
+  }
+
+  private void remember(final NavigableMap<Integer, Map<String, AttributeValue>> cursors,
+      final int page, final Map<String, AttributeValue> cursor) {
+    if (page <= maxPages) {
+      cursors.putIfAbsent(page, cursor);
+    }
+  }
+
+  private static Optional<Map<String, AttributeValue>> next(final PaginationResponse<?> page) {
+    if (page.getLastEvaluatedKey().isEmpty()) {
+      return Optional.empty();
+    }
+    Map<String, AttributeValue> next = new HashMap<>();
+    page.getLastEvaluatedKey()
+        .forEach((key, value) -> next.put(key, AttributeValue.builder().s(value).build()));
+    return Optional.of(Map.copyOf(next));
+  }
+
+  private static Map<String, AttributeValue> startKeyOf(final Map<String, AttributeValue> cursor) {
+    return cursor.isEmpty() ? null : cursor;
+  }
+}
@@ -0,0 +1,159 @@
+package com.matheus.service;
+
+import com.matheus.cache.BoundedTtlCache;
+import com.matheus.dynamodb.ShadowTraffic;
+import com.matheus.vo.response.PaginationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@ApplicationScoped
+public class PagePrefetcher {
+
+  private final boolean enabled;
+  private final ThreadPoolExecutor executor;
+  private final BoundedTtlCache<String, CompletableFuture<?>> buffer;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter wasted;
+
+  public PagePrefetcher(
+      @ConfigProperty(name = "person.prefetch.enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "person.prefetch.max-entries", defaultValue = "256") int maxEntries,
+      @ConfigProperty(name = "person.prefetch.ttl", defaultValue = "PT10S") Duration ttl,
+      @ConfigProperty(name = "person.prefetch.threads", defaultValue = "4") int threads,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(maxEntries), daemonThreads(),
+        new ThreadPoolExecutor.AbortPolicy());
+    this.executor.allowCoreThreadTimeOut(true);
+    this.hits = meterRegistry.counter("person.prefetch.hits");
+    this.misses = meterRegistry.counter("person.prefetch.misses");
+    this.wasted = meterRegistry.counter("person.prefetch.wasted");
+    this.buffer = new BoundedTtlCache<>(maxEntries, ttl, (key, future) -> wasted.increment());
+    meterRegistry.gauge("person.prefetch.buffered", buffer, BoundedTtlCache::size);
+  }
+
+  public static String query(final String operation, final Object... arguments) {
+    StringJoiner joiner = new StringJoiner("|").add(operation);
+    for (Object argument : arguments) {
+      joiner.add(String.valueOf(argument));
+    }
+    return joiner.toString();
+  }
+
+  public <T> PaginationResponse<T> fetch(final String query,
+      final Map<String, AttributeValue> startKey,
+      final Function<Map<String, AttributeValue>, PaginationResponse<T>> loader) {
+    if (!enabled || ShadowTraffic.active()) {
+      return loader.apply(startKey);
+    }
+    PaginationResponse<T> page = this.<T>take(query, startKey)
+        .map(future -> future.exceptionally(throwable -> null).join())
+        .orElse(null);
+    if (page == null) {
+      misses.increment();
+      page = loader.apply(startKey);
+    } else {
+      hits.increment();
+    }
+    prefetchNext(query, page,
+        next -> CompletableFuture.supplyAsync(() -> loader.apply(next), executor));
+    return page;
+  }
+
+  public <T> Uni<PaginationResponse<T>> fetchAsync(final String query,
+      final Map<String, AttributeValue> startKey,
+      final Function<Map<String, AttributeValue>, Uni<PaginationResponse<T>>> loader) {
+    if (!enabled) {
+      return loader.apply(startKey);
+    }
+    return Uni.createFrom()
+        .deferred(() -> this.<T>take(query, startKey)
+            .map(future -> Uni.createFrom().completionStage(future)
+                .invoke(() -> hits.increment())
+                .onFailure()
+                .recoverWithUni(() -> {
+                  misses.increment();
+                  return loader.apply(startKey);
+                }))
+            .orElseGet(() -> {
+              misses.increment();
+              return loader.apply(startKey);
+            }))
+        .invoke(page -> prefetchNext(query, page,
+            next -> loader.apply(next).subscribeAsCompletionStage()));
+  }
+
+  public void invalidate(final String operation, final Object... arguments) {
+    if (!enabled) {
+      return;
+    }
+    String prefix = query(operation, arguments);
+    buffer.evictIf(key -> key.equals(prefix) || key.startsWith(prefix + "|"));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Optional<CompletableFuture<PaginationResponse<T>>> take(final String query,
+      final Map<String, AttributeValue> startKey) {
+    return buffer.remove(cursor(query, startKey))
+        .map(future -> (CompletableFuture<PaginationResponse<T>>) future);
+  }
+
+  private void prefetchNext(final String query, final PaginationResponse<?> page,
+      final Function<Map<String, AttributeValue>, CompletableFuture<?>> loader) {
+    if (page.getLastEvaluatedKey().isEmpty()) {
+      return;
+    }
+    Map<String, AttributeValue> next = new HashMap<>();
+    page.getLastEvaluatedKey()
+        .forEach((key, value) -> next.put(key, AttributeValue.builder().s(value).build()));
+    try {
+      buffer.computeIfAbsent(cursor(query, next), key -> loader.apply(next));
+    } catch (RejectedExecutionException e) {
+      wasted.increment();
+    }
+  }
+
+  private static String cursor(final String query, final Map<String, AttributeValue> startKey) {
+    if (startKey == null || startKey.isEmpty()) {
+      return query;
+    }
+    StringJoiner joiner = new StringJoiner(",", query + "|", "");
+    new TreeMap<>(startKey).forEach((key, value) -> joiner.add(key + ":" + value.s()));
+    return joiner.toString();
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "person-prefetch-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,125 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.ShadowTraffic;
+import com.matheus.model.Person;
+import com.matheus.model.PersonEnhanced;
+import com.matheus.vo.request.PaginationRequest;
+import com.matheus.vo.response.PaginationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.BadRequestException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@ApplicationScoped
+public class PageSizer {
+
+  private static final double SMOOTHING = 0.2;
+  private static final int PERSON_JSON_OVERHEAD = 40;
+
+  private final int maxLimit;
+  private final long byteBudget;
+  private final double initialItemBytes;
+  private final Map<String, AtomicLong> averageItemBytes = new ConcurrentHashMap<>();
+  private final Counter truncated;
+
+  public PageSizer(
+      @ConfigProperty(name = "person.page-size.max-limit", defaultValue = "100") int maxLimit,
+      @ConfigProperty(name = "person.page-size.byte-budget", defaultValue = "65536")
+      long byteBudget,
+      @ConfigProperty(name = "person.page-size.initial-item-bytes", defaultValue = "128")
+      int initialItemBytes,
+      MeterRegistry meterRegistry) {
+    this.maxLimit = maxLimit;
+    this.byteBudget = byteBudget;
+    this.initialItemBytes = initialItemBytes;
+    this.truncated = meterRegistry.counter("person.page-size.truncated");
+  }
+
+  public static int personBytes(final Person person) {
+    return jsonBytes(person.getFirstName(), person.getLastName(), person.getCpf());
+  }
+
+  public static int enhancedBytes(final PersonEnhanced person) {
+    return jsonBytes(person.getFirstName(), person.getLastName(), person.getCpf());
+  }
+
+  public int limit(final String operation, final PaginationRequest paginationRequest) {
+    return paginationRequest.getPage() == null
+        ? limit(operation, paginationRequest.getLimit())
+        : capped(paginationRequest.getLimit());
+  }
+
+  public int limit(final String operation, final int requested) {
+    int capped = capped(requested);
+    int fitting = (int) Math.max(1, byteBudget / averageItemBytes(operation));
+    return fitting >= capped ? capped : Integer.highestOneBit(fitting);
+  }
+
+  public <T> PaginationResponse<T> fit(final String operation, final PaginationResponse<T> page,
+      final ToIntFunction<T> sizeOf, final Function<T, Map<String, AttributeValue>> keyOf) {
+    List<T> items = page.getItems();
+    if (items.isEmpty()) {
+      return page;
+    }
+    long total = 0;
+    int kept = 0;
+    boolean full = false;
+    for (T item : items) {
+      int size = sizeOf.applyAsInt(item);
+      if (!full && (kept == 0 || total + size <= byteBudget)) {
+        kept++;
+      } else {
+        full = true;
+      }
+      total += size;
+    }
+    boolean shadow = ShadowTraffic.active();
+    if (!shadow) {
+      observe(operation, (double) total / items.size());
+    }
+    if (kept == items.size()) {
+      return page;
+    }
+    if (!shadow) {
+      truncated.increment();
+    }
+    List<T> fitting = List.copyOf(items.subList(0, kept));
+    return PaginationResponse.of(fitting, keyOf.apply(fitting.get(kept - 1)));
+  }
+
+  private int capped(final int requested) {
+    if (requested < 1) {
+      throw new BadRequestException("limit must be positive");
+    }
+    return Math.min(requested, maxLimit);
+  }
+
+  private double averageItemBytes(final String operation) {
+    AtomicLong average = averageItemBytes.get(operation);
+    return average == null ? initialItemBytes : Double.longBitsToDouble(average.get());
+  }
+
+  private void observe(final String operation, final double itemBytes) {
+    averageItemBytes.computeIfAbsent(operation,
+            key -> new AtomicLong(Double.doubleToLongBits(itemBytes)))
+        .updateAndGet(bits -> Double.doubleToLongBits(
+            Double.longBitsToDouble(bits) * (1 - SMOOTHING) + itemBytes * SMOOTHING));
+  }
+
+  private static int jsonBytes(final String... values) {
+    int bytes = PERSON_JSON_OVERHEAD;
+    for (String value : values) {
+      bytes += value == null ? 4 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+    return bytes;
+  }
+}
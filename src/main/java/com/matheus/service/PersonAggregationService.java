@@ -0,0 +1,112 @@
+package com.matheus.service;
+
+import com.matheus.cache.BoundedTtlCache;
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.model.PersonItem;
+import com.matheus.vo.response.FirstNameCountResponse;
+import com.matheus.vo.response.PersonCountResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.Select;
+
+@ApplicationScoped
+@IfBuildProperty(name = "person.deployment.async", stringValue = "true",
+    enableIfMissing = true)
+public class PersonAggregationService {
+
+  private static final String COUNT = "count";
+  private static final String COUNT_BY_FIRST_NAME = "countByFirstName";
+
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final ShardedKeys shardedKeys;
+  private final int segments;
+  private final BoundedTtlCache<String, CompletableFuture<?>> results;
+
+  public PersonAggregationService(DynamoDbAsyncClient dynamoDbAsyncClient,
+      DynamoDbCallExecutor dynamoDbCallExecutor, ShardedKeys shardedKeys,
+      @ConfigProperty(name = "person.aggregation.segments", defaultValue = "4") int segments,
+      @ConfigProperty(name = "person.aggregation.ttl", defaultValue = "PT30S") Duration ttl) {
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.shardedKeys = shardedKeys;
+    this.segments = segments;
+    this.results = new BoundedTtlCache<>(2, ttl, (key, result) -> { });
+  }
+
+  public Uni<PersonCountResponse> count() {
+    return cached(COUNT, () -> pages(COUNT, this::countRequest)
+        .collect()
+        .with(Collectors.summingLong(ScanResponse::count))
+        .map(total -> new PersonCountResponse(total, segments, Instant.now())));
+  }
+
+  public Uni<FirstNameCountResponse> countByFirstName() {
+    return cached(COUNT_BY_FIRST_NAME, () -> pages(COUNT_BY_FIRST_NAME, this::firstNameRequest)
+        .collect()
+        .in(TreeMap<String, Long>::new, (counts, response) -> response.items()
+            .forEach(item -> counts.merge(
+                shardedKeys.unshard(item.get(PersonItem.FIRST_NAME).s()), 1L, Long::sum)))
+        .map(counts -> new FirstNameCountResponse(counts,
+            counts.values().stream().mapToLong(Long::longValue).sum(), segments,
+            Instant.now())));
+  }
+
+  private Multi<ScanResponse> pages(final String aggregation,
+      final IntFunction<ScanRequest> request) {
+    DynamoDbOperation operation = DynamoDbOperation.read("aggregation." + aggregation,
+        PersonItem.TABLE_NAME);
+    return Multi.createFrom()
+        .range(0, segments)
+        .onItem()
+        .transformToMulti(segment -> ScanPages.of(dynamoDbAsyncClient, dynamoDbCallExecutor,
+            operation, request.apply(segment)))
+        .merge(segments);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Uni<T> cached(final String aggregation, final Supplier<Uni<T>> computation) {
+    return Uni.createFrom().deferred(() -> {
+      CompletableFuture<T> result = (CompletableFuture<T>) results.computeIfAbsent(aggregation,
+          key -> computation.get().subscribeAsCompletionStage());
+      return Uni.createFrom()
+          .completionStage(result)
+          .onFailure()
+          .invoke(() -> results.remove(aggregation));
+    });
+  }
+
+  private ScanRequest countRequest(final int segment) {
+    return ScanRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .select(Select.COUNT)
+        .segment(segment)
+        .totalSegments(segments)
+        .build();
+  }
+
+  private ScanRequest firstNameRequest(final int segment) {
+    return ScanRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .projectionExpression("#firstName")
+        .expressionAttributeNames(Map.of("#firstName", PersonItem.FIRST_NAME))
+        .segment(segment)
+        .totalSegments(segments)
+        .build();
+  }
+}
@@ -1,18 +1,23 @@
 package com.matheus.service;
 
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
 import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
 import com.matheus.vo.request.DeletePeopleBatch;
 import com.matheus.vo.request.PaginationRequest;
+import com.matheus.vo.request.PersonFilter;
 import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
 import io.smallrye.mutiny.Uni;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import javax.enterprise.context.ApplicationScoped;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
-import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
-import software.amazon.awssdk.services.dynamodb.model.Condition;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
@@ -21,181 +26,325 @@ import software.amazon.awssdk.services.dynamodb.model.PutRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
 @ApplicationScoped
+@IfBuildProperty(name = "person.deployment.async", stringValue = "true",
+    enableIfMissing = true)
 public class PersonAsyncService {
 
   private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final PagePrefetcher pagePrefetcher;
+  private final PageFiller pageFiller;
+  private final ShardedKeys shardedKeys;
+  private final PageIndex pageIndex;
+  private final PageSizer pageSizer;
 
-  public PersonAsyncService(DynamoDbAsyncClient dynamoDbAsyncClient) {
+  public PersonAsyncService(DynamoDbAsyncClient dynamoDbAsyncClient,
+      DynamoDbCallExecutor dynamoDbCallExecutor, PagePrefetcher pagePrefetcher,
+      PageFiller pageFiller, ShardedKeys shardedKeys, PageIndex pageIndex, PageSizer pageSizer) {
     this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.pagePrefetcher = pagePrefetcher;
+    this.pageFiller = pageFiller;
+    this.shardedKeys = shardedKeys;
+    this.pageIndex = pageIndex;
+    this.pageSizer = pageSizer;
   }
 
   public Uni<PaginationResponse<Person>> findAll(final PaginationRequest paginationRequest) {
-    return Uni.createFrom()
-        .publisher(dynamoDbAsyncClient.scanPaginator(scanRequest(paginationRequest)))
-        .onItem()
-        .transform(res -> PaginationResponse.of(res.items().stream().map(Person::from).toList(),
-            res.lastEvaluatedKey()));
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("async.findAll", paginationRequest);
+    String query = PagePrefetcher.query("async.findAll", paginationRequest.getLimit(), filter);
+    return pageIndex.fetchAsync(query, paginationRequest.getPage(),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pagePrefetcher.fetchAsync(query, startKey,
+            next -> scanAll(filter, limit, next, false)
+                .map(page -> pageSizer.fit("async.findAll", page, PageSizer::personBytes,
+                    PersonItem::key).map(shardedKeys::unshard))),
+        startKey -> scanAll(filter, limit, startKey, true)
+            .map(page -> pageSizer.fit("async.findAll", page, PageSizer::personBytes,
+                PersonItem::key)));
   }
 
   public Uni<PaginationResponse<Person>> findByFirstName(final String firstName,
       final PaginationRequest paginationRequest) {
-
-    return Uni.createFrom()
-        .completionStage(dynamoDbAsyncClient.query(
-            getFindByFirstNameQueryRequest(firstName, paginationRequest)))
-        .onItem()
-        .transform(
-            response -> PaginationResponse.of(response.items().stream().map(Person::from).toList(),
-                response.lastEvaluatedKey()));
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("async.findByFirstName", paginationRequest);
+    String query = PagePrefetcher.query("async.findByFirstName", firstName,
+        paginationRequest.getLimit(), filter);
+    return pageIndex.fetchAsync(query, paginationRequest.getPage(),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pagePrefetcher.fetchAsync(query, startKey,
+            next -> findByFirstName(firstName, filter, limit, next, false)
+                .map(page -> pageSizer.fit("async.findByFirstName", page,
+                    PageSizer::personBytes, PersonItem::key))),
+        startKey -> findByFirstName(firstName, filter, limit, startKey, true)
+            .map(page -> pageSizer.fit("async.findByFirstName", page,
+                PageSizer::personBytes, PersonItem::key)));
   }
 
   public Uni<Person> findByFirstNameAndLastName(final String firstName, final String lastName) {
-    return Uni.createFrom()
-        .completionStage(() -> dynamoDbAsyncClient.getItem(getRequest(firstName, lastName)))
-        .onItem()
-        .transform(res -> Person.from(res.item()));
+    return firstFound(shardedKeys.candidatesFor(firstName, lastName),
+        partition -> dynamoDbCallExecutor.executeAsync(
+                DynamoDbOperation.read("async.findByFirstNameAndLastName", PersonItem.TABLE_NAME)
+                    .withPartitionKey(partition),
+                () -> Uni.createFrom()
+                    .completionStage(
+                        () -> dynamoDbAsyncClient.getItem(getRequest(partition, lastName))))
+            .onItem()
+            .transform(res -> res.item()));
   }
 
   public Uni<PaginationResponse<Person>> findByCpf(final String cpf,
       final PaginationRequest paginationRequest) {
-    return Uni.createFrom()
-        .completionStage(() -> dynamoDbAsyncClient.query(
-            getFindByCpfQueryRequest(paginationRequest, cpf)))
-        .onItem()
-        .transform(res -> PaginationResponse.of(res.items().stream().map(Person::from).toList(),
-            res.lastEvaluatedKey()));
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("async.findByCpf", paginationRequest);
+    String query = PagePrefetcher.query("async.findByCpf", cpf,
+        paginationRequest.getLimit(), filter);
+    return pageIndex.fetchAsync(query, paginationRequest.getPage(),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pagePrefetcher.fetchAsync(query, startKey,
+            next -> fillByCpf(cpf, filter, limit, next, false)
+                .map(page -> pageSizer.fit("async.findByCpf", page, PageSizer::personBytes,
+                    PersonItem::cpfIndexKey).map(shardedKeys::unshard))),
+        startKey -> fillByCpf(cpf, filter, limit, startKey, true)
+            .map(page -> pageSizer.fit("async.findByCpf", page, PageSizer::personBytes,
+                PersonItem::cpfIndexKey)));
   }
 
   public Uni<Person> add(final Person person) {
-    return Uni.createFrom()
-        .completionStage(() -> dynamoDbAsyncClient.putItem(putRequest(person)))
+    Person routed = shardedKeys.route(person);
+    return dynamoDbCallExecutor.executeAsync(
+            DynamoDbOperation.write("async.add", PersonItem.TABLE_NAME)
+                .withPartitionKey(routed.getFirstName()),
+            () -> Uni.createFrom()
+                .completionStage(() -> dynamoDbAsyncClient.putItem(putRequest(routed))))
         .onItem()
-        .transform(response -> person);
+        .transform(response -> person)
+        .invoke(() -> invalidatePages(List.of(person.getFirstName())));
   }
 
   public Uni<Person> delete(final String firstName, final String lastName) {
-    return Uni.createFrom()
-        .completionStage(
-            () -> dynamoDbAsyncClient.deleteItem(getDeleteItemRequest(firstName, lastName)))
-        .onItem()
-        .transform(response -> Person.from(response.attributes()));
+    return firstFound(shardedKeys.candidatesFor(firstName, lastName),
+        partition -> dynamoDbCallExecutor.executeAsync(
+                DynamoDbOperation.write("async.delete", PersonItem.TABLE_NAME)
+                    .withPartitionKey(partition),
+                () -> Uni.createFrom()
+                    .completionStage(() -> dynamoDbAsyncClient.deleteItem(
+                        getDeleteItemRequest(partition, lastName))))
+            .onItem()
+            .transform(response -> response.attributes()))
+        .invoke(() -> invalidatePages(List.of(firstName)));
   }
 
   public Uni<Person> update(final Person person) {
-    return Uni.createFrom()
-        .completionStage(() -> dynamoDbAsyncClient.updateItem(getUpdateItemRequest(person)))
+    String shard = shardedKeys.shardFor(person.getFirstName(), person.getLastName());
+    if (shard.equals(person.getFirstName())) {
+      return update(shard, person, false);
+    }
+    return update(shard, person, true)
+        .map(shardedKeys::unshard)
+        .onFailure(ConditionalCheckFailedException.class)
+        .recoverWithUni(() -> update(person.getFirstName(), person, false));
+  }
+
+  public Uni<Person> rename(final String firstName, final String lastName,
+      final Person renamed) {
+    return rename(shardedKeys.candidatesFor(firstName, lastName), lastName,
+        shardedKeys.route(renamed))
         .onItem()
-        .transform(response -> Person.from(response.attributes()));
+        .transform(response -> renamed)
+        .invoke(() -> invalidatePages(List.of(firstName, renamed.getFirstName())));
   }
 
   public Uni<Void> putPeople(final List<Person> people) {
-    return Uni.createFrom()
-        .completionStage(dynamoDbAsyncClient.batchWriteItem(
-            getBatchWriteItemRequest(getPutWriteRequests(people))))
+    List<Person> routed = people.stream().map(shardedKeys::route).toList();
+    return dynamoDbCallExecutor.executeAsync(
+            DynamoDbOperation.write("async.putPeople", PersonItem.TABLE_NAME)
+                .withPartitionKeys(routed.stream().map(Person::getFirstName).toList()),
+            () -> Uni.createFrom()
+                .completionStage(dynamoDbAsyncClient.batchWriteItem(
+                    getBatchWriteItemRequest(getPutWriteRequests(routed)))))
+        .invoke(() -> invalidatePages(people.stream().map(Person::getFirstName).toList()))
         .onItem()
         .ignore()
         .andContinueWithNull();
   }
 
   public Uni<Void> deletePeople(final List<DeletePeopleBatch> deletePeopleBatches) {
-    return Uni.createFrom()
-        .completionStage(dynamoDbAsyncClient.batchWriteItem(
-            getBatchWriteItemRequest(getDeleteWriteRequests(deletePeopleBatches))))
+    return dynamoDbCallExecutor.executeAsync(
+            DynamoDbOperation.write("async.deletePeople", PersonItem.TABLE_NAME)
+                .withPartitionKeys(deletePeopleBatches.stream()
+                    .flatMap(deletePeopleBatch -> shardedKeys.candidatesFor(
+                        deletePeopleBatch.firstName(), deletePeopleBatch.lastName()).stream())
+                    .toList()),
+            () -> Uni.createFrom()
+                .completionStage(dynamoDbAsyncClient.batchWriteItem(
+                    getBatchWriteItemRequest(getDeleteWriteRequests(deletePeopleBatches)))))
+        .invoke(() -> invalidatePages(deletePeopleBatches.stream()
+            .map(DeletePeopleBatch::firstName)
+            .toList()))
         .onItem()
         .ignore()
         .andContinueWithNull();
   }
 
-  private static ScanRequest scanRequest(PaginationRequest paginationRequest) {
-    return ScanRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .limit(paginationRequest.getLimit())
-        .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-        .build();
+  private Uni<PaginationResponse<Person>> scanAll(final PersonFilter filter, final int limit,
+      final Map<String, AttributeValue> startKey, final boolean boundariesOnly) {
+    return pageFiller.fillAsync(limit, startKey, PersonItem::key, cursor -> {
+      ScanRequest scanRequest = PersonRequests.scan(filter, limit, cursor);
+      return dynamoDbCallExecutor.executeAsync(
+          DynamoDbOperation.read("async.findAll", PersonItem.TABLE_NAME),
+          () -> Uni.createFrom()
+              .publisher(dynamoDbAsyncClient.scanPaginator(
+                  boundariesOnly ? PersonRequests.pageBoundaries(scanRequest) : scanRequest))
+              .onItem()
+              .transform(res -> SourcePage.of(PersonMapping.read("async.findAll", res.items()),
+                  res.lastEvaluatedKey(), res.consumedCapacity())));
+    });
   }
 
-  private QueryRequest getFindByFirstNameQueryRequest(String firstName,
-      PaginationRequest paginationRequest) {
-    return QueryRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .keyConditions(Map.of(Person.FIRST_NAME_COLUMN, getFindByFirstNameCondition(firstName)))
-        .limit(paginationRequest.getLimit())
-        .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-        .build();
+  private Uni<PaginationResponse<Person>> findByFirstName(final String firstName,
+      final PersonFilter filter, final int limit, final Map<String, AttributeValue> startKey,
+      final boolean boundariesOnly) {
+    return shardedKeys.isSharded(firstName)
+        ? shardedKeys.gather(firstName, limit, startKey,
+            (partition, partitionStartKey) ->
+                fillByFirstName(partition, filter, limit, partitionStartKey, boundariesOnly))
+        : fillByFirstName(firstName, filter, limit, startKey, boundariesOnly);
   }
 
-  private Condition getFindByFirstNameCondition(String firstName) {
-    return Condition.builder()
-        .comparisonOperator(ComparisonOperator.EQ)
-        .attributeValueList(AttributeValue.builder().s(firstName).build())
-        .build();
+  private Uni<PaginationResponse<Person>> fillByFirstName(final String partition,
+      final PersonFilter filter, final int limit, final Map<String, AttributeValue> startKey,
+      final boolean boundariesOnly) {
+    return pageFiller.fillAsync(limit, startKey, PersonItem::key, cursor -> {
+      QueryRequest queryRequest = PersonRequests.queryByFirstName(partition, filter, limit, cursor);
+      return query("async.findByFirstName",
+          boundariesOnly ? PersonRequests.pageBoundaries(queryRequest) : queryRequest);
+    });
   }
 
-  private GetItemRequest getRequest(final String firstName, final String lastName) {
-    return GetItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .key(Map.of(
-            Person.FIRST_NAME_COLUMN, AttributeValue.builder().s(firstName).build(),
-            Person.LAST_NAME_COLUMN, AttributeValue.builder().s(lastName).build()))
-        .build();
+  private Uni<PaginationResponse<Person>> fillByCpf(final String cpf, final PersonFilter filter,
+      final int limit, final Map<String, AttributeValue> startKey, final boolean boundariesOnly) {
+    return pageFiller.fillAsync(limit, startKey, PersonItem::cpfIndexKey, cursor -> {
+      QueryRequest queryRequest = PersonRequests.queryByCpf(cpf, filter, limit, cursor);
+      return query("async.findByCpf",
+          boundariesOnly ? PersonRequests.pageBoundaries(queryRequest) : queryRequest);
+    });
   }
 
-  private static QueryRequest getFindByCpfQueryRequest(
-      final PaginationRequest paginationRequest, final String cpf) {
-    return QueryRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .keyConditions(Map.of(Person.CPF_COLUMN, getFindByCpfCondition(cpf)))
-        .limit(paginationRequest.getLimit())
-        .indexName(Person.CPF_INDEX)
-        .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-        .build();
+  private Uni<Person> firstFound(final List<String> partitions,
+      final Function<String, Uni<Map<String, AttributeValue>>> lookup) {
+    Uni<Map<String, AttributeValue>> item = lookup.apply(partitions.get(0));
+    for (String partition : partitions.subList(1, partitions.size())) {
+      item = item.chain(found -> found.isEmpty() ? lookup.apply(partition) : Uni.createFrom()
+          .item(found));
+    }
+    return item.map(found -> shardedKeys.unshard(PersonItem.read(found)));
   }
 
-  private static Condition getFindByCpfCondition(final String cpf) {
-    return Condition.builder()
-        .comparisonOperator(ComparisonOperator.EQ)
-        .attributeValueList(AttributeValue.builder().s(cpf).build())
+  private Uni<Void> rename(final List<String> partitions, final String lastName,
+      final Person target) {
+    String partition = partitions.get(0);
+    return dynamoDbCallExecutor.executeAsync(
+            DynamoDbOperation.write("async.rename", PersonItem.TABLE_NAME)
+                .withPartitionKeys(List.of(partition, target.getFirstName())),
+            () -> Uni.createFrom()
+                .completionStage(() -> dynamoDbAsyncClient.transactWriteItems(
+                    PersonRequests.rename(partition, lastName, target))))
+        .replaceWithVoid()
+        .onFailure(TransactionCanceledException.class)
+        .recoverWithUni(failure -> {
+          TransactionCanceledException canceled = (TransactionCanceledException) failure;
+          if (partitions.size() > 1 && PersonRequests.renameSourceMissing(canceled)) {
+            return rename(partitions.subList(1, partitions.size()), lastName, target);
+          }
+          return Uni.createFrom().failure(PersonRequests.renameFailure(canceled));
+        });
+  }
+
+  private Uni<Person> update(final String partition, final Person person,
+      final boolean existing) {
+    return dynamoDbCallExecutor.executeAsync(
+            DynamoDbOperation.write("async.update", PersonItem.TABLE_NAME)
+                .withPartitionKey(partition),
+            () -> Uni.createFrom()
+                .completionStage(() -> dynamoDbAsyncClient.updateItem(
+                    getUpdateItemRequest(partition, person, existing))))
+        .onItem()
+        .transform(response -> PersonItem.read(response.attributes()))
+        .invoke(() -> invalidatePages(List.of(person.getFirstName())));
+  }
+
+  private void invalidatePages(final List<String> firstNames) {
+    pagePrefetcher.invalidate("async.findAll");
+    pagePrefetcher.invalidate("async.findByCpf");
+    firstNames.stream()
+        .distinct()
+        .forEach(firstName -> pagePrefetcher.invalidate("async.findByFirstName", firstName));
+  }
+
+  private Uni<SourcePage<Person>> query(final String operation,
+      final QueryRequest queryRequest) {
+    return dynamoDbCallExecutor.executeAsync(
+            PersonRequests.operation(operation, queryRequest),
+            () -> Uni.createFrom().completionStage(() -> dynamoDbAsyncClient.query(queryRequest)))
+        .onItem()
+        .transform(res -> SourcePage.of(PersonMapping.read(operation, res.items()),
+            res.lastEvaluatedKey(), res.consumedCapacity()));
+  }
+
+  private GetItemRequest getRequest(final String firstName, final String lastName) {
+    return GetItemRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .key(Map.of(
+            PersonItem.FIRST_NAME, AttributeValue.builder().s(firstName).build(),
+            PersonItem.LAST_NAME, AttributeValue.builder().s(lastName).build()))
         .build();
   }
 
   private PutItemRequest putRequest(final Person person) {
     return PutItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .item(person.toDynamodbAttributes())
+        .tableName(PersonItem.TABLE_NAME)
+        .item(PersonItem.write(person))
         .build();
   }
 
   private DeleteItemRequest getDeleteItemRequest(String firstName, String lastName) {
     return DeleteItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
+        .tableName(PersonItem.TABLE_NAME)
         .key(Map.of(
-            Person.FIRST_NAME_COLUMN, AttributeValue.builder().s(firstName).build(),
-            Person.LAST_NAME_COLUMN, AttributeValue.builder().s(lastName).build()))
+            PersonItem.FIRST_NAME, AttributeValue.builder().s(firstName).build(),
+            PersonItem.LAST_NAME, AttributeValue.builder().s(lastName).build()))
         .returnValues(ReturnValue.ALL_OLD)
         .build();
   }
 
-  private UpdateItemRequest getUpdateItemRequest(Person person) {
-    return UpdateItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
+  private UpdateItemRequest getUpdateItemRequest(String partition, Person person,
+      boolean existing) {
+    UpdateItemRequest.Builder updateItemRequest = UpdateItemRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
         .key(Map.of(
-            Person.FIRST_NAME_COLUMN, AttributeValue.builder().s(person.getFirstName()).build(),
-            Person.LAST_NAME_COLUMN, AttributeValue.builder().s(person.getLastName()).build()))
+            PersonItem.FIRST_NAME, AttributeValue.builder().s(partition).build(),
+            PersonItem.LAST_NAME, AttributeValue.builder().s(person.getLastName()).build()))
         .updateExpression("SET cpf = :newValue")
         .expressionAttributeValues(
             Map.of(":newValue", AttributeValue.builder().s(person.getCpf()).build()))
-        .returnValues(ReturnValue.ALL_NEW)
-        .build();
+        .returnValues(ReturnValue.ALL_NEW);
+    if (existing) {
+      updateItemRequest.conditionExpression("attribute_exists(" + PersonItem.FIRST_NAME + ")");
+    }
+    return updateItemRequest.build();
   }
 
   private List<WriteRequest> getPutWriteRequests(List<Person> people) {
     return people.stream()
         .map(person -> PutRequest.builder()
-            .item(person.toDynamodbAttributes())
+            .item(PersonItem.write(person))
             .build())
         .map(putRequest -> WriteRequest.builder()
             .putRequest(putRequest)
@@ -205,19 +354,22 @@ public class PersonAsyncService {
 
   private BatchWriteItemRequest getBatchWriteItemRequest(List<WriteRequest> writeRequests) {
     return BatchWriteItemRequest.builder()
-        .requestItems(Map.of(Person.TABLE_NAME, writeRequests))
+        .requestItems(Map.of(PersonItem.TABLE_NAME, writeRequests))
         .build();
   }
 
   private List<WriteRequest> getDeleteWriteRequests(List<DeletePeopleBatch> deletePeopleBatches) {
     return deletePeopleBatches.stream()
-        .map(deletePeopleBatch -> DeleteRequest.builder()
-            .key(Map.of(
-                Person.FIRST_NAME_COLUMN,
-                AttributeValue.builder().s(deletePeopleBatch.firstName()).build(),
-                Person.LAST_NAME_COLUMN,
-                AttributeValue.builder().s(deletePeopleBatch.lastName()).build()))
-            .build())
+        .flatMap(deletePeopleBatch -> shardedKeys
+            .candidatesFor(deletePeopleBatch.firstName(), deletePeopleBatch.lastName())
+            .stream()
+            .map(partition -> DeleteRequest.builder()
+                .key(Map.of(
+                    PersonItem.FIRST_NAME,
+                    AttributeValue.builder().s(partition).build(),
+                    PersonItem.LAST_NAME,
+                    AttributeValue.builder().s(deletePeopleBatch.lastName()).build()))
+                .build()))
         .map(deleteItemRequest -> WriteRequest.builder()
             .deleteRequest(deleteItemRequest)
             .build())
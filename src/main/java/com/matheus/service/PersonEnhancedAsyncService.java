@@ -1,164 +1,303 @@
 package com.matheus.service;
 
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
 import com.matheus.model.PersonEnhanced;
+import com.matheus.model.PersonItem;
 import com.matheus.vo.request.DeletePeopleBatch;
 import com.matheus.vo.request.PaginationRequest;
+import com.matheus.vo.request.PersonFilter;
 import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
 import io.smallrye.mutiny.Uni;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import javax.enterprise.context.ApplicationScoped;
+import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
 import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch.Builder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
 @ApplicationScoped
+@IfBuildProperty(name = "person.deployment.enhanced-async", stringValue = "true",
+    enableIfMissing = true)
 public class PersonEnhancedAsyncService {
 
   private final DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final PagePrefetcher pagePrefetcher;
+  private final PageFiller pageFiller;
+  private final PageSizer pageSizer;
+  private final ShardedKeys shardedKeys;
 
-  public PersonEnhancedAsyncService(DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient) {
+  public PersonEnhancedAsyncService(DynamoDbEnhancedAsyncClient dynamoDbEnhancedAsyncClient,
+      DynamoDbCallExecutor dynamoDbCallExecutor, PagePrefetcher pagePrefetcher,
+      PageFiller pageFiller, PageSizer pageSizer, ShardedKeys shardedKeys) {
     this.dynamoDbEnhancedAsyncClient = dynamoDbEnhancedAsyncClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.pagePrefetcher = pagePrefetcher;
+    this.pageFiller = pageFiller;
+    this.pageSizer = pageSizer;
+    this.shardedKeys = shardedKeys;
   }
 
   public Uni<PaginationResponse<PersonEnhanced>> findAll(PaginationRequest paginationRequest) {
-    return Uni.createFrom()
-        .item(() -> dynamoDbEnhancedAsyncClient.table(
-            PersonEnhanced.TABLE_NAME, TableSchema.fromBean(PersonEnhanced.class)))
-        .map(table -> table.scan(scanRequest -> scanRequest
-            .limit(paginationRequest.getLimit())
-            .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())))
-        .onItem()
-        .transformToUni(publisher -> Uni.createFrom().publisher(publisher))
-        .map(PaginationResponse::from);
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("enhanced-async.findAll", paginationRequest.getLimit());
+    return pagePrefetcher.fetchAsync(
+        PagePrefetcher.query("enhanced-async.findAll", limit, filter),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pageFiller.fillAsync(limit, startKey, PersonEnhanced::toKey,
+            cursor -> dynamoDbCallExecutor.executeAsync(
+                DynamoDbOperation.read("enhanced-async.findAll", PersonEnhanced.TABLE_NAME),
+                () -> Uni.createFrom()
+                    .item(() -> dynamoDbEnhancedAsyncClient.table(
+                        PersonEnhanced.TABLE_NAME, TableSchema.fromBean(PersonEnhanced.class)))
+                    .map(table -> table.scan(PersonEnhancedRequests.scan(filter, limit, cursor)))
+                    .onItem()
+                    .transformToUni(PersonEnhancedAsyncService::firstPage)))
+            .map(page -> pageSizer.fit("enhanced-async.findAll", page, PageSizer::enhancedBytes,
+                PersonEnhanced::toKey).map(shardedKeys::unshard)));
   }
 
   public Uni<PaginationResponse<PersonEnhanced>> findByFirstName(final String firstName,
       final PaginationRequest paginationRequest) {
-    return Uni.createFrom()
-        .item(dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
-            TableSchema.fromBean(PersonEnhanced.class)))
-        .map(table -> table.query(QueryEnhancedRequest.builder()
-            .queryConditional(
-                QueryConditional.keyEqualTo(Key.builder().partitionValue(firstName).build()))
-            .limit(paginationRequest.getLimit())
-            .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-            .build()))
-        .onItem()
-        .transformToUni(publisher -> Uni.createFrom().publisher(publisher))
-        .map(PaginationResponse::from);
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("enhanced-async.findByFirstName", paginationRequest.getLimit());
+    return pagePrefetcher.fetchAsync(
+        PagePrefetcher.query("enhanced-async.findByFirstName", firstName, limit, filter),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> findByFirstName(firstName, filter, limit, startKey)
+            .map(page -> pageSizer.fit("enhanced-async.findByFirstName", page,
+                PageSizer::enhancedBytes, PersonEnhanced::toKey)));
   }
 
   public Uni<PersonEnhanced> findByFirstNameAndLastName(
       final String firstName, final String lastName) {
-    return Uni.createFrom()
-        .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
-            TableSchema.fromBean(PersonEnhanced.class)))
-        .map(table -> table.getItem(
-            Key.builder().partitionValue(firstName).sortValue(lastName).build()))
-        .onItem()
-        .transform(CompletableFuture::join);
+    return firstFound(shardedKeys.candidatesFor(firstName, lastName),
+        partition -> dynamoDbCallExecutor.executeAsync(
+            DynamoDbOperation.read("enhanced-async.findByFirstNameAndLastName",
+                PersonEnhanced.TABLE_NAME).withPartitionKey(partition),
+            () -> Uni.createFrom()
+                .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
+                    TableSchema.fromBean(PersonEnhanced.class)))
+                .map(table -> table.getItem(
+                    Key.builder().partitionValue(partition).sortValue(lastName).build()))
+                .onItem()
+                .transform(CompletableFuture::join)));
   }
 
   public Uni<PaginationResponse<PersonEnhanced>> findByCpf(
       final String cpf, final PaginationRequest paginationRequest) {
-    return Uni.createFrom()
-        .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
-                TableSchema.fromBean(PersonEnhanced.class))
-            .index(PersonEnhanced.CPF_INDEX_NAME))
-        .map(table -> table.query(QueryEnhancedRequest.builder()
-            .queryConditional(
-                QueryConditional.keyEqualTo(Key.builder().partitionValue(cpf).build()))
-            .limit(paginationRequest.getLimit())
-            .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-            .build()))
-        .onItem()
-        .transformToUni(publisher -> Uni.createFrom().publisher(publisher))
-        .map(PaginationResponse::from);
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("enhanced-async.findByCpf", paginationRequest.getLimit());
+    return pagePrefetcher.fetchAsync(
+        PagePrefetcher.query("enhanced-async.findByCpf", cpf, limit, filter),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pageFiller.fillAsync(limit, startKey, PersonEnhanced::toCpfIndexKey,
+            cursor -> dynamoDbCallExecutor.executeAsync(
+                DynamoDbOperation.read("enhanced-async.findByCpf", PersonEnhanced.TABLE_NAME,
+                    PersonEnhanced.CPF_INDEX_NAME).withPartitionKey(cpf),
+                () -> Uni.createFrom()
+                    .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
+                            TableSchema.fromBean(PersonEnhanced.class))
+                        .index(PersonEnhanced.CPF_INDEX_NAME))
+                    .map(index -> index.query(
+                        PersonEnhancedRequests.queryByCpf(cpf, filter, limit, cursor)))
+                    .onItem()
+                    .transformToUni(PersonEnhancedAsyncService::firstPage)))
+            .map(page -> pageSizer.fit("enhanced-async.findByCpf", page, PageSizer::enhancedBytes,
+                PersonEnhanced::toCpfIndexKey).map(shardedKeys::unshard)));
   }
 
   public Uni<PersonEnhanced> add(final PersonEnhanced person) {
-    return Uni.createFrom()
-        .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
-            TableSchema.fromBean(PersonEnhanced.class)))
-        .map(table -> table.putItem(person))
-        .onItem()
-        .transform(response -> person);
+    PersonEnhanced routed = shardedKeys.route(person);
+    return dynamoDbCallExecutor.executeAsync(
+        DynamoDbOperation.write("enhanced-async.add", PersonEnhanced.TABLE_NAME)
+            .withPartitionKey(routed.getFirstName()),
+        () -> Uni.createFrom()
+            .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
+                TableSchema.fromBean(PersonEnhanced.class)))
+            .map(table -> table.putItem(routed))
+            .onItem()
+            .transformToUni(response -> Uni.createFrom().completionStage(response))
+            .replaceWith(person))
+        .invoke(() -> invalidatePages(List.of(person.getFirstName())));
   }
 
   public Uni<PersonEnhanced> delete(final String firstName, final String lastName) {
-    return Uni.createFrom()
-        .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
-            TableSchema.fromBean(PersonEnhanced.class)))
-        .map(table -> table.deleteItem(Key.builder()
-            .partitionValue(firstName)
-            .sortValue(lastName)
-            .build()))
-        .onItem()
-        .transform(CompletableFuture::join);
+    return firstFound(shardedKeys.candidatesFor(firstName, lastName),
+        partition -> dynamoDbCallExecutor.executeAsync(
+            DynamoDbOperation.write("enhanced-async.delete", PersonEnhanced.TABLE_NAME)
+                .withPartitionKey(partition),
+            () -> Uni.createFrom()
+                .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
+                    TableSchema.fromBean(PersonEnhanced.class)))
+                .map(table -> table.deleteItem(Key.builder()
+                    .partitionValue(partition)
+                    .sortValue(lastName)
+                    .build()))
+                .onItem()
+                .transform(CompletableFuture::join)))
+        .invoke(() -> invalidatePages(List.of(firstName)));
   }
 
   public Uni<PersonEnhanced> update(final PersonEnhanced person) {
-    return Uni.createFrom()
-        .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
-            TableSchema.fromBean(PersonEnhanced.class)))
-        .map(table -> table.updateItem(person))
-        .onItem()
-        .transform(CompletableFuture::join);
+    PersonEnhanced routed = shardedKeys.route(person);
+    if (routed.getFirstName().equals(person.getFirstName())) {
+      return update(person, false);
+    }
+    return update(routed, true)
+        .map(shardedKeys::unshard)
+        .onFailure(ConditionalCheckFailedException.class)
+        .recoverWithUni(() -> update(person, false));
   }
 
   public Uni<Void> putPeople(final List<PersonEnhanced> people) {
-    return Uni.createFrom()
-        .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
-            TableSchema.fromBean(PersonEnhanced.class)))
-        .map(table -> {
-          Builder<PersonEnhanced> writeBatchBuilder = WriteBatch.builder(PersonEnhanced.class);
-
-          people.forEach(writeBatchBuilder::addPutItem);
-
-          return writeBatchBuilder
-              .mappedTableResource(table)
-              .build();
-        })
-        .flatMap(writeBatch -> Uni.createFrom()
-            .completionStage(dynamoDbEnhancedAsyncClient.batchWriteItem(
-                BatchWriteItemEnhancedRequest.builder()
-                    .addWriteBatch(writeBatch)
-                    .build())))
-        .onItem()
-        .ignore()
-        .andContinueWithNull();
+    List<PersonEnhanced> routed = people.stream().map(shardedKeys::route).toList();
+    return dynamoDbCallExecutor.executeAsync(
+        DynamoDbOperation.write("enhanced-async.putPeople", PersonEnhanced.TABLE_NAME)
+            .withPartitionKeys(routed.stream().map(PersonEnhanced::getFirstName).toList()),
+        () -> Uni.createFrom()
+            .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
+                TableSchema.fromBean(PersonEnhanced.class)))
+            .map(table -> {
+              Builder<PersonEnhanced> writeBatchBuilder = WriteBatch.builder(PersonEnhanced.class);
+    
+              routed.forEach(writeBatchBuilder::addPutItem);
+    
+              return writeBatchBuilder
+                  .mappedTableResource(table)
+                  .build();
+            })
+            .flatMap(writeBatch -> Uni.createFrom()
+                .completionStage(dynamoDbEnhancedAsyncClient.batchWriteItem(
+                    BatchWriteItemEnhancedRequest.builder()
+                        .addWriteBatch(writeBatch)
+                        .build())))
+            .onItem()
+            .ignore()
+            .andContinueWithNull())
+        .invoke(() -> invalidatePages(people.stream().map(PersonEnhanced::getFirstName).toList()));
   }
 
   public Uni<Void> deletePeople(final List<DeletePeopleBatch> deletePeopleBatches) {
+    List<Key> keys = deletePeopleBatches.stream()
+        .flatMap(deletePeopleBatch -> shardedKeys
+            .candidatesFor(deletePeopleBatch.firstName(), deletePeopleBatch.lastName())
+            .stream()
+            .map(partition -> Key.builder()
+                .partitionValue(partition)
+                .sortValue(deletePeopleBatch.lastName())
+                .build()))
+        .toList();
+    return dynamoDbCallExecutor.executeAsync(
+        DynamoDbOperation.write("enhanced-async.deletePeople", PersonEnhanced.TABLE_NAME)
+            .withPartitionKeys(keys.stream().map(key -> key.partitionKeyValue().s()).toList()),
+        () -> Uni.createFrom()
+            .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
+                TableSchema.fromBean(PersonEnhanced.class)))
+            .map(table -> {
+              Builder<PersonEnhanced> writeBatchBuilder = WriteBatch.builder(PersonEnhanced.class);
+    
+              keys.forEach(writeBatchBuilder::addDeleteItem);
+    
+              return writeBatchBuilder
+                  .mappedTableResource(table)
+                  .build();
+            })
+            .flatMap(writeBatch -> Uni.createFrom()
+                .completionStage(dynamoDbEnhancedAsyncClient.batchWriteItem(
+                    BatchWriteItemEnhancedRequest.builder()
+                        .addWriteBatch(writeBatch)
+                        .build())))
+            .onItem()
+            .ignore()
+            .andContinueWithNull())
+        .invoke(() -> invalidatePages(deletePeopleBatches.stream()
+            .map(DeletePeopleBatch::firstName)
+            .toList()));
+  }
+
+  private Uni<PaginationResponse<PersonEnhanced>> findByFirstName(final String firstName,
+      final PersonFilter filter, final int limit, final Map<String, AttributeValue> startKey) {
+    if (!shardedKeys.isSharded(firstName)) {
+      return fillByFirstName(firstName, filter, limit, startKey);
+    }
+    return shardedKeys.gather(firstName, limit, startKey,
+            (partition, partitionStartKey) -> fillByFirstName(partition, filter, limit,
+                partitionStartKey).map(PersonEnhancedMapping::toPeople))
+        .map(PersonEnhancedMapping::toEnhanced);
+  }
+
+  private Uni<PaginationResponse<PersonEnhanced>> fillByFirstName(final String partition,
+      final PersonFilter filter, final int limit, final Map<String, AttributeValue> startKey) {
+    return pageFiller.fillAsync(limit, startKey, PersonEnhanced::toKey,
+        cursor -> dynamoDbCallExecutor.executeAsync(
+            DynamoDbOperation.read("enhanced-async.findByFirstName",
+                PersonEnhanced.TABLE_NAME).withPartitionKey(partition),
+            () -> Uni.createFrom()
+                .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
+                    TableSchema.fromBean(PersonEnhanced.class)))
+                .map(table -> table.query(
+                    PersonEnhancedRequests.queryByFirstName(partition, filter, limit, cursor)))
+                .onItem()
+                .transformToUni(PersonEnhancedAsyncService::firstPage)));
+  }
+
+  private Uni<PersonEnhanced> update(final PersonEnhanced person, final boolean existing) {
+    UpdateItemEnhancedRequest.Builder<PersonEnhanced> updateItemEnhancedRequest =
+        UpdateItemEnhancedRequest.builder(PersonEnhanced.class).item(person);
+    if (existing) {
+      updateItemEnhancedRequest.conditionExpression(Expression.builder()
+          .expression("attribute_exists(" + PersonItem.FIRST_NAME + ")")
+          .build());
+    }
+    return dynamoDbCallExecutor.executeAsync(
+        DynamoDbOperation.write("enhanced-async.update", PersonEnhanced.TABLE_NAME)
+            .withPartitionKey(person.getFirstName()),
+        () -> Uni.createFrom()
+            .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
+                TableSchema.fromBean(PersonEnhanced.class)))
+            .map(table -> table.updateItem(updateItemEnhancedRequest.build()))
+            .onItem()
+            .transformToUni(response -> Uni.createFrom().completionStage(response)))
+        .invoke(() -> invalidatePages(List.of(shardedKeys.unshard(person.getFirstName()))));
+  }
+
+  private void invalidatePages(final List<String> firstNames) {
+    pagePrefetcher.invalidate("enhanced-async.findAll");
+    pagePrefetcher.invalidate("enhanced-async.findByCpf");
+    firstNames.stream()
+        .distinct()
+        .forEach(firstName -> pagePrefetcher.invalidate("enhanced-async.findByFirstName",
+            firstName));
+  }
+
+  private Uni<PersonEnhanced> firstFound(final List<String> partitions,
+      final Function<String, Uni<PersonEnhanced>> lookup) {
+    Uni<PersonEnhanced> item = lookup.apply(partitions.get(0));
+    for (String partition : partitions.subList(1, partitions.size())) {
+      item = item.chain(found -> found == null ? lookup.apply(partition) : Uni.createFrom()
+          .item(found));
+    }
+    return item.map(shardedKeys::unshard);
+  }
+
+  private static Uni<SourcePage<PersonEnhanced>> firstPage(
+      final SdkPublisher<Page<PersonEnhanced>> pages) {
     return Uni.createFrom()
-        .item(() -> dynamoDbEnhancedAsyncClient.table(PersonEnhanced.TABLE_NAME,
-            TableSchema.fromBean(PersonEnhanced.class)))
-        .map(table -> {
-          Builder<PersonEnhanced> writeBatchBuilder = WriteBatch.builder(PersonEnhanced.class);
-
-          deletePeopleBatches.forEach(
-              deletePeopleBatch -> writeBatchBuilder.addDeleteItem(Key.builder()
-                  .partitionValue(deletePeopleBatch.firstName())
-                  .sortValue(deletePeopleBatch.lastName())
-                  .build()));
-
-          return writeBatchBuilder
-              .mappedTableResource(table)
-              .build();
-        })
-        .flatMap(writeBatch -> Uni.createFrom()
-            .completionStage(dynamoDbEnhancedAsyncClient.batchWriteItem(
-                BatchWriteItemEnhancedRequest.builder()
-                    .addWriteBatch(writeBatch)
-                    .build())))
-        .onItem()
-        .ignore()
-        .andContinueWithNull();
+        .publisher(pages)
+        .map(page -> SourcePage.of(page.items(), page.lastEvaluatedKey()));
   }
 }
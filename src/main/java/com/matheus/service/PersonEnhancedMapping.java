@@ -0,0 +1,21 @@
+package com.matheus.service;
+
+import com.matheus.model.Person;
+import com.matheus.model.PersonEnhanced;
+import com.matheus.vo.response.PaginationResponse;
+
+final class PersonEnhancedMapping {
+
+  private PersonEnhancedMapping() {
+  }
+
+  static PaginationResponse<Person> toPeople(final PaginationResponse<PersonEnhanced> page) {
+    return page.map(person -> Person.of(person.getFirstName(), person.getLastName(),
+        person.getCpf()));
+  }
+
+  static PaginationResponse<PersonEnhanced> toEnhanced(final PaginationResponse<Person> page) {
+    return page.map(person -> PersonEnhanced.of(person.getFirstName(), person.getLastName(),
+        person.getCpf()));
+  }
+}
@@ -0,0 +1,72 @@
+package com.matheus.service;
+
+import com.matheus.vo.request.PersonFilter;
+import com.matheus.vo.request.PersonFilter.Operator;
+import java.util.Map;
+import javax.ws.rs.BadRequestException;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+final class PersonEnhancedRequests {
+
+  private static final String FIRST_NAME = "firstName";
+  private static final String LAST_NAME = "lastName";
+  private static final String CPF = "cpf";
+
+  private PersonEnhancedRequests() {
+  }
+
+  static ScanEnhancedRequest scan(final PersonFilter filter, final int limit,
+      final Map<String, AttributeValue> startKey) {
+    return ScanEnhancedRequest.builder()
+        .limit(limit)
+        .exclusiveStartKey(startKey)
+        .filterExpression(filter == null ? null : filter.toExpression())
+        .build();
+  }
+
+  static QueryEnhancedRequest queryByFirstName(final String firstName, final PersonFilter filter,
+      final int limit, final Map<String, AttributeValue> startKey) {
+    if (filter != null && (filter.attribute().equals(FIRST_NAME)
+        || (filter.attribute().equals(LAST_NAME) && filter.operator() == Operator.CONTAINS))) {
+      throw new BadRequestException("filter " + filter + " is not supported by this query");
+    }
+
+    boolean sortKeyFilter = filter != null && filter.attribute().equals(LAST_NAME);
+    QueryConditional queryConditional;
+    if (!sortKeyFilter) {
+      queryConditional = QueryConditional.keyEqualTo(
+          Key.builder().partitionValue(firstName).build());
+    } else if (filter.operator() == Operator.EQ) {
+      queryConditional = QueryConditional.keyEqualTo(
+          Key.builder().partitionValue(firstName).sortValue(filter.value()).build());
+    } else {
+      queryConditional = QueryConditional.sortBeginsWith(
+          Key.builder().partitionValue(firstName).sortValue(filter.value()).build());
+    }
+
+    return QueryEnhancedRequest.builder()
+        .queryConditional(queryConditional)
+        .limit(limit)
+        .exclusiveStartKey(startKey)
+        .filterExpression(filter == null || sortKeyFilter ? null : filter.toExpression())
+        .build();
+  }
+
+  static QueryEnhancedRequest queryByCpf(final String cpf, final PersonFilter filter,
+      final int limit, final Map<String, AttributeValue> startKey) {
+    if (filter != null && filter.attribute().equals(CPF)) {
+      throw new BadRequestException("filter " + filter + " is not supported by this query");
+    }
+
+    return QueryEnhancedRequest.builder()
+        .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(cpf).build()))
+        .limit(limit)
+        .exclusiveStartKey(startKey)
+        .filterExpression(filter == null ? null : filter.toExpression())
+        .build();
+  }
+}
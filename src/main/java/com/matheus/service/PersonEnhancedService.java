@@ -1,65 +1,86 @@
 package com.matheus.service;
 
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
 import com.matheus.model.PersonEnhanced;
+import com.matheus.model.PersonItem;
 import com.matheus.vo.request.DeletePeopleBatch;
 import com.matheus.vo.request.PaginationRequest;
+import com.matheus.vo.request.PersonFilter;
 import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
 import java.util.List;
+import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.Page;
-import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
-import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
 import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch.Builder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
 @ApplicationScoped
+@IfBuildProperty(name = "person.deployment.enhanced", stringValue = "true",
+    enableIfMissing = true)
 public class PersonEnhancedService {
 
   private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
-
-  public PersonEnhancedService(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final PagePrefetcher pagePrefetcher;
+  private final PageFiller pageFiller;
+  private final PageSizer pageSizer;
+  private final ShardedKeys shardedKeys;
+
+  public PersonEnhancedService(DynamoDbEnhancedClient dynamoDbEnhancedClient,
+      DynamoDbCallExecutor dynamoDbCallExecutor, PagePrefetcher pagePrefetcher,
+      PageFiller pageFiller, PageSizer pageSizer, ShardedKeys shardedKeys) {
     this.dynamoDbEnhancedClient = dynamoDbEnhancedClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.pagePrefetcher = pagePrefetcher;
+    this.pageFiller = pageFiller;
+    this.pageSizer = pageSizer;
+    this.shardedKeys = shardedKeys;
   }
 
   public PaginationResponse<PersonEnhanced> findAll(PaginationRequest paginationRequest) {
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("enhanced.findAll", paginationRequest.getLimit());
     DynamoDbTable<PersonEnhanced> table = dynamoDbEnhancedClient.table(
         PersonEnhanced.TABLE_NAME, TableSchema.fromBean(PersonEnhanced.class));
 
-    ScanEnhancedRequest scanEnhancedRequest = ScanEnhancedRequest.builder()
-        .limit(paginationRequest.getLimit())
-        .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-        .build();
-
-    PageIterable<PersonEnhanced> page = table.scan(scanEnhancedRequest);
-
-    return PaginationResponse.from(page);
+    return pagePrefetcher.fetch(
+        PagePrefetcher.query("enhanced.findAll", limit, filter),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pageSizer.fit("enhanced.findAll",
+            pageFiller.fill(limit, startKey, PersonEnhanced::toKey,
+                cursor -> firstPage(DynamoDbOperation.read("enhanced.findAll", table.tableName()),
+                    table.scan(PersonEnhancedRequests.scan(filter, limit, cursor)))),
+            PageSizer::enhancedBytes, PersonEnhanced::toKey).map(shardedKeys::unshard));
   }
 
   public PaginationResponse<PersonEnhanced> findByFirstName(final String firstName,
       final PaginationRequest paginationRequest) {
-
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("enhanced.findByFirstName", paginationRequest.getLimit());
     DynamoDbTable<PersonEnhanced> table = dynamoDbEnhancedClient.table(
         PersonEnhanced.TABLE_NAME,
         TableSchema.fromBean(PersonEnhanced.class));
 
-    PageIterable<PersonEnhanced> pages = table.query(QueryEnhancedRequest.builder()
-        .queryConditional(
-            QueryConditional.keyEqualTo(Key.builder().partitionValue(firstName).build()))
-        .limit(paginationRequest.getLimit())
-        .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-        .build());
-
-    return PaginationResponse.from(pages.iterator().next());
+    return pagePrefetcher.fetch(
+        PagePrefetcher.query("enhanced.findByFirstName", firstName, limit, filter),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pageSizer.fit("enhanced.findByFirstName",
+            findByFirstName(table, firstName, filter, limit, startKey),
+            PageSizer::enhancedBytes, PersonEnhanced::toKey));
   }
 
   public PersonEnhanced findByFirstNameAndLastName(final String firstName, final String lastName) {
@@ -67,32 +88,54 @@ public class PersonEnhancedService {
         PersonEnhanced.TABLE_NAME,
         TableSchema.fromBean(PersonEnhanced.class));
 
-    return table.getItem(Key.builder().partitionValue(firstName).sortValue(lastName).build());
+    PersonEnhanced person = null;
+    for (String partition : shardedKeys.candidatesFor(firstName, lastName)) {
+      person = dynamoDbCallExecutor.execute(
+          DynamoDbOperation.read("enhanced.findByFirstNameAndLastName", table.tableName())
+              .withPartitionKey(partition),
+          () -> table.getItem(Key.builder().partitionValue(partition).sortValue(lastName)
+              .build()));
+      if (person != null) {
+        break;
+      }
+    }
+    return shardedKeys.unshard(person);
   }
 
   public PaginationResponse<PersonEnhanced> findByCpf(
       final String cpf,
       final PaginationRequest paginationRequest) {
-
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("enhanced.findByCpf", paginationRequest.getLimit());
     DynamoDbIndex<PersonEnhanced> index = dynamoDbEnhancedClient.table(
             PersonEnhanced.TABLE_NAME,
             TableSchema.fromBean(PersonEnhanced.class))
         .index(PersonEnhanced.CPF_INDEX_NAME);
 
-    SdkIterable<Page<PersonEnhanced>> page = index.query(QueryEnhancedRequest.builder()
-        .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(cpf).build()))
-        .limit(paginationRequest.getLimit())
-        .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-        .build());
-
-    return PaginationResponse.from(page.iterator().next());
+    return pagePrefetcher.fetch(
+        PagePrefetcher.query("enhanced.findByCpf", cpf, limit, filter),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pageSizer.fit("enhanced.findByCpf",
+            pageFiller.fill(limit, startKey, PersonEnhanced::toCpfIndexKey,
+                cursor -> firstPage(DynamoDbOperation.read("enhanced.findByCpf",
+                        index.tableName(), index.indexName()).withPartitionKey(cpf),
+                    index.query(PersonEnhancedRequests.queryByCpf(cpf, filter, limit, cursor)))),
+            PageSizer::enhancedBytes, PersonEnhanced::toCpfIndexKey).map(shardedKeys::unshard));
   }
 
   public PersonEnhanced add(final PersonEnhanced person) {
     DynamoDbTable<PersonEnhanced> table = dynamoDbEnhancedClient.table(
         PersonEnhanced.TABLE_NAME,
         TableSchema.fromBean(PersonEnhanced.class));
-    table.putItem(person);
+    PersonEnhanced routed = shardedKeys.route(person);
+    dynamoDbCallExecutor.execute(
+        DynamoDbOperation.write("enhanced.add", table.tableName())
+            .withPartitionKey(routed.getFirstName()),
+        () -> {
+          table.putItem(routed);
+          return person;
+        });
+    invalidatePages(List.of(person.getFirstName()));
     return person;
   }
 
@@ -101,21 +144,40 @@ public class PersonEnhancedService {
         PersonEnhanced.TABLE_NAME,
         TableSchema.fromBean(PersonEnhanced.class));
 
-    DeleteItemEnhancedRequest deleteItemEnhancedRequest = DeleteItemEnhancedRequest.builder()
-        .key(builder -> builder
-            .partitionValue(firstName)
-            .sortValue(lastName)
-            .build())
-        .build();
-
-    return table.deleteItem(deleteItemEnhancedRequest);
+    PersonEnhanced person = null;
+    for (String partition : shardedKeys.candidatesFor(firstName, lastName)) {
+      DeleteItemEnhancedRequest deleteItemEnhancedRequest = DeleteItemEnhancedRequest.builder()
+          .key(builder -> builder
+              .partitionValue(partition)
+              .sortValue(lastName)
+              .build())
+          .build();
+
+      person = dynamoDbCallExecutor.execute(
+          DynamoDbOperation.write("enhanced.delete", table.tableName())
+              .withPartitionKey(partition),
+          () -> table.deleteItem(deleteItemEnhancedRequest));
+      if (person != null) {
+        break;
+      }
+    }
+    invalidatePages(List.of(firstName));
+    return shardedKeys.unshard(person);
   }
 
   public PersonEnhanced update(final PersonEnhanced person) {
     DynamoDbTable<PersonEnhanced> table = dynamoDbEnhancedClient.table(
         PersonEnhanced.TABLE_NAME,
         TableSchema.fromBean(PersonEnhanced.class));
-    return table.updateItem(person);
+    PersonEnhanced routed = shardedKeys.route(person);
+    if (!routed.getFirstName().equals(person.getFirstName())) {
+      try {
+        return shardedKeys.unshard(update(table, routed, true));
+      } catch (ConditionalCheckFailedException e) {
+        // not migrated yet, the item still lives in the base partition
+      }
+    }
+    return update(table, person, false);
   }
 
   public void putPeople(final List<PersonEnhanced> people) {
@@ -124,16 +186,21 @@ public class PersonEnhancedService {
 
     Builder<PersonEnhanced> writeBatchBuilder = WriteBatch.builder(PersonEnhanced.class);
 
-    people.forEach(writeBatchBuilder::addPutItem);
+    List<PersonEnhanced> routed = people.stream().map(shardedKeys::route).toList();
+    routed.forEach(writeBatchBuilder::addPutItem);
 
     WriteBatch writeBatch = writeBatchBuilder
         .mappedTableResource(table)
         .build();
 
-    dynamoDbEnhancedClient.batchWriteItem(
-        BatchWriteItemEnhancedRequest.builder()
-            .addWriteBatch(writeBatch)
-            .build());
+    dynamoDbCallExecutor.execute(
+        DynamoDbOperation.write("enhanced.putPeople", table.tableName())
+            .withPartitionKeys(routed.stream().map(PersonEnhanced::getFirstName).toList()),
+        () -> dynamoDbEnhancedClient.batchWriteItem(
+            BatchWriteItemEnhancedRequest.builder()
+                .addWriteBatch(writeBatch)
+                .build()));
+    invalidatePages(people.stream().map(PersonEnhanced::getFirstName).toList());
   }
 
   public void deletePeople(final List<DeletePeopleBatch> deletePeopleBatches) {
@@ -142,18 +209,83 @@ public class PersonEnhancedService {
 
     Builder<PersonEnhanced> writeBatchBuilder = WriteBatch.builder(PersonEnhanced.class);
 
-    deletePeopleBatches.forEach(deletePeopleBatch -> writeBatchBuilder.addDeleteItem(Key.builder()
-        .partitionValue(deletePeopleBatch.firstName())
-        .sortValue(deletePeopleBatch.lastName())
-        .build()));
+    List<Key> keys = deletePeopleBatches.stream()
+        .flatMap(deletePeopleBatch -> shardedKeys
+            .candidatesFor(deletePeopleBatch.firstName(), deletePeopleBatch.lastName())
+            .stream()
+            .map(partition -> Key.builder()
+                .partitionValue(partition)
+                .sortValue(deletePeopleBatch.lastName())
+                .build()))
+        .toList();
+    keys.forEach(writeBatchBuilder::addDeleteItem);
 
     WriteBatch writeBatch = writeBatchBuilder
         .mappedTableResource(table)
         .build();
 
-    dynamoDbEnhancedClient.batchWriteItem(
-        BatchWriteItemEnhancedRequest.builder()
-            .addWriteBatch(writeBatch)
-            .build());
+    dynamoDbCallExecutor.execute(
+        DynamoDbOperation.write("enhanced.deletePeople", table.tableName())
+            .withPartitionKeys(
+                keys.stream().map(key -> key.partitionKeyValue().s()).toList()),
+        () -> dynamoDbEnhancedClient.batchWriteItem(
+            BatchWriteItemEnhancedRequest.builder()
+                .addWriteBatch(writeBatch)
+                .build()));
+    invalidatePages(deletePeopleBatches.stream().map(DeletePeopleBatch::firstName).toList());
+  }
+
+  private PaginationResponse<PersonEnhanced> findByFirstName(
+      final DynamoDbTable<PersonEnhanced> table, final String firstName,
+      final PersonFilter filter, final int limit, final Map<String, AttributeValue> startKey) {
+    if (!shardedKeys.isSharded(firstName)) {
+      return fillByFirstName(table, firstName, filter, limit, startKey);
+    }
+    return PersonEnhancedMapping.toEnhanced(shardedKeys.gatherBlocking(firstName, limit,
+        startKey, (partition, partitionStartKey) -> PersonEnhancedMapping.toPeople(
+            fillByFirstName(table, partition, filter, limit, partitionStartKey))));
+  }
+
+  private PaginationResponse<PersonEnhanced> fillByFirstName(
+      final DynamoDbTable<PersonEnhanced> table, final String partition,
+      final PersonFilter filter, final int limit, final Map<String, AttributeValue> startKey) {
+    return pageFiller.fill(limit, startKey, PersonEnhanced::toKey,
+        cursor -> firstPage(
+            DynamoDbOperation.read("enhanced.findByFirstName", table.tableName())
+                .withPartitionKey(partition),
+            table.query(PersonEnhancedRequests.queryByFirstName(partition, filter, limit,
+                cursor))));
+  }
+
+  private PersonEnhanced update(final DynamoDbTable<PersonEnhanced> table,
+      final PersonEnhanced person, final boolean existing) {
+    UpdateItemEnhancedRequest.Builder<PersonEnhanced> updateItemEnhancedRequest =
+        UpdateItemEnhancedRequest.builder(PersonEnhanced.class).item(person);
+    if (existing) {
+      updateItemEnhancedRequest.conditionExpression(Expression.builder()
+          .expression("attribute_exists(" + PersonItem.FIRST_NAME + ")")
+          .build());
+    }
+    PersonEnhanced updated = dynamoDbCallExecutor.execute(
+        DynamoDbOperation.write("enhanced.update", table.tableName())
+            .withPartitionKey(person.getFirstName()),
+        () -> table.updateItem(updateItemEnhancedRequest.build()));
+    invalidatePages(List.of(shardedKeys.unshard(person.getFirstName())));
+    return updated;
+  }
+
+  private void invalidatePages(final List<String> firstNames) {
+    pagePrefetcher.invalidate("enhanced.findAll");
+    pagePrefetcher.invalidate("enhanced.findByCpf");
+    firstNames.stream()
+        .distinct()
+        .forEach(firstName -> pagePrefetcher.invalidate("enhanced.findByFirstName", firstName));
+  }
+
+  private SourcePage<PersonEnhanced> firstPage(final DynamoDbOperation operation,
+      final SdkIterable<Page<PersonEnhanced>> pages) {
+    Page<PersonEnhanced> page = dynamoDbCallExecutor.execute(operation,
+        () -> pages.iterator().next());
+    return SourcePage.of(page.items(), page.lastEvaluatedKey());
   }
 }
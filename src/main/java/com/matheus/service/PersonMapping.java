@@ -0,0 +1,28 @@
+package com.matheus.service;
+
+import com.matheus.jfr.PersonMappingEvent;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+final class PersonMapping {
+
+  private PersonMapping() {
+  }
+
+  static List<Person> read(final String operation,
+      final List<Map<String, AttributeValue>> items) {
+    PersonMappingEvent event = new PersonMappingEvent();
+    if (!event.isEnabled()) {
+      return items.stream().map(PersonItem::read).toList();
+    }
+    event.begin();
+    List<Person> people = items.stream().map(PersonItem::read).toList();
+    event.operation = operation;
+    event.items = people.size();
+    event.commit();
+    return people;
+  }
+}
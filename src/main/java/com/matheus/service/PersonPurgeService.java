@@ -0,0 +1,99 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.model.PersonItem;
+import com.matheus.vo.response.PurgeResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+@ApplicationScoped
+@IfBuildProperty(name = "person.deployment.async", stringValue = "true",
+    enableIfMissing = true)
+public class PersonPurgeService {
+
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final BatchWriter batchWriter;
+  private final ShardedKeys shardedKeys;
+  private final int pageSize;
+  private final int deleteConcurrency;
+
+  public PersonPurgeService(DynamoDbAsyncClient dynamoDbAsyncClient,
+      DynamoDbCallExecutor dynamoDbCallExecutor, BatchWriter batchWriter, ShardedKeys shardedKeys,
+      @ConfigProperty(name = "person.purge.page-size", defaultValue = "100") int pageSize,
+      @ConfigProperty(name = "person.purge.delete-concurrency", defaultValue = "4")
+      int deleteConcurrency) {
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.batchWriter = batchWriter;
+    this.shardedKeys = shardedKeys;
+    this.pageSize = pageSize;
+    this.deleteConcurrency = deleteConcurrency;
+  }
+
+  public Uni<PurgeResponse> purgeByFirstName(final String firstName) {
+    return purge("purge.firstName", Multi.createFrom()
+        .iterable(shardedKeys.partitionsOf(firstName))
+        .onItem()
+        .transformToMultiAndConcatenate(partition -> keys("purge.firstName",
+            PersonRequests.keysByFirstName(partition, pageSize))));
+  }
+
+  public Uni<PurgeResponse> purgeByCpf(final List<String> cpfs) {
+    return purge("purge.cpf", Multi.createFrom()
+        .iterable(cpfs.stream().distinct().toList())
+        .onItem()
+        .transformToMultiAndConcatenate(cpf -> keys("purge.cpf",
+            PersonRequests.keysByCpf(cpf, pageSize))));
+  }
+
+  private Uni<PurgeResponse> purge(final String operation,
+      final Multi<Map<String, AttributeValue>> keys) {
+    return keys.group()
+        .intoLists()
+        .of(BatchWriter.MAX_BATCH_SIZE)
+        .onItem()
+        .transformToUni(batch -> batchWriter.write(operation, batch.stream()
+                .map(key -> WriteRequest.builder()
+                    .deleteRequest(DeleteRequest.builder().key(key).build())
+                    .build())
+                .toList())
+            .map(unprocessed -> new PurgeResponse(batch.size() - unprocessed.size(),
+                unprocessed.size())))
+        .merge(deleteConcurrency)
+        .collect()
+        .with(Collectors.reducing(PurgeResponse.empty(), PurgeResponse::plus));
+  }
+
+  private Multi<Map<String, AttributeValue>> keys(final String operation,
+      final QueryRequest queryRequest) {
+    return Multi.createBy()
+        .repeating()
+        .uni(AtomicReference<Map<String, AttributeValue>>::new,
+            cursor -> dynamoDbCallExecutor.executeAsync(
+                    PersonRequests.operation(operation, queryRequest),
+                    () -> Uni.createFrom().completionStage(() -> dynamoDbAsyncClient.query(
+                        queryRequest.toBuilder().exclusiveStartKey(cursor.get()).build())))
+                .invoke(response -> cursor.set(response.lastEvaluatedKey())))
+        .whilst(response -> response.hasLastEvaluatedKey()
+            && !response.lastEvaluatedKey().isEmpty())
+        .onItem()
+        .transformToIterable(QueryResponse::items)
+        .map(item -> Map.of(
+            PersonItem.FIRST_NAME, item.get(PersonItem.FIRST_NAME),
+            PersonItem.LAST_NAME, item.get(PersonItem.LAST_NAME)));
+  }
+}
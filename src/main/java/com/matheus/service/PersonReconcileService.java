@@ -0,0 +1,203 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.vo.response.ReconcileResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+@ApplicationScoped
+@IfBuildProperty(name = "person.deployment.async", stringValue = "true",
+    enableIfMissing = true)
+public class PersonReconcileService {
+
+  private static final String OPERATION = "reconcile";
+  private static final List<String> CONTENT_COLUMNS = List.of(PersonItem.CPF);
+
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final BatchWriter batchWriter;
+  private final ShardedKeys shardedKeys;
+  private final int segments;
+  private final int writeConcurrency;
+
+  public PersonReconcileService(DynamoDbAsyncClient dynamoDbAsyncClient,
+      DynamoDbCallExecutor dynamoDbCallExecutor, BatchWriter batchWriter, ShardedKeys shardedKeys,
+      @ConfigProperty(name = "person.reconcile.segments", defaultValue = "4") int segments,
+      @ConfigProperty(name = "person.reconcile.write-concurrency", defaultValue = "4")
+      int writeConcurrency) {
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.batchWriter = batchWriter;
+    this.shardedKeys = shardedKeys;
+    this.segments = segments;
+    this.writeConcurrency = writeConcurrency;
+  }
+
+  public Uni<ReconcileResponse> reconcile(final List<Person> people, final boolean deleteMissing) {
+    Map<String, Person> incoming = new LinkedHashMap<>();
+    people.forEach(person -> incoming.put(key(person.getFirstName(), person.getLastName()),
+        person));
+    return current().chain(current -> {
+      List<WriteRequest> writes = new ArrayList<>();
+      long inserted = 0;
+      long updated = 0;
+      long unchanged = 0;
+      long deleted = 0;
+      for (Map.Entry<String, Person> entry : incoming.entrySet()) {
+        Person target = shardedKeys.route(entry.getValue());
+        Stored stored = current.remove(entry.getKey());
+        if (stored == null) {
+          inserted++;
+        } else if (stored.hash() == contentHash(PersonItem.write(target))
+            && stored.partitions().equals(Set.of(target.getFirstName()))) {
+          unchanged++;
+          continue;
+        } else {
+          updated++;
+          stored.partitions().stream()
+              .filter(partition -> !partition.equals(target.getFirstName()))
+              .forEach(partition -> writes.add(delete(partition, target.getLastName())));
+        }
+        writes.add(WriteRequest.builder()
+            .putRequest(PutRequest.builder().item(PersonItem.write(target)).build())
+            .build());
+      }
+      if (deleteMissing) {
+        for (Stored stored : current.values()) {
+          deleted++;
+          stored.partitions()
+              .forEach(partition -> writes.add(delete(partition, stored.lastName())));
+        }
+      }
+      ReconcileResponse planned = new ReconcileResponse(incoming.size(), inserted, updated,
+          unchanged, deleted, 0);
+      return write(writes).map(failed -> new ReconcileResponse(planned.received(),
+          planned.inserted(), planned.updated(), planned.unchanged(), planned.deleted(), failed));
+    });
+  }
+
+  private Uni<Map<String, Stored>> current() {
+    DynamoDbOperation operation = DynamoDbOperation.read(OPERATION + ".scan",
+        PersonItem.TABLE_NAME);
+    Map<String, Stored> current = new HashMap<>();
+    return Multi.createFrom()
+        .range(0, segments)
+        .onItem()
+        .transformToMulti(segment -> ScanPages.of(dynamoDbAsyncClient, dynamoDbCallExecutor,
+            operation, scanRequest(segment)))
+        .merge(segments)
+        .invoke(page -> page.items().forEach(item -> store(current, item)))
+        .collect()
+        .last()
+        .replaceWith(current);
+  }
+
+  private void store(final Map<String, Stored> current, final Map<String, AttributeValue> item) {
+    String partition = item.get(PersonItem.FIRST_NAME).s();
+    String lastName = item.get(PersonItem.LAST_NAME).s();
+    String firstName = shardedKeys.unshard(Person.of(partition, lastName, null)).getFirstName();
+    long hash = contentHash(item);
+    current.merge(key(firstName, lastName),
+        new Stored(lastName, hash, new HashSet<>(Set.of(partition))),
+        (existing, copy) -> {
+          existing.partitions().addAll(copy.partitions());
+          return partition.equals(shardedKeys.shardFor(firstName, lastName))
+              ? new Stored(lastName, hash, existing.partitions())
+              : existing;
+        });
+  }
+
+  private Uni<Long> write(final List<WriteRequest> writes) {
+    if (writes.isEmpty()) {
+      return Uni.createFrom().item(0L);
+    }
+    AtomicLong failed = new AtomicLong();
+    List<List<WriteRequest>> batches = new ArrayList<>();
+    for (int from = 0; from < writes.size(); from += BatchWriter.MAX_BATCH_SIZE) {
+      batches.add(writes.subList(from, Math.min(from + BatchWriter.MAX_BATCH_SIZE,
+          writes.size())));
+    }
+    return Multi.createFrom()
+        .iterable(batches)
+        .onItem()
+        .transformToUni(batch -> batchWriter.write(OPERATION + ".write", batch)
+            .invoke(unprocessed -> failed.addAndGet(unprocessed.size())))
+        .merge(writeConcurrency)
+        .collect()
+        .last()
+        .map(last -> failed.get());
+  }
+
+  private ScanRequest scanRequest(final int segment) {
+    return ScanRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .projectionExpression("#firstName, #lastName, #cpf")
+        .expressionAttributeNames(Map.of("#firstName", PersonItem.FIRST_NAME,
+            "#lastName", PersonItem.LAST_NAME, "#cpf", PersonItem.CPF))
+        .segment(segment)
+        .totalSegments(segments)
+        .build();
+  }
+
+  private static WriteRequest delete(final String partition, final String lastName) {
+    return WriteRequest.builder()
+        .deleteRequest(DeleteRequest.builder()
+            .key(Map.of(PersonItem.FIRST_NAME, AttributeValue.builder().s(partition).build(),
+                PersonItem.LAST_NAME, AttributeValue.builder().s(lastName).build()))
+            .build())
+        .build();
+  }
+
+  private static String key(final String firstName, final String lastName) {
+    return firstName + '\u0000' + lastName;
+  }
+
+  private static long contentHash(final Map<String, AttributeValue> item) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (String column : CONTENT_COLUMNS) {
+        AttributeValue value = item.get(column);
+        digest.update(column.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        if (value != null && value.s() != null) {
+          digest.update(value.s().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+      }
+      byte[] hash = digest.digest();
+      long folded = 0;
+      for (int index = 0; index < Long.BYTES; index++) {
+        folded = (folded << Byte.SIZE) | (hash[index] & 0xFF);
+      }
+      return folded;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private record Stored(String lastName, long hash, Set<String> partitions) {
+  }
+}
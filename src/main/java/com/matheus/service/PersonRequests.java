@@ -0,0 +1,197 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.vo.request.PersonFilter;
+import com.matheus.vo.request.PersonFilter.Operator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Response;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+final class PersonRequests {
+
+  private static final String PAGE_BOUNDARIES = "#pageFirstName, #pageLastName, #pageCpf";
+
+  private PersonRequests() {
+  }
+
+  static ScanRequest scan(final PersonFilter filter, final int limit,
+      final Map<String, AttributeValue> startKey) {
+    ScanRequest.Builder builder = ScanRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .limit(limit)
+        .exclusiveStartKey(startKey)
+        .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+    if (filter != null) {
+      builder.filterExpression(filter.expression())
+          .expressionAttributeNames(filter.expressionAttributeNames())
+          .expressionAttributeValues(filter.expressionAttributeValues());
+    }
+    return builder.build();
+  }
+
+  static QueryRequest queryByFirstName(final String firstName, final PersonFilter filter,
+      final int limit, final Map<String, AttributeValue> startKey) {
+    if (filter != null && (filter.attribute().equals(PersonItem.FIRST_NAME)
+        || (filter.attribute().equals(PersonItem.LAST_NAME)
+        && filter.operator() == Operator.CONTAINS))) {
+      throw new BadRequestException("filter " + filter + " is not supported by this query");
+    }
+    boolean sortKeyFilter = filter != null && filter.attribute().equals(PersonItem.LAST_NAME);
+    return query(PersonItem.FIRST_NAME, firstName, null, filter, sortKeyFilter, limit,
+        startKey);
+  }
+
+  static QueryRequest queryByCpf(final String cpf, final PersonFilter filter, final int limit,
+      final Map<String, AttributeValue> startKey) {
+    if (filter != null && filter.attribute().equals(PersonItem.CPF)) {
+      throw new BadRequestException("filter " + filter + " is not supported by this query");
+    }
+    return query(PersonItem.CPF, cpf, PersonItem.CPF_INDEX, filter, false, limit, startKey);
+  }
+
+  static QueryRequest keysByFirstName(final String firstName, final int limit) {
+    return keysOnly(query(PersonItem.FIRST_NAME, firstName, null, null, false, limit, null));
+  }
+
+  static QueryRequest keysByCpf(final String cpf, final int limit) {
+    return keysOnly(query(PersonItem.CPF, cpf, PersonItem.CPF_INDEX, null, false, limit, null));
+  }
+
+  static TransactWriteItemsRequest rename(final String partition, final String lastName,
+      final Person renamed) {
+    if (renamed.getFirstName().equals(partition) && renamed.getLastName().equals(lastName)) {
+      throw new BadRequestException("rename must change firstName or lastName");
+    }
+    String exists = "attribute_exists(" + PersonItem.FIRST_NAME + ")";
+    String absent = "attribute_not_exists(" + PersonItem.FIRST_NAME + ")";
+    return TransactWriteItemsRequest.builder()
+        .transactItems(
+            TransactWriteItem.builder()
+                .delete(Delete.builder()
+                    .tableName(PersonItem.TABLE_NAME)
+                    .key(Map.of(
+                        PersonItem.FIRST_NAME, AttributeValue.builder().s(partition).build(),
+                        PersonItem.LAST_NAME, AttributeValue.builder().s(lastName).build()))
+                    .conditionExpression(exists)
+                    .build())
+                .build(),
+            TransactWriteItem.builder()
+                .put(Put.builder()
+                    .tableName(PersonItem.TABLE_NAME)
+                    .item(PersonItem.write(renamed))
+                    .conditionExpression(absent)
+                    .build())
+                .build())
+        .build();
+  }
+
+  static boolean renameSourceMissing(final TransactionCanceledException exception) {
+    return conditionFailed(exception, 0);
+  }
+
+  static RuntimeException renameFailure(final TransactionCanceledException exception) {
+    if (conditionFailed(exception, 0)) {
+      return new NotFoundException("person to rename does not exist");
+    }
+    if (conditionFailed(exception, 1)) {
+      return new ClientErrorException("a person with the new name already exists",
+          Response.Status.CONFLICT);
+    }
+    return exception;
+  }
+
+  static DynamoDbOperation operation(final String name, final QueryRequest queryRequest) {
+    return DynamoDbOperation.read(name, queryRequest.tableName(), queryRequest.indexName())
+        .withPartitionKey(queryRequest.expressionAttributeValues().get(":partitionValue").s());
+  }
+
+  static QueryRequest keysOnly(final QueryRequest queryRequest) {
+    Map<String, String> names = new HashMap<>(queryRequest.expressionAttributeNames());
+    names.put("#keyFirstName", PersonItem.FIRST_NAME);
+    names.put("#keyLastName", PersonItem.LAST_NAME);
+    String projection = "#keyFirstName, #keyLastName";
+    if (PersonItem.CPF_INDEX.equals(queryRequest.indexName())) {
+      names.put("#keyCpf", PersonItem.CPF);
+      projection = projection + ", #keyCpf";
+    }
+    return queryRequest.toBuilder()
+        .projectionExpression(projection)
+        .expressionAttributeNames(names)
+        .build();
+  }
+
+  static QueryRequest pageBoundaries(final QueryRequest queryRequest) {
+    return queryRequest.toBuilder()
+        .projectionExpression(PAGE_BOUNDARIES)
+        .expressionAttributeNames(pageBoundaryNames(queryRequest.expressionAttributeNames()))
+        .build();
+  }
+
+  static ScanRequest pageBoundaries(final ScanRequest scanRequest) {
+    return scanRequest.toBuilder()
+        .projectionExpression(PAGE_BOUNDARIES)
+        .expressionAttributeNames(pageBoundaryNames(scanRequest.expressionAttributeNames()))
+        .build();
+  }
+
+  private static Map<String, String> pageBoundaryNames(final Map<String, String> current) {
+    Map<String, String> names = new HashMap<>(current);
+    names.put("#pageFirstName", PersonItem.FIRST_NAME);
+    names.put("#pageLastName", PersonItem.LAST_NAME);
+    names.put("#pageCpf", PersonItem.CPF);
+    return names;
+  }
+
+  private static boolean conditionFailed(final TransactionCanceledException exception,
+      final int item) {
+    List<CancellationReason> reasons = exception.cancellationReasons();
+    return reasons.size() > item && "ConditionalCheckFailed".equals(reasons.get(item).code());
+  }
+
+  private static QueryRequest query(final String partitionKey, final String partitionValue,
+      final String indexName, final PersonFilter filter, final boolean sortKeyFilter,
+      final int limit, final Map<String, AttributeValue> startKey) {
+    String keyCondition = "#partitionKey = :partitionValue";
+    Map<String, String> names = new HashMap<>(Map.of("#partitionKey", partitionKey));
+    Map<String, AttributeValue> values = new HashMap<>(
+        Map.of(":partitionValue", AttributeValue.builder().s(partitionValue).build()));
+
+    QueryRequest.Builder builder = QueryRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .indexName(indexName)
+        .limit(limit)
+        .exclusiveStartKey(startKey)
+        .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+
+    if (filter != null) {
+      names.putAll(filter.expressionAttributeNames());
+      values.putAll(filter.expressionAttributeValues());
+      if (sortKeyFilter) {
+        keyCondition = keyCondition + " AND " + filter.expression();
+      } else {
+        builder.filterExpression(filter.expression());
+      }
+    }
+
+    return builder.keyConditionExpression(keyCondition)
+        .expressionAttributeNames(names)
+        .expressionAttributeValues(values)
+        .build();
+  }
+}
@@ -1,17 +1,21 @@
 package com.matheus.service;
 
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
 import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
 import com.matheus.vo.request.DeletePeopleBatch;
 import com.matheus.vo.request.PaginationRequest;
+import com.matheus.vo.request.PersonFilter;
 import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
 import java.util.List;
 import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
-import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
-import software.amazon.awssdk.services.dynamodb.model.Condition;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
@@ -22,126 +26,175 @@ import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
 @ApplicationScoped
+@IfBuildProperty(name = "person.deployment.sync", stringValue = "true",
+    enableIfMissing = true)
 public class PersonService {
 
   private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final PagePrefetcher pagePrefetcher;
+  private final PageFiller pageFiller;
+  private final ShardedKeys shardedKeys;
+  private final PageIndex pageIndex;
+  private final PageSizer pageSizer;
 
-  public PersonService(DynamoDbClient dynamoDbClient) {
+  public PersonService(DynamoDbClient dynamoDbClient, DynamoDbCallExecutor dynamoDbCallExecutor,
+      PagePrefetcher pagePrefetcher, PageFiller pageFiller, ShardedKeys shardedKeys,
+      PageIndex pageIndex, PageSizer pageSizer) {
     this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.pagePrefetcher = pagePrefetcher;
+    this.pageFiller = pageFiller;
+    this.shardedKeys = shardedKeys;
+    this.pageIndex = pageIndex;
+    this.pageSizer = pageSizer;
   }
 
   public PaginationResponse<Person> findAll(final PaginationRequest paginationRequest) {
-    ScanRequest scanRequest = ScanRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-        .limit(paginationRequest.getLimit())
-        .build();
-
-    ScanResponse response = dynamoDbClient.scanPaginator(scanRequest).iterator().next();
-
-    return PaginationResponse.of(response.items().stream().map(Person::from).toList(),
-        response.lastEvaluatedKey());
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("sync.findAll", paginationRequest);
+    String query = PagePrefetcher.query("sync.findAll", paginationRequest.getLimit(), filter);
+    return pageIndex.fetch(query, paginationRequest.getPage(),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pagePrefetcher.fetch(query, startKey,
+            next -> pageSizer.fit("sync.findAll", scanAll(filter, limit, next, false),
+                PageSizer::personBytes, PersonItem::key).map(shardedKeys::unshard)),
+        startKey -> pageSizer.fit("sync.findAll", scanAll(filter, limit, startKey, true),
+            PageSizer::personBytes, PersonItem::key));
   }
 
   public PaginationResponse<Person> findByFirstName(final String firstName,
       final PaginationRequest paginationRequest) {
-    Condition condition = Condition.builder()
-        .comparisonOperator(ComparisonOperator.EQ)
-        .attributeValueList(AttributeValue.builder().s(firstName).build())
-        .build();
-
-    QueryRequest queryRequest = QueryRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .keyConditions(Map.of(Person.FIRST_NAME_COLUMN, condition))
-        .limit(paginationRequest.getLimit())
-        .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-        .build();
-
-    QueryResponse queryResponse = dynamoDbClient.query(queryRequest);
-
-    return PaginationResponse.of(queryResponse.items().stream().map(Person::from).toList(),
-        queryResponse.lastEvaluatedKey());
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("sync.findByFirstName", paginationRequest);
+    String query = PagePrefetcher.query("sync.findByFirstName", firstName,
+        paginationRequest.getLimit(), filter);
+    return pageIndex.fetch(query, paginationRequest.getPage(),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pagePrefetcher.fetch(query, startKey,
+            next -> pageSizer.fit("sync.findByFirstName",
+                findByFirstName(firstName, filter, limit, next, false),
+                PageSizer::personBytes, PersonItem::key)),
+        startKey -> pageSizer.fit("sync.findByFirstName",
+            findByFirstName(firstName, filter, limit, startKey, true),
+            PageSizer::personBytes, PersonItem::key));
   }
 
   public Person findByFirstNameAndLastName(final String firstName, final String lastName) {
-    GetItemRequest getItemRequest = GetItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .key(Map.of(
-            Person.FIRST_NAME_COLUMN, AttributeValue.builder().s(firstName).build(),
-            Person.LAST_NAME_COLUMN, AttributeValue.builder().s(lastName).build()))
-        .build();
+    Map<String, AttributeValue> item = Map.of();
+    for (String partition : shardedKeys.candidatesFor(firstName, lastName)) {
+      GetItemRequest getItemRequest = GetItemRequest.builder()
+          .tableName(PersonItem.TABLE_NAME)
+          .key(key(partition, lastName))
+          .build();
 
-    return Person.from(dynamoDbClient.getItem(getItemRequest).item());
+      item = dynamoDbCallExecutor.execute(
+          DynamoDbOperation.read("sync.findByFirstNameAndLastName", PersonItem.TABLE_NAME)
+              .withPartitionKey(partition),
+          () -> dynamoDbClient.getItem(getItemRequest)).item();
+      if (!item.isEmpty()) {
+        break;
+      }
+    }
+    return shardedKeys.unshard(PersonItem.read(item));
   }
 
   public PaginationResponse<Person> findByCpf(
       final String cpf,
       final PaginationRequest paginationRequest) {
-
-    Condition condition = Condition.builder()
-        .comparisonOperator(ComparisonOperator.EQ)
-        .attributeValueList(AttributeValue.builder().s(cpf).build())
-        .build();
-
-    QueryRequest queryRequest = QueryRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .keyConditions(Map.of(Person.CPF_COLUMN, condition))
-        .limit(paginationRequest.getLimit())
-        .indexName(Person.CPF_INDEX)
-        .exclusiveStartKey(paginationRequest.getLastEvaluatedKey())
-        .build();
-
-    QueryResponse queryResponse = dynamoDbClient.query(queryRequest);
-
-    return PaginationResponse.of(queryResponse.items().stream().map(Person::from).toList(),
-        queryResponse.lastEvaluatedKey());
+    PersonFilter filter = paginationRequest.getFilter();
+    int limit = pageSizer.limit("sync.findByCpf", paginationRequest);
+    String query = PagePrefetcher.query("sync.findByCpf", cpf,
+        paginationRequest.getLimit(), filter);
+    return pageIndex.fetch(query, paginationRequest.getPage(),
+        paginationRequest.getLastEvaluatedKey(),
+        startKey -> pagePrefetcher.fetch(query, startKey,
+            next -> pageSizer.fit("sync.findByCpf", fillByCpf(cpf, filter, limit, next, false),
+                PageSizer::personBytes, PersonItem::cpfIndexKey).map(shardedKeys::unshard)),
+        startKey -> pageSizer.fit("sync.findByCpf", fillByCpf(cpf, filter, limit, startKey, true),
+            PageSizer::personBytes, PersonItem::cpfIndexKey));
   }
 
   public Person add(final Person person) {
+    Person routed = shardedKeys.route(person);
     PutItemRequest putItemRequest = PutItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .item(person.toDynamodbAttributes())
+        .tableName(PersonItem.TABLE_NAME)
+        .item(PersonItem.write(routed))
         .build();
 
-    dynamoDbClient.putItem(putItemRequest);
+    dynamoDbCallExecutor.execute(
+        DynamoDbOperation.write("sync.add", PersonItem.TABLE_NAME)
+            .withPartitionKey(routed.getFirstName()),
+        () -> dynamoDbClient.putItem(putItemRequest));
+    invalidatePages(List.of(person.getFirstName()));
     return person;
   }
 
   public Person delete(final String firstName, final String lastName) {
-    DeleteItemRequest deleteItemRequest = DeleteItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .key(Map.of(
-            Person.FIRST_NAME_COLUMN, AttributeValue.builder().s(firstName).build(),
-            Person.LAST_NAME_COLUMN, AttributeValue.builder().s(lastName).build()))
-        .returnValues(ReturnValue.ALL_OLD)
-        .build();
+    Map<String, AttributeValue> attributes = Map.of();
+    for (String partition : shardedKeys.candidatesFor(firstName, lastName)) {
+      DeleteItemRequest deleteItemRequest = DeleteItemRequest.builder()
+          .tableName(PersonItem.TABLE_NAME)
+          .key(key(partition, lastName))
+          .returnValues(ReturnValue.ALL_OLD)
+          .build();
 
-    return Person.from(dynamoDbClient.deleteItem(deleteItemRequest).attributes());
+      attributes = dynamoDbCallExecutor.execute(
+          DynamoDbOperation.write("sync.delete", PersonItem.TABLE_NAME).withPartitionKey(partition),
+          () -> dynamoDbClient.deleteItem(deleteItemRequest)).attributes();
+      if (!attributes.isEmpty()) {
+        break;
+      }
+    }
+    invalidatePages(List.of(firstName));
+    return shardedKeys.unshard(PersonItem.read(attributes));
   }
 
   public Person update(final Person person) {
-    UpdateItemRequest updateItemRequest = UpdateItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .key(Map.of(
-            Person.FIRST_NAME_COLUMN, AttributeValue.builder().s(person.getFirstName()).build(),
-            Person.LAST_NAME_COLUMN, AttributeValue.builder().s(person.getLastName()).build()))
-        .updateExpression("SET cpf = :newValue")
-        .expressionAttributeValues(
-            Map.of(":newValue", AttributeValue.builder().s(person.getCpf()).build()))
-        .returnValues(ReturnValue.ALL_NEW)
-        .build();
+    String shard = shardedKeys.shardFor(person.getFirstName(), person.getLastName());
+    if (!shard.equals(person.getFirstName())) {
+      try {
+        return shardedKeys.unshard(update(shard, person, true));
+      } catch (ConditionalCheckFailedException e) {
+        // not migrated yet, the item still lives in the base partition
+      }
+    }
+    return update(person.getFirstName(), person, false);
+  }
 
-    return Person.from(dynamoDbClient.updateItem(updateItemRequest).attributes());
+  public Person rename(final String firstName, final String lastName, final Person renamed) {
+    Person target = shardedKeys.route(renamed);
+    List<String> partitions = shardedKeys.candidatesFor(firstName, lastName);
+    for (int candidate = 0; ; candidate++) {
+      String partition = partitions.get(candidate);
+      TransactWriteItemsRequest transactWriteItemsRequest =
+          PersonRequests.rename(partition, lastName, target);
+      try {
+        dynamoDbCallExecutor.execute(
+            DynamoDbOperation.write("sync.rename", PersonItem.TABLE_NAME)
+                .withPartitionKeys(List.of(partition, target.getFirstName())),
+            () -> dynamoDbClient.transactWriteItems(transactWriteItemsRequest));
+        invalidatePages(List.of(firstName, renamed.getFirstName()));
+        return renamed;
+      } catch (TransactionCanceledException e) {
+        if (candidate == partitions.size() - 1 || !PersonRequests.renameSourceMissing(e)) {
+          throw PersonRequests.renameFailure(e);
+        }
+      }
+    }
   }
 
   public void putBatch(final List<Person> people) {
     List<WriteRequest> writeRequests = people.stream()
+        .map(shardedKeys::route)
         .map(person -> PutRequest.builder()
-            .item(person.toDynamodbAttributes())
+            .item(PersonItem.write(person))
             .build())
         .map(putRequest -> WriteRequest.builder()
             .putRequest(putRequest)
@@ -149,20 +202,27 @@ public class PersonService {
         .toList();
 
     BatchWriteItemRequest batchWriteItemRequest = BatchWriteItemRequest.builder()
-        .requestItems(Map.of(Person.TABLE_NAME, writeRequests))
+        .requestItems(Map.of(PersonItem.TABLE_NAME, writeRequests))
         .build();
 
-    dynamoDbClient.batchWriteItem(batchWriteItemRequest);
+    dynamoDbCallExecutor.execute(
+        DynamoDbOperation.write("sync.putBatch", PersonItem.TABLE_NAME)
+            .withPartitionKeys(writeRequests.stream()
+                .map(writeRequest -> writeRequest.putRequest().item()
+                    .get(PersonItem.FIRST_NAME).s())
+                .toList()),
+        () -> dynamoDbClient.batchWriteItem(batchWriteItemRequest));
+    invalidatePages(people.stream().map(Person::getFirstName).toList());
   }
 
   public void deletePeople(final List<DeletePeopleBatch> deletePeopleBatches) {
     List<WriteRequest> writeRequests = deletePeopleBatches.stream()
-        .map(deletePeopleBatch -> DeleteRequest.builder()
-            .key(Map.of(
-                Person.FIRST_NAME_COLUMN,
-                AttributeValue.builder().s(deletePeopleBatch.firstName()).build(),
-                Person.LAST_NAME_COLUMN,
-                AttributeValue.builder().s(deletePeopleBatch.lastName()).build()))
+        .flatMap(deletePeopleBatch -> shardedKeys
+            .candidatesFor(deletePeopleBatch.firstName(), deletePeopleBatch.lastName())
+            .stream()
+            .map(partition -> key(partition, deletePeopleBatch.lastName())))
+        .map(key -> DeleteRequest.builder()
+            .key(key)
             .build())
         .map(deleteItemRequest -> WriteRequest.builder()
             .deleteRequest(deleteItemRequest)
@@ -170,9 +230,110 @@ public class PersonService {
         .toList();
 
     BatchWriteItemRequest batchWriteItemRequest = BatchWriteItemRequest.builder()
-        .requestItems(Map.of(Person.TABLE_NAME, writeRequests))
+        .requestItems(Map.of(PersonItem.TABLE_NAME, writeRequests))
         .build();
 
-    dynamoDbClient.batchWriteItem(batchWriteItemRequest);
+    dynamoDbCallExecutor.execute(
+        DynamoDbOperation.write("sync.deletePeople", PersonItem.TABLE_NAME)
+            .withPartitionKeys(writeRequests.stream()
+                .map(writeRequest -> writeRequest.deleteRequest().key()
+                    .get(PersonItem.FIRST_NAME).s())
+                .toList()),
+        () -> dynamoDbClient.batchWriteItem(batchWriteItemRequest));
+    invalidatePages(deletePeopleBatches.stream().map(DeletePeopleBatch::firstName).toList());
+  }
+
+  private PaginationResponse<Person> scanAll(final PersonFilter filter, final int limit,
+      final Map<String, AttributeValue> startKey, final boolean boundariesOnly) {
+    return pageFiller.fill(limit, startKey, PersonItem::key, cursor -> {
+      ScanRequest scanRequest = PersonRequests.scan(filter, limit, cursor);
+      return scan("sync.findAll",
+          boundariesOnly ? PersonRequests.pageBoundaries(scanRequest) : scanRequest);
+    });
+  }
+
+  private PaginationResponse<Person> findByFirstName(final String firstName,
+      final PersonFilter filter, final int limit, final Map<String, AttributeValue> startKey,
+      final boolean boundariesOnly) {
+    return shardedKeys.isSharded(firstName)
+        ? scatter(firstName, filter, limit, startKey, boundariesOnly)
+        : fillByFirstName(firstName, filter, limit, startKey, boundariesOnly);
+  }
+
+  private PaginationResponse<Person> fillByFirstName(final String partition,
+      final PersonFilter filter, final int limit, final Map<String, AttributeValue> startKey,
+      final boolean boundariesOnly) {
+    return pageFiller.fill(limit, startKey, PersonItem::key, cursor -> {
+      QueryRequest queryRequest = PersonRequests.queryByFirstName(partition, filter, limit, cursor);
+      return query("sync.findByFirstName",
+          boundariesOnly ? PersonRequests.pageBoundaries(queryRequest) : queryRequest);
+    });
+  }
+
+  private PaginationResponse<Person> fillByCpf(final String cpf, final PersonFilter filter,
+      final int limit, final Map<String, AttributeValue> startKey, final boolean boundariesOnly) {
+    return pageFiller.fill(limit, startKey, PersonItem::cpfIndexKey, cursor -> {
+      QueryRequest queryRequest = PersonRequests.queryByCpf(cpf, filter, limit, cursor);
+      return query("sync.findByCpf",
+          boundariesOnly ? PersonRequests.pageBoundaries(queryRequest) : queryRequest);
+    });
+  }
+
+  private PaginationResponse<Person> scatter(final String firstName, final PersonFilter filter,
+      final int limit, final Map<String, AttributeValue> startKey, final boolean boundariesOnly) {
+    return shardedKeys.gatherBlocking(firstName, limit, startKey,
+        (partition, partitionStartKey) -> fillByFirstName(partition, filter, limit,
+            partitionStartKey, boundariesOnly));
+  }
+
+  private Person update(final String partition, final Person person, final boolean existing) {
+    UpdateItemRequest.Builder updateItemRequest = UpdateItemRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .key(key(partition, person.getLastName()))
+        .updateExpression("SET cpf = :newValue")
+        .expressionAttributeValues(
+            Map.of(":newValue", AttributeValue.builder().s(person.getCpf()).build()))
+        .returnValues(ReturnValue.ALL_NEW);
+    if (existing) {
+      updateItemRequest.conditionExpression("attribute_exists(" + PersonItem.FIRST_NAME + ")");
+    }
+
+    Person updated = PersonItem.read(dynamoDbCallExecutor.execute(
+        DynamoDbOperation.write("sync.update", PersonItem.TABLE_NAME).withPartitionKey(partition),
+        () -> dynamoDbClient.updateItem(updateItemRequest.build())).attributes());
+    invalidatePages(List.of(person.getFirstName()));
+    return updated;
+  }
+
+  private void invalidatePages(final List<String> firstNames) {
+    pagePrefetcher.invalidate("sync.findAll");
+    pagePrefetcher.invalidate("sync.findByCpf");
+    firstNames.stream()
+        .distinct()
+        .forEach(firstName -> pagePrefetcher.invalidate("sync.findByFirstName", firstName));
+  }
+
+  private static Map<String, AttributeValue> key(final String partition, final String lastName) {
+    return Map.of(
+        PersonItem.FIRST_NAME, AttributeValue.builder().s(partition).build(),
+        PersonItem.LAST_NAME, AttributeValue.builder().s(lastName).build());
+  }
+
+  private SourcePage<Person> scan(final String operation, final ScanRequest scanRequest) {
+    ScanResponse response = dynamoDbCallExecutor.execute(
+        DynamoDbOperation.read(operation, scanRequest.tableName()),
+        () -> dynamoDbClient.scanPaginator(scanRequest).iterator().next());
+
+    return SourcePage.of(PersonMapping.read(operation, response.items()),
+        response.lastEvaluatedKey(), response.consumedCapacity());
+  }
+
+  private SourcePage<Person> query(final String operation, final QueryRequest queryRequest) {
+    QueryResponse queryResponse = dynamoDbCallExecutor.execute(
+        PersonRequests.operation(operation, queryRequest),
+        () -> dynamoDbClient.query(queryRequest));
+
+    return SourcePage.of(PersonMapping.read(operation, queryResponse.items()),
+        queryResponse.lastEvaluatedKey(), queryResponse.consumedCapacity());
   }
 }
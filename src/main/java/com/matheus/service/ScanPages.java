@@ -0,0 +1,32 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+final class ScanPages {
+
+  private ScanPages() {
+  }
+
+  static Multi<ScanResponse> of(final DynamoDbAsyncClient dynamoDbAsyncClient,
+      final DynamoDbCallExecutor dynamoDbCallExecutor, final DynamoDbOperation operation,
+      final ScanRequest scanRequest) {
+    return Multi.createBy()
+        .repeating()
+        .uni(AtomicReference<Map<String, AttributeValue>>::new,
+            cursor -> dynamoDbCallExecutor.executeAsync(operation,
+                    () -> Uni.createFrom().completionStage(() -> dynamoDbAsyncClient.scan(
+                        scanRequest.toBuilder().exclusiveStartKey(cursor.get()).build())))
+                .invoke(response -> cursor.set(response.lastEvaluatedKey())))
+        .whilst(response -> response.hasLastEvaluatedKey()
+            && !response.lastEvaluatedKey().isEmpty());
+  }
+}
@@ -0,0 +1,204 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.ShadowTraffic;
+import com.matheus.model.Person;
+import com.matheus.model.PersonEnhanced;
+import com.matheus.vo.response.PaginationResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.ws.rs.NotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class ShadowReads {
+
+  public static final String LOW_LEVEL = "low-level";
+  public static final String ENHANCED = "enhanced";
+
+  private static final Logger LOG = Logger.getLogger(ShadowReads.class);
+
+  private final boolean enabled;
+  private final double sampleRate;
+  private final Instance<PersonService> personService;
+  private final Instance<PersonEnhancedService> personEnhancedService;
+  private final MeterRegistry meterRegistry;
+  private final ThreadPoolExecutor shadows;
+
+  public ShadowReads(
+      @ConfigProperty(name = "person.shadow.enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "person.shadow.sample-rate", defaultValue = "0.01")
+      double sampleRate,
+      @ConfigProperty(name = "person.shadow.threads", defaultValue = "2") int threads,
+      @ConfigProperty(name = "person.shadow.queue-capacity", defaultValue = "64")
+      int queueCapacity,
+      Instance<PersonService> personService,
+      Instance<PersonEnhancedService> personEnhancedService,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.sampleRate = sampleRate;
+    this.personService = personService;
+    this.personEnhancedService = personEnhancedService;
+    this.meterRegistry = meterRegistry;
+    this.shadows = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), daemonThreads(),
+        new ThreadPoolExecutor.AbortPolicy());
+    this.shadows.allowCoreThreadTimeOut(true);
+  }
+
+  public <T> T fromLowLevel(final String endpoint, final Supplier<T> primary,
+      final Function<PersonEnhancedService, ?> shadow) {
+    if (!sampled() || !personEnhancedService.isResolvable()) {
+      return primary.get();
+    }
+    PersonEnhancedService target = personEnhancedService.get();
+    return mirror(endpoint, LOW_LEVEL, ENHANCED, primary, () -> shadow.apply(target));
+  }
+
+  public <T> T fromEnhanced(final String endpoint, final Supplier<T> primary,
+      final Function<PersonService, ?> shadow) {
+    if (!sampled() || !personService.isResolvable()) {
+      return primary.get();
+    }
+    PersonService target = personService.get();
+    return mirror(endpoint, ENHANCED, LOW_LEVEL, primary, () -> shadow.apply(target));
+  }
+
+  public <T> T mirror(final String endpoint, final String primaryPath, final String shadowPath,
+      final Supplier<T> primary, final Supplier<?> shadow) {
+    Measurement<T> measured = Measurement.of(primary);
+    record(endpoint, primaryPath, "primary", measured);
+    try {
+      shadows.execute(() -> runShadow(endpoint, primaryPath, shadowPath, measured.result(),
+          shadow));
+    } catch (RejectedExecutionException e) {
+      comparison(endpoint, primaryPath, "dropped");
+    }
+    return measured.result();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    shadows.shutdownNow();
+  }
+
+  private boolean sampled() {
+    return enabled && sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+  }
+
+  private void runShadow(final String endpoint, final String primaryPath,
+      final String shadowPath, final Object expected, final Supplier<?> shadow) {
+    Measurement<?> measured;
+    try {
+      measured = Measurement.of(() -> ShadowTraffic.run(shadow));
+    } catch (NotFoundException e) {
+      LOG.debugf("Shadow %s mismatch: %s returned %s, %s found nothing", endpoint, primaryPath,
+          summary(expected), shadowPath);
+      comparison(endpoint, primaryPath, "mismatch");
+      return;
+    } catch (RuntimeException e) {
+      LOG.debugf(e, "Shadow %s on the %s path failed", endpoint, shadowPath);
+      comparison(endpoint, primaryPath, "error");
+      return;
+    }
+    record(endpoint, shadowPath, "shadow", measured);
+    Object primaryResult = normalize(expected);
+    Object shadowResult = normalize(measured.result());
+    if (Objects.equals(primaryResult, shadowResult)) {
+      comparison(endpoint, primaryPath, "match");
+    } else {
+      LOG.debugf("Shadow %s mismatch: %s returned %s, %s returned %s", endpoint, primaryPath,
+          summary(expected), shadowPath, summary(measured.result()));
+      comparison(endpoint, primaryPath, "mismatch");
+    }
+  }
+
+  private void record(final String endpoint, final String path, final String role,
+      final Measurement<?> measured) {
+    Tags tags = Tags.of("endpoint", endpoint, "path", path, "role", role);
+    meterRegistry.timer("person.shadow.latency", tags)
+        .record(measured.nanos(), TimeUnit.NANOSECONDS);
+    if (measured.allocatedBytes() >= 0) {
+      DistributionSummary.builder("person.shadow.allocated")
+          .baseUnit("bytes")
+          .tags(tags)
+          .register(meterRegistry)
+          .record(measured.allocatedBytes());
+    }
+  }
+
+  private void comparison(final String endpoint, final String primaryPath,
+      final String result) {
+    meterRegistry.counter("person.shadow.comparisons", "endpoint", endpoint,
+        "primary", primaryPath, "result", result).increment();
+  }
+
+  private static Object normalize(final Object result) {
+    if (result instanceof PaginationResponse<?> page) {
+      return Arrays.asList(page.getItems().stream().map(ShadowReads::normalize).toList(),
+          page.getLastEvaluatedKey());
+    }
+    if (result instanceof Person person) {
+      return Arrays.asList(person.getFirstName(), person.getLastName(), person.getCpf());
+    }
+    if (result instanceof PersonEnhanced person) {
+      return Arrays.asList(person.getFirstName(), person.getLastName(), person.getCpf());
+    }
+    return result;
+  }
+
+  private static String summary(final Object result) {
+    if (result instanceof PaginationResponse<?> page) {
+      return page.getSize() + " items, next page " + !page.getLastEvaluatedKey().isEmpty();
+    }
+    return result == null ? "nothing" : "one " + result.getClass().getSimpleName();
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "person-shadow-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record Measurement<T>(T result, long nanos, long allocatedBytes) {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    static <T> Measurement<T> of(final Supplier<T> call) {
+      long allocatedBefore = allocated();
+      long startedAt = System.nanoTime();
+      T result = call.get();
+      long nanos = System.nanoTime() - startedAt;
+      long allocatedAfter = allocated();
+      return new Measurement<>(result, nanos,
+          allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore);
+    }
+
+    private static long allocated() {
+      return THREADS instanceof com.sun.management.ThreadMXBean threads
+          && threads.isThreadAllocatedMemoryEnabled()
+          ? threads.getCurrentThreadAllocatedBytes()
+          : -1;
+    }
+  }
+}
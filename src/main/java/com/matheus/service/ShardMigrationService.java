@@ -0,0 +1,121 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.model.PersonItem;
+import com.matheus.vo.response.ShardMigrationResponse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.BadRequestException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+@ApplicationScoped
+@IfBuildProperty(name = "person.deployment.sync", stringValue = "true",
+    enableIfMissing = true)
+public class ShardMigrationService {
+
+  private static final String OPERATION = "sharding.migrate";
+  private static final int PAGE_SIZE = 25;
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbCallExecutor dynamoDbCallExecutor;
+  private final ShardedKeys shardedKeys;
+
+  public ShardMigrationService(DynamoDbClient dynamoDbClient,
+      DynamoDbCallExecutor dynamoDbCallExecutor, ShardedKeys shardedKeys) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbCallExecutor = dynamoDbCallExecutor;
+    this.shardedKeys = shardedKeys;
+  }
+
+  public ShardMigrationResponse migrate(final String firstName) {
+    if (!shardedKeys.isSharded(firstName)) {
+      throw new BadRequestException(firstName + " is not configured as a sharded first name");
+    }
+    long moved = 0;
+    long skipped = 0;
+    Map<String, AttributeValue> startKey = null;
+    do {
+      QueryRequest queryRequest = PersonRequests.queryByFirstName(firstName, null, PAGE_SIZE,
+          startKey);
+      QueryResponse page = dynamoDbCallExecutor.execute(
+          PersonRequests.operation(OPERATION, queryRequest),
+          () -> dynamoDbClient.query(queryRequest));
+      for (Map<String, AttributeValue> item : page.items()) {
+        if (move(firstName, item)) {
+          moved++;
+        } else {
+          skipped++;
+        }
+      }
+      startKey = page.hasLastEvaluatedKey() && !page.lastEvaluatedKey().isEmpty()
+          ? page.lastEvaluatedKey()
+          : null;
+    } while (startKey != null);
+    return new ShardMigrationResponse(firstName, moved, skipped);
+  }
+
+  private boolean move(final String firstName, final Map<String, AttributeValue> item) {
+    String lastName = item.get(PersonItem.LAST_NAME).s();
+    String shard = shardedKeys.shardFor(firstName, lastName);
+    Map<String, AttributeValue> sharded = new HashMap<>(item);
+    sharded.put(PersonItem.FIRST_NAME, AttributeValue.builder().s(shard).build());
+    Map<String, AttributeValue> baseKey = Map.of(
+        PersonItem.FIRST_NAME, item.get(PersonItem.FIRST_NAME),
+        PersonItem.LAST_NAME, item.get(PersonItem.LAST_NAME));
+
+    TransactWriteItemsRequest transactWriteItemsRequest = TransactWriteItemsRequest.builder()
+        .transactItems(
+            TransactWriteItem.builder()
+                .put(Put.builder()
+                    .tableName(PersonItem.TABLE_NAME)
+                    .item(sharded)
+                    .conditionExpression("attribute_not_exists(" + PersonItem.FIRST_NAME + ")")
+                    .build())
+                .build(),
+            TransactWriteItem.builder()
+                .delete(Delete.builder()
+                    .tableName(PersonItem.TABLE_NAME)
+                    .key(baseKey)
+                    .build())
+                .build())
+        .build();
+
+    DynamoDbOperation operation = DynamoDbOperation.write(OPERATION, PersonItem.TABLE_NAME)
+        .withPartitionKeys(List.of(shard, firstName));
+    try {
+      dynamoDbCallExecutor.execute(operation,
+          () -> dynamoDbClient.transactWriteItems(transactWriteItemsRequest));
+      return true;
+    } catch (TransactionCanceledException e) {
+      if (!shardConditionFailed(e)) {
+        throw e;
+      }
+    }
+    // the shard already holds a newer write for this person, so the base copy is stale
+    dynamoDbCallExecutor.execute(operation.withPartitionKey(firstName),
+        () -> dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+            .tableName(PersonItem.TABLE_NAME)
+            .key(baseKey)
+            .build()));
+    return false;
+  }
+
+  private static boolean shardConditionFailed(final TransactionCanceledException exception) {
+    List<CancellationReason> reasons = exception.cancellationReasons();
+    return !reasons.isEmpty() && "ConditionalCheckFailed".equals(reasons.get(0).code());
+  }
+}
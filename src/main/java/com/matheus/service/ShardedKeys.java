@@ -0,0 +1,218 @@
+package com.matheus.service;
+
+import com.matheus.dynamodb.ShadowTraffic;
+import com.matheus.model.Person;
+import com.matheus.model.PersonEnhanced;
+import com.matheus.model.PersonItem;
+import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.InjectableContext.ContextState;
+import io.quarkus.arc.ManagedContext;
+import io.smallrye.mutiny.Uni;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@ApplicationScoped
+public class ShardedKeys {
+
+  private static final String SEPARATOR = "#";
+
+  private final Set<String> hotFirstNames;
+  private final int shards;
+  private final ThreadPoolExecutor gatherers;
+
+  public ShardedKeys(
+      @ConfigProperty(name = "person.sharding.hot-first-names")
+      Optional<List<String>> hotFirstNames,
+      @ConfigProperty(name = "person.sharding.shards", defaultValue = "4") int shards,
+      @ConfigProperty(name = "person.sharding.gather-threads", defaultValue = "8")
+      int gatherThreads) {
+    this.hotFirstNames = Set.copyOf(hotFirstNames.orElse(List.of()));
+    this.shards = shards;
+    this.gatherers = new ThreadPoolExecutor(gatherThreads, gatherThreads, 30, TimeUnit.SECONDS,
+        new SynchronousQueue<>(), daemonThreads(), new ThreadPoolExecutor.CallerRunsPolicy());
+    this.gatherers.allowCoreThreadTimeOut(true);
+  }
+
+  public boolean isSharded(final String firstName) {
+    return hotFirstNames.contains(firstName);
+  }
+
+  public String shardFor(final String firstName, final String lastName) {
+    if (!isSharded(firstName)) {
+      return firstName;
+    }
+    return firstName + SEPARATOR + Math.floorMod(lastName.hashCode(), shards);
+  }
+
+  public List<String> partitionsOf(final String firstName) {
+    List<String> partitions = new ArrayList<>();
+    partitions.add(firstName);
+    if (isSharded(firstName)) {
+      IntStream.range(0, shards).forEach(shard -> partitions.add(firstName + SEPARATOR + shard));
+    }
+    return partitions;
+  }
+
+  public List<String> candidatesFor(final String firstName, final String lastName) {
+    return isSharded(firstName)
+        ? List.of(shardFor(firstName, lastName), firstName)
+        : List.of(firstName);
+  }
+
+  public Person route(final Person person) {
+    return Person.of(shardFor(person.getFirstName(), person.getLastName()),
+        person.getLastName(), person.getCpf());
+  }
+
+  public PersonEnhanced route(final PersonEnhanced person) {
+    return PersonEnhanced.of(shardFor(person.getFirstName(), person.getLastName()),
+        person.getLastName(), person.getCpf());
+  }
+
+  public String unshard(final String firstName) {
+    int separator = firstName.lastIndexOf(SEPARATOR);
+    if (separator <= 0 || !isSharded(firstName.substring(0, separator))) {
+      return firstName;
+    }
+    return firstName.substring(0, separator);
+  }
+
+  public Person unshard(final Person person) {
+    String firstName = unshard(person.getFirstName());
+    if (firstName.equals(person.getFirstName())) {
+      return person;
+    }
+    return Person.of(firstName, person.getLastName(), person.getCpf());
+  }
+
+  public PersonEnhanced unshard(final PersonEnhanced person) {
+    if (person == null) {
+      return null;
+    }
+    String firstName = unshard(person.getFirstName());
+    if (firstName.equals(person.getFirstName())) {
+      return person;
+    }
+    return PersonEnhanced.of(firstName, person.getLastName(), person.getCpf());
+  }
+
+  public Uni<PaginationResponse<Person>> gather(final String firstName, final int limit,
+      final Map<String, AttributeValue> startKey,
+      final BiFunction<String, Map<String, AttributeValue>, Uni<PaginationResponse<Person>>>
+          partitionQuery) {
+    List<String> partitions = partitionsOf(firstName);
+    List<Uni<PaginationResponse<Person>>> queries = partitions.stream()
+        .map(partition -> partitionQuery.apply(partition, startKeyFor(partition, startKey)))
+        .toList();
+    return Uni.combine()
+        .all()
+        .unis(queries)
+        .combinedWith(pages -> merge(firstName, limit, pages));
+  }
+
+  public PaginationResponse<Person> gatherBlocking(final String firstName, final int limit,
+      final Map<String, AttributeValue> startKey,
+      final BiFunction<String, Map<String, AttributeValue>, PaginationResponse<Person>>
+          partitionQuery) {
+    List<CompletableFuture<PaginationResponse<Person>>> queries = partitionsOf(firstName)
+        .stream()
+        .map(partition -> CompletableFuture.supplyAsync(onCallerContext(
+            () -> partitionQuery.apply(partition, startKeyFor(partition, startKey))), gatherers))
+        .toList();
+    try {
+      return merge(firstName, limit, queries.stream().map(CompletableFuture::join).toList());
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    gatherers.shutdownNow();
+  }
+
+  private PaginationResponse<Person> merge(final String firstName, final int limit,
+      final List<?> pages) {
+    TreeMap<String, Person> byLastName = new TreeMap<>();
+    String bound = null;
+    for (Object each : pages) {
+      @SuppressWarnings("unchecked")
+      PaginationResponse<Person> page = (PaginationResponse<Person>) each;
+      page.getItems().forEach(person -> byLastName.merge(person.getLastName(), person,
+          (current, candidate) -> current.getFirstName().equals(firstName) ? candidate : current));
+      String next = page.getLastEvaluatedKey().get(PersonItem.LAST_NAME);
+      if (next != null && (bound == null || next.compareTo(bound) < 0)) {
+        bound = next;
+      }
+    }
+    Map<String, Person> candidates = bound == null ? byLastName : byLastName.headMap(bound, true);
+    List<Person> items = candidates.values().stream().limit(limit).toList();
+    String cursor = bound;
+    if (items.size() == limit && (candidates.size() > limit || bound != null)) {
+      cursor = items.get(items.size() - 1).getLastName();
+    }
+    return PaginationResponse.of(items.stream().map(this::unshard).toList(), cursor == null
+        ? Map.of()
+        : Map.of(PersonItem.FIRST_NAME, AttributeValue.builder().s(firstName).build(),
+            PersonItem.LAST_NAME, AttributeValue.builder().s(cursor).build()));
+  }
+
+  private static <T> Supplier<T> onCallerContext(final Supplier<T> query) {
+    Supplier<T> shadowed = ShadowTraffic.propagate(query);
+    ArcContainer container = Arc.container();
+    if (container == null || !container.requestContext().isActive()) {
+      return shadowed;
+    }
+    ManagedContext requestContext = container.requestContext();
+    ContextState state = requestContext.getState();
+    return () -> {
+      if (requestContext.isActive()) {
+        return shadowed.get();
+      }
+      requestContext.activate(state);
+      try {
+        return shadowed.get();
+      } finally {
+        requestContext.deactivate();
+      }
+    };
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "person-shard-gather-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static Map<String, AttributeValue> startKeyFor(final String partition,
+      final Map<String, AttributeValue> startKey) {
+    if (startKey == null || !startKey.containsKey(PersonItem.LAST_NAME)) {
+      return null;
+    }
+    return Map.of(PersonItem.FIRST_NAME, AttributeValue.builder().s(partition).build(),
+        PersonItem.LAST_NAME, startKey.get(PersonItem.LAST_NAME));
+  }
+}
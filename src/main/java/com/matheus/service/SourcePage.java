@@ -0,0 +1,23 @@
+package com.matheus.service;
+
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+
+public record SourcePage<T>(List<T> items, Map<String, AttributeValue> lastEvaluatedKey,
+                            double consumedCapacity) {
+
+  public static <T> SourcePage<T> of(final List<T> items,
+      final Map<String, AttributeValue> lastEvaluatedKey) {
+    return new SourcePage<>(items, lastEvaluatedKey, 0);
+  }
+
+  public static <T> SourcePage<T> of(final List<T> items,
+      final Map<String, AttributeValue> lastEvaluatedKey,
+      final ConsumedCapacity consumedCapacity) {
+    return new SourcePage<>(items, lastEvaluatedKey,
+        consumedCapacity == null || consumedCapacity.capacityUnits() == null
+            ? 0 : consumedCapacity.capacityUnits());
+  }
+}
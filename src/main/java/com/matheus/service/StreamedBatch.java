@@ -0,0 +1,195 @@
+package com.matheus.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ServiceUnavailableException;
+
+public final class StreamedBatch<T> {
+
+  private final DigestInputStream body;
+  private final JsonParser parser;
+  private final ObjectReader reader;
+  private final int chunkSize;
+  private final ToIntFunction<T> weight;
+  private final int writeConcurrency;
+  private T carried;
+  private boolean started;
+  private boolean finished;
+  private volatile String fingerprint;
+
+  StreamedBatch(final ObjectMapper objectMapper, final InputStream body, final Class<T> type,
+      final int chunkSize, final ToIntFunction<T> weight, final int writeConcurrency) {
+    try {
+      this.body = new DigestInputStream(body, MessageDigest.getInstance("SHA-256"));
+      this.parser = objectMapper.getFactory().createParser(this.body);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.reader = objectMapper.readerFor(type);
+    this.chunkSize = chunkSize;
+    this.weight = weight;
+    this.writeConcurrency = writeConcurrency;
+  }
+
+  public void write(final Consumer<List<T>> writer) {
+    BlockingQueue<List<T>> parsed = new ArrayBlockingQueue<>(writeConcurrency);
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    Future<?> parsing = Infrastructure.getDefaultWorkerPool()
+        .submit(() -> parseInto(parsed, failure));
+    try {
+      for (List<T> chunk = take(parsed); !chunk.isEmpty(); chunk = take(parsed)) {
+        writer.accept(chunk);
+      }
+    } finally {
+      parsing.cancel(true);
+    }
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+
+  public Uni<Void> writeAsync(final Function<List<T>, Uni<Void>> writer) {
+    return Multi.createFrom()
+        .iterable(() -> new Chunks())
+        .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+        .onItem()
+        .transformToUni(chunk -> writer.apply(chunk))
+        .merge(writeConcurrency)
+        .onItem()
+        .ignoreAsUni();
+  }
+
+  public String fingerprint() {
+    if (fingerprint == null) {
+      drain();
+    }
+    return fingerprint;
+  }
+
+  private void parseInto(final BlockingQueue<List<T>> parsed,
+      final AtomicReference<RuntimeException> failure) {
+    List<T> chunk;
+    do {
+      try {
+        chunk = nextChunk();
+      } catch (RuntimeException e) {
+        failure.set(e);
+        chunk = List.of();
+      }
+      try {
+        parsed.put(chunk);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    } while (!chunk.isEmpty());
+  }
+
+  private static <T> List<T> take(final BlockingQueue<List<T>> parsed) {
+    try {
+      return parsed.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("batch write was interrupted");
+    }
+  }
+
+  private List<T> nextChunk() {
+    List<T> chunk = new ArrayList<>(chunkSize);
+    int chunkWeight = 0;
+    if (carried != null) {
+      chunk.add(carried);
+      chunkWeight = weight.applyAsInt(carried);
+      carried = null;
+    }
+    try {
+      if (!started) {
+        started = true;
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+          throw new BadRequestException("batch body must be a JSON array");
+        }
+      }
+      while (!finished && chunkWeight < chunkSize) {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+          drain();
+        } else if (token == null || token == JsonToken.VALUE_NULL) {
+          throw new BadRequestException("batch body must be a JSON array of objects");
+        } else {
+          T item = reader.readValue(parser);
+          int itemWeight = weight.applyAsInt(item);
+          if (!chunk.isEmpty() && chunkWeight + itemWeight > chunkSize) {
+            carried = item;
+            break;
+          }
+          chunk.add(item);
+          chunkWeight += itemWeight;
+        }
+      }
+    } catch (IOException e) {
+      throw new BadRequestException("batch body is not a valid JSON array", e);
+    }
+    return chunk;
+  }
+
+  private void drain() {
+    try {
+      body.transferTo(OutputStream.nullOutputStream());
+      parser.close();
+    } catch (IOException e) {
+      throw new BadRequestException("batch body could not be read", e);
+    }
+    finished = true;
+    fingerprint = HexFormat.of().formatHex(body.getMessageDigest().digest());
+  }
+
+  private final class Chunks implements Iterator<List<T>> {
+
+    private List<T> chunk;
+
+    @Override
+    public boolean hasNext() {
+      if (chunk == null) {
+        chunk = nextChunk();
+      }
+      return !chunk.isEmpty();
+    }
+
+    @Override
+    public List<T> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      List<T> current = chunk;
+      chunk = null;
+      return current;
+    }
+  }
+}
@@ -12,6 +12,10 @@ public final class PaginationRequest {
   private Integer limit;
   @QueryParam("lastEvaluatedKey")
   private String lastEvaluatedKey;
+  @QueryParam("filter")
+  private String filter;
+  @QueryParam("page")
+  private Integer page;
 
   public int getLimit() {
     return limit == null ? 10 : limit;
@@ -30,4 +34,15 @@ public final class PaginationRequest {
       return null;
     }
   }
+
+  public PersonFilter getFilter() {
+    if (StringUtils.isEmpty(filter)) {
+      return null;
+    }
+    return PersonFilter.parse(filter);
+  }
+
+  public Integer getPage() {
+    return page;
+  }
 }
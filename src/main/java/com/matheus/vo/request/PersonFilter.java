@@ -0,0 +1,69 @@
+package com.matheus.vo.request;
+
+import java.util.Map;
+import java.util.Set;
+import javax.ws.rs.BadRequestException;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+public record PersonFilter(String attribute, Operator operator, String value) {
+
+  private static final Set<String> FILTERABLE_ATTRIBUTES = Set.of("firstName", "lastName", "cpf");
+  private static final String NAME_PLACEHOLDER = "#filterAttribute";
+  private static final String VALUE_PLACEHOLDER = ":filterValue";
+
+  public static PersonFilter parse(final String filter) {
+    String[] parts = filter.split(":", 3);
+    if (parts.length != 3 || parts[2].isEmpty()) {
+      throw new BadRequestException("filter must be formatted as attribute:operator:value");
+    }
+    if (!FILTERABLE_ATTRIBUTES.contains(parts[0])) {
+      throw new BadRequestException("filter attribute must be one of " + FILTERABLE_ATTRIBUTES);
+    }
+    return new PersonFilter(parts[0], Operator.of(parts[1]), parts[2]);
+  }
+
+  public String expression() {
+    return switch (operator) {
+      case EQ -> NAME_PLACEHOLDER + " = " + VALUE_PLACEHOLDER;
+      case BEGINS_WITH -> "begins_with(" + NAME_PLACEHOLDER + ", " + VALUE_PLACEHOLDER + ")";
+      case CONTAINS -> "contains(" + NAME_PLACEHOLDER + ", " + VALUE_PLACEHOLDER + ")";
+    };
+  }
+
+  public Map<String, String> expressionAttributeNames() {
+    return Map.of(NAME_PLACEHOLDER, attribute);
+  }
+
+  public Map<String, AttributeValue> expressionAttributeValues() {
+    return Map.of(VALUE_PLACEHOLDER, AttributeValue.builder().s(value).build());
+  }
+
+  public Expression toExpression() {
+    return Expression.builder()
+        .expression(expression())
+        .expressionNames(expressionAttributeNames())
+        .expressionValues(expressionAttributeValues())
+        .build();
+  }
+
+  @Override
+  public String toString() {
+    return attribute + ":" + operator.name().toLowerCase() + ":" + value;
+  }
+
+  public enum Operator {
+    EQ,
+    BEGINS_WITH,
+    CONTAINS;
+
+    static Operator of(final String operator) {
+      for (Operator candidate : values()) {
+        if (candidate.name().equalsIgnoreCase(operator)) {
+          return candidate;
+        }
+      }
+      throw new BadRequestException("filter operator must be one of eq, begins_with, contains");
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.matheus.vo.response;
+
+import java.time.Instant;
+
+public record BackfillJobResponse(String name, String status, int segments,
+                                  int completedSegments, long scanned, long updated, long failed,
+                                  double readUnitsPerSecond, double writeUnitsPerSecond,
+                                  Instant startedAt, Instant finishedAt) {
+
+}
@@ -0,0 +1,9 @@
+package com.matheus.vo.response;
+
+import java.time.Instant;
+
+public record BulkDeleteJobResponse(String id, String status, long total, long processed,
+                                    long failed, long remaining, double throughputPerSecond,
+                                    Instant startedAt, Instant finishedAt) {
+
+}
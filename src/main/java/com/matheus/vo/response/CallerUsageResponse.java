@@ -0,0 +1,8 @@
+package com.matheus.vo.response;
+
+public record CallerUsageResponse(String caller, String endpoint, double readUnitsPerSecond,
+                                  double writeUnitsPerSecond, double consumedReadUnits,
+                                  double consumedWriteUnits, long requests, long throttled,
+                                  long rejected) {
+
+}
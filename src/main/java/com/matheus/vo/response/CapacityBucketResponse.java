@@ -0,0 +1,8 @@
+package com.matheus.vo.response;
+
+public record CapacityBucketResponse(String table, String index, String access,
+                                     double unitsPerSecond, double availableUnits,
+                                     double estimatedUnitsPerRequest, double consumedUnits,
+                                     long requests, int queued, long waitedMillis) {
+
+}
@@ -0,0 +1,9 @@
+package com.matheus.vo.response;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record FirstNameCountResponse(Map<String, Long> counts, long total, int segments,
+                                     Instant computedAt) {
+
+}
@@ -0,0 +1,6 @@
+package com.matheus.vo.response;
+
+public record HotPartitionResponse(String table, String index, String partitionKey,
+                                   String access, long estimatedRequests, double share) {
+
+}
@@ -3,6 +3,7 @@ package com.matheus.vo.response;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -37,6 +38,11 @@ public final class PaginationResponse<T> {
         transformLastEvaluatedKey(lastEvaluatedKey));
   }
 
+  public <R> PaginationResponse<R> map(final Function<T, R> mapper) {
+    return new PaginationResponse<>(items.stream().map(mapper).toList(), size,
+        lastEvaluatedKey);
+  }
+
   private static HashMap<String, String> transformLastEvaluatedKey(
       final Map<String, AttributeValue> lastEvaluatedKey) {
     HashMap<String, String> keys = new HashMap<>();
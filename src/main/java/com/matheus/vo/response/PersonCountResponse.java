@@ -0,0 +1,7 @@
+package com.matheus.vo.response;
+
+import java.time.Instant;
+
+public record PersonCountResponse(long count, int segments, Instant computedAt) {
+
+}
@@ -0,0 +1,12 @@
+package com.matheus.vo.response;
+
+public record PurgeResponse(long deleted, long failed) {
+
+  public static PurgeResponse empty() {
+    return new PurgeResponse(0, 0);
+  }
+
+  public PurgeResponse plus(final PurgeResponse other) {
+    return new PurgeResponse(deleted + other.deleted, failed + other.failed);
+  }
+}
@@ -0,0 +1,5 @@
+package com.matheus.vo.response;
+
+public record ReconcileResponse(long received, long inserted, long updated, long unchanged,
+    long deleted, long failed) {
+}
@@ -0,0 +1,5 @@
+package com.matheus.vo.response;
+
+public record ShardMigrationResponse(String firstName, long moved, long skipped) {
+
+}
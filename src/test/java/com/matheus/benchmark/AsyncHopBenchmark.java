@@ -0,0 +1,149 @@
+package com.matheus.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.service.PersonAsyncService;
+import com.sun.management.OperatingSystemMXBean;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+
+@Tag("benchmark")
+abstract class AsyncHopBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(AsyncHopBenchmark.class);
+  private static final int RATE = Integer.getInteger("benchmark.rate", 10_000);
+  private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+  private static final int WARMUP_SECONDS = 2;
+  private static final int CONTEXTS = 4;
+
+  @Inject
+  DynamoDbClient dynamoDbClient;
+
+  @Inject
+  PersonAsyncService personAsyncService;
+
+  @Inject
+  Vertx vertx;
+
+  @BeforeEach
+  void setUp() {
+    dynamoDbClient.createTable(CreateTableRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .attributeDefinitions(
+            AttributeDefinition.builder().attributeName("firstName").attributeType("S").build(),
+            AttributeDefinition.builder().attributeName("lastName").attributeType("S").build())
+        .keySchema(
+            KeySchemaElement.builder().attributeName("firstName").keyType(KeyType.HASH).build(),
+            KeySchemaElement.builder().attributeName("lastName").keyType(KeyType.RANGE).build())
+        .billingMode(BillingMode.PAY_PER_REQUEST)
+        .build());
+    personAsyncService.add(Person.of("hop", "benchmark", "86679311031")).await().indefinitely();
+  }
+
+  @AfterEach
+  void tearDown() {
+    dynamoDbClient.deleteTable(DeleteTableRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .build());
+  }
+
+  @Test
+  @DisplayName("Should measure async get latency, thread hops and CPU at a fixed request rate")
+  void shouldMeasureAsyncGetAtFixedRate() throws InterruptedException {
+    List<Context> contexts = IntStream.range(0, CONTEXTS)
+        .mapToObj(index -> vertx.getOrCreateContext())
+        .toList();
+    run(contexts, WARMUP_SECONDS);
+
+    OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory
+        .getOperatingSystemMXBean();
+    long cpuBefore = os.getProcessCpuTime();
+    Run run = run(contexts, SECONDS);
+    long cpuNanos = os.getProcessCpuTime() - cpuBefore;
+
+    LOG.infof("%s: %d req at %d/s p50=%dus p99=%dus hops=%.1f%% cpu=%.2fms/1k req failed=%d",
+        getClass().getSimpleName(), run.latencies.length, RATE,
+        percentile(run.latencies, 0.50), percentile(run.latencies, 0.99),
+        100.0 * run.hops / run.latencies.length,
+        cpuNanos / 1_000_000.0 / (run.latencies.length / 1_000.0), run.failed);
+    assertAll(
+        () -> assertTrue(run.completed),
+        () -> assertEquals(RATE * SECONDS, run.latencies.length));
+  }
+
+  private Run run(final List<Context> contexts, final int seconds)
+      throws InterruptedException {
+    int requests = RATE * seconds;
+    int perMillisecond = Math.max(1, RATE / 1_000);
+    long[] latencies = new long[requests];
+    AtomicInteger sent = new AtomicInteger();
+    AtomicInteger hops = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(requests);
+    ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+    ticker.scheduleAtFixedRate(() -> {
+      for (int burst = 0; burst < perMillisecond; burst++) {
+        int request = sent.getAndIncrement();
+        if (request >= requests) {
+          return;
+        }
+        contexts.get(request % contexts.size()).runOnContext(ignored -> {
+          Thread caller = Thread.currentThread();
+          long started = System.nanoTime();
+          personAsyncService.findByFirstNameAndLastName("hop", "benchmark")
+              .subscribe()
+              .with(person -> {
+                latencies[request] = (System.nanoTime() - started) / 1_000;
+                if (Thread.currentThread() != caller) {
+                  hops.incrementAndGet();
+                }
+                done.countDown();
+              }, failure -> {
+                latencies[request] = (System.nanoTime() - started) / 1_000;
+                failed.incrementAndGet();
+                done.countDown();
+              });
+        });
+      }
+    }, 0, 1, TimeUnit.MILLISECONDS);
+    boolean completed = done.await(seconds + 60L, TimeUnit.SECONDS);
+    ticker.shutdownNow();
+    return new Run(latencies, hops.get(), failed.get(), completed);
+  }
+
+  private static long percentile(final long[] samples, final double percentile) {
+    long[] sorted = samples.clone();
+    Arrays.sort(sorted);
+    return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+  }
+
+  private record Run(long[] latencies, int hops, int failed, boolean completed) {
+  }
+}
@@ -0,0 +1,76 @@
+package com.matheus.benchmark;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+@Tag("benchmark")
+abstract class DeploymentFootprintBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(DeploymentFootprintBenchmark.class);
+  private static final Map<String, String> FAMILIES = new LinkedHashMap<>();
+
+  static {
+    FAMILIES.put("sync", "/sync/person");
+    FAMILIES.put("async", "/async/person");
+    FAMILIES.put("enhanced", "/sync/enhanced/person");
+    FAMILIES.put("enhanced-async", "/async/enhanced/person");
+  }
+
+  @Test
+  @DisplayName("Should measure RSS and threads with only the enabled resource families")
+  void shouldMeasureFootprintOfEnabledFamilies() throws IOException {
+    Stream<Executable> routes = FAMILIES.entrySet().stream()
+        .map(family -> {
+          int status = given().get(family.getValue()).statusCode();
+          return enabled(family.getKey())
+              ? () -> assertNotEquals(404, status, family.getValue())
+              : () -> assertEquals(404, status, family.getValue());
+        });
+    assertAll(routes.toList());
+
+    System.gc();
+    Runtime runtime = Runtime.getRuntime();
+    LOG.infof("%s: families=%s uptime=%dms rss=%dkB heap=%dkB threads=%d classes=%d",
+        getClass().getSimpleName(),
+        FAMILIES.keySet().stream().filter(DeploymentFootprintBenchmark::enabled).toList(),
+        ManagementFactory.getRuntimeMXBean().getUptime(), residentKilobytes(),
+        (runtime.totalMemory() - runtime.freeMemory()) / 1024,
+        ManagementFactory.getThreadMXBean().getThreadCount(),
+        ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+  }
+
+  private static boolean enabled(final String family) {
+    return ConfigProvider.getConfig()
+        .getOptionalValue("person.deployment." + family, Boolean.class)
+        .orElse(true);
+  }
+
+  private static long residentKilobytes() throws IOException {
+    Path status = Path.of("/proc/self/status");
+    if (!Files.exists(status)) {
+      return -1;
+    }
+    try (Stream<String> lines = Files.lines(status)) {
+      return lines.filter(line -> line.startsWith("VmRSS:"))
+          .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+          .findFirst()
+          .orElse(-1L);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.matheus.benchmark;
+
+import com.matheus.component.resources.DynamoDbResourceTest;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+
+@QuarkusTest
+@TestProfile(EnhancedAsyncOnlyFootprintBenchmark.EnhancedAsyncOnly.class)
+@QuarkusTestResource(DynamoDbResourceTest.class)
+class EnhancedAsyncOnlyFootprintBenchmark extends DeploymentFootprintBenchmark {
+
+  public static class EnhancedAsyncOnly implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "person.deployment.sync", "false",
+          "person.deployment.async", "false",
+          "person.deployment.enhanced", "false");
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.matheus.benchmark;
+
+import com.matheus.component.resources.DynamoDbResourceTest;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+
+@QuarkusTest
+@TestProfile(EnhancedOnlyFootprintBenchmark.EnhancedOnly.class)
+@QuarkusTestResource(DynamoDbResourceTest.class)
+class EnhancedOnlyFootprintBenchmark extends DeploymentFootprintBenchmark {
+
+  public static class EnhancedOnly implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "person.deployment.sync", "false",
+          "person.deployment.async", "false",
+          "person.deployment.enhanced-async", "false");
+    }
+  }
+}
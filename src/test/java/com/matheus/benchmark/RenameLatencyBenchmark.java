@@ -0,0 +1,134 @@
+package com.matheus.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.matheus.component.resources.DynamoDbResourceTest;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.service.PersonService;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.Arrays;
+import java.util.List;
+import javax.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+
+@Tag("benchmark")
+@QuarkusTest
+@QuarkusTestResource(DynamoDbResourceTest.class)
+class RenameLatencyBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(RenameLatencyBenchmark.class);
+  private static final int WARMUP = 50;
+  private static final int ITERATIONS = 500;
+
+  @Inject
+  DynamoDbClient dynamoDbClient;
+
+  @Inject
+  PersonService personService;
+
+  @BeforeEach
+  void setUp() {
+    dynamoDbClient.createTable(CreateTableRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .attributeDefinitions(
+            AttributeDefinition.builder().attributeName("firstName").attributeType("S").build(),
+            AttributeDefinition.builder().attributeName("lastName").attributeType("S").build())
+        .keySchema(
+            KeySchemaElement.builder().attributeName("firstName").keyType(KeyType.HASH).build(),
+            KeySchemaElement.builder().attributeName("lastName").keyType(KeyType.RANGE).build())
+        .billingMode(BillingMode.PAY_PER_REQUEST)
+        .build());
+  }
+
+  @AfterEach
+  void tearDown() {
+    dynamoDbClient.deleteTable(DeleteTableRequest.builder()
+        .tableName(PersonItem.TABLE_NAME)
+        .build());
+  }
+
+  @Test
+  @DisplayName("Should compare rename p99 latency against delete followed by add")
+  void shouldCompareRenameLatencyAgainstDeleteAndAdd() {
+    personService.add(Person.of("transact", "0", "86679311031"));
+    personService.add(Person.of("twoCalls", "0", "86679311031"));
+
+    measure("transact", (from, to) -> personService.rename("transact", from,
+        Person.of("transact", to, "86679311031")), WARMUP);
+    measure("twoCalls", (from, to) -> {
+      personService.delete("twoCalls", from);
+      personService.add(Person.of("twoCalls", to, "86679311031"));
+    }, WARMUP);
+    long[] transact = measure("transact", (from, to) -> personService.rename("transact", from,
+        Person.of("transact", to, "86679311031")), ITERATIONS);
+    long[] twoCalls = measure("twoCalls", (from, to) -> {
+      personService.delete("twoCalls", from);
+      personService.add(Person.of("twoCalls", to, "86679311031"));
+    }, ITERATIONS);
+
+    LOG.infof("rename p50=%dus p99=%dus | delete+add p50=%dus p99=%dus",
+        percentile(transact, 0.50), percentile(transact, 0.99),
+        percentile(twoCalls, 0.50), percentile(twoCalls, 0.99));
+
+    List<String> remaining = dynamoDbClient.scan(
+            ScanRequest.builder().tableName(PersonItem.TABLE_NAME).build())
+        .items().stream()
+        .map(item -> item.get("firstName").s())
+        .sorted()
+        .toList();
+    assertAll(
+        () -> assertEquals(List.of("transact", "twoCalls"), remaining),
+        () -> assertEquals(ITERATIONS, transact.length),
+        () -> assertEquals(ITERATIONS, twoCalls.length));
+  }
+
+  private long[] measure(final String firstName, final Rename rename, final int iterations) {
+    String current = lastNameOf(firstName);
+    long[] micros = new long[iterations];
+    for (int iteration = 0; iteration < iterations; iteration++) {
+      String next = String.valueOf(Integer.parseInt(current) + 1);
+      long started = System.nanoTime();
+      rename.apply(current, next);
+      micros[iteration] = (System.nanoTime() - started) / 1_000;
+      current = next;
+    }
+    return micros;
+  }
+
+  private String lastNameOf(final String firstName) {
+    return dynamoDbClient.scan(ScanRequest.builder().tableName(PersonItem.TABLE_NAME).build())
+        .items().stream()
+        .filter(item -> item.get("firstName").s().equals(firstName))
+        .map(item -> item.get("lastName").s())
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static long percentile(final long[] samples, final double percentile) {
+    long[] sorted = samples.clone();
+    Arrays.sort(sorted);
+    return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+  }
+
+  @FunctionalInterface
+  private interface Rename {
+
+    void apply(String from, String to);
+  }
+}
@@ -0,0 +1,10 @@
+package com.matheus.benchmark;
+
+import com.matheus.component.resources.DynamoDbResourceTest;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+@QuarkusTestResource(DynamoDbResourceTest.class)
+class SdkExecutorHopBenchmark extends AsyncHopBenchmark {
+}
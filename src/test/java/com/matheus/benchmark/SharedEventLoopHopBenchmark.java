@@ -0,0 +1,24 @@
+package com.matheus.benchmark;
+
+import com.matheus.component.resources.DynamoDbResourceTest;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+
+@QuarkusTest
+@TestProfile(SharedEventLoopHopBenchmark.SharedEventLoop.class)
+@QuarkusTestResource(DynamoDbResourceTest.class)
+class SharedEventLoopHopBenchmark extends AsyncHopBenchmark {
+
+  public static class SharedEventLoop implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "person.async.shared-event-loop", "true",
+          "person.async.complete-on-caller-context", "true");
+    }
+  }
+}
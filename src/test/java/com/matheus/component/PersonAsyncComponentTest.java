@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.matheus.component.resources.DynamoDbResourceTest;
 import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
 import com.matheus.vo.request.DeletePeopleBatch;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
@@ -95,8 +96,8 @@ class PersonAsyncComponentTest {
   @DisplayName("Should delete person successfully")
   void shouldDeletePersonSuccessfully() {
     PutItemRequest putItemRequest = PutItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .item(Person.of("firstNameTest", "lastNameTest", "cpfTest").toDynamodbAttributes())
+        .tableName(PersonItem.TABLE_NAME)
+        .item(PersonItem.write(Person.of("firstNameTest", "lastNameTest", "cpfTest")))
         .build();
 
     dynamoDbClient.putItem(putItemRequest);
@@ -116,8 +117,8 @@ class PersonAsyncComponentTest {
   @DisplayName("Should update person successfully")
   void shouldUpdateSuccessfully() {
     PutItemRequest putItemRequest = PutItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .item(Person.of("firstNameTest", "lastNameTest", "cpfTest").toDynamodbAttributes())
+        .tableName(PersonItem.TABLE_NAME)
+        .item(PersonItem.write(Person.of("firstNameTest", "lastNameTest", "cpfTest")))
         .build();
 
     dynamoDbClient.putItem(putItemRequest);
@@ -200,7 +201,7 @@ class PersonAsyncComponentTest {
   private void createPersonTable() {
 
     CreateTableRequest createTableRequest = CreateTableRequest.builder()
-        .tableName(Person.TABLE_NAME)
+        .tableName(PersonItem.TABLE_NAME)
         .attributeDefinitions(getAttributeDefinitions())
         .keySchema(getKeys())
         .globalSecondaryIndexes(getGlobalSecondaryIndex())
@@ -267,30 +268,30 @@ class PersonAsyncComponentTest {
 
   private void deletePersonTable() {
     DeleteTableRequest deleteTableRequest = DeleteTableRequest.builder()
-        .tableName(Person.TABLE_NAME)
+        .tableName(PersonItem.TABLE_NAME)
         .build();
     dynamoDbClient.deleteTable(deleteTableRequest);
   }
 
   private void insertPersonsDataBase() {
     PutRequest person1PutRequest = PutRequest.builder()
-        .item(Person.of("Person1", "lastNameTest", "86679311031").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person1", "lastNameTest", "86679311031")))
         .build();
 
     PutRequest person2PutRequest = PutRequest.builder()
-        .item(Person.of("Person2", "lastNameTest", "86679311032").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person2", "lastNameTest", "86679311032")))
         .build();
 
     PutRequest person3PutRequest = PutRequest.builder()
-        .item(Person.of("Person3", "lastNameTest", "86679311033").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person3", "lastNameTest", "86679311033")))
         .build();
 
     PutRequest person4PutRequest = PutRequest.builder()
-        .item(Person.of("Person4", "lastNameTest", "86679311034").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person4", "lastNameTest", "86679311034")))
         .build();
 
     PutRequest person5PutRequest = PutRequest.builder()
-        .item(Person.of("Person5", "lastNameTest", "86679311035").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person5", "lastNameTest", "86679311035")))
         .build();
 
     WriteRequest person1WriteRequest = WriteRequest.builder()
@@ -314,7 +315,7 @@ class PersonAsyncComponentTest {
         .build();
 
     BatchWriteItemRequest batchWriteItemRequest = BatchWriteItemRequest.builder()
-        .requestItems(Map.of(Person.TABLE_NAME,
+        .requestItems(Map.of(PersonItem.TABLE_NAME,
             List.of(person1WriteRequest, person2WriteRequest, person3WriteRequest,
                 person4WriteRequest, person5WriteRequest)))
         .build();
@@ -324,20 +325,20 @@ class PersonAsyncComponentTest {
 
   private List<Person> getPeople() {
     return dynamoDbClient.scan(
-            scanRequest -> scanRequest.tableName(Person.TABLE_NAME)).items().stream()
-        .map(Person::from)
+            scanRequest -> scanRequest.tableName(PersonItem.TABLE_NAME)).items().stream()
+        .map(PersonItem::read)
         .toList();
   }
 
   private Person getPerson1() {
     GetItemRequest getItemRequest = GetItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
+        .tableName(PersonItem.TABLE_NAME)
         .key(Map.of(
-            Person.FIRST_NAME_COLUMN, AttributeValue.builder().s("Person1").build(),
-            Person.LAST_NAME_COLUMN, AttributeValue.builder().s("lastNameTest").build()))
+            PersonItem.FIRST_NAME, AttributeValue.builder().s("Person1").build(),
+            PersonItem.LAST_NAME, AttributeValue.builder().s("lastNameTest").build()))
         .build();
 
-    return Person.from(dynamoDbClient.getItem(getItemRequest).item());
+    return PersonItem.read(dynamoDbClient.getItem(getItemRequest).item());
   }
 
 }
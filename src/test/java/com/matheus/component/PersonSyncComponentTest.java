@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.matheus.component.resources.DynamoDbResourceTest;
 import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
 import com.matheus.vo.request.DeletePeopleBatch;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
@@ -96,8 +97,8 @@ class PersonSyncComponentTest {
   @DisplayName("Should delete person successfully")
   void shouldDeletePersonSuccessfully() {
     PutItemRequest putItemRequest = PutItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .item(Person.of("firstNameTest", "lastNameTest", "cpfTest").toDynamodbAttributes())
+        .tableName(PersonItem.TABLE_NAME)
+        .item(PersonItem.write(Person.of("firstNameTest", "lastNameTest", "cpfTest")))
         .build();
 
     dynamoDbClient.putItem(putItemRequest);
@@ -117,8 +118,8 @@ class PersonSyncComponentTest {
   @DisplayName("Should update person successfully")
   void shouldUpdateSuccessfully() {
     PutItemRequest putItemRequest = PutItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
-        .item(Person.of("firstNameTest", "lastNameTest", "cpfTest").toDynamodbAttributes())
+        .tableName(PersonItem.TABLE_NAME)
+        .item(PersonItem.write(Person.of("firstNameTest", "lastNameTest", "cpfTest")))
         .build();
 
     dynamoDbClient.putItem(putItemRequest);
@@ -201,7 +202,7 @@ class PersonSyncComponentTest {
   private void createPersonTable() {
 
     CreateTableRequest createTableRequest = CreateTableRequest.builder()
-        .tableName(Person.TABLE_NAME)
+        .tableName(PersonItem.TABLE_NAME)
         .attributeDefinitions(getAttributeDefinitions())
         .keySchema(getKeys())
         .globalSecondaryIndexes(getGlobalSecondaryIndex())
@@ -268,30 +269,30 @@ class PersonSyncComponentTest {
 
   private void deletePersonTable() {
     DeleteTableRequest deleteTableRequest = DeleteTableRequest.builder()
-        .tableName(Person.TABLE_NAME)
+        .tableName(PersonItem.TABLE_NAME)
         .build();
     dynamoDbClient.deleteTable(deleteTableRequest);
   }
 
   private void insertPersonsDataBase() {
     PutRequest person1PutRequest = PutRequest.builder()
-        .item(Person.of("Person1", "lastNameTest", "86679311031").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person1", "lastNameTest", "86679311031")))
         .build();
 
     PutRequest person2PutRequest = PutRequest.builder()
-        .item(Person.of("Person2", "lastNameTest", "86679311032").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person2", "lastNameTest", "86679311032")))
         .build();
 
     PutRequest person3PutRequest = PutRequest.builder()
-        .item(Person.of("Person3", "lastNameTest", "86679311033").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person3", "lastNameTest", "86679311033")))
         .build();
 
     PutRequest person4PutRequest = PutRequest.builder()
-        .item(Person.of("Person4", "lastNameTest", "86679311034").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person4", "lastNameTest", "86679311034")))
         .build();
 
     PutRequest person5PutRequest = PutRequest.builder()
-        .item(Person.of("Person5", "lastNameTest", "86679311035").toDynamodbAttributes())
+        .item(PersonItem.write(Person.of("Person5", "lastNameTest", "86679311035")))
         .build();
 
     WriteRequest person1WriteRequest = WriteRequest.builder()
@@ -315,7 +316,7 @@ class PersonSyncComponentTest {
         .build();
 
     BatchWriteItemRequest batchWriteItemRequest = BatchWriteItemRequest.builder()
-        .requestItems(Map.of(Person.TABLE_NAME,
+        .requestItems(Map.of(PersonItem.TABLE_NAME,
             List.of(person1WriteRequest, person2WriteRequest, person3WriteRequest,
                 person4WriteRequest, person5WriteRequest)))
         .build();
@@ -325,19 +326,19 @@ class PersonSyncComponentTest {
 
   private List<Person> getPeople() {
     return dynamoDbClient.scan(
-            scanRequest -> scanRequest.tableName(Person.TABLE_NAME)).items().stream()
-        .map(Person::from)
+            scanRequest -> scanRequest.tableName(PersonItem.TABLE_NAME)).items().stream()
+        .map(PersonItem::read)
         .toList();
   }
 
   private Person getPerson1() {
     GetItemRequest getItemRequest = GetItemRequest.builder()
-        .tableName(Person.TABLE_NAME)
+        .tableName(PersonItem.TABLE_NAME)
         .key(Map.of(
-            Person.FIRST_NAME_COLUMN, AttributeValue.builder().s("Person1").build(),
-            Person.LAST_NAME_COLUMN, AttributeValue.builder().s("lastNameTest").build()))
+            PersonItem.FIRST_NAME, AttributeValue.builder().s("Person1").build(),
+            PersonItem.LAST_NAME, AttributeValue.builder().s("lastNameTest").build()))
         .build();
 
-    return Person.from(dynamoDbClient.getItem(getItemRequest).item());
+    return PersonItem.read(dynamoDbClient.getItem(getItemRequest).item());
   }
 }
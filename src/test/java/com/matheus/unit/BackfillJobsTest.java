@@ -0,0 +1,219 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.service.BackfillJobs;
+import com.matheus.service.NormalizedCpfBackfill;
+import com.matheus.vo.response.BackfillJobResponse;
+import io.quarkus.test.junit.QuarkusTest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputDescription;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TableDescription;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+@QuarkusTest
+class BackfillJobsTest {
+
+  private static final DynamoDbCallExecutor EXECUTOR = TestExecutors.passThrough();
+
+  @TempDir
+  Path checkpoints;
+
+  @Test
+  @DisplayName("Should resume a failed backfill from its segment checkpoints")
+  void shouldResumeFailedBackfillFromSegmentCheckpoints() throws InterruptedException {
+    FakeTableClient client = new FakeTableClient(20);
+    BackfillJobs backfillJobs = new BackfillJobs(client, EXECUTOR, 1.0, 1000, 3,
+        checkpoints.toString());
+    NormalizedCpfBackfill transformation = new NormalizedCpfBackfill();
+
+    client.failingSegment = 0;
+    backfillJobs.start(transformation, 2);
+    BackfillJobResponse failed = awaitFinished(backfillJobs, transformation.name());
+    boolean checkpointed = Files.exists(checkpoints.resolve("normalized-cpf.properties"));
+    client.failingSegment = -1;
+    startWhenDrained(backfillJobs, transformation, 2);
+    BackfillJobResponse completed = awaitFinished(backfillJobs, transformation.name());
+
+    assertAll(
+        () -> assertEquals("FAILED", failed.status()),
+        () -> assertTrue(checkpointed),
+        () -> assertEquals("COMPLETED", completed.status()),
+        () -> assertEquals(2, completed.completedSegments()),
+        () -> assertEquals(20, client.updates.size()),
+        () -> assertTrue(client.updates.values().stream().allMatch(count -> count.get() == 1)),
+        () -> assertEquals(1, client.firstPageScans.get(0).get()),
+        () -> assertEquals("86679311000", client.person0Digits),
+        () -> assertEquals(1000, completed.writeUnitsPerSecond()),
+        () -> assertFalse(Files.exists(checkpoints.resolve("normalized-cpf.properties"))));
+  }
+
+  @Test
+  @DisplayName("Should reject a restart while the previous run is still draining")
+  void shouldRejectRestartWhileThePreviousRunIsStillDraining() throws InterruptedException {
+    FakeTableClient client = new FakeTableClient(20);
+    client.scanGate = new CountDownLatch(1);
+    BackfillJobs backfillJobs = new BackfillJobs(client, EXECUTOR, 1.0, 1000, 3,
+        checkpoints.toString());
+    NormalizedCpfBackfill transformation = new NormalizedCpfBackfill();
+
+    backfillJobs.start(transformation, 2);
+    backfillJobs.stop(transformation.name());
+    long startedAt = System.nanoTime();
+    ClientErrorException draining = assertThrows(ClientErrorException.class,
+        () -> backfillJobs.start(transformation, 2));
+    long rejectedAfterMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    client.scanGate.countDown();
+    startWhenDrained(backfillJobs, transformation, 2);
+    BackfillJobResponse completed = awaitFinished(backfillJobs, transformation.name());
+    Path checkpoint = checkpoints.resolve("normalized-cpf.properties");
+    for (int attempt = 0; attempt < 100 && Files.exists(checkpoint); attempt++) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+
+    assertAll(
+        () -> assertEquals(409, draining.getResponse().getStatus()),
+        () -> assertTrue(rejectedAfterMillis < 1000),
+        () -> assertEquals("COMPLETED", completed.status()),
+        () -> assertFalse(Files.exists(checkpoint)),
+        () -> assertThrows(BadRequestException.class,
+            () -> backfillJobs.start(transformation, 0)));
+  }
+
+  private static BackfillJobResponse startWhenDrained(final BackfillJobs backfillJobs,
+      final NormalizedCpfBackfill transformation, final int segments)
+      throws InterruptedException {
+    for (int attempt = 0; attempt < 200; attempt++) {
+      try {
+        return backfillJobs.start(transformation, segments);
+      } catch (ClientErrorException e) {
+        TimeUnit.MILLISECONDS.sleep(10);
+      }
+    }
+    return backfillJobs.start(transformation, segments);
+  }
+
+  private static BackfillJobResponse awaitFinished(final BackfillJobs backfillJobs,
+      final String name) throws InterruptedException {
+    for (int attempt = 0; attempt < 200; attempt++) {
+      BackfillJobResponse response = backfillJobs.status(name).orElseThrow();
+      if (!response.status().equals("RUNNING")) {
+        return response;
+      }
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    return backfillJobs.status(name).orElseThrow();
+  }
+
+  private static final class FakeTableClient implements DynamoDbClient {
+
+    private final List<Map<String, AttributeValue>> items;
+    private final Map<String, AtomicInteger> updates = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> firstPageScans = new ConcurrentHashMap<>();
+    private volatile int failingSegment = -1;
+    private volatile CountDownLatch scanGate = new CountDownLatch(0);
+    private volatile String person0Digits;
+
+    private FakeTableClient(final int size) {
+      this.items = IntStream.range(0, size)
+          .mapToObj(index -> PersonItem.write(Person.of("Person" + index, "lastNameTest",
+              String.format("866.793.110-%02d", index))))
+          .toList();
+    }
+
+    @Override
+    public DescribeTableResponse describeTable(final DescribeTableRequest request) {
+      return DescribeTableResponse.builder()
+          .table(TableDescription.builder()
+              .provisionedThroughput(ProvisionedThroughputDescription.builder()
+                  .readCapacityUnits(1000L)
+                  .writeCapacityUnits(1000L)
+                  .build())
+              .build())
+          .build();
+    }
+
+    @Override
+    public ScanResponse scan(final ScanRequest request) {
+      try {
+        scanGate.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      List<Map<String, AttributeValue>> segment = IntStream.range(0, items.size())
+          .filter(index -> index % request.totalSegments() == request.segment())
+          .mapToObj(items::get)
+          .toList();
+      int start = 0;
+      if (request.hasExclusiveStartKey()) {
+        String firstName = request.exclusiveStartKey().get(PersonItem.FIRST_NAME).s();
+        while (!segment.get(start).get(PersonItem.FIRST_NAME).s().equals(firstName)) {
+          start++;
+        }
+        start++;
+        if (request.segment() == failingSegment) {
+          throw new IllegalStateException("segment unavailable");
+        }
+      } else {
+        firstPageScans.computeIfAbsent(request.segment(), key -> new AtomicInteger())
+            .incrementAndGet();
+      }
+      List<Map<String, AttributeValue>> page = segment.subList(start,
+          Math.min(start + request.limit(), segment.size()));
+      ScanResponse.Builder response = ScanResponse.builder().items(page);
+      if (start + page.size() < segment.size()) {
+        Map<String, AttributeValue> last = page.get(page.size() - 1);
+        response.lastEvaluatedKey(Map.of(
+            PersonItem.FIRST_NAME, last.get(PersonItem.FIRST_NAME),
+            PersonItem.LAST_NAME, last.get(PersonItem.LAST_NAME)));
+      }
+      return response.build();
+    }
+
+    @Override
+    public UpdateItemResponse updateItem(final UpdateItemRequest request) {
+      updates.computeIfAbsent(request.key().get(PersonItem.FIRST_NAME).s(),
+          key -> new AtomicInteger()).incrementAndGet();
+      if (request.key().get(PersonItem.FIRST_NAME).s().equals("Person0")) {
+        person0Digits = request.expressionAttributeValues().values().iterator().next().s();
+      }
+      return UpdateItemResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+      return "dynamodb";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.service.BulkDeleteJobs;
+import com.matheus.service.ShardedKeys;
+import com.matheus.vo.request.DeletePeopleBatch;
+import com.matheus.vo.response.BulkDeleteJobResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.ws.rs.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+@QuarkusTest
+class BulkDeleteJobsTest {
+
+  private static final DynamoDbCallExecutor EXECUTOR = TestExecutors.passThrough();
+
+  @Test
+  @DisplayName("Should delete in chunks and resubmit unprocessed items")
+  void shouldDeleteInChunksAndResubmitUnprocessedItems() throws InterruptedException {
+    FakeBatchClient client = new FakeBatchClient(new CountDownLatch(0));
+    BulkDeleteJobs bulkDeleteJobs = bulkDeleteJobs(client, 2);
+
+    BulkDeleteJobResponse submitted = bulkDeleteJobs.submit(people(30));
+    BulkDeleteJobResponse finished = awaitStatus(bulkDeleteJobs, submitted.id(), "COMPLETED");
+
+    assertAll(
+        () -> assertEquals(30, submitted.total()),
+        () -> assertEquals(30, finished.processed()),
+        () -> assertEquals(0, finished.failed()),
+        () -> assertEquals(0, finished.remaining()),
+        () -> assertEquals(3, client.calls.get()),
+        () -> assertEquals(25, client.largestBatch.get()));
+  }
+
+  @Test
+  @DisplayName("Should stop scheduling chunks once a job is cancelled")
+  void shouldStopSchedulingChunksOnceJobIsCancelled() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    FakeBatchClient client = new FakeBatchClient(release);
+    BulkDeleteJobs bulkDeleteJobs = bulkDeleteJobs(client, 1);
+
+    BulkDeleteJobResponse submitted = bulkDeleteJobs.submit(people(100));
+    Optional<BulkDeleteJobResponse> cancelled = bulkDeleteJobs.cancel(submitted.id());
+    release.countDown();
+    TimeUnit.MILLISECONDS.sleep(200);
+    BulkDeleteJobResponse status = bulkDeleteJobs.status(submitted.id()).orElseThrow();
+
+    assertAll(
+        () -> assertEquals("CANCELLED", cancelled.orElseThrow().status()),
+        () -> assertEquals("CANCELLED", status.status()),
+        () -> assertTrue(client.calls.get() <= 2),
+        () -> assertTrue(status.remaining() >= 50),
+        () -> assertTrue(bulkDeleteJobs.status("unknown").isEmpty()));
+  }
+
+  @Test
+  @DisplayName("Should keep running jobs and start retention when they finish")
+  void shouldKeepRunningJobsAndStartRetentionWhenTheyFinish() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    BulkDeleteJobs bulkDeleteJobs = bulkDeleteJobs(new FakeBatchClient(release), 1, 1,
+        Duration.ofMillis(250));
+
+    BulkDeleteJobResponse submitted = bulkDeleteJobs.submit(people(10));
+    TimeUnit.MILLISECONDS.sleep(400);
+    Optional<BulkDeleteJobResponse> running = bulkDeleteJobs.status(submitted.id());
+    assertThrows(ServiceUnavailableException.class, () -> bulkDeleteJobs.submit(people(10)));
+    release.countDown();
+    BulkDeleteJobResponse finished = awaitStatus(bulkDeleteJobs, submitted.id(), "COMPLETED");
+    TimeUnit.MILLISECONDS.sleep(400);
+
+    assertAll(
+        () -> assertEquals("RUNNING", running.orElseThrow().status()),
+        () -> assertEquals("COMPLETED", finished.status()),
+        () -> assertTrue(bulkDeleteJobs.status(submitted.id()).isEmpty()));
+  }
+
+  private static BulkDeleteJobs bulkDeleteJobs(final DynamoDbClient client, final int threads) {
+    return bulkDeleteJobs(client, threads, 16, Duration.ofMinutes(1));
+  }
+
+  private static BulkDeleteJobs bulkDeleteJobs(final DynamoDbClient client, final int threads,
+      final int maxJobs, final Duration retention) {
+    return new BulkDeleteJobs(client, EXECUTOR, new ShardedKeys(Optional.empty(), 4, 2), threads,
+        16, maxJobs, retention, new SimpleMeterRegistry());
+  }
+
+  private static List<DeletePeopleBatch> people(final int count) {
+    return IntStream.range(0, count)
+        .mapToObj(index -> new DeletePeopleBatch("Person" + index, "lastNameTest"))
+        .toList();
+  }
+
+  private static BulkDeleteJobResponse awaitStatus(final BulkDeleteJobs bulkDeleteJobs,
+      final String id, final String status) throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      BulkDeleteJobResponse response = bulkDeleteJobs.status(id).orElseThrow();
+      if (response.status().equals(status)) {
+        return response;
+      }
+      TimeUnit.MILLISECONDS.sleep(20);
+    }
+    return bulkDeleteJobs.status(id).orElseThrow();
+  }
+
+  private static final class FakeBatchClient implements DynamoDbClient {
+
+    private final CountDownLatch release;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+
+    private FakeBatchClient(final CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public BatchWriteItemResponse batchWriteItem(final BatchWriteItemRequest request) {
+      int call = calls.incrementAndGet();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      List<WriteRequest> writes = request.requestItems().get(PersonItem.TABLE_NAME);
+      largestBatch.accumulateAndGet(writes.size(), Math::max);
+      return BatchWriteItemResponse.builder()
+          .unprocessedItems(call == 1
+              ? Map.of(PersonItem.TABLE_NAME, writes.subList(0, 1))
+              : Map.of())
+          .build();
+    }
+
+    @Override
+    public String serviceName() {
+      return "dynamodb";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.dynamodb.CallerContext;
+import com.matheus.dynamodb.CallerQuotas;
+import com.matheus.dynamodb.CallerQuotas.Admission;
+import com.matheus.dynamodb.ConsumedCapacityInterceptor;
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import com.matheus.vo.response.CallerUsageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+
+@QuarkusTest
+class CallerQuotasTest {
+
+  @Test
+  @DisplayName("Should record consumed capacity against the caller and endpoint of a request")
+  void shouldRecordConsumedCapacityAgainstCaller() {
+    CallerQuotas quotas = quotas(false, Duration.ofSeconds(1), List.of());
+    CallerContext callerContext = new CallerContext(quotas);
+    callerContext.identify("billing", "PersonResource.save");
+    ConsumedCapacityInterceptor interceptor =
+        new ConsumedCapacityInterceptor(() -> null, () -> callerContext);
+
+    quotas.admit("billing", "PersonResource.save", Access.WRITE);
+    put(interceptor);
+    put(interceptor);
+
+    CallerUsageResponse usage = quotas.snapshot().get(0);
+    assertAll(
+        () -> assertEquals(1, quotas.snapshot().size()),
+        () -> assertEquals("billing", usage.caller()),
+        () -> assertEquals("PersonResource.save", usage.endpoint()),
+        () -> assertEquals(4, usage.consumedWriteUnits()),
+        () -> assertEquals(0, usage.consumedReadUnits()),
+        () -> assertEquals(1, usage.requests()),
+        () -> assertEquals(5, usage.writeUnitsPerSecond()));
+  }
+
+  @Test
+  @DisplayName("Should reject callers in debt and leave other callers and access types alone")
+  void shouldRejectCallersInDebt() {
+    CallerQuotas quotas = quotas(false, Duration.ofSeconds(1), List.of());
+
+    quotas.record("billing", "PersonResource.save", Access.WRITE, 50);
+    Admission rejected = quotas.admit("billing", "PersonResource.save", Access.WRITE);
+
+    assertAll(
+        () -> assertFalse(rejected.admitted()),
+        () -> assertTrue(rejected.waitNanos() > Duration.ofSeconds(8).toNanos()),
+        () -> assertTrue(quotas.admit("billing", "PersonResource.findAll", Access.READ)
+            .admitted()),
+        () -> assertTrue(quotas.admit("reports", "PersonResource.save", Access.WRITE)
+            .admitted()),
+        () -> assertEquals(1, quotas.snapshot().stream()
+            .filter(usage -> usage.endpoint().equals("PersonResource.save")
+                && usage.caller().equals("billing"))
+            .findFirst()
+            .orElseThrow()
+            .rejected()));
+  }
+
+  @Test
+  @DisplayName("Should throttle callers whose debt fits in the maximum wait")
+  void shouldThrottleCallersWithinMaxWait() {
+    CallerQuotas quotas = quotas(true, Duration.ofSeconds(10), List.of("reports=1/1"));
+
+    quotas.record("reports", "PersonResource.findAll", Access.READ, 3);
+    Admission throttled = quotas.admit("reports", "PersonResource.findAll", Access.READ);
+    quotas.record("reports", "PersonResource.findAll", Access.READ, 20);
+    Admission rejected = quotas.admit("reports", "PersonResource.findAll", Access.READ);
+
+    assertAll(
+        () -> assertTrue(throttled.admitted()),
+        () -> assertTrue(throttled.waitNanos() > 0),
+        () -> assertTrue(throttled.waitNanos() <= Duration.ofSeconds(3).toNanos()),
+        () -> assertFalse(rejected.admitted()),
+        () -> assertEquals(1, quotas.snapshot().get(0).throttled()),
+        () -> assertEquals(1, quotas.snapshot().get(0).readUnitsPerSecond()));
+  }
+
+  @Test
+  @DisplayName("Should fold unknown callers beyond the limit into a shared identity")
+  void shouldFoldCallersBeyondLimit() {
+    CallerQuotas quotas = quotas(false, Duration.ofSeconds(1), List.of());
+
+    quotas.admit(quotas.callerOf("billing"), "PersonResource.findAll", Access.READ);
+    quotas.admit(quotas.callerOf("reports"), "PersonResource.findAll", Access.READ);
+
+    assertAll(
+        () -> assertEquals(CallerQuotas.ANONYMOUS, quotas.callerOf(null)),
+        () -> assertEquals(CallerQuotas.ANONYMOUS, quotas.callerOf(" ")),
+        () -> assertEquals("billing", quotas.callerOf(" billing ")),
+        () -> assertEquals(CallerQuotas.OTHER, quotas.callerOf("audit")),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> quotas(false, Duration.ZERO, List.of("billing=5"))));
+  }
+
+  @Test
+  @DisplayName("Should reserve caller slots atomically and reject unusable rates")
+  void shouldReserveCallerSlotsAtomicallyAndRejectUnusableRates() {
+    CallerQuotas quotas = quotas(false, Duration.ofSeconds(1), List.of());
+
+    List<String> resolved = IntStream.range(0, 64)
+        .parallel()
+        .mapToObj(index -> quotas.callerOf("caller" + index))
+        .toList();
+
+    assertAll(
+        () -> assertEquals(2, resolved.stream()
+            .filter(caller -> !caller.equals(CallerQuotas.OTHER))
+            .count()),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> quotas(false, Duration.ZERO, List.of("billing=0/5"))),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> quotas(false, Duration.ZERO, List.of("billing=5/NaN"))),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> quotas(false, Duration.ZERO, List.of("billing=Infinity/5"))),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> new CallerQuotas(false, 0, 5, Optional.empty(), Duration.ZERO,
+                Duration.ZERO, 2, new SimpleMeterRegistry())));
+  }
+
+  private static CallerQuotas quotas(final boolean throttle, final Duration maxWait,
+      final List<String> overrides) {
+    return new CallerQuotas(throttle, 5, 5, Optional.of(overrides), Duration.ZERO, maxWait, 2,
+        new SimpleMeterRegistry());
+  }
+
+  private static void put(final ConsumedCapacityInterceptor interceptor) {
+    ExecutionAttributes attributes = new ExecutionAttributes();
+    InterceptorContext context = InterceptorContext.builder()
+        .request(PutItemRequest.builder().tableName("person").build())
+        .response(PutItemResponse.builder()
+            .consumedCapacity(ConsumedCapacity.builder()
+                .tableName("person")
+                .capacityUnits(2.0)
+                .table(Capacity.builder().capacityUnits(1.0).build())
+                .globalSecondaryIndexes(Map.of("cpf_index",
+                    Capacity.builder().capacityUnits(1.0).build()))
+                .build())
+            .build())
+        .build();
+    interceptor.beforeExecution(context, attributes);
+    interceptor.afterExecution(context, attributes);
+  }
+}
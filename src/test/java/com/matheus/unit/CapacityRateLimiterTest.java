@@ -0,0 +1,92 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.dynamodb.CapacityRateLimiter;
+import com.matheus.dynamodb.CapacityRateLimiter.Permit;
+import com.matheus.dynamodb.ConsumedCapacityInterceptor;
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import com.matheus.vo.response.CapacityBucketResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+@QuarkusTest
+class CapacityRateLimiterTest {
+
+  @Test
+  @DisplayName("Should queue requests once reported consumption drains the bucket")
+  void shouldQueueRequestsOnceConsumptionDrainsBucket() {
+    CapacityRateLimiter limiter = new CapacityRateLimiter(true, 10, 10, 1, Duration.ofSeconds(1),
+        Duration.ofSeconds(5), new SimpleMeterRegistry());
+    DynamoDbOperation read = DynamoDbOperation.read("test.query", "person");
+
+    Permit first = limiter.acquire(read);
+    limiter.record("person", null, Access.READ, 15);
+    first.release();
+    Permit second = limiter.acquire(read);
+
+    CapacityBucketResponse bucket = limiter.snapshot().get(0);
+    assertAll(
+        () -> assertEquals(0, first.waitNanos()),
+        () -> assertTrue(second.waitNanos() > Duration.ofMillis(500).toNanos()),
+        () -> assertEquals(15, bucket.consumedUnits()),
+        () -> assertEquals(1, bucket.queued()),
+        () -> assertEquals(2, bucket.requests()));
+  }
+
+  @Test
+  @DisplayName("Should pace writes against every known index of the table")
+  void shouldPaceWritesAgainstKnownIndexes() {
+    CapacityRateLimiter limiter = new CapacityRateLimiter(true, 10, 10, 1, Duration.ofSeconds(1),
+        Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+    limiter.record("person", "cpf_index", Access.WRITE, 20);
+    Permit write = limiter.acquire(DynamoDbOperation.write("test.put", "person"));
+    Permit read = limiter.acquire(DynamoDbOperation.read("test.get", "person"));
+
+    List<CapacityBucketResponse> buckets = limiter.snapshot();
+    assertAll(
+        () -> assertTrue(write.waitNanos() > 0),
+        () -> assertEquals(0, read.waitNanos()),
+        () -> assertEquals(3, buckets.size()));
+  }
+
+  @Test
+  @DisplayName("Should not pace requests when disabled")
+  void shouldNotPaceRequestsWhenDisabled() {
+    CapacityRateLimiter limiter = new CapacityRateLimiter(false, 1, 1, 1, Duration.ofSeconds(1),
+        Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+    limiter.record("person", null, Access.READ, 100);
+
+    assertAll(
+        () -> assertEquals(0, limiter.acquire(DynamoDbOperation.read("test", "person"))
+            .waitNanos()),
+        () -> assertEquals(100, limiter.snapshot().get(0).consumedUnits()));
+  }
+
+  @Test
+  @DisplayName("Should ask DynamoDB to report consumed capacity per index")
+  void shouldRequestIndexConsumedCapacity() {
+    ConsumedCapacityInterceptor interceptor = new ConsumedCapacityInterceptor(() -> null);
+    QueryRequest request = QueryRequest.builder()
+        .tableName("person")
+        .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+        .build();
+
+    QueryRequest modified = (QueryRequest) interceptor.modifyRequest(() -> request,
+        new ExecutionAttributes());
+
+    assertEquals(ReturnConsumedCapacity.INDEXES, modified.returnConsumedCapacity());
+  }
+}
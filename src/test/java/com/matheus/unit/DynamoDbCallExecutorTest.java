@@ -0,0 +1,328 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.matheus.dynamodb.CapacityRateLimiter;
+import com.matheus.dynamodb.CircuitBreaker;
+import com.matheus.dynamodb.CircuitBreaker.State;
+import com.matheus.dynamodb.CircuitOpenException;
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.dynamodb.DynamoDbResilience;
+import com.matheus.dynamodb.HotPartitionTracker;
+import com.matheus.dynamodb.ResilienceSettings;
+import com.matheus.dynamodb.ShadowTraffic;
+import com.matheus.model.PersonItem;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.InternalServerErrorException;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+@QuarkusTest
+class DynamoDbCallExecutorTest {
+
+  private static final DynamoDbOperation GET_ITEM = DynamoDbOperation.read("test.getItem",
+      PersonItem.TABLE_NAME);
+  private static final GetItemRequest REQUEST = GetItemRequest.builder()
+      .tableName(PersonItem.TABLE_NAME)
+      .key(Map.of(PersonItem.FIRST_NAME, AttributeValue.builder().s("Person1").build()))
+      .build();
+
+  @Test
+  @DisplayName("Should retry throttled and failed calls until one succeeds")
+  void shouldRetryThrottledAndFailedCalls() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    FaultInjectingDynamoDbClient client = new FaultInjectingDynamoDbClient(
+        List.of(throttled(), serverError()));
+    DynamoDbCallExecutor executor = executor(settings(3, 10, 10), meterRegistry);
+
+    GetItemResponse response = executor.execute(GET_ITEM, () -> client.getItem(REQUEST));
+
+    assertAll(
+        () -> assertEquals("Person1", response.item().get(PersonItem.FIRST_NAME).s()),
+        () -> assertEquals(3, client.calls.get()),
+        () -> assertEquals(2, meterRegistry.counter("dynamodb.retry.attempts",
+            "operation", GET_ITEM.name()).count()));
+  }
+
+  @Test
+  @DisplayName("Should retry failed async calls until one succeeds")
+  void shouldRetryFailedAsyncCalls() {
+    FaultInjectingDynamoDbClient client = new FaultInjectingDynamoDbClient(
+        List.of(serverError()));
+    DynamoDbCallExecutor executor = executor(settings(3, 10, 10), new SimpleMeterRegistry());
+
+    GetItemResponse response = executor.executeAsync(GET_ITEM,
+            () -> Uni.createFrom().item(() -> client.getItem(REQUEST)))
+        .await()
+        .indefinitely();
+
+    assertAll(
+        () -> assertEquals("Person1", response.item().get(PersonItem.FIRST_NAME).s()),
+        () -> assertEquals(2, client.calls.get()));
+  }
+
+  @Test
+  @DisplayName("Should not retry client errors")
+  void shouldNotRetryClientErrors() {
+    FaultInjectingDynamoDbClient client = new FaultInjectingDynamoDbClient(List.of(
+        ConditionalCheckFailedException.builder().statusCode(400).message("conflict").build()));
+    DynamoDbCallExecutor executor = executor(settings(3, 10, 10), new SimpleMeterRegistry());
+
+    assertThrows(ConditionalCheckFailedException.class,
+        () -> executor.execute(GET_ITEM, () -> client.getItem(REQUEST)));
+    assertEquals(1, client.calls.get());
+  }
+
+  @Test
+  @DisplayName("Should fail fast once the failure rate opens the circuit")
+  void shouldFailFastOnceCircuitOpens() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    FaultInjectingDynamoDbClient client = new FaultInjectingDynamoDbClient(List.of(
+        serverError(), serverError(), serverError(), serverError()));
+    DynamoDbCallExecutor executor = executor(settings(1, 4, 4), meterRegistry);
+
+    for (int i = 0; i < 4; i++) {
+      assertThrows(InternalServerErrorException.class,
+          () -> executor.execute(GET_ITEM, () -> client.getItem(REQUEST)));
+    }
+
+    assertAll(
+        () -> assertThrows(CircuitOpenException.class,
+            () -> executor.execute(GET_ITEM, () -> client.getItem(REQUEST))),
+        () -> assertEquals(4, client.calls.get()),
+        () -> assertEquals(State.OPEN.ordinal(), meterRegistry.get("dynamodb.circuit.state")
+            .tag("operation", GET_ITEM.name())
+            .gauge()
+            .value()));
+  }
+
+  @Test
+  @DisplayName("Should keep shadow calls off the live circuit and hot partition sketch")
+  void shouldIsolateShadowCalls() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    FaultInjectingDynamoDbClient client = new FaultInjectingDynamoDbClient(List.of(
+        serverError(), serverError(), serverError(), serverError()));
+    HotPartitionTracker hotPartitionTracker = new HotPartitionTracker(1, Duration.ofMinutes(1),
+        1, 16, meterRegistry);
+    DynamoDbCallExecutor executor = new DynamoDbCallExecutor(
+        new CapacityRateLimiter(false, 1, 1, 1, Duration.ZERO, Duration.ZERO, meterRegistry),
+        new DynamoDbResilience(settings(1, 4, 4), meterRegistry), hotPartitionTracker, false);
+    DynamoDbOperation getItem = GET_ITEM.withPartitionKey("Person1");
+
+    for (int i = 0; i < 4; i++) {
+      assertThrows(InternalServerErrorException.class, () -> ShadowTraffic.run(
+          () -> executor.execute(getItem, () -> client.getItem(REQUEST))));
+    }
+
+    assertAll(
+        () -> assertThrows(CircuitOpenException.class, () -> ShadowTraffic.run(
+            () -> executor.execute(getItem, () -> client.getItem(REQUEST)))),
+        () -> assertEquals(REQUEST.key(),
+            executor.execute(getItem, () -> client.getItem(REQUEST)).item()),
+        () -> assertEquals(State.OPEN.ordinal(), meterRegistry.get("dynamodb.circuit.state")
+            .tag("operation", ShadowTraffic.OPERATION_PREFIX + GET_ITEM.name())
+            .gauge()
+            .value()),
+        () -> assertEquals(1, hotPartitionTracker.top(null, 1).get(0).estimatedRequests()));
+  }
+
+  @Test
+  @DisplayName("Should close the circuit after successful half-open probes")
+  void shouldCloseCircuitAfterHalfOpenProbes() {
+    AtomicLong clock = new AtomicLong();
+    CircuitBreaker circuitBreaker = new CircuitBreaker("test", settings(1, 2, 2), clock::get);
+
+    circuitBreaker.onResult(false, Duration.ofSeconds(5).toNanos());
+    circuitBreaker.onResult(false, Duration.ofSeconds(5).toNanos());
+    State slow = circuitBreaker.state();
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+    circuitBreaker.acquire();
+    State probing = circuitBreaker.state();
+    circuitBreaker.onResult(false, 0);
+    circuitBreaker.acquire();
+    circuitBreaker.onResult(false, 0);
+
+    assertAll(
+        () -> assertEquals(State.OPEN, slow),
+        () -> assertEquals(State.HALF_OPEN, probing),
+        () -> assertEquals(State.CLOSED, circuitBreaker.state()));
+  }
+
+  @Test
+  @DisplayName("Should give a cancelled half-open probe back to the circuit")
+  void shouldGiveCancelledHalfOpenProbeBack() throws Exception {
+    ResilienceSettings settings = new ResilienceSettings(1, Duration.ofMillis(1),
+        Duration.ofMillis(5), 0.2, 10, 2, 2, 0.5, Duration.ofSeconds(1), 0.8,
+        Duration.ofMillis(50), 1);
+    DynamoDbCallExecutor executor = executor(settings, new SimpleMeterRegistry());
+    FaultInjectingDynamoDbClient client = new FaultInjectingDynamoDbClient(
+        List.of(serverError(), serverError()));
+    for (int i = 0; i < 2; i++) {
+      assertThrows(InternalServerErrorException.class,
+          () -> executor.execute(GET_ITEM, () -> client.getItem(REQUEST)));
+    }
+    TimeUnit.MILLISECONDS.sleep(100);
+
+    executor.executeAsync(GET_ITEM, () -> Uni.createFrom().<GetItemResponse>nothing())
+        .subscribe()
+        .with(item -> {
+        })
+        .cancel();
+    GetItemResponse response = executor.executeAsync(GET_ITEM,
+            () -> Uni.createFrom().item(() -> client.getItem(REQUEST)))
+        .await()
+        .atMost(Duration.ofSeconds(5));
+
+    assertAll(
+        () -> assertEquals("Person1", response.item().get(PersonItem.FIRST_NAME).s()),
+        () -> assertEquals(3, client.calls.get()));
+  }
+
+  @Test
+  @DisplayName("Should complete async calls on the caller's event loop when enabled")
+  void shouldCompleteAsyncCallsOnCallerEventLoop() throws Exception {
+    Vertx vertx = Vertx.vertx();
+    ExecutorService sdkThreads = Executors.newSingleThreadExecutor();
+    try {
+      DynamoDbCallExecutor executor = executor(settings(1, 10, 10), new SimpleMeterRegistry(),
+          true);
+      CompletableFuture<String> callerThread = new CompletableFuture<>();
+      CompletableFuture<String> completionThread = new CompletableFuture<>();
+      vertx.runOnContext(ignored -> {
+        callerThread.complete(Thread.currentThread().getName());
+        executor.executeAsync(GET_ITEM, () -> Uni.createFrom()
+                .completionStage(CompletableFuture.supplyAsync(() -> "item", sdkThreads)))
+            .subscribe()
+            .with(item -> completionThread.complete(Thread.currentThread().getName()));
+      });
+
+      assertEquals(callerThread.get(5, TimeUnit.SECONDS),
+          completionThread.get(5, TimeUnit.SECONDS));
+    } finally {
+      sdkThreads.shutdownNow();
+      vertx.close();
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep the trace context across async calls, retries and thread hops")
+  void shouldKeepTraceContextAcrossAsyncCalls() {
+    ExecutorService sdkThreads = Executors.newSingleThreadExecutor();
+    AtomicInteger attempts = new AtomicInteger();
+    Span server = SdkTracerProvider.builder().build().get("test").spanBuilder("server")
+        .startSpan();
+    try (Scope ignored = server.makeCurrent()) {
+      DynamoDbCallExecutor executor = executor(settings(3, 10, 10), new SimpleMeterRegistry());
+      SpanContext chained = executor.executeAsync(GET_ITEM, () -> Uni.createFrom()
+              .completionStage(CompletableFuture.supplyAsync(() -> "item", sdkThreads)))
+          .chain(() -> executor.executeAsync(GET_ITEM, () -> attempts.incrementAndGet() == 1
+              ? Uni.createFrom().failure(throttled())
+              : Uni.createFrom().item(Span.current()::getSpanContext)))
+          .await()
+          .atMost(Duration.ofSeconds(5));
+
+      assertAll(
+          () -> assertEquals(server.getSpanContext(), chained),
+          () -> assertEquals(2, attempts.get()));
+    } finally {
+      server.end();
+      sdkThreads.shutdownNow();
+    }
+  }
+
+  private static DynamoDbCallExecutor executor(final ResilienceSettings settings,
+      final MeterRegistry meterRegistry) {
+    return executor(settings, meterRegistry, false);
+  }
+
+  private static DynamoDbCallExecutor executor(final ResilienceSettings settings,
+      final MeterRegistry meterRegistry, final boolean completeOnCallerContext) {
+    return new DynamoDbCallExecutor(
+        new CapacityRateLimiter(false, 1, 1, 1, Duration.ZERO, Duration.ZERO, meterRegistry),
+        new DynamoDbResilience(settings, meterRegistry),
+        new HotPartitionTracker(1, Duration.ofMinutes(1), 1, 16, meterRegistry),
+        completeOnCallerContext);
+  }
+
+  private static ResilienceSettings settings(final int maxAttempts, final int windowSize,
+      final int minimumCalls) {
+    return new ResilienceSettings(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5), 0.2,
+        10, windowSize, minimumCalls, 0.5, Duration.ofSeconds(1), 0.8, Duration.ofSeconds(10),
+        2);
+  }
+
+  private static ProvisionedThroughputExceededException throttled() {
+    return (ProvisionedThroughputExceededException) ProvisionedThroughputExceededException
+        .builder()
+        .statusCode(400)
+        .awsErrorDetails(AwsErrorDetails.builder()
+            .errorCode("ProvisionedThroughputExceededException")
+            .build())
+        .build();
+  }
+
+  private static InternalServerErrorException serverError() {
+    return (InternalServerErrorException) InternalServerErrorException.builder()
+        .statusCode(500)
+        .message("injected")
+        .build();
+  }
+
+  private static final class FaultInjectingDynamoDbClient implements DynamoDbClient {
+
+    private final Queue<RuntimeException> faults;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private FaultInjectingDynamoDbClient(final List<RuntimeException> faults) {
+      this.faults = new ArrayDeque<>(faults);
+    }
+
+    @Override
+    public synchronized GetItemResponse getItem(final GetItemRequest getItemRequest) {
+      calls.incrementAndGet();
+      RuntimeException fault = faults.poll();
+      if (fault != null) {
+        throw fault;
+      }
+      return GetItemResponse.builder().item(getItemRequest.key()).build();
+    }
+
+    @Override
+    public String serviceName() {
+      return "dynamodb";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.matheus.dynamodb.FlightRecorderInterceptor;
+import com.matheus.jfr.DynamoDbCallEvent;
+import com.matheus.jfr.PaginationSerializationEvent;
+import com.matheus.model.Person;
+import com.matheus.resource.PaginationResponseSerializer;
+import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.test.junit.QuarkusTest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+@QuarkusTest
+class FlightRecorderEventsTest {
+
+  @Test
+  @DisplayName("Should record a JFR event for each DynamoDB call with its shape and bytes")
+  void shouldRecordDynamoDbCallEvents() throws Exception {
+    List<RecordedEvent> events = record(DynamoDbCallEvent.class,
+        () -> query(new FlightRecorderInterceptor()));
+
+    RecordedEvent event = events.get(0);
+    assertAll(
+        () -> assertEquals(1, events.size()),
+        () -> assertEquals("Query", event.getString("operation")),
+        () -> assertEquals("person", event.getString("table")),
+        () -> assertEquals("cpf_index", event.getString("index")),
+        () -> assertEquals(10, event.getInt("limit")),
+        () -> assertEquals(2, event.getInt("itemCount")),
+        () -> assertEquals(2, event.getInt("attempts")),
+        () -> assertEquals(240, event.getLong("requestBytes")),
+        () -> assertEquals(512, event.getLong("responseBytes")),
+        () -> assertEquals(1.5, event.getDouble("consumedCapacity")),
+        () -> assertEquals(Thread.currentThread().getName(),
+            event.getThread("callerThread").getJavaName()));
+  }
+
+  @Test
+  @DisplayName("Should record pagination serialization without changing the JSON")
+  void shouldRecordPaginationSerialization() throws Exception {
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+        .addSerializer(PaginationResponse.class, new PaginationResponseSerializer()));
+    PaginationResponse<Person> page = PaginationResponse.of(
+        List.of(Person.of("Person1", "Silva", "123")),
+        Map.of("firstName", AttributeValue.builder().s("Person1").build()));
+    String[] json = new String[1];
+
+    List<RecordedEvent> events = record(PaginationSerializationEvent.class,
+        () -> json[0] = objectMapper.writeValueAsString(page));
+
+    assertAll(
+        () -> assertEquals(1, events.size()),
+        () -> assertEquals(1, events.get(0).getInt("items")),
+        () -> assertEquals("Person", events.get(0).getString("itemType")),
+        () -> assertEquals(new ObjectMapper().readTree("{\"items\":[{\"firstName\":\"Person1\","
+                + "\"lastName\":\"Silva\",\"cpf\":\"123\"}],\"size\":1,"
+                + "\"lastEvaluatedKey\":{\"firstName\":\"Person1\"}}"),
+            new ObjectMapper().readTree(json[0])));
+  }
+
+  @Test
+  @DisplayName("Should not record events when no recording enables them")
+  void shouldNotRecordWhenDisabled() {
+    assertFalse(new DynamoDbCallEvent().isEnabled());
+  }
+
+  private static List<RecordedEvent> record(final Class<? extends jdk.jfr.Event> type,
+      final ThrowingRunnable work) throws Exception {
+    Path file = Files.createTempFile("person", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(type).withoutThreshold();
+      recording.start();
+      work.run();
+      recording.stop();
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static void query(final FlightRecorderInterceptor interceptor) {
+    ExecutionAttributes attributes = new ExecutionAttributes();
+    attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "Query");
+    QueryRequest request = QueryRequest.builder()
+        .tableName("person")
+        .indexName("cpf_index")
+        .keyConditionExpression("cpf = :cpf")
+        .limit(10)
+        .build();
+    InterceptorContext transmission = InterceptorContext.builder()
+        .request(request)
+        .httpRequest(SdkHttpFullRequest.builder()
+            .method(SdkHttpMethod.POST)
+            .protocol("https")
+            .host("dynamodb.us-east-1.amazonaws.com")
+            .putHeader("Content-Length", "120")
+            .build())
+        .httpResponse(SdkHttpResponse.builder()
+            .statusCode(200)
+            .putHeader("Content-Length", "256")
+            .build())
+        .build();
+    interceptor.beforeExecution(InterceptorContext.builder().request(request).build(),
+        attributes);
+    for (int attempt = 0; attempt < 2; attempt++) {
+      interceptor.beforeTransmission(transmission, attributes);
+      interceptor.afterTransmission(transmission, attributes);
+    }
+    interceptor.afterExecution(InterceptorContext.builder()
+        .request(request)
+        .response(QueryResponse.builder()
+            .count(2)
+            .consumedCapacity(ConsumedCapacity.builder()
+                .tableName("person")
+                .capacityUnits(1.5)
+                .build())
+            .build())
+        .build(), attributes);
+  }
+
+  @FunctionalInterface
+  private interface ThrowingRunnable {
+
+    void run() throws Exception;
+  }
+}
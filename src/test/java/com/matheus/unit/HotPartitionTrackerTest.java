@@ -0,0 +1,111 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.dynamodb.DynamoDbOperation;
+import com.matheus.dynamodb.DynamoDbOperation.Access;
+import com.matheus.dynamodb.HotPartitionTracker;
+import com.matheus.vo.response.HotPartitionResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class HotPartitionTrackerTest {
+
+  @Test
+  @DisplayName("Should rank the heaviest partition keys first")
+  void shouldRankHeaviestPartitionKeysFirst() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    HotPartitionTracker tracker = new HotPartitionTracker(3, Duration.ofMinutes(1), 4, 256,
+        meterRegistry);
+
+    IntStream.range(0, 500).forEach(i -> tracker.record(read("Person" + i)));
+    IntStream.range(0, 300).forEach(i -> tracker.record(read("Maria")));
+    IntStream.range(0, 200).forEach(i -> tracker.record(read("Jose")));
+    IntStream.range(0, 50).forEach(i -> tracker.record(
+        DynamoDbOperation.write("test.put", "person").withPartitionKey("Maria")));
+
+    List<HotPartitionResponse> top = tracker.top(Access.READ, 2);
+    assertAll(
+        () -> assertEquals(List.of("Maria", "Jose"),
+            top.stream().map(HotPartitionResponse::partitionKey).toList()),
+        () -> assertTrue(top.get(0).estimatedRequests() >= 300),
+        () -> assertTrue(top.get(0).share() > 0.25),
+        () -> assertTrue(tracker.top(Access.WRITE, 1).get(0).estimatedRequests() >= 50),
+        () -> assertTrue(meterRegistry.get("dynamodb.partition.hot.requests")
+            .tags("access", "READ", "rank", "1")
+            .gauge()
+            .value() >= 300));
+  }
+
+  @Test
+  @DisplayName("Should forget keys once their windows have decayed")
+  void shouldForgetKeysOnceWindowsDecay() throws InterruptedException {
+    HotPartitionTracker tracker = new HotPartitionTracker(3, Duration.ofMillis(50), 4, 256,
+        new SimpleMeterRegistry());
+
+    tracker.record(read("Maria"));
+    boolean trackedBefore = !tracker.top(null, 3).isEmpty();
+    TimeUnit.MILLISECONDS.sleep(150);
+
+    assertAll(
+        () -> assertTrue(trackedBefore),
+        () -> assertTrue(tracker.top(null, 3).isEmpty()));
+  }
+
+  @Test
+  @DisplayName("Should serve every rank gauge of a scrape from one ranking")
+  void shouldServeRankGaugesFromOneRanking() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    HotPartitionTracker tracker = new HotPartitionTracker(2, Duration.ofMinutes(1), 4, 256,
+        meterRegistry);
+
+    IntStream.range(0, 10).forEach(i -> tracker.record(read("Maria")));
+    double first = rank(meterRegistry, 1);
+    IntStream.range(0, 100).forEach(i -> tracker.record(read("Jose")));
+
+    assertAll(
+        () -> assertEquals(10, first),
+        () -> assertEquals(10, rank(meterRegistry, 1)),
+        () -> assertEquals(0, rank(meterRegistry, 2)),
+        () -> assertEquals("Jose", tracker.top(Access.READ, 1).get(0).partitionKey()));
+  }
+
+  @Test
+  @DisplayName("Should refuse settings that would break every recorded call")
+  void shouldRefuseNonPositiveSettings() {
+    assertAll(
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> new HotPartitionTracker(0, Duration.ofMinutes(1), 4, 256,
+                new SimpleMeterRegistry())),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> new HotPartitionTracker(3, Duration.ZERO, 4, 256, new SimpleMeterRegistry())),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> new HotPartitionTracker(3, Duration.ofMinutes(1), 0, 256,
+                new SimpleMeterRegistry())),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> new HotPartitionTracker(3, Duration.ofMinutes(1), 4, -1,
+                new SimpleMeterRegistry())));
+  }
+
+  private static double rank(final MeterRegistry meterRegistry, final int rank) {
+    return meterRegistry.get("dynamodb.partition.hot.requests")
+        .tags("access", "READ", "rank", String.valueOf(rank))
+        .gauge()
+        .value();
+  }
+
+  private static DynamoDbOperation read(final String partitionKey) {
+    return DynamoDbOperation.read("test.query", "person").withPartitionKey(partitionKey);
+  }
+}
@@ -0,0 +1,183 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.matheus.model.Person;
+import com.matheus.service.IdempotentWrites;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class IdempotentWritesTest {
+
+  private static final Person PERSON = Person.of("Person1", "lastNameTest", "86679311031");
+
+  @Test
+  @DisplayName("Should make concurrent duplicates wait on the in-flight write")
+  void shouldMakeConcurrentDuplicatesWaitOnInFlightWrite() throws Exception {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    IdempotentWrites idempotentWrites = new IdempotentWrites(16, Duration.ofMinutes(1),
+        meterRegistry);
+    AtomicInteger writes = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Person> first = CompletableFuture.supplyAsync(
+        () -> idempotentWrites.execute("key-1", "sync.add", PERSON, () -> {
+          writes.incrementAndGet();
+          started.countDown();
+          await(release);
+          return PERSON;
+        }));
+    started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<Person> duplicate = CompletableFuture.supplyAsync(
+        () -> idempotentWrites.execute("key-1", "sync.add",
+            Person.of("Person1", "lastNameTest", "86679311031"), () -> {
+              writes.incrementAndGet();
+              return PERSON;
+            }));
+    release.countDown();
+
+    assertAll(
+        () -> assertSame(PERSON, first.get(5, TimeUnit.SECONDS)),
+        () -> assertSame(PERSON, duplicate.get(5, TimeUnit.SECONDS)),
+        () -> assertEquals(1, writes.get()),
+        () -> assertEquals(1, meterRegistry.counter("person.idempotency.replays").count()));
+  }
+
+  @Test
+  @DisplayName("Should free the key when an in-flight async write is cancelled")
+  void shouldFreeKeyWhenInFlightAsyncWriteIsCancelled() {
+    IdempotentWrites idempotentWrites = new IdempotentWrites(16, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+
+    idempotentWrites.executeAsync("key-1", "async.add", PERSON,
+            () -> Uni.createFrom().<Person>nothing())
+        .subscribe()
+        .with(person -> { })
+        .cancel();
+    Person retried = idempotentWrites.executeAsync("key-1", "async.add", PERSON,
+            () -> Uni.createFrom().item(PERSON))
+        .await()
+        .atMost(Duration.ofSeconds(5));
+
+    assertSame(PERSON, retried);
+  }
+
+  @Test
+  @DisplayName("Should reject new keys instead of evicting in-flight writes")
+  void shouldRejectNewKeysInsteadOfEvictingInFlightWrites() {
+    IdempotentWrites idempotentWrites = new IdempotentWrites(1, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+    AtomicInteger writes = new AtomicInteger();
+
+    idempotentWrites.executeAsync("key-1", "async.add", PERSON,
+            () -> Uni.createFrom().<Person>nothing())
+        .subscribe()
+        .with(person -> { });
+    ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+        () -> idempotentWrites.executeAsync("key-2", "async.add", PERSON,
+                () -> Uni.createFrom().item(PERSON))
+            .await()
+            .atMost(Duration.ofSeconds(5)));
+    idempotentWrites.executeAsync("key-1", "async.add", PERSON, () -> Uni.createFrom()
+            .item(() -> {
+              writes.incrementAndGet();
+              return PERSON;
+            }))
+        .subscribe()
+        .with(person -> { });
+
+    assertAll(
+        () -> assertEquals(503, exception.getResponse().getStatus()),
+        () -> assertEquals(0, writes.get()));
+  }
+
+  @Test
+  @DisplayName("Should reject a reused key with a different request")
+  void shouldRejectReusedKeyWithDifferentRequest() {
+    IdempotentWrites idempotentWrites = new IdempotentWrites(16, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+
+    idempotentWrites.run("key-1", "sync.putBatch", List.of(PERSON), () -> { });
+    ClientErrorException exception = assertThrows(ClientErrorException.class,
+        () -> idempotentWrites.run("key-1", "sync.putBatch", List.of(), () -> { }));
+
+    assertEquals(422, exception.getResponse().getStatus());
+  }
+
+  @Test
+  @DisplayName("Should replay a streamed write by body fingerprint")
+  void shouldReplayStreamedWriteByBodyFingerprint() {
+    IdempotentWrites idempotentWrites = new IdempotentWrites(16, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+    AtomicInteger writes = new AtomicInteger();
+    AtomicInteger fingerprints = new AtomicInteger();
+
+    idempotentWrites.runStreamed("key-1", "sync.putBatch", () -> {
+      fingerprints.incrementAndGet();
+      return "digest-a";
+    }, writes::incrementAndGet);
+    idempotentWrites.runStreamed("key-1", "sync.putBatch", () -> "digest-a",
+        writes::incrementAndGet);
+    ClientErrorException exception = assertThrows(ClientErrorException.class,
+        () -> idempotentWrites.runStreamed("key-1", "sync.putBatch", () -> "digest-b",
+            writes::incrementAndGet));
+
+    assertAll(
+        () -> assertEquals(1, writes.get()),
+        () -> assertEquals(1, fingerprints.get()),
+        () -> assertEquals(422, exception.getResponse().getStatus()));
+  }
+
+  @Test
+  @DisplayName("Should execute again after a failed async write")
+  void shouldExecuteAgainAfterFailedAsyncWrite() {
+    IdempotentWrites idempotentWrites = new IdempotentWrites(16, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+    AtomicInteger writes = new AtomicInteger();
+
+    assertThrows(IllegalStateException.class, () -> idempotentWrites.executeAsync("key-1",
+            "async.add", PERSON, () -> Uni.createFrom().<Person>failure(
+                new IllegalStateException("timeout")))
+        .await().indefinitely());
+    Person retried = idempotentWrites.executeAsync("key-1", "async.add", PERSON,
+        () -> Uni.createFrom().item(() -> {
+          writes.incrementAndGet();
+          return PERSON;
+        })).await().indefinitely();
+    Person replayed = idempotentWrites.executeAsync("key-1", "async.add", PERSON,
+        () -> Uni.createFrom().item(() -> {
+          writes.incrementAndGet();
+          return PERSON;
+        })).await().indefinitely();
+
+    assertAll(
+        () -> assertSame(PERSON, retried),
+        () -> assertSame(PERSON, replayed),
+        () -> assertEquals(1, writes.get()));
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
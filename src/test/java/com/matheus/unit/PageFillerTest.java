@@ -0,0 +1,69 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.service.PageFiller;
+import com.matheus.service.SourcePage;
+import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@QuarkusTest
+class PageFillerTest {
+
+  @Test
+  @DisplayName("Should keep reading until the page is filled and resume from the last item")
+  void shouldFillPageAndResumeFromLastItem() {
+    PageFiller pageFiller = new PageFiller(10, 100);
+    AtomicInteger requests = new AtomicInteger();
+
+    PaginationResponse<Person> response = pageFiller.fill(3, null, PersonItem::key,
+        cursor -> page(requests.incrementAndGet()));
+
+    assertAll(
+        () -> assertEquals(3, requests.get()),
+        () -> assertEquals(List.of("Person1", "Person3", "Person4"),
+            response.getItems().stream().map(Person::getFirstName).toList()),
+        () -> assertEquals(Map.of("firstName", "Person4", "lastName", "lastNameTest"),
+            response.getLastEvaluatedKey()));
+  }
+
+  @Test
+  @DisplayName("Should stop when the read capacity budget runs out")
+  void shouldStopWhenReadCapacityBudgetRunsOut() {
+    PageFiller pageFiller = new PageFiller(10, 1);
+    AtomicInteger requests = new AtomicInteger();
+
+    PaginationResponse<Person> response = pageFiller.fillAsync(3, null, PersonItem::key,
+            cursor -> Uni.createFrom().item(() -> page(requests.incrementAndGet())))
+        .await()
+        .indefinitely();
+
+    assertAll(
+        () -> assertEquals(2, requests.get()),
+        () -> assertEquals(1, response.getSize()),
+        () -> assertEquals(Map.of("firstName", "scanned2", "lastName", "lastNameTest"),
+            response.getLastEvaluatedKey()));
+  }
+
+  private static SourcePage<Person> page(final int request) {
+    Map<String, AttributeValue> lastEvaluatedKey = Map.of(
+        PersonItem.FIRST_NAME, AttributeValue.builder().s("scanned" + request).build(),
+        PersonItem.LAST_NAME, AttributeValue.builder().s("lastNameTest").build());
+    List<Person> items = request == 1
+        ? List.of(Person.of("Person1", "lastNameTest", "86679311031"))
+        : List.of(Person.of("Person" + request, "lastNameTest", "86679311031"),
+            Person.of("Person" + (request + 1), "lastNameTest", "86679311032"),
+            Person.of("Person" + (request + 2), "lastNameTest", "86679311033"));
+    return new SourcePage<>(request == 2 ? List.of() : items, lastEvaluatedKey, 0.5);
+  }
+}
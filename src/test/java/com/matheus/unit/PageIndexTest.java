@@ -0,0 +1,122 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.service.PageIndex;
+import com.matheus.vo.response.PaginationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.ws.rs.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@QuarkusTest
+class PageIndexTest {
+
+  private static final int PAGES = 5;
+
+  @Test
+  @DisplayName("Should skip ahead with keys-only reads and then reuse the indexed cursors")
+  void shouldSkipAheadAndReuseIndexedCursors() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PageIndex pageIndex = new PageIndex(true, 16, 100, Duration.ofMinutes(1), meterRegistry);
+    AtomicInteger loads = new AtomicInteger();
+    AtomicInteger skips = new AtomicInteger();
+    Function<Map<String, AttributeValue>, PaginationResponse<Person>> loader = startKey -> {
+      loads.incrementAndGet();
+      return page(startKey);
+    };
+    Function<Map<String, AttributeValue>, PaginationResponse<Person>> skipper = startKey -> {
+      skips.incrementAndGet();
+      return page(startKey);
+    };
+
+    PaginationResponse<Person> third = pageIndex.fetch("test", 3, null, loader, skipper);
+    int skipsToThird = skips.get();
+    PaginationResponse<Person> thirdAgain = pageIndex.fetch("test", 3, null, loader, skipper);
+    PaginationResponse<Person> fourth = pageIndex.fetch("test", 4, null, loader, skipper);
+
+    assertAll(
+        () -> assertEquals("lastName3", third.getItems().get(0).getLastName()),
+        () -> assertEquals("lastName3", thirdAgain.getItems().get(0).getLastName()),
+        () -> assertEquals("lastName4", fourth.getItems().get(0).getLastName()),
+        () -> assertEquals(2, skipsToThird),
+        () -> assertEquals(2, skips.get()),
+        () -> assertEquals(3, loads.get()),
+        () -> assertEquals(2, meterRegistry.counter("person.page-index.hits").count()),
+        () -> assertEquals(2, meterRegistry.counter("person.page-index.skipped-pages").count()));
+  }
+
+  @Test
+  @DisplayName("Should skip ahead asynchronously and return an empty page past the end")
+  void shouldSkipAheadAsynchronouslyAndReturnEmptyPagePastTheEnd() {
+    PageIndex pageIndex = new PageIndex(true, 16, 100, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+    AtomicInteger skips = new AtomicInteger();
+    Function<Map<String, AttributeValue>, Uni<PaginationResponse<Person>>> loader =
+        startKey -> Uni.createFrom().item(() -> page(startKey));
+    Function<Map<String, AttributeValue>, Uni<PaginationResponse<Person>>> skipper =
+        startKey -> Uni.createFrom().item(() -> {
+          skips.incrementAndGet();
+          return page(startKey);
+        });
+
+    PaginationResponse<Person> last = pageIndex.fetchAsync("test", PAGES, null, loader, skipper)
+        .await().indefinitely();
+    PaginationResponse<Person> pastEnd = pageIndex.fetchAsync("test", PAGES + 2, null, loader,
+        skipper).await().indefinitely();
+
+    assertAll(
+        () -> assertEquals("lastName5", last.getItems().get(0).getLastName()),
+        () -> assertEquals(Map.of(), last.getLastEvaluatedKey()),
+        () -> assertTrue(pastEnd.getItems().isEmpty()),
+        () -> assertEquals(PAGES, skips.get()));
+  }
+
+  @Test
+  @DisplayName("Should ignore the index when no page is requested and reject pages out of range")
+  void shouldIgnoreIndexWithoutPageAndRejectPagesOutOfRange() {
+    PageIndex pageIndex = new PageIndex(true, 16, 10, Duration.ofMinutes(1),
+        new SimpleMeterRegistry());
+    AtomicInteger skips = new AtomicInteger();
+    Function<Map<String, AttributeValue>, PaginationResponse<Person>> skipper = startKey -> {
+      skips.incrementAndGet();
+      return page(startKey);
+    };
+
+    PaginationResponse<Person> first = pageIndex.fetch("test", null, null,
+        PageIndexTest::page, skipper);
+
+    assertAll(
+        () -> assertEquals("lastName1", first.getItems().get(0).getLastName()),
+        () -> assertEquals(0, skips.get()),
+        () -> assertThrows(BadRequestException.class,
+            () -> pageIndex.fetch("test", 0, null, PageIndexTest::page, skipper)),
+        () -> assertThrows(BadRequestException.class,
+            () -> pageIndex.fetch("test", 11, null, PageIndexTest::page, skipper)));
+  }
+
+  private static PaginationResponse<Person> page(final Map<String, AttributeValue> startKey) {
+    int page = startKey == null
+        ? 1
+        : Integer.parseInt(startKey.get(PersonItem.LAST_NAME).s().substring(8)) + 1;
+    Map<String, AttributeValue> next = page < PAGES
+        ? Map.of(PersonItem.FIRST_NAME, AttributeValue.builder().s("Person1").build(),
+            PersonItem.LAST_NAME, AttributeValue.builder().s("lastName" + page).build())
+        : Map.of();
+    return PaginationResponse.of(List.of(Person.of("Person1", "lastName" + page, null)), next);
+  }
+}
@@ -0,0 +1,170 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.matheus.dynamodb.ShadowTraffic;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.service.PagePrefetcher;
+import com.matheus.vo.response.PaginationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@QuarkusTest
+class PagePrefetcherTest {
+
+  private static final Map<String, AttributeValue> SECOND_PAGE_KEY = Map.of(
+      PersonItem.FIRST_NAME, AttributeValue.builder().s("Person1").build(),
+      PersonItem.LAST_NAME, AttributeValue.builder().s("lastNameTest").build());
+
+  @Test
+  @DisplayName("Should serve the next page from the prefetch buffer")
+  void shouldServeNextPageFromPrefetchBuffer() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PagePrefetcher pagePrefetcher = new PagePrefetcher(true, 16, Duration.ofSeconds(30), 1,
+        meterRegistry);
+    AtomicInteger loads = new AtomicInteger();
+    Function<Map<String, AttributeValue>, PaginationResponse<Person>> loader = startKey -> {
+      loads.incrementAndGet();
+      return page(startKey);
+    };
+
+    PaginationResponse<Person> firstPage = pagePrefetcher.fetch("test", null, loader);
+    PaginationResponse<Person> secondPage = pagePrefetcher.fetch("test", SECOND_PAGE_KEY, loader);
+
+    assertAll(
+        () -> assertEquals("Person1", firstPage.getItems().get(0).getFirstName()),
+        () -> assertEquals("Person2", secondPage.getItems().get(0).getFirstName()),
+        () -> assertEquals(Map.of(), secondPage.getLastEvaluatedKey()),
+        () -> assertEquals(2, loads.get()),
+        () -> assertEquals(1, meterRegistry.counter("person.prefetch.hits").count()),
+        () -> assertEquals(1, meterRegistry.counter("person.prefetch.misses").count()));
+  }
+
+  @Test
+  @DisplayName("Should serve the next async page from the prefetch buffer")
+  void shouldServeNextAsyncPageFromPrefetchBuffer() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PagePrefetcher pagePrefetcher = new PagePrefetcher(true, 16, Duration.ofSeconds(30), 1,
+        meterRegistry);
+    AtomicInteger loads = new AtomicInteger();
+    Function<Map<String, AttributeValue>, Uni<PaginationResponse<Person>>> loader =
+        startKey -> Uni.createFrom().item(() -> {
+          loads.incrementAndGet();
+          return page(startKey);
+        });
+
+    pagePrefetcher.fetchAsync("test", null, loader).await().indefinitely();
+    PaginationResponse<Person> secondPage = pagePrefetcher.fetchAsync("test", SECOND_PAGE_KEY,
+        loader).await().indefinitely();
+
+    assertAll(
+        () -> assertEquals("Person2", secondPage.getItems().get(0).getFirstName()),
+        () -> assertEquals(2, loads.get()),
+        () -> assertEquals(1, meterRegistry.counter("person.prefetch.hits").count()));
+  }
+
+  @Test
+  @DisplayName("Should count expired prefetched pages as wasted")
+  void shouldCountExpiredPrefetchedPagesAsWasted() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PagePrefetcher pagePrefetcher = new PagePrefetcher(true, 16, Duration.ZERO, 1,
+        meterRegistry);
+    AtomicInteger loads = new AtomicInteger();
+    Function<Map<String, AttributeValue>, PaginationResponse<Person>> loader = startKey -> {
+      loads.incrementAndGet();
+      return page(startKey);
+    };
+
+    pagePrefetcher.fetch("test", null, loader);
+    pagePrefetcher.fetch("test", SECOND_PAGE_KEY, loader);
+
+    assertAll(
+        () -> assertEquals(0, meterRegistry.counter("person.prefetch.hits").count()),
+        () -> assertEquals(2, meterRegistry.counter("person.prefetch.misses").count()),
+        () -> assertEquals(1, meterRegistry.counter("person.prefetch.wasted").count()));
+  }
+
+  @Test
+  @DisplayName("Should drop prefetched pages of queries invalidated by a write")
+  void shouldDropPrefetchedPagesOfInvalidatedQueries() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PagePrefetcher pagePrefetcher = new PagePrefetcher(true, 16, Duration.ofSeconds(30), 1,
+        meterRegistry);
+    AtomicInteger loads = new AtomicInteger();
+    Function<Map<String, AttributeValue>, PaginationResponse<Person>> loader = startKey -> {
+      loads.incrementAndGet();
+      return page(startKey);
+    };
+    String person1 = PagePrefetcher.query("sync.findByFirstName", "Person1", 10, null);
+    String person10 = PagePrefetcher.query("sync.findByFirstName", "Person10", 10, null);
+
+    pagePrefetcher.fetch(person1, null, loader);
+    pagePrefetcher.fetch(person10, null, loader);
+    pagePrefetcher.invalidate("sync.findByFirstName", "Person1");
+    pagePrefetcher.fetch(person1, SECOND_PAGE_KEY, loader);
+    pagePrefetcher.fetch(person10, SECOND_PAGE_KEY, loader);
+
+    assertAll(
+        () -> assertEquals(5, loads.get()),
+        () -> assertEquals(1, meterRegistry.counter("person.prefetch.hits").count()),
+        () -> assertEquals(1, meterRegistry.counter("person.prefetch.wasted").count()));
+  }
+
+  @Test
+  @DisplayName("Should neither serve nor buffer pages for shadow reads")
+  void shouldBypassBufferForShadowReads() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PagePrefetcher pagePrefetcher = new PagePrefetcher(true, 16, Duration.ofSeconds(30), 1,
+        meterRegistry);
+    AtomicInteger loads = new AtomicInteger();
+    Function<Map<String, AttributeValue>, PaginationResponse<Person>> loader = startKey -> {
+      loads.incrementAndGet();
+      return page(startKey);
+    };
+
+    ShadowTraffic.run(() -> pagePrefetcher.fetch("test", null, loader));
+    ShadowTraffic.run(() -> pagePrefetcher.fetch("test", SECOND_PAGE_KEY, loader));
+
+    assertAll(
+        () -> assertEquals(2, loads.get()),
+        () -> assertEquals(0, meterRegistry.counter("person.prefetch.hits").count()),
+        () -> assertEquals(0, meterRegistry.counter("person.prefetch.misses").count()),
+        () -> assertEquals(0, meterRegistry.get("person.prefetch.buffered").gauge().value()));
+  }
+
+  @Test
+  @DisplayName("Should not prefetch when disabled")
+  void shouldNotPrefetchWhenDisabled() {
+    PagePrefetcher pagePrefetcher = new PagePrefetcher(false, 16, Duration.ofSeconds(30), 1,
+        new SimpleMeterRegistry());
+    AtomicInteger loads = new AtomicInteger();
+
+    pagePrefetcher.fetch("test", null, startKey -> {
+      loads.incrementAndGet();
+      return page(startKey);
+    });
+
+    assertEquals(1, loads.get());
+  }
+
+  private static PaginationResponse<Person> page(final Map<String, AttributeValue> startKey) {
+    if (startKey == null) {
+      return PaginationResponse.of(List.of(Person.of("Person1", "lastNameTest", "86679311031")),
+          SECOND_PAGE_KEY);
+    }
+    return PaginationResponse.of(List.of(Person.of("Person2", "lastNameTest", "86679311032")),
+        Map.of());
+  }
+}
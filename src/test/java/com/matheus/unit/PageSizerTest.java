@@ -0,0 +1,83 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.service.PageSizer;
+import com.matheus.vo.request.PaginationRequest;
+import com.matheus.vo.response.PaginationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.Map;
+import java.util.stream.IntStream;
+import javax.ws.rs.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class PageSizerTest {
+
+  @Test
+  @DisplayName("Should cap the requested limit and shrink it as items grow")
+  void shouldCapRequestedLimitAndShrinkItAsItemsGrow() {
+    PageSizer pageSizer = new PageSizer(100, 10_000, 100, new SimpleMeterRegistry());
+    int beforeLargeItems = pageSizer.limit("test", 100_000);
+
+    pageSizer.fit("test", page(10, 1_000), PageSizer::personBytes, PersonItem::key);
+
+    assertAll(
+        () -> assertEquals(100, beforeLargeItems),
+        () -> assertEquals(8, pageSizer.limit("test", 100_000)),
+        () -> assertEquals(5, pageSizer.limit("test", 5)),
+        () -> assertEquals(100, pageSizer.limit("other", 100_000)),
+        () -> assertThrows(BadRequestException.class, () -> pageSizer.limit("test", 0)));
+  }
+
+  @Test
+  @DisplayName("Should keep page-addressed limits stable while items grow")
+  void shouldKeepPageAddressedLimitsStable() {
+    PageSizer pageSizer = new PageSizer(100, 10_000, 100, new SimpleMeterRegistry());
+    ObjectMapper objectMapper = new ObjectMapper();
+    PaginationRequest byCursor = objectMapper.convertValue(Map.of("limit", 50),
+        PaginationRequest.class);
+    PaginationRequest byPage = objectMapper.convertValue(Map.of("limit", 50, "page", 3),
+        PaginationRequest.class);
+
+    pageSizer.fit("test", page(10, 1_000), PageSizer::personBytes, PersonItem::key);
+
+    assertAll(
+        () -> assertEquals(8, pageSizer.limit("test", byCursor)),
+        () -> assertEquals(50, pageSizer.limit("test", byPage)));
+  }
+
+  @Test
+  @DisplayName("Should truncate a page over the byte budget and return the cursor of the last item")
+  void shouldTruncatePageOverByteBudget() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PageSizer pageSizer = new PageSizer(100, 2_500, 100, meterRegistry);
+    PaginationResponse<Person> small = page(2, 100);
+
+    PaginationResponse<Person> truncated = pageSizer.fit("test", page(5, 1_000),
+        PageSizer::personBytes, PersonItem::key);
+
+    assertAll(
+        () -> assertEquals(2, truncated.getSize()),
+        () -> assertEquals(Map.of(PersonItem.FIRST_NAME, "Person1",
+            PersonItem.LAST_NAME, "lastName1"), truncated.getLastEvaluatedKey()),
+        () -> assertSame(small, pageSizer.fit("test", small, PageSizer::personBytes,
+            PersonItem::key)),
+        () -> assertEquals(1, meterRegistry.counter("person.page-size.truncated").count()));
+  }
+
+  private static PaginationResponse<Person> page(final int items, final int cpfLength) {
+    return PaginationResponse.of(IntStream.range(0, items)
+        .mapToObj(index -> Person.of("Person1", "lastName" + index, "9".repeat(cpfLength)))
+        .toList(), null);
+  }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
 import com.matheus.vo.response.PaginationResponse;
 import io.quarkus.test.junit.QuarkusTest;
 import java.util.Iterator;
@@ -27,8 +28,8 @@ class PaginationResponseTest {
         Map.of());
 
     Map<String, AttributeValue> lastKey = Map.of(
-        Person.FIRST_NAME_COLUMN, AttributeValue.builder().s("Name").build(),
-        Person.LAST_NAME_COLUMN, AttributeValue.builder().s("Lastname").build());
+        PersonItem.FIRST_NAME, AttributeValue.builder().s("Name").build(),
+        PersonItem.LAST_NAME, AttributeValue.builder().s("Lastname").build());
     PaginationResponse<Person> paginationOfWithLastKey = PaginationResponse.of(people, lastKey);
 
     Page<Person> personPage = Page.create(people);
@@ -0,0 +1,129 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.model.PersonItem;
+import com.matheus.service.PersonAggregationService;
+import com.matheus.service.ShardedKeys;
+import com.matheus.vo.response.FirstNameCountResponse;
+import com.matheus.vo.response.PersonCountResponse;
+import io.quarkus.test.junit.QuarkusTest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.Select;
+
+@QuarkusTest
+class PersonAggregationServiceTest {
+
+  private static final DynamoDbCallExecutor EXECUTOR = TestExecutors.passThrough();
+
+  private static final List<String> FIRST_NAMES = List.of(
+      "Ana", "Bruno", "Ana#1", "Carla", "Ana", "Bruno", "Davi", "Carla", "Ana#0");
+  private static final ShardedKeys SHARDED_KEYS = new ShardedKeys(
+      Optional.of(List.of("Ana")), 2, 2);
+
+  @Test
+  @DisplayName("Should count people across every scan segment")
+  void shouldCountPeopleAcrossEverySegment() {
+    FakeScanClient client = new FakeScanClient();
+    PersonAggregationService service = new PersonAggregationService(client, EXECUTOR,
+        SHARDED_KEYS, 3, Duration.ofMinutes(1));
+
+    PersonCountResponse response = service.count().await().indefinitely();
+
+    assertAll(
+        () -> assertEquals(FIRST_NAMES.size(), response.count()),
+        () -> assertEquals(3, response.segments()),
+        () -> assertEquals(3, client.segmentsScanned.get()));
+  }
+
+  @Test
+  @DisplayName("Should merge per segment and per shard first name counts")
+  void shouldMergePerSegmentFirstNameCounts() {
+    PersonAggregationService service = new PersonAggregationService(new FakeScanClient(),
+        EXECUTOR, SHARDED_KEYS, 4, Duration.ofMinutes(1));
+
+    FirstNameCountResponse response = service.countByFirstName().await().indefinitely();
+
+    assertAll(
+        () -> assertEquals(Map.of("Ana", 4L, "Bruno", 2L, "Carla", 2L, "Davi", 1L),
+            response.counts()),
+        () -> assertEquals(FIRST_NAMES.size(), response.total()));
+  }
+
+  @Test
+  @DisplayName("Should serve cached aggregations until the ttl expires")
+  void shouldServeCachedAggregationsUntilTtlExpires() {
+    FakeScanClient client = new FakeScanClient();
+    PersonAggregationService cached = new PersonAggregationService(client, EXECUTOR,
+        SHARDED_KEYS, 2, Duration.ofMinutes(1));
+    PersonAggregationService uncached = new PersonAggregationService(client, EXECUTOR,
+        SHARDED_KEYS, 2, Duration.ZERO);
+
+    cached.count().await().indefinitely();
+    cached.count().await().indefinitely();
+    int cachedScans = client.segmentsScanned.getAndSet(0);
+    uncached.count().await().indefinitely();
+    uncached.count().await().indefinitely();
+
+    assertAll(
+        () -> assertEquals(2, cachedScans),
+        () -> assertEquals(4, client.segmentsScanned.get()));
+  }
+
+  private static final class FakeScanClient implements DynamoDbAsyncClient {
+
+    private static final String POSITION = "position";
+
+    private final AtomicInteger segmentsScanned = new AtomicInteger();
+
+    @Override
+    public CompletableFuture<ScanResponse> scan(final ScanRequest scanRequest) {
+      int start = 0;
+      if (scanRequest.hasExclusiveStartKey()) {
+        start = Integer.parseInt(scanRequest.exclusiveStartKey().get(POSITION).n());
+      } else {
+        segmentsScanned.incrementAndGet();
+      }
+      List<Integer> positions = IntStream.range(0, FIRST_NAMES.size())
+          .filter(position -> position % scanRequest.totalSegments() == scanRequest.segment())
+          .boxed()
+          .toList();
+      List<Integer> page = positions.subList(start, Math.min(start + 2, positions.size()));
+      ScanResponse.Builder response = ScanResponse.builder().count(page.size());
+      if (start + page.size() < positions.size()) {
+        response.lastEvaluatedKey(Map.of(POSITION,
+            AttributeValue.builder().n(String.valueOf(start + page.size())).build()));
+      }
+      if (scanRequest.select() != Select.COUNT) {
+        response.items(page.stream()
+            .map(position -> Map.of(PersonItem.FIRST_NAME,
+                AttributeValue.builder().s(FIRST_NAMES.get(position)).build()))
+            .toList());
+      }
+      return CompletableFuture.completedFuture(response.build());
+    }
+
+    @Override
+    public String serviceName() {
+      return "dynamodb";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.matheus.vo.request.PersonFilter;
+import com.matheus.vo.request.PersonFilter.Operator;
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.Map;
+import javax.ws.rs.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@QuarkusTest
+class PersonFilterTest {
+
+  @Test
+  @DisplayName("Should parse filter into a filter expression")
+  void shouldParseFilterIntoFilterExpression() {
+    PersonFilter beginsWith = PersonFilter.parse("cpf:begins_with:866");
+    PersonFilter contains = PersonFilter.parse("lastName:contains:Silva");
+    PersonFilter equalTo = PersonFilter.parse("cpf:eq:866:79");
+
+    assertAll(
+        () -> assertEquals(Operator.BEGINS_WITH, beginsWith.operator()),
+        () -> assertEquals("begins_with(#filterAttribute, :filterValue)",
+            beginsWith.expression()),
+        () -> assertEquals(Map.of("#filterAttribute", "cpf"),
+            beginsWith.expressionAttributeNames()),
+        () -> assertEquals(Map.of(":filterValue", AttributeValue.builder().s("866").build()),
+            beginsWith.expressionAttributeValues()),
+        () -> assertEquals("contains(#filterAttribute, :filterValue)", contains.expression()),
+        () -> assertEquals("#filterAttribute = :filterValue", equalTo.expression()),
+        () -> assertEquals("866:79", equalTo.value()),
+        () -> assertEquals("cpf:begins_with:866", beginsWith.toString()));
+  }
+
+  @Test
+  @DisplayName("Should reject malformed filters")
+  void shouldRejectMalformedFilters() {
+    assertAll(
+        () -> assertThrows(BadRequestException.class, () -> PersonFilter.parse("cpf")),
+        () -> assertThrows(BadRequestException.class, () -> PersonFilter.parse("cpf:eq:")),
+        () -> assertThrows(BadRequestException.class, () -> PersonFilter.parse("age:eq:10")),
+        () -> assertThrows(BadRequestException.class, () -> PersonFilter.parse("cpf:gt:10")));
+  }
+}
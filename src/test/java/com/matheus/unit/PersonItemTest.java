@@ -0,0 +1,68 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@QuarkusTest
+class PersonItemTest {
+
+  @Test
+  @DisplayName("Should expose the generated table metadata")
+  void shouldExposeGeneratedTableMetadata() {
+    assertAll(
+        () -> assertEquals("person", PersonItem.TABLE_NAME),
+        () -> assertEquals("cpf_index", PersonItem.CPF_INDEX),
+        () -> assertEquals(List.of("firstName", "lastName"), PersonItem.KEY_ATTRIBUTES),
+        () -> assertEquals(List.of("firstName", "lastName", "cpf"), PersonItem.ATTRIBUTES));
+  }
+
+  @Test
+  @DisplayName("Should round trip a person without a cpf and reject items missing a key")
+  void shouldRoundTripPersonWithoutCpf() {
+    Person person = Person.of("Name", "Lastname", null);
+
+    Map<String, AttributeValue> item = PersonItem.write(person);
+
+    assertAll(
+        () -> assertFalse(item.containsKey(PersonItem.CPF)),
+        () -> assertEquals(person, PersonItem.read(item)),
+        () -> assertEquals(Map.of(
+            PersonItem.FIRST_NAME, AttributeValue.fromS("Name"),
+            PersonItem.LAST_NAME, AttributeValue.fromS("Lastname")), PersonItem.key(person)),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> PersonItem.read(Map.of(PersonItem.FIRST_NAME, AttributeValue.fromS("Name")))));
+  }
+
+  @Test
+  @DisplayName("Should write a person as JSON through the generated serializer")
+  void shouldWritePersonAsJson() throws JsonProcessingException {
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+        .addSerializer(Person.class, new PersonItem.Serializer()));
+
+    String json = objectMapper.writeValueAsString(Person.of("Name", "Lastname", "86679311033"));
+    String withoutCpf = objectMapper.writeValueAsString(Person.of("Name", "Lastname", null));
+
+    assertAll(
+        () -> assertEquals("{\"firstName\":\"Name\",\"lastName\":\"Lastname\","
+            + "\"cpf\":\"86679311033\"}", json),
+        () -> assertEquals("{\"firstName\":\"Name\",\"lastName\":\"Lastname\",\"cpf\":null}",
+            withoutCpf),
+        () -> assertNull(PersonItem.read(PersonItem.write(Person.of("Name", "Lastname", null)))
+            .getCpf()));
+  }
+}
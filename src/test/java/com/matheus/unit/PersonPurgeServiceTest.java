@@ -0,0 +1,124 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.model.PersonItem;
+import com.matheus.service.BatchWriter;
+import com.matheus.service.PersonPurgeService;
+import com.matheus.service.ShardedKeys;
+import com.matheus.vo.response.PurgeResponse;
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+@QuarkusTest
+class PersonPurgeServiceTest {
+
+  private static final DynamoDbCallExecutor EXECUTOR = TestExecutors.passThrough();
+
+  @Test
+  @DisplayName("Should keep querying keys while batch deletes are in flight")
+  void shouldKeepQueryingKeysWhileBatchDeletesAreInFlight() throws Exception {
+    FakePurgeClient client = new FakePurgeClient(3, 30);
+    PersonPurgeService service = new PersonPurgeService(client, EXECUTOR,
+        new BatchWriter(client, EXECUTOR), new ShardedKeys(Optional.empty(), 4, 2), 30, 4);
+
+    CompletableFuture<PurgeResponse> purge = service.purgeByFirstName("Person1")
+        .subscribeAsCompletionStage();
+    int queriesWhileDeleting = client.queries.get();
+    int pendingDeletes = client.deletes.size();
+    client.completeDeletes();
+
+    PurgeResponse response = purge.get(5, TimeUnit.SECONDS);
+
+    assertAll(
+        () -> assertEquals(3, queriesWhileDeleting),
+        () -> assertTrue(pendingDeletes >= 3),
+        () -> assertEquals(90, response.deleted()),
+        () -> assertEquals(0, response.failed()),
+        () -> assertEquals("#keyFirstName, #keyLastName", client.projection),
+        () -> assertTrue(client.largestBatch.get() <= 25));
+  }
+
+  private static final class FakePurgeClient implements DynamoDbAsyncClient {
+
+    private final int pages;
+    private final int pageSize;
+    private final AtomicInteger queries = new AtomicInteger();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+    private final Queue<CompletableFuture<BatchWriteItemResponse>> deletes =
+        new ConcurrentLinkedQueue<>();
+    private volatile String projection;
+    private volatile boolean released;
+
+    private FakePurgeClient(final int pages, final int pageSize) {
+      this.pages = pages;
+      this.pageSize = pageSize;
+    }
+
+    @Override
+    public CompletableFuture<QueryResponse> query(final QueryRequest queryRequest) {
+      projection = queryRequest.projectionExpression();
+      int page = queries.getAndIncrement();
+      QueryResponse.Builder response = QueryResponse.builder()
+          .items(IntStream.range(0, pageSize)
+              .mapToObj(index -> Map.of(
+                  PersonItem.FIRST_NAME, AttributeValue.builder().s("Person1").build(),
+                  PersonItem.LAST_NAME,
+                  AttributeValue.builder().s("lastName" + (page * pageSize + index)).build()))
+              .toList());
+      if (page + 1 < pages) {
+        response.lastEvaluatedKey(Map.of(
+            PersonItem.FIRST_NAME, AttributeValue.builder().s("Person1").build(),
+            PersonItem.LAST_NAME, AttributeValue.builder().s("page" + page).build()));
+      }
+      return CompletableFuture.completedFuture(response.build());
+    }
+
+    @Override
+    public CompletableFuture<BatchWriteItemResponse> batchWriteItem(
+        final BatchWriteItemRequest request) {
+      largestBatch.accumulateAndGet(request.requestItems().get(PersonItem.TABLE_NAME).size(),
+          Math::max);
+      if (released) {
+        return CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build());
+      }
+      CompletableFuture<BatchWriteItemResponse> pending = new CompletableFuture<>();
+      deletes.add(pending);
+      return pending;
+    }
+
+    private void completeDeletes() {
+      released = true;
+      List.copyOf(deletes)
+          .forEach(pending -> pending.complete(BatchWriteItemResponse.builder().build()));
+    }
+
+    @Override
+    public String serviceName() {
+      return "dynamodb";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
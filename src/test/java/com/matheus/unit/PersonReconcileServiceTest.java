@@ -0,0 +1,120 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
+import com.matheus.service.BatchWriter;
+import com.matheus.service.PersonReconcileService;
+import com.matheus.service.ShardedKeys;
+import com.matheus.vo.response.ReconcileResponse;
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+@QuarkusTest
+class PersonReconcileServiceTest {
+
+  private static final DynamoDbCallExecutor EXECUTOR = TestExecutors.passThrough();
+
+  @Test
+  @DisplayName("Should write only inserted, changed and missing people")
+  void shouldWriteOnlyInsertedChangedAndMissingPeople() {
+    FakeReconcileClient client = new FakeReconcileClient(List.of(
+        Person.of("Person1", "same", "86679311031"),
+        Person.of("Person1", "changed", "86679311032"),
+        Person.of("Person2", "missing", "86679311033")));
+    PersonReconcileService service = new PersonReconcileService(client, EXECUTOR,
+        new BatchWriter(client, EXECUTOR), new ShardedKeys(Optional.empty(), 4, 2), 2, 4);
+
+    ReconcileResponse response = service.reconcile(List.of(
+            Person.of("Person1", "same", "86679311031"),
+            Person.of("Person1", "changed", "86679311099"),
+            Person.of("Person3", "inserted", "86679311034")), true)
+        .await()
+        .indefinitely();
+
+    assertAll(
+        () -> assertEquals(new ReconcileResponse(3, 1, 1, 1, 1, 0), response),
+        () -> assertEquals(3, client.writes.size()),
+        () -> assertEquals(List.of("changed", "inserted"), client.writes.stream()
+            .filter(write -> write.putRequest() != null)
+            .map(write -> write.putRequest().item().get(PersonItem.LAST_NAME).s())
+            .toList()),
+        () -> assertEquals(List.of("missing"), client.writes.stream()
+            .filter(write -> write.deleteRequest() != null)
+            .map(write -> write.deleteRequest().key().get(PersonItem.LAST_NAME).s())
+            .toList()),
+        () -> assertEquals("#firstName, #lastName, #cpf", client.projection));
+  }
+
+  @Test
+  @DisplayName("Should leave people absent from the input when deletion is not requested")
+  void shouldLeaveAbsentPeopleWhenDeletionIsNotRequested() {
+    FakeReconcileClient client = new FakeReconcileClient(List.of(
+        Person.of("Person1", "same", "86679311031"),
+        Person.of("Person2", "missing", "86679311033")));
+    PersonReconcileService service = new PersonReconcileService(client, EXECUTOR,
+        new BatchWriter(client, EXECUTOR), new ShardedKeys(Optional.empty(), 4, 2), 1, 4);
+
+    ReconcileResponse response = service.reconcile(
+            List.of(Person.of("Person1", "same", "86679311031")), false)
+        .await()
+        .indefinitely();
+
+    assertAll(
+        () -> assertEquals(new ReconcileResponse(1, 0, 0, 1, 0, 0), response),
+        () -> assertEquals(0, client.writes.size()));
+  }
+
+  private static final class FakeReconcileClient implements DynamoDbAsyncClient {
+
+    private final List<Person> stored;
+    private final Queue<WriteRequest> writes = new ConcurrentLinkedQueue<>();
+    private volatile String projection;
+
+    private FakeReconcileClient(final List<Person> stored) {
+      this.stored = stored;
+    }
+
+    @Override
+    public CompletableFuture<ScanResponse> scan(final ScanRequest scanRequest) {
+      projection = scanRequest.projectionExpression();
+      List<Map<String, AttributeValue>> items = scanRequest.segment() == 0
+          ? stored.stream().map(PersonItem::write).toList()
+          : List.of();
+      return CompletableFuture.completedFuture(ScanResponse.builder().items(items).build());
+    }
+
+    @Override
+    public CompletableFuture<BatchWriteItemResponse> batchWriteItem(
+        final BatchWriteItemRequest request) {
+      writes.addAll(request.requestItems().get(PersonItem.TABLE_NAME));
+      return CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build());
+    }
+
+    @Override
+    public String serviceName() {
+      return "dynamodb";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import com.matheus.model.Person;
+import com.matheus.model.PersonItem;
 import io.quarkus.test.junit.QuarkusTest;
 import java.util.Collections;
 import java.util.Map;
@@ -22,11 +23,11 @@ class PersonTest {
     Person personOf = Person.of("Name", "Lastname", "86679311033");
 
     Map<String, AttributeValue> map = Map.of(
-        Person.FIRST_NAME_COLUMN, AttributeValue.builder().s("Name").build(),
-        Person.LAST_NAME_COLUMN, AttributeValue.builder().s("Lastname").build(),
-        Person.CPF_COLUMN, AttributeValue.builder().s("86679311033").build());
+        PersonItem.FIRST_NAME, AttributeValue.builder().s("Name").build(),
+        PersonItem.LAST_NAME, AttributeValue.builder().s("Lastname").build(),
+        PersonItem.CPF, AttributeValue.builder().s("86679311033").build());
 
-    Person personFromMap = Person.from(map);
+    Person personFromMap = PersonItem.read(map);
 
     assertAll(
         () -> assertEquals("Name", personOf.getFirstName()),
@@ -42,13 +43,13 @@ class PersonTest {
   void shouldConvertPersonToDynamodbAttributesSuccessfully() {
     Person person = Person.of("Name", "Lastname", "86679311033");
 
-    Map<String, AttributeValue> personAttributes = person.toDynamodbAttributes();
+    Map<String, AttributeValue> personAttributes = PersonItem.write(person);
 
     assertAll(
         () -> assertNotNull(personAttributes),
-        () -> assertEquals("Name", personAttributes.get(Person.FIRST_NAME_COLUMN).s()),
-        () -> assertEquals("Lastname", personAttributes.get(Person.LAST_NAME_COLUMN).s()),
-        () -> assertEquals("86679311033", personAttributes.get(Person.CPF_COLUMN).s()));
+        () -> assertEquals("Name", personAttributes.get(PersonItem.FIRST_NAME).s()),
+        () -> assertEquals("Lastname", personAttributes.get(PersonItem.LAST_NAME).s()),
+        () -> assertEquals("86679311033", personAttributes.get(PersonItem.CPF).s()));
   }
 
   @Test
@@ -56,6 +57,6 @@ class PersonTest {
   void shouldThrowExceptionWhenTryCreatePersonWithEmptyMap() {
     Map<String, AttributeValue> emptyMap = Collections.emptyMap();
 
-    Assertions.assertThrows(IllegalArgumentException.class, () -> Person.from(emptyMap));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> PersonItem.read(emptyMap));
   }
 }
@@ -0,0 +1,83 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.dynamodb.RequestTimings;
+import com.matheus.dynamodb.ServerTimingInterceptor;
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+@QuarkusTest
+class ServerTimingInterceptorTest {
+
+  @Test
+  @DisplayName("Should sum every DynamoDB call of a request into its timings")
+  void shouldSumEveryDynamoDbCallOfRequest() {
+    RequestTimings timings = new RequestTimings();
+    ServerTimingInterceptor interceptor = new ServerTimingInterceptor(true, () -> timings);
+
+    call(interceptor, 1);
+    call(interceptor, 2);
+
+    String serverTiming = timings.serverTiming();
+    assertAll(
+        () -> assertTrue(serverTiming.startsWith("ddb;dur="), serverTiming),
+        () -> assertTrue(serverTiming.contains(";desc=\"2 calls\""), serverTiming),
+        () -> assertTrue(serverTiming.contains("ddb-marshal;dur="), serverTiming),
+        () -> assertTrue(serverTiming.contains("ddb-wire;dur="), serverTiming),
+        () -> assertTrue(serverTiming.contains("ddb-unmarshal;dur="), serverTiming),
+        () -> assertTrue(serverTiming.contains("ddb-retry;dur="), serverTiming),
+        () -> assertTrue(serverTiming.contains("app;dur="), serverTiming),
+        () -> assertEquals("person=3.0, person/cpf_index=1.0", timings.consumedCapacity()));
+  }
+
+  @Test
+  @DisplayName("Should not track calls when disabled")
+  void shouldNotTrackCallsWhenDisabled() {
+    RequestTimings timings = new RequestTimings();
+    ServerTimingInterceptor interceptor = new ServerTimingInterceptor(false, () -> timings);
+
+    call(interceptor, 1);
+
+    assertAll(
+        () -> assertTrue(timings.serverTiming().contains(";desc=\"0 calls\"")),
+        () -> assertFalse(timings.serverTiming().contains("ddb-wire")),
+        () -> assertEquals("", timings.consumedCapacity()));
+  }
+
+  private static void call(final ServerTimingInterceptor interceptor, final int attempts) {
+    ExecutionAttributes attributes = new ExecutionAttributes();
+    InterceptorContext context = InterceptorContext.builder()
+        .request(QueryRequest.builder().tableName("person").build())
+        .response(QueryResponse.builder()
+            .consumedCapacity(ConsumedCapacity.builder()
+                .tableName("person")
+                .capacityUnits(1.5)
+                .globalSecondaryIndexes(Map.of("cpf_index",
+                    Capacity.builder().capacityUnits(0.5).build()))
+                .build())
+            .build())
+        .build();
+    interceptor.beforeExecution(context, attributes);
+    interceptor.beforeMarshalling(context, attributes);
+    interceptor.afterMarshalling(context, attributes);
+    for (int attempt = 0; attempt < attempts; attempt++) {
+      interceptor.beforeTransmission(context, attributes);
+      interceptor.afterTransmission(context, attributes);
+    }
+    interceptor.beforeUnmarshalling(context, attributes);
+    interceptor.afterUnmarshalling(context, attributes);
+    interceptor.afterExecution(context, attributes);
+  }
+}
@@ -0,0 +1,98 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.matheus.model.Person;
+import com.matheus.model.PersonEnhanced;
+import com.matheus.service.ShadowReads;
+import com.matheus.vo.response.PaginationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@QuarkusTest
+class ShadowReadsTest {
+
+  @Test
+  @DisplayName("Should compare mirrored reads without changing the caller's result")
+  void shouldCompareMirroredReads() throws Exception {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ShadowReads shadowReads = shadowReads(meterRegistry);
+    PaginationResponse<Person> page = PaginationResponse.of(
+        List.of(Person.of("Person1", "Silva", "123")),
+        Map.of("firstName", AttributeValue.builder().s("Person1").build()));
+    PaginationResponse<PersonEnhanced> same = PaginationResponse.of(
+        List.of(PersonEnhanced.of("Person1", "Silva", "123")),
+        Map.of("firstName", AttributeValue.builder().s("Person1").build()));
+    PaginationResponse<PersonEnhanced> different = PaginationResponse.of(
+        List.of(PersonEnhanced.of("Person1", "Souza", "123")), Map.of());
+
+    PaginationResponse<Person> matched = shadowReads.mirror("findAll", ShadowReads.LOW_LEVEL,
+        ShadowReads.ENHANCED, () -> page, () -> same);
+    PaginationResponse<Person> mismatched = shadowReads.mirror("findAll",
+        ShadowReads.LOW_LEVEL, ShadowReads.ENHANCED, () -> page, () -> different);
+    await(meterRegistry, "match");
+    await(meterRegistry, "mismatch");
+
+    assertAll(
+        () -> assertSame(page, matched),
+        () -> assertSame(page, mismatched),
+        () -> assertEquals(1, comparisons(meterRegistry, "match")),
+        () -> assertEquals(1, comparisons(meterRegistry, "mismatch")),
+        () -> assertEquals(2, meterRegistry.get("person.shadow.latency")
+            .tags("role", "primary").timer().count()),
+        () -> assertEquals(2, meterRegistry.get("person.shadow.latency")
+            .tags("role", "shadow", "path", ShadowReads.ENHANCED).timer().count()),
+        () -> assertNotNull(meterRegistry.find("person.shadow.allocated")
+            .tags("role", "shadow").summary()));
+  }
+
+  @Test
+  @DisplayName("Should count failing shadows and keep them away from the caller")
+  void shouldCountFailingShadows() throws Exception {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ShadowReads shadowReads = shadowReads(meterRegistry);
+    AtomicInteger shadowCalls = new AtomicInteger();
+
+    Person person = shadowReads.mirror("findByFirstNameAndLastName", ShadowReads.ENHANCED,
+        ShadowReads.LOW_LEVEL, () -> Person.of("Person1", "Silva", "123"), () -> {
+          shadowCalls.incrementAndGet();
+          throw new IllegalStateException("shadow failed");
+        });
+    await(meterRegistry, "error");
+
+    assertAll(
+        () -> assertEquals("Person1", person.getFirstName()),
+        () -> assertEquals(1, shadowCalls.get()),
+        () -> assertEquals(1, comparisons(meterRegistry, "error")));
+  }
+
+  private static ShadowReads shadowReads(final MeterRegistry meterRegistry) {
+    return new ShadowReads(true, 1, 1, 4, null, null, meterRegistry);
+  }
+
+  private static void await(final MeterRegistry meterRegistry, final String result)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (comparisons(meterRegistry, result) == 0 && System.nanoTime() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+  }
+
+  private static double comparisons(final MeterRegistry meterRegistry, final String result) {
+    Counter counter = meterRegistry.find("person.shadow.comparisons").tag("result", result)
+        .counter();
+    return counter == null ? 0 : counter.count();
+  }
+}
@@ -0,0 +1,128 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.model.Person;
+import com.matheus.model.PersonEnhanced;
+import com.matheus.model.PersonItem;
+import com.matheus.service.ShardedKeys;
+import com.matheus.vo.response.PaginationResponse;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+@QuarkusTest
+class ShardedKeysTest {
+
+  private final ShardedKeys shardedKeys = new ShardedKeys(Optional.of(List.of("Maria")), 2, 3);
+
+  @Test
+  @DisplayName("Should route only hot first names to a shard")
+  void shouldRouteOnlyHotFirstNamesToShard() {
+    Person routed = shardedKeys.route(Person.of("Maria", "Silva", "86679311031"));
+    Person untouched = shardedKeys.route(Person.of("Joao", "Silva", "86679311031"));
+
+    assertAll(
+        () -> assertTrue(routed.getFirstName().matches("Maria#[01]")),
+        () -> assertEquals(routed.getFirstName(), shardedKeys.shardFor("Maria", "Silva")),
+        () -> assertEquals("Joao", untouched.getFirstName()),
+        () -> assertEquals("Maria", shardedKeys.unshard(routed).getFirstName()),
+        () -> assertEquals(List.of("Maria", "Maria#0", "Maria#1"),
+            shardedKeys.partitionsOf("Maria")),
+        () -> assertEquals(List.of(routed.getFirstName(), "Maria"),
+            shardedKeys.candidatesFor("Maria", "Silva")),
+        () -> assertEquals(List.of("Joao"), shardedKeys.candidatesFor("Joao", "Silva")),
+        () -> assertFalse(shardedKeys.isSharded("Joao")));
+  }
+
+  @Test
+  @DisplayName("Should merge shard pages in sort key order under a logical cursor")
+  void shouldMergeShardPagesUnderLogicalCursor() {
+    Map<String, Map<String, AttributeValue>> startKeys = new ConcurrentHashMap<>();
+    Map<String, PaginationResponse<Person>> pages = Map.of(
+        "Maria", PaginationResponse.of(List.of(Person.of("Maria", "Costa", "1")), Map.of()),
+        "Maria#0", PaginationResponse.of(
+            List.of(Person.of("Maria#0", "Abreu", "2"), Person.of("Maria#0", "Costa", "3")),
+            key("Maria#0", "Costa")),
+        "Maria#1", PaginationResponse.of(
+            List.of(Person.of("Maria#1", "Barros", "4"), Person.of("Maria#1", "Dias", "5")),
+            Map.of()));
+
+    PaginationResponse<Person> merged = shardedKeys.gather("Maria", 3, key("Maria", "Abade"),
+        (partition, startKey) -> {
+          startKeys.put(partition, startKey);
+          return Uni.createFrom().item(pages.get(partition));
+        }).await().indefinitely();
+
+    assertAll(
+        () -> assertEquals(List.of("Abreu", "Barros", "Costa"),
+            merged.getItems().stream().map(Person::getLastName).toList()),
+        () -> assertTrue(merged.getItems().stream()
+            .allMatch(person -> person.getFirstName().equals("Maria"))),
+        () -> assertEquals("3", merged.getItems().get(2).getCpf()),
+        () -> assertEquals(Map.of("firstName", "Maria", "lastName", "Costa"),
+            merged.getLastEvaluatedKey()),
+        () -> assertEquals(key("Maria#1", "Abade"), startKeys.get("Maria#1")));
+  }
+
+  @Test
+  @DisplayName("Should query every shard at once and unshard enhanced items")
+  void shouldQueryShardsConcurrentlyAndUnshardEnhancedItems() {
+    CountDownLatch started = new CountDownLatch(3);
+    Map<String, Thread> threads = new ConcurrentHashMap<>();
+    PersonEnhanced routed = shardedKeys.route(PersonEnhanced.of("Maria", "Silva", "1"));
+
+    PaginationResponse<Person> merged = shardedKeys.gatherBlocking("Maria", 10, null,
+        (partition, startKey) -> {
+          threads.put(partition, Thread.currentThread());
+          started.countDown();
+          try {
+            started.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return PaginationResponse.of(partition.equals(routed.getFirstName())
+              ? List.of(Person.of(partition, "Silva", "1"))
+              : List.of(), Map.of());
+        });
+
+    assertAll(
+        () -> assertEquals(0, started.getCount()),
+        () -> assertEquals(3, Set.copyOf(threads.values()).size()),
+        () -> assertEquals(List.of("Maria"),
+            merged.getItems().stream().map(Person::getFirstName).toList()),
+        () -> assertEquals("Maria", shardedKeys.unshard(routed).getFirstName()),
+        () -> assertEquals("Maria", shardedKeys.unshard(routed.getFirstName())),
+        () -> assertEquals("Joao#1", shardedKeys.unshard("Joao#1")));
+  }
+
+  @Test
+  @DisplayName("Should surface a failing shard query to the caller")
+  void shouldSurfaceFailingShardQuery() {
+    assertThrows(IllegalStateException.class, () -> shardedKeys.gatherBlocking("Maria", 10,
+        null, (partition, startKey) -> {
+          if (partition.equals("Maria#1")) {
+            throw new IllegalStateException("shard failed");
+          }
+          return PaginationResponse.of(List.of(), Map.of());
+        }));
+  }
+
+  private static Map<String, AttributeValue> key(final String firstName, final String lastName) {
+    return Map.of(PersonItem.FIRST_NAME, AttributeValue.builder().s(firstName).build(),
+        PersonItem.LAST_NAME, AttributeValue.builder().s(lastName).build());
+  }
+}
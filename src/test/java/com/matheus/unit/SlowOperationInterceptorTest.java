@@ -0,0 +1,96 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.dynamodb.SlowOperation;
+import com.matheus.dynamodb.SlowOperationInterceptor;
+import io.quarkus.test.junit.QuarkusTest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+@QuarkusTest
+class SlowOperationInterceptorTest {
+
+  @Test
+  @DisplayName("Should log the request shape, capacity and attempts of slow operations")
+  void shouldLogSlowOperations() {
+    List<SlowOperation> logged = new ArrayList<>();
+    SlowOperationInterceptor interceptor =
+        new SlowOperationInterceptor(true, Duration.ZERO, 0, logged::add);
+
+    query(interceptor, 3);
+
+    SlowOperation operation = logged.get(0);
+    assertAll(
+        () -> assertEquals(1, logged.size()),
+        () -> assertEquals("Query", operation.operation()),
+        () -> assertEquals("person", operation.table()),
+        () -> assertEquals("cpf_index", operation.index()),
+        () -> assertEquals("cpf = :cpf", operation.keyCondition()),
+        () -> assertEquals(10, operation.limit()),
+        () -> assertEquals(2, operation.itemCount()),
+        () -> assertEquals(1.5, operation.consumedCapacity()),
+        () -> assertEquals(2, operation.retries()),
+        () -> assertEquals(3, operation.attemptMillis().size()),
+        () -> assertTrue(operation.durationMillis() >= 0),
+        () -> assertNull(operation.error()),
+        () -> assertFalse(operation.sampled()));
+  }
+
+  @Test
+  @DisplayName("Should sample fast operations at the configured rate")
+  void shouldSampleFastOperations() {
+    List<SlowOperation> never = new ArrayList<>();
+    List<SlowOperation> always = new ArrayList<>();
+    List<SlowOperation> disabled = new ArrayList<>();
+
+    query(new SlowOperationInterceptor(true, Duration.ofHours(1), 0, never::add), 1);
+    query(new SlowOperationInterceptor(true, Duration.ofHours(1), 1, always::add), 1);
+    query(new SlowOperationInterceptor(false, Duration.ZERO, 1, disabled::add), 1);
+
+    assertAll(
+        () -> assertTrue(never.isEmpty()),
+        () -> assertEquals(1, always.size()),
+        () -> assertTrue(always.get(0).sampled()),
+        () -> assertTrue(disabled.isEmpty()));
+  }
+
+  private static void query(final SlowOperationInterceptor interceptor, final int attempts) {
+    ExecutionAttributes attributes = new ExecutionAttributes();
+    attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "Query");
+    InterceptorContext context = InterceptorContext.builder()
+        .request(QueryRequest.builder()
+            .tableName("person")
+            .indexName("cpf_index")
+            .keyConditionExpression("cpf = :cpf")
+            .limit(10)
+            .build())
+        .response(QueryResponse.builder()
+            .count(2)
+            .consumedCapacity(ConsumedCapacity.builder()
+                .tableName("person")
+                .capacityUnits(1.5)
+                .build())
+            .build())
+        .build();
+    interceptor.beforeExecution(context, attributes);
+    for (int attempt = 0; attempt < attempts; attempt++) {
+      interceptor.beforeTransmission(context, attributes);
+      interceptor.afterTransmission(context, attributes);
+    }
+    interceptor.afterExecution(context, attributes);
+  }
+}
@@ -0,0 +1,192 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.matheus.model.Person;
+import com.matheus.service.BatchStreams;
+import com.matheus.service.ShardedKeys;
+import com.matheus.service.StreamedBatch;
+import com.matheus.vo.request.DeletePeopleBatch;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.ws.rs.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class StreamedBatchTest {
+
+  private final BatchStreams batchStreams = new BatchStreams(
+      new ObjectMapper().registerModule(new ParameterNamesModule()),
+      new ShardedKeys(Optional.of(List.of("Maria")), 4, 2), 2);
+
+  @Test
+  @DisplayName("Should hand each chunk to the writer before the rest of the body is read")
+  void shouldHandEachChunkToWriterBeforeRestOfBodyIsRead() throws Exception {
+    byte[] body = people(410);
+    CountingInputStream input = new CountingInputStream(body);
+    List<Integer> chunkSizes = new CopyOnWriteArrayList<>();
+    List<Integer> bytesReadAtWrite = new CopyOnWriteArrayList<>();
+
+    StreamedBatch<Person> batch = batchStreams.open(input, Person.class);
+    batch.write(chunk -> {
+      chunkSizes.add(chunk.size());
+      bytesReadAtWrite.add(input.read.get());
+    });
+
+    assertAll(
+        () -> assertEquals(17, chunkSizes.size()),
+        () -> assertEquals(10, chunkSizes.get(16)),
+        () -> assertTrue(bytesReadAtWrite.get(0) < body.length),
+        () -> assertEquals(sha256(body), batch.fingerprint()));
+  }
+
+  @Test
+  @DisplayName("Should keep parsing the body while a chunk is being written")
+  void shouldKeepParsingWhileChunkIsWritten() {
+    byte[] body = people(410);
+    int twoChunks = body.length * 50 / 410;
+    CountingInputStream input = new CountingInputStream(body);
+    List<Integer> bytesReadDuringFirstWrite = new CopyOnWriteArrayList<>();
+
+    batchStreams.open(input, Person.class).write(chunk -> {
+      if (!bytesReadDuringFirstWrite.isEmpty()) {
+        return;
+      }
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (input.read.get() <= twoChunks && System.nanoTime() < deadline) {
+        Thread.onSpinWait();
+      }
+      bytesReadDuringFirstWrite.add(input.read.get());
+    });
+
+    assertTrue(bytesReadDuringFirstWrite.get(0) > twoChunks);
+  }
+
+  @Test
+  @DisplayName("Should write async chunks with bounded concurrency")
+  void shouldWriteAsyncChunksWithBoundedConcurrency() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    AtomicInteger written = new AtomicInteger();
+
+    batchStreams.open(new ByteArrayInputStream(deletes(120)), DeletePeopleBatch.class)
+        .writeAsync(chunk -> Uni.createFrom().item(chunk)
+            .invoke(() -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+            .onItem().delayIt().by(Duration.ofMillis(20))
+            .invoke(() -> {
+              written.addAndGet(chunk.size());
+              inFlight.decrementAndGet();
+            })
+            .replaceWithVoid())
+        .await().indefinitely();
+
+    assertAll(
+        () -> assertEquals(120, written.get()),
+        () -> assertTrue(maxInFlight.get() <= 2));
+  }
+
+  @Test
+  @DisplayName("Should cut delete chunks by the keys each sharded name expands into")
+  void shouldCutDeleteChunksByExpandedKeys() {
+    String body = IntStream.range(0, 30)
+        .mapToObj(index -> "{\"firstName\":\"" + (index % 2 == 0 ? "Maria" : "Person" + index)
+            + "\",\"lastName\":\"lastName" + index + "\"}")
+        .collect(Collectors.joining(",", "[", "]"));
+    List<List<DeletePeopleBatch>> chunks = new CopyOnWriteArrayList<>();
+
+    batchStreams.openDeletes(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))
+        .write(chunks::add);
+
+    assertAll(
+        () -> assertEquals(30, chunks.stream().mapToInt(List::size).sum()),
+        () -> assertTrue(chunks.stream().allMatch(chunk -> chunk.stream()
+            .mapToInt(person -> "Maria".equals(person.firstName()) ? 2 : 1)
+            .sum() <= 25)),
+        () -> assertEquals(List.of(16, 14), chunks.stream().map(List::size).toList()));
+  }
+
+  @Test
+  @DisplayName("Should reject a body that is not a JSON array of objects")
+  void shouldRejectBodyThatIsNotJsonArrayOfObjects() {
+    assertAll(
+        () -> assertThrows(BadRequestException.class, () -> batchStreams
+            .open(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), Person.class)
+            .write(chunk -> { })),
+        () -> assertThrows(BadRequestException.class, () -> batchStreams
+            .open(new ByteArrayInputStream("[null]".getBytes(StandardCharsets.UTF_8)),
+                Person.class)
+            .write(chunk -> { })),
+        () -> assertThrows(BadRequestException.class, () -> batchStreams
+            .open(new ByteArrayInputStream(
+                "[{\"firstName\":\"Person1\"},null]".getBytes(StandardCharsets.UTF_8)),
+                Person.class)
+            .write(chunk -> { })));
+  }
+
+  private static byte[] people(final int size) {
+    return IntStream.range(0, size)
+        .mapToObj(index -> String.format(
+            "{\"firstName\":\"Person%d\",\"lastName\":\"lastNameTest\",\"cpf\":\"866793110%02d\"}",
+            index, index))
+        .collect(Collectors.joining(",", "[", "]"))
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] deletes(final int size) {
+    return IntStream.range(0, size)
+        .mapToObj(index -> "{\"firstName\":\"Person" + index + "\",\"lastName\":\"lastNameTest\"}")
+        .collect(Collectors.joining(",", "[", "]"))
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String sha256(final byte[] body) throws Exception {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+  }
+
+  private static final class CountingInputStream extends InputStream {
+
+    private final ByteArrayInputStream delegate;
+    private final AtomicInteger read = new AtomicInteger();
+
+    private CountingInputStream(final byte[] body) {
+      this.delegate = new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public int read() {
+      int next = delegate.read();
+      if (next >= 0) {
+        read.incrementAndGet();
+      }
+      return next;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) {
+      int count = delegate.read(buffer, offset, Math.min(length, 512));
+      if (count > 0) {
+        read.addAndGet(count);
+      }
+      return count;
+    }
+  }
+}
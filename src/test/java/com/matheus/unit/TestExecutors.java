@@ -0,0 +1,25 @@
+package com.matheus.unit;
+
+import com.matheus.dynamodb.CapacityRateLimiter;
+import com.matheus.dynamodb.DynamoDbCallExecutor;
+import com.matheus.dynamodb.DynamoDbResilience;
+import com.matheus.dynamodb.HotPartitionTracker;
+import com.matheus.dynamodb.ResilienceSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+
+final class TestExecutors {
+
+  private TestExecutors() {
+  }
+
+  static DynamoDbCallExecutor passThrough() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    return new DynamoDbCallExecutor(
+        new CapacityRateLimiter(false, 1, 1, 1, Duration.ZERO, Duration.ZERO, meterRegistry),
+        new DynamoDbResilience(new ResilienceSettings(1, Duration.ZERO, Duration.ZERO, 0, 0, 10,
+            10, 1, Duration.ofMinutes(1), 1, Duration.ZERO, 1), meterRegistry),
+        new HotPartitionTracker(1, Duration.ofMinutes(1), 1, 16, meterRegistry),
+        false);
+  }
+}
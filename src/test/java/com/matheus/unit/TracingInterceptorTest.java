@@ -0,0 +1,120 @@
+package com.matheus.unit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.matheus.dynamodb.TracingInterceptor;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.dynamodb.model.Capacity;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+@QuarkusTest
+class TracingInterceptorTest {
+
+  @Test
+  @DisplayName("Should trace each DynamoDB call and attempt under the current server span")
+  void shouldTraceCallsAndAttempts() {
+    InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    Tracer tracer = SdkTracerProvider.builder()
+        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+        .build()
+        .get("test");
+    TracingInterceptor interceptor = new TracingInterceptor(() -> tracer);
+
+    Span server = tracer.spanBuilder("GET /async/person").setSpanKind(SpanKind.SERVER)
+        .startSpan();
+    try (Scope ignored = server.makeCurrent()) {
+      query(interceptor, List.of(500, 200));
+    } finally {
+      server.end();
+    }
+
+    List<SpanData> spans = exporter.getFinishedSpanItems();
+    SpanData call = find(spans, "DynamoDB.Query");
+    List<SpanData> attempts = spans.stream()
+        .filter(span -> span.getName().equals("DynamoDB.Query attempt"))
+        .toList();
+    assertAll(
+        () -> assertEquals(4, spans.size()),
+        () -> assertEquals(server.getSpanContext().getSpanId(), call.getParentSpanId()),
+        () -> assertEquals(SpanKind.CLIENT, call.getKind()),
+        () -> assertEquals(List.of("person"),
+            call.getAttributes().get(TracingInterceptor.TABLE_NAMES)),
+        () -> assertEquals("cpf_index", call.getAttributes().get(TracingInterceptor.INDEX_NAME)),
+        () -> assertEquals(2L, call.getAttributes().get(TracingInterceptor.ITEM_COUNT)),
+        () -> assertEquals(1.5, call.getAttributes().get(TracingInterceptor.CONSUMED_CAPACITY)),
+        () -> assertEquals(2, attempts.size()),
+        () -> assertTrue(attempts.stream()
+            .allMatch(attempt -> attempt.getParentSpanId().equals(call.getSpanId()))),
+        () -> assertEquals(StatusCode.ERROR, attempts.get(0).getStatus().getStatusCode()),
+        () -> assertEquals(200L,
+            attempts.get(1).getAttributes().get(TracingInterceptor.STATUS_CODE)));
+  }
+
+  @Test
+  @DisplayName("Should not trace calls when no tracer is available")
+  void shouldNotTraceWithoutTracer() {
+    InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+    query(new TracingInterceptor(() -> null), List.of(200));
+
+    assertTrue(exporter.getFinishedSpanItems().isEmpty());
+  }
+
+  private static SpanData find(final List<SpanData> spans, final String name) {
+    return spans.stream().filter(span -> span.getName().equals(name)).findFirst().orElseThrow();
+  }
+
+  private static void query(final TracingInterceptor interceptor,
+      final List<Integer> statusCodes) {
+    ExecutionAttributes attributes = new ExecutionAttributes();
+    attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "Query");
+    QueryRequest request = QueryRequest.builder()
+        .tableName("person")
+        .indexName("cpf_index")
+        .keyConditionExpression("cpf = :cpf")
+        .build();
+    interceptor.beforeExecution(InterceptorContext.builder().request(request).build(),
+        attributes);
+    for (int statusCode : statusCodes) {
+      InterceptorContext attempt = InterceptorContext.builder()
+          .request(request)
+          .httpResponse(SdkHttpResponse.builder().statusCode(statusCode).build())
+          .build();
+      interceptor.beforeTransmission(attempt, attributes);
+      interceptor.afterTransmission(attempt, attributes);
+    }
+    interceptor.afterExecution(InterceptorContext.builder()
+        .request(request)
+        .response(QueryResponse.builder()
+            .count(2)
+            .consumedCapacity(ConsumedCapacity.builder()
+                .tableName("person")
+                .capacityUnits(1.5)
+                .globalSecondaryIndexes(Map.of("cpf_index",
+                    Capacity.builder().capacityUnits(0.5).build()))
+                .build())
+            .build())
+        .build(), attributes);
+  }
+}